@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.spi.ArrayAccess;
+import org.apfloat.spi.CarryCRTStrategy;
+import org.apfloat.spi.DataStorage;
+import org.apfloat.internal.RawtypeBuilderFactory;
+import org.apfloat.internal.RawtypeModConstants;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the carry-CRT step of the three-modulus convolution with
+ * the <code>rawtype</code> element type. The inputs are random residues
+ * modulo each of the three moduli.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RawtypeCarryCRTBenchmark
+    implements RawtypeModConstants
+{
+    @Param({ "4096", "65536", "1048576" })
+    public int size;
+
+    private CarryCRTStrategy carryCRTStrategy;
+    private DataStorage resultMod0;
+    private DataStorage resultMod1;
+    private DataStorage resultMod2;
+
+    @Setup
+    public void setup()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ctx.setBuilderFactory(new RawtypeBuilderFactory());
+
+        this.carryCRTStrategy = ctx.getBuilderFactory().getCarryCRTBuilder(rawtype[].class).createCarryCRT(ctx.getDefaultRadix());
+
+        Random random = new Random(0);
+        this.resultMod0 = createDataStorage(random, MODULUS[0]);
+        this.resultMod1 = createDataStorage(random, MODULUS[1]);
+        this.resultMod2 = createDataStorage(random, MODULUS[2]);
+    }
+
+    @Benchmark
+    public DataStorage carryCRT()
+    {
+        return this.carryCRTStrategy.carryCRT(this.resultMod0, this.resultMod1, this.resultMod2, this.size);
+    }
+
+    private DataStorage createDataStorage(Random random, rawtype modulus)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        DataStorage dataStorage = ctx.getBuilderFactory().getDataStorageBuilder().createDataStorage((long) this.size * RawType.BYTES);
+        dataStorage.setSize(this.size);
+
+        try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.WRITE, 0, this.size))
+        {
+            for (int i = 0; i < this.size; i++)
+            {
+                arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i] = (rawtype) Math.floorMod(random.nextLong(), (long) modulus);
+            }
+        }
+
+        return dataStorage;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.benchmarks;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatMath;
+import org.apfloat.internal.RawtypeBuilderFactory;
+import org.apfloat.samples.Pi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for calculating &pi;, <code>exp</code> and <code>log</code> with
+ * the <code>rawtype</code> element type.<p>
+ *
+ * {@link ApfloatMath#pi(long)} caches its result, so &pi; is calculated with
+ * the Chudnovsky algorithm of the sample application instead. The constants
+ * used by <code>exp</code> and <code>log</code> are cached after the warmup,
+ * as they would be in any longer calculation.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RawtypeElementaryFunctionBenchmark
+{
+    @Param({ "1000", "10000", "100000" })
+    public long precision;
+
+    private Apfloat x;
+
+    @Setup
+    public void setup()
+    {
+        ApfloatContext.getContext().setBuilderFactory(new RawtypeBuilderFactory());
+        Pi.setErr(new PrintWriter(new Writer()
+        {
+            @Override
+            public void write(char[] buffer, int offset, int length)
+            {
+                // Discard the progress messages
+            }
+
+            @Override
+            public void flush()
+            {
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        }));
+
+        this.x = ApfloatMath.random(this.precision).add(new Apfloat(1, this.precision));
+    }
+
+    @Benchmark
+    public Apfloat pi()
+    {
+        return new Pi.ChudnovskyPiCalculator(this.precision, 10).execute();
+    }
+
+    @Benchmark
+    public Apfloat exp()
+    {
+        return ApfloatMath.exp(this.x);
+    }
+
+    @Benchmark
+    public Apfloat log()
+    {
+        return ApfloatMath.log(this.x);
+    }
+}
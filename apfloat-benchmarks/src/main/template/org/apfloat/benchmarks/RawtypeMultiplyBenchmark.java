@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatMath;
+import org.apfloat.spi.BuilderFactory;
+import org.apfloat.spi.ConvolutionBuilder;
+import org.apfloat.spi.NTTBuilder;
+import org.apfloat.internal.RawtypeBuilderFactory;
+import org.apfloat.internal.RawtypeKaratsubaConvolutionStrategy;
+import org.apfloat.internal.RawtypeToom3ConvolutionStrategy;
+import org.apfloat.internal.RawtypeToom4ConvolutionStrategy;
+import org.apfloat.internal.ParallelThreeNTTConvolutionStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for multiplying integers with the <code>rawtype</code> element
+ * type across the Karatsuba / Toom-Cook / NTT crossovers.<p>
+ *
+ * The <code>default</code> algorithm is what the {@link ConvolutionBuilder}
+ * selects, the other algorithms are forced, to see where the crossover
+ * points actually are.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RawtypeMultiplyBenchmark
+{
+    @Param({ "100", "300", "1000", "3000", "10000", "30000", "100000" })
+    public long digits;
+
+    @Param({ "default", "Karatsuba", "Toom3", "Toom4", "NTT" })
+    public String algorithm;
+
+    private Apfloat x;
+    private Apfloat y;
+
+    @Setup
+    public void setup()
+    {
+        BuilderFactory builderFactory = new RawtypeBuilderFactory();
+        NTTBuilder nttBuilder = builderFactory.getNTTBuilder();
+        ConvolutionBuilder convolutionBuilder;
+        switch (this.algorithm)
+        {
+            case "Karatsuba":
+                convolutionBuilder = (radix, size1, size2, resultSize) -> new RawtypeKaratsubaConvolutionStrategy(radix);
+                break;
+            case "Toom3":
+                convolutionBuilder = (radix, size1, size2, resultSize) -> new RawtypeToom3ConvolutionStrategy(radix);
+                break;
+            case "Toom4":
+                convolutionBuilder = (radix, size1, size2, resultSize) -> new RawtypeToom4ConvolutionStrategy(radix);
+                break;
+            case "NTT":
+                convolutionBuilder = (radix, size1, size2, resultSize) -> new ParallelThreeNTTConvolutionStrategy(radix, nttBuilder.createNTT(size1 + size2));
+                break;
+            default:
+                convolutionBuilder = builderFactory.getConvolutionBuilder();
+        }
+
+        ApfloatContext.getContext().setBuilderFactory(new RawtypeBuilderFactory()
+        {
+            @Override
+            public ConvolutionBuilder getConvolutionBuilder()
+            {
+                return convolutionBuilder;
+            }
+        });
+
+        this.x = ApfloatMath.scale(ApfloatMath.random(this.digits), this.digits).truncate();
+        this.y = ApfloatMath.scale(ApfloatMath.random(this.digits), this.digits).truncate();
+    }
+
+    @Benchmark
+    public Apfloat multiply()
+    {
+        return this.x.multiply(this.y);
+    }
+}
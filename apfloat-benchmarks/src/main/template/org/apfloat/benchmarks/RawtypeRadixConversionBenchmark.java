@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatMath;
+import org.apfloat.internal.RawtypeBuilderFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for radix conversion and for converting numbers to text with
+ * the <code>rawtype</code> element type.<p>
+ *
+ * The powers of the radix needed by the radix conversion are cached, so
+ * after the warmup the time is that of a conversion with the powers already
+ * calculated.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RawtypeRadixConversionBenchmark
+{
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public long digits;
+
+    private Apfloat x;
+
+    @Setup
+    public void setup()
+    {
+        ApfloatContext.getContext().setBuilderFactory(new RawtypeBuilderFactory());
+
+        this.x = ApfloatMath.scale(ApfloatMath.random(this.digits, 10), this.digits);
+    }
+
+    @Benchmark
+    public Apfloat toRadix()
+    {
+        return this.x.toRadix(16);
+    }
+
+    @Benchmark
+    public String toStringPretty()
+    {
+        return this.x.toString(true);
+    }
+
+    @Benchmark
+    public StringWriter writeToWriter()
+        throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        this.x.writeTo(writer, true);
+        return writer;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeToChannel()
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.x.writeTo(Channels.newChannel(out));
+        return out;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatMath;
+import org.apfloat.internal.RawtypeBuilderFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for multiplying integers stored in memory or on disk with the
+ * <code>rawtype</code> element type.<p>
+ *
+ * For the <code>disk</code> storage the memory threshold is set so low that
+ * the operands, the result and the transform data are all stored on disk,
+ * so the disk-based two-pass transform is used.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RawtypeStorageBenchmark
+{
+    @Param({ "100000", "1000000" })
+    public long digits;
+
+    @Param({ "memory", "disk" })
+    public String storage;
+
+    private Apfloat x;
+    private Apfloat y;
+
+    @Setup
+    public void setup()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ctx.setBuilderFactory(new RawtypeBuilderFactory());
+        if (this.storage.equals("disk"))
+        {
+            ctx.setMaxMemoryBlockSize(65536);
+            ctx.setMemoryThreshold(1024);
+        }
+
+        this.x = ApfloatMath.scale(ApfloatMath.random(this.digits), this.digits).truncate();
+        this.y = ApfloatMath.scale(ApfloatMath.random(this.digits), this.digits).truncate();
+    }
+
+    @Benchmark
+    public Apfloat multiply()
+    {
+        return this.x.multiply(this.y);
+    }
+}
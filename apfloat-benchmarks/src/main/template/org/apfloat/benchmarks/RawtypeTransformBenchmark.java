@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.spi.ArrayAccess;
+import org.apfloat.spi.DataStorage;
+import org.apfloat.spi.NTTStrategy;
+import org.apfloat.internal.RawtypeBuilderFactory;
+import org.apfloat.internal.SixStepFNTStrategy;
+import org.apfloat.internal.TwoPassFNTStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the six-step and two-pass number theoretic transforms with
+ * the <code>rawtype</code> element type.<p>
+ *
+ * Each invocation performs a forward and an inverse transform, so the data
+ * stays the same between invocations. The two-pass algorithm only works
+ * with data stored on disk, so for it the data is stored on disk, as it
+ * would be when the two-pass algorithm is selected.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RawtypeTransformBenchmark
+{
+    @Param({ "4096", "65536", "262144" })
+    public int size;
+
+    @Param({ "SixStep", "TwoPass" })
+    public String algorithm;
+
+    private NTTStrategy nttStrategy;
+    private DataStorage dataStorage;
+
+    @Setup
+    public void setup()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ctx.setBuilderFactory(new RawtypeBuilderFactory());
+        if (this.algorithm.equals("TwoPass"))
+        {
+            ctx.setMaxMemoryBlockSize(65536);
+            ctx.setMemoryThreshold(1024);
+            this.nttStrategy = new TwoPassFNTStrategy();
+        }
+        else
+        {
+            this.nttStrategy = new SixStepFNTStrategy();
+        }
+
+        this.dataStorage = ctx.getBuilderFactory().getDataStorageBuilder().createDataStorage((long) this.size * RawType.BYTES);
+        this.dataStorage.setSize(this.size);
+        try (ArrayAccess arrayAccess = this.dataStorage.getArray(DataStorage.WRITE, 0, this.size))
+        {
+            for (int i = 0; i < this.size; i++)
+            {
+                arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i] = (rawtype) (i + 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public DataStorage transform()
+    {
+        this.nttStrategy.transform(this.dataStorage, 0);
+        this.nttStrategy.inverseTransform(this.dataStorage, 0, this.size);
+        return this.dataStorage;
+    }
+}
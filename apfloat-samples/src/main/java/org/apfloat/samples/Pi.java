@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2024 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,7 +36,7 @@ import org.apfloat.ApfloatRuntimeException;
 /**
  * Calculates pi using four different algorithms.
  *
- * @version 1.14.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -907,6 +907,7 @@ public class Pi
         Pi.err.println("memoryThreshold = " + ctx.getMemoryThreshold());
         Pi.err.println("sharedMemoryTreshold = " + ctx.getSharedMemoryTreshold());
         Pi.err.println("blockSize = " + ctx.getBlockSize());
+        Pi.err.println("ioBufferCount = " + ctx.getIoBufferCount());
         Pi.err.println("numberOfProcessors = " + ctx.getNumberOfProcessors());
     }
 
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.tools;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatMath;
+
+/**
+ * This tool can be used for testing the radix conversion
+ * performance.<p>
+ *
+ * A random number with the specified number of digits is converted
+ * from one radix to another. The first conversion also calculates
+ * the powers of the radix that are needed, which are then reused by
+ * the later conversions, so the time of the first conversion is
+ * reported separately.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RadixConversionTime
+{
+    public static void main(String[] args)
+    {
+        if (args.length < 3)
+        {
+            System.err.println("Usage: RadixConversionTime digits fromRadix toRadix [numberOfProcessors]");
+            return;
+        }
+
+        long digits = Long.parseLong(args[0]);
+        int fromRadix = Integer.parseInt(args[1]),
+            toRadix = Integer.parseInt(args[2]);
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        if (args.length > 3)
+        {
+            ctx.setNumberOfProcessors(Integer.parseInt(args[3]));
+        }
+
+        Apfloat x = ApfloatMath.scale(ApfloatMath.random(digits, fromRadix), digits);
+
+        long time = System.currentTimeMillis();
+        x.toRadix(toRadix);
+        long firstTime = System.currentTimeMillis() - time,
+             minTime = Long.MAX_VALUE;
+
+        for (int i = 0; i < TESTS; i++)
+        {
+            time = System.currentTimeMillis();
+            x.toRadix(toRadix);
+            time = System.currentTimeMillis() - time;
+            minTime = Math.min(time, minTime);
+        }
+
+        System.out.println(digits + " digits radix " + fromRadix + " to radix " + toRadix + " conversion, " + ctx.getNumberOfProcessors() + " processors: first " + firstTime + " ms, then " + minTime + " ms");
+    }
+
+    private static final int TESTS = 3;
+}
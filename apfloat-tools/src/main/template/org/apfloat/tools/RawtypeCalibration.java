@@ -0,0 +1,332 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.Random;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.spi.ArrayAccess;
+import org.apfloat.spi.ConvolutionStrategy;
+import org.apfloat.spi.DataStorage;
+import org.apfloat.spi.NTTStrategy;
+import org.apfloat.internal.ParallelThreeNTTConvolutionStrategy;
+import org.apfloat.internal.RawtypeBuilderFactory;
+import org.apfloat.internal.RawtypeKaratsubaConvolutionStrategy;
+import org.apfloat.internal.RawtypeMatrixStrategy;
+import org.apfloat.internal.RawtypeMediumConvolutionStrategy;
+import org.apfloat.internal.RawtypeMemoryArrayAccess;
+import org.apfloat.internal.RawtypeModConstants;
+import org.apfloat.internal.RawtypeRadixConstants;
+import org.apfloat.internal.RawtypeTableFNTStrategy;
+import org.apfloat.internal.RawtypeToom3ConvolutionStrategy;
+import org.apfloat.internal.RawtypeToom4ConvolutionStrategy;
+import org.apfloat.internal.SixStepFNTStrategy;
+
+/**
+ * This tool measures the performance characteristics of the host
+ * for the <code>rawtype</code> element type and writes them to an
+ * <code>apfloat.properties</code> file. It combines the measurements
+ * of {@link RawtypeMatrixTime} and {@link RawtypeConvolutionTime}:
+ *
+ * <ul>
+ *   <li><code>cacheL1Size</code> and <code>cacheL2Size</code>: the largest matrix sizes that can be transposed with the L1 and L2 cache algorithms before the time per element increases significantly</li>
+ *   <li><code>simpleFNTThreshold</code>: the largest transform length where the simple table FNT is faster than the six-step FNT</li>
+ *   <li><code>karatsubaCutoffPoint</code>: the cutoff point that gives the fastest Karatsuba convolution</li>
+ *   <li><code>toom3CutoffPoint</code> and <code>toom4CutoffPoint</code>: the cutoff points that give the fastest Toom-Cook 3-way and 4-way convolutions</li>
+ *   <li><code>karatsubaCostFactor</code>, <code>toom3CostFactor</code>, <code>toom4CostFactor</code> and <code>nttCostFactor</code>: the Karatsuba, Toom-Cook and NTT convolution times relative to the simple O(n<sup>2</sup>) convolution</li>
+ * </ul>
+ *
+ * If the properties file already exists, the other properties in it are
+ * preserved. The <code>builderFactory</code> property is always set, as
+ * the measured values only apply to the <code>rawtype</code> element type.
+ * All measurements are done with one thread.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeCalibration
+    implements RawtypeModConstants, RawtypeRadixConstants
+{
+    public static void main(String[] args)
+        throws IOException
+    {
+        String fileName = (args.length > 0 ? args[0] : "apfloat.properties");
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ctx.setBuilderFactory(new RawtypeBuilderFactory());
+        ctx.setNumberOfProcessors(1);
+
+        int cacheL1Size = calibrateCacheSize(MIN_L1_SIZE, MAX_L1_SIZE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        ctx.setCacheL1Size(cacheL1Size);
+        System.err.println("cacheL1Size " + ctx.getCacheL1Size());
+
+        int cacheL2Size = calibrateCacheSize(Math.max(MIN_L2_SIZE, 4 * ctx.getCacheL1Size()), MAX_L2_SIZE, 0, Integer.MAX_VALUE);
+        ctx.setCacheL2Size(cacheL2Size);
+        System.err.println("cacheL2Size " + ctx.getCacheL2Size());
+
+        long simpleFNTThreshold = calibrateSimpleFNTThreshold();
+        ctx.setProperty(ApfloatContext.SIMPLE_FNT_THRESHOLD, String.valueOf(simpleFNTThreshold));
+        System.err.println("simpleFNTThreshold " + simpleFNTThreshold);
+
+        int karatsubaCutoffPoint = calibrateCutoffPoint(new RawtypeKaratsubaConvolutionStrategy(ctx.getDefaultRadix()), ApfloatContext.KARATSUBA_CUTOFF_POINT, RawtypeKaratsubaConvolutionStrategy.CUTOFF_POINT, MIN_CUTOFF_POINT, MAX_CUTOFF_POINT, KARATSUBA_SIZE);
+        ctx.setProperty(ApfloatContext.KARATSUBA_CUTOFF_POINT, String.valueOf(karatsubaCutoffPoint));
+        System.err.println("karatsubaCutoffPoint " + karatsubaCutoffPoint);
+
+        // Each Toom-Cook cutoff point is measured with the lower algorithms already tuned
+        int toom3CutoffPoint = calibrateCutoffPoint(new RawtypeToom3ConvolutionStrategy(ctx.getDefaultRadix()), ApfloatContext.TOOM3_CUTOFF_POINT, RawtypeToom3ConvolutionStrategy.CUTOFF_POINT, karatsubaCutoffPoint, MAX_TOOM3_CUTOFF_POINT, TOOM3_SIZE);
+        ctx.setProperty(ApfloatContext.TOOM3_CUTOFF_POINT, String.valueOf(toom3CutoffPoint));
+        System.err.println("toom3CutoffPoint " + toom3CutoffPoint);
+
+        int toom4CutoffPoint = calibrateCutoffPoint(new RawtypeToom4ConvolutionStrategy(ctx.getDefaultRadix()), ApfloatContext.TOOM4_CUTOFF_POINT, RawtypeToom4ConvolutionStrategy.CUTOFF_POINT, toom3CutoffPoint, MAX_TOOM4_CUTOFF_POINT, TOOM4_SIZE);
+        ctx.setProperty(ApfloatContext.TOOM4_CUTOFF_POINT, String.valueOf(toom4CutoffPoint));
+        System.err.println("toom4CutoffPoint " + toom4CutoffPoint);
+
+        // The cost factors are relative to the simple convolution cost of n^2
+        double mediumCost = 0;
+        for (int n = KARATSUBA_SIZE / 8; n <= KARATSUBA_SIZE; n *= 2)
+        {
+            mediumCost += time(new RawtypeMediumConvolutionStrategy(ctx.getDefaultRadix()), n) / ((double) n * n);
+        }
+        mediumCost /= 4;
+
+        double karatsubaCostFactor = calibrateCostFactor(new RawtypeKaratsubaConvolutionStrategy(ctx.getDefaultRadix()), mediumCost, Math.log(3) / Math.log(2), KARATSUBA_SIZE);
+        ctx.setProperty(ApfloatContext.KARATSUBA_COST_FACTOR, String.valueOf((float) karatsubaCostFactor));
+        System.err.println("karatsubaCostFactor " + (float) karatsubaCostFactor);
+
+        double toom3CostFactor = calibrateCostFactor(new RawtypeToom3ConvolutionStrategy(ctx.getDefaultRadix()), mediumCost, Math.log(5) / Math.log(3), TOOM3_SIZE);
+        ctx.setProperty(ApfloatContext.TOOM3_COST_FACTOR, String.valueOf((float) toom3CostFactor));
+        System.err.println("toom3CostFactor " + (float) toom3CostFactor);
+
+        double toom4CostFactor = calibrateCostFactor(new RawtypeToom4ConvolutionStrategy(ctx.getDefaultRadix()), mediumCost, Math.log(7) / Math.log(4), TOOM4_SIZE);
+        ctx.setProperty(ApfloatContext.TOOM4_COST_FACTOR, String.valueOf((float) toom4CostFactor));
+        System.err.println("toom4CostFactor " + (float) toom4CostFactor);
+
+        double nttCostFactor = 0;
+        for (int n = NTT_SIZE / 8; n <= NTT_SIZE; n *= 2)
+        {
+            NTTStrategy nttStrategy = ctx.getBuilderFactory().getNTTBuilder().createNTT(2 * n);
+            nttCostFactor += time(new ParallelThreeNTTConvolutionStrategy(ctx.getDefaultRadix(), nttStrategy), n) / (mediumCost * 2 * n * (31 - Integer.numberOfLeadingZeros(2 * n)));
+        }
+        nttCostFactor /= 4;
+        ctx.setProperty(ApfloatContext.NTT_COST_FACTOR, String.valueOf((float) nttCostFactor));
+        System.err.println("nttCostFactor " + (float) nttCostFactor);
+
+        Properties properties = new Properties();
+        File file = new File(fileName);
+        if (file.exists())
+        {
+            try (InputStream in = new FileInputStream(file))
+            {
+                properties.load(in);
+            }
+        }
+        properties.setProperty(ApfloatContext.BUILDER_FACTORY, RawtypeBuilderFactory.class.getName());
+        properties.setProperty(ApfloatContext.CACHE_L1_SIZE, String.valueOf(ctx.getCacheL1Size()));
+        properties.setProperty(ApfloatContext.CACHE_L2_SIZE, String.valueOf(ctx.getCacheL2Size()));
+        for (String propertyName : new String[] { ApfloatContext.SIMPLE_FNT_THRESHOLD, ApfloatContext.KARATSUBA_CUTOFF_POINT, ApfloatContext.KARATSUBA_COST_FACTOR, ApfloatContext.TOOM3_CUTOFF_POINT, ApfloatContext.TOOM3_COST_FACTOR, ApfloatContext.TOOM4_CUTOFF_POINT, ApfloatContext.TOOM4_COST_FACTOR, ApfloatContext.NTT_COST_FACTOR })
+        {
+            properties.setProperty(propertyName, ctx.getProperty(propertyName));
+        }
+        try (OutputStream out = new FileOutputStream(file))
+        {
+            properties.store(out, "Calibrated with " + RawtypeCalibration.class.getName());
+        }
+
+        System.out.println("Wrote " + file);
+    }
+
+    // Returns the largest square matrix size in bytes before the transposition time per element increases significantly
+    private static int calibrateCacheSize(int minSize, int maxSize, int l1CacheSize, int l2CacheSize)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        int cacheL1Size = ctx.getCacheL1Size(),
+            cacheL2Size = ctx.getCacheL2Size();
+        RawtypeMatrixStrategy matrixStrategy = new RawtypeMatrixStrategy();
+        double minTime = Double.MAX_VALUE;
+        int n;
+        for (n = 1 << (31 - Integer.numberOfLeadingZeros(minSize / RawType.BYTES)) / 2; n * n * RawType.BYTES <= maxSize; n *= 2)
+        {
+            int length = n * n,
+                n1 = n;
+            RawtypeMemoryArrayAccess arrayAccess = new RawtypeMemoryArrayAccess(new rawtype[length], 0, length);
+
+            // Force the algorithm, but use the real cache sizes when timing
+            ctx.setCacheL1Size(l1CacheSize);
+            ctx.setCacheL2Size(l2CacheSize);
+            Runnable task = () -> matrixStrategy.transpose(arrayAccess, n1, n1);
+            time(task);     // Warm up
+            double time = time(task) / length;
+            ctx.setCacheL1Size(cacheL1Size);
+            ctx.setCacheL2Size(cacheL2Size);
+
+            if (time > CACHE_MISS_FACTOR * minTime)
+            {
+                break;
+            }
+            minTime = Math.min(minTime, time);
+        }
+        return n * n / 4 * RawType.BYTES;
+    }
+
+    // Returns the largest transform length in bytes where the table FNT is faster than the six-step FNT
+    private static long calibrateSimpleFNTThreshold()
+    {
+        NTTStrategy tableFNTStrategy = new RawtypeTableFNTStrategy(),
+                    sixStepFNTStrategy = new SixStepFNTStrategy();
+        int length;
+        for (length = MIN_FNT_LENGTH; length <= Math.min(MAX_FNT_LENGTH, MAX_TRANSFORM_LENGTH); length *= 2)
+        {
+            DataStorage dataStorage = createDataStorage(length);
+            long transformLength = length;
+            Runnable tableTask = () -> roundTrip(tableFNTStrategy, dataStorage, transformLength),
+                     sixStepTask = () -> roundTrip(sixStepFNTStrategy, dataStorage, transformLength);
+            time(tableTask);    // Warm up
+            time(sixStepTask);
+            double tableTime = time(tableTask),
+                   sixStepTime = time(sixStepTask);
+            if (sixStepTime < tableTime)
+            {
+                break;
+            }
+        }
+        return (long) length / 2 * RawType.BYTES;
+    }
+
+    // Returns the cutoff point that gives the fastest convolution of the size
+    private static int calibrateCutoffPoint(ConvolutionStrategy convolutionStrategy, String propertyName, int defaultCutoffPoint, int minCutoffPoint, int maxCutoffPoint, int size)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        int bestCutoffPoint = defaultCutoffPoint;
+        double minTime = Double.MAX_VALUE;
+        for (int cutoffPoint = minCutoffPoint; cutoffPoint <= maxCutoffPoint; cutoffPoint += cutoffPoint / 4)
+        {
+            ctx.setProperty(propertyName, String.valueOf(cutoffPoint));
+            double time = time(convolutionStrategy, size);
+            if (time < minTime)
+            {
+                minTime = time;
+                bestCutoffPoint = cutoffPoint;
+            }
+        }
+        return bestCutoffPoint;
+    }
+
+    // Returns the convolution time relative to the simple convolution cost of n^2, divided by n^exponent
+    private static double calibrateCostFactor(ConvolutionStrategy convolutionStrategy, double mediumCost, double exponent, int size)
+    {
+        double costFactor = 0;
+        for (int n = size / 8; n <= size; n *= 2)
+        {
+            costFactor += time(convolutionStrategy, n) / (mediumCost * Math.pow(n, exponent));
+        }
+        return costFactor / 4;
+    }
+
+    private static void roundTrip(NTTStrategy nttStrategy, DataStorage dataStorage, long transformLength)
+    {
+        nttStrategy.transform(dataStorage, 0);
+        nttStrategy.inverseTransform(dataStorage, 0, transformLength);
+    }
+
+    private static double time(ConvolutionStrategy convolutionStrategy, int size)
+    {
+        DataStorage x = createDataStorage(size),
+                    y = createDataStorage(size);
+        return time(() -> convolutionStrategy.convolute(x, y, 2 * size));
+    }
+
+    // Minimum time in nanoseconds, repeating the task enough times for a reliable measurement
+    private static double time(Runnable task)
+    {
+        int reps = 1;
+        long time;
+        while ((time = repeat(task, reps)) < MIN_TIME)
+        {
+            reps *= 2;
+        }
+        long minTime = time;
+        for (int i = 1; i < TESTS; i++)
+        {
+            minTime = Math.min(minTime, repeat(task, reps));
+        }
+        return (double) minTime / reps;
+    }
+
+    private static long repeat(Runnable task, int reps)
+    {
+        long time = System.nanoTime();
+        for (int i = 0; i < reps; i++)
+        {
+            task.run();
+        }
+        return System.nanoTime() - time;
+    }
+
+    private static DataStorage createDataStorage(int size)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        DataStorage dataStorage = ctx.getBuilderFactory().getDataStorageBuilder().createDataStorage((long) size * RawType.BYTES);
+        dataStorage.setSize(size);
+
+        Random random = new Random();
+        rawtype base = BASE[ctx.getDefaultRadix()];
+        try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.WRITE, 0, size))
+        {
+            for (int i = 0; i < size; i++)
+            {
+                arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i] = (rawtype) Math.floorMod(random.nextLong(), (long) base);
+            }
+        }
+
+        return dataStorage;
+    }
+
+    private static final int MIN_L1_SIZE = 4096;
+    private static final int MAX_L1_SIZE = 1 << 22;
+    private static final int MIN_L2_SIZE = 1 << 16;
+    private static final int MAX_L2_SIZE = 1 << 26;
+    private static final double CACHE_MISS_FACTOR = 1.5;
+    private static final int MIN_FNT_LENGTH = 1024;
+    private static final int MAX_FNT_LENGTH = 1 << 20;
+    private static final int MIN_CUTOFF_POINT = 8;
+    private static final int MAX_CUTOFF_POINT = 256;
+    private static final int KARATSUBA_SIZE = 2048;
+    private static final int MAX_TOOM3_CUTOFF_POINT = 1024;
+    private static final int TOOM3_SIZE = 8192;
+    private static final int MAX_TOOM4_CUTOFF_POINT = 2048;
+    private static final int TOOM4_SIZE = 16384;
+    private static final int NTT_SIZE = 65536;
+    private static final long MIN_TIME = 10000000;
+    private static final int TESTS = 3;
+}
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -33,7 +33,7 @@ import org.apfloat.spi.Util;
 /**
  * Default initial settings for the global {@link ApfloatContext}.
  *
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -83,10 +83,15 @@ public class apfloat
             { ApfloatContext.MEMORY_THRESHOLD, String.valueOf(memoryThreshold) },
             { ApfloatContext.SHARED_MEMORY_TRESHOLD, String.valueOf(maxMemoryBlockSize / numberOfProcessors / 32) },
             { ApfloatContext.BLOCK_SIZE, String.valueOf(blockSize) },
+            { ApfloatContext.IO_BUFFER_COUNT, "2" },
             { ApfloatContext.NUMBER_OF_PROCESSORS, String.valueOf(numberOfProcessors) },
             { ApfloatContext.FILE_PATH, "" },
             { ApfloatContext.FILE_INITIAL_VALUE, "0" },
             { ApfloatContext.FILE_SUFFIX, ".ap" },
+            { ApfloatContext.FILE_MEMORY_MAPPED, "false" },
+            { ApfloatContext.CONSTANT_CACHE_PATH, "" },
+            { ApfloatContext.BIT_BURST_PRECISION, "1000000" },
+            { ApfloatContext.GAUSS_MULTIPLY_THRESHOLD, "1000" },
             { ApfloatContext.CLEANUP_AT_EXIT, "true" }
         };
 
@@ -49,7 +49,7 @@ import static java.util.FormattableFlags.*;
  * @see Apfloat
  * @see ApcomplexMath
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -496,7 +496,11 @@ public class Apcomplex
     }
 
     /**
-     * Multiplies two apcomplex numbers.
+     * Multiplies two apcomplex numbers.<p>
+     *
+     * When all the parts of the numbers are large, the product is calculated
+     * with three real multiplications instead of four. Squaring a number
+     * (<code>z.multiply(z)</code>) takes only two real multiplications in that case.
      *
      * @param z The number to be multiplied by this number.
      *
@@ -506,6 +510,12 @@ public class Apcomplex
     public Apcomplex multiply(Apcomplex z)
         throws ApfloatRuntimeException
     {
+        Apcomplex result = (z == this ? square() : multiplyGauss(z));
+        if (result != null)
+        {
+            return result;
+        }
+
         return new Apcomplex(ApfloatMath.multiplySubtract(real(), z.real(), imag(), z.imag()),
                              ApfloatMath.multiplyAdd(real(), z.imag(), imag(), z.real()));
     }
@@ -587,6 +597,96 @@ public class Apcomplex
         return multiply(z.conj()).divide(ApcomplexMath.norm(zApprox));
     }
 
+    // Gauss' multiplication algorithm with three real multiplications, returns null if the four multiplications would be faster
+    private Apcomplex multiplyGauss(Apcomplex z)
+        throws ApfloatRuntimeException
+    {
+        Apfloat a = real(),
+                b = imag(),
+                c = z.real(),
+                d = z.imag();
+
+        if (!isLarge(a) || !isLarge(b) || !isLarge(c) || !isLarge(d))
+        {
+            return null;
+        }
+
+        long[] realPrecisions = ApfloatHelper.getMatchingPrecisions(a, c, b, d),
+               imagPrecisions = ApfloatHelper.getMatchingPrecisions(a, d, b, c);
+
+        if (realPrecisions[0] == 0 || realPrecisions[1] == 0 || imagPrecisions[0] == 0 || imagPrecisions[1] == 0)
+        {
+            return null;
+        }
+
+        // The round-off errors are relative to the larger of the real and imaginary parts, so the smaller part needs extra precision
+        long realScale = Math.max(a.scale() + c.scale(), b.scale() + d.scale()),
+             imagScale = Math.max(a.scale() + d.scale(), b.scale() + c.scale()),
+             realPrecision = Util.ifFinite(realPrecisions[2], realPrecisions[2] + Math.max(0, imagScale - realScale)),
+             imagPrecision = Util.ifFinite(imagPrecisions[2], imagPrecisions[2] + Math.max(0, realScale - imagScale)),
+             precision = Math.max(realPrecision, imagPrecision);
+
+        if (Math.abs(realScale - imagScale) > Math.min(realPrecisions[2], imagPrecisions[2]) / 4)
+        {
+            return null;
+        }
+
+        precision = ApfloatHelper.extendPrecision(precision);
+        a = a.precision(precision);
+        b = b.precision(precision);
+        c = c.precision(precision);
+        d = d.precision(precision);
+
+        Apfloat k1 = c.multiply(a.add(b)),
+                k2 = a.multiply(d.subtract(c)),
+                k3 = b.multiply(c.add(d)),
+                real = k1.subtract(k3),
+                imag = k1.add(k2);
+
+        return new Apcomplex(real.signum() == 0 ? real : real.precision(realPrecisions[2]),
+                             imag.signum() == 0 ? imag : imag.precision(imagPrecisions[2]));
+    }
+
+    // Squaring with two real multiplications, returns null if the four multiplications would be faster
+    private Apcomplex square()
+        throws ApfloatRuntimeException
+    {
+        Apfloat a = real(),
+                b = imag();
+
+        if (!isLarge(a) || !isLarge(b))
+        {
+            return null;
+        }
+
+        long[] realPrecisions = ApfloatHelper.getMatchingPrecisions(a, a, b, b);
+        long imagPrecision = Math.min(a.precision(), b.precision());
+
+        if (realPrecisions[0] == 0 || realPrecisions[1] == 0)
+        {
+            return null;
+        }
+
+        long precision = ApfloatHelper.extendPrecision(Math.max(realPrecisions[2], imagPrecision));
+        a = a.precision(precision);
+        b = b.precision(precision);
+
+        Apfloat real = a.add(b).multiply(a.subtract(b)),
+                imag = a.multiply(b);
+        imag = imag.add(imag);
+
+        return new Apcomplex(real.signum() == 0 ? real : real.precision(realPrecisions[2]),
+                             imag.precision(imagPrecision));
+    }
+
+    // If the number is big enough that saving one multiplication is worth a few additions
+    private static boolean isLarge(Apfloat x)
+        throws ApfloatRuntimeException
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        return (x.signum() != 0 && Math.min(x.size(), x.precision()) >= ctx.getGaussMultiplyThreshold());
+    }
+
     /**
      * Returns the value of the this number as a <code>double</code>.
      * Only takes the real part of this number.
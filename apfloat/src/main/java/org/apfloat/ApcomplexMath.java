@@ -39,7 +39,7 @@ import org.apfloat.spi.Util;
  *
  * @see ApfloatMath
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -943,6 +943,11 @@ public class ApcomplexMath
     {
         assert (!z.isZero());      // Infinity
 
+        if (BitBurstHelper.isUsed(z.precision()) && z.scale() == 0 && z.real().signum() >= 0)
+        {
+            return BitBurstHelper.log(z, z.precision());
+        }
+
         Apfloat one = new Apfloat(1, Apfloat.INFINITE, z.radix());
 
         final int EXTRA_PRECISION = 25;
@@ -1058,6 +1063,12 @@ public class ApcomplexMath
         }
         z = new Apcomplex(z.real(), zImag);
 
+        if (BitBurstHelper.isUsed(targetPrecision) && z.real().scale() <= doublePrecision)     // Huge real parts are near overflow or underflow, which Newton's iteration detects
+        {
+            Apcomplex result = BitBurstHelper.exp(z, targetPrecision);
+            return (negateResult ? result.negate() : result);
+        }
+
         Apfloat resultReal;
         Apcomplex resultImag;
 
@@ -29,6 +29,8 @@ import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.Writer;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.Formatter;
 import java.util.List;
@@ -63,7 +65,7 @@ import org.apfloat.spi.Util;
  *
  * @see ApfloatMath
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -436,6 +438,30 @@ public class Apfloat
         this(ApfloatHelper.createApfloat(in, precision, radix, false, initialSize));
     }
 
+    /**
+     * Reads an apfloat from a channel in the binary format written by
+     * {@link #writeTo(WritableByteChannel)}. The radix and precision of
+     * the number are also read from the channel.<p>
+     *
+     * If the channel is a <code>FileChannel</code> and the number is big, the
+     * data may be read from the file lazily, without copying it. In this case the
+     * channel must not be closed and the file must not be modified while
+     * the number is in use.
+     *
+     * @param in The channel to read from.
+     *
+     * @exception IOException If an I/O error occurs accessing the channel.
+     * @exception NumberFormatException If the data is not a valid number.
+     *
+     * @since 1.17.0
+     */
+
+    public Apfloat(ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        this(ApfloatHelper.createApfloat(in));
+    }
+
     /**
      * Constructs an apfloat from a <code>BigInteger</code>.
      * Precision will be {@link #INFINITE} and the default radix
@@ -1394,6 +1420,29 @@ public class Apfloat
         this.impl.writeTo(out, pretty);
     }
 
+    /**
+     * Write this apfloat to a channel in a compact binary format.
+     * The format contains the radix, sign, exponent and precision of the
+     * number followed by the raw data words, so it is much faster to write
+     * and read than the string representation. The number can be read
+     * back with the {@link #Apfloat(ReadableByteChannel)} constructor.<p>
+     *
+     * If the number is stored on disk and the channel is a <code>FileChannel</code>,
+     * the data is transferred directly between the files.
+     *
+     * @param out The output channel.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     *
+     * @since 1.17.0
+     */
+
+    public void writeTo(WritableByteChannel out)
+        throws IOException, ApfloatRuntimeException
+    {
+        this.impl.writeTo(out);
+    }
+
     /**
      * Formats the object using the provided formatter.<p>
      *
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2024 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -80,10 +80,23 @@ import org.apfloat.spi.Util;
  *   <li><code>memoryThreshold</code>, set as in {@link #setMemoryThreshold(long)}</li>
  *   <li><code>shredMemoryTreshold</code>, set as in {@link #setSharedMemoryTreshold(long)}</li>
  *   <li><code>blockSize</code>, set as in {@link #setBlockSize(int)}</li>
+ *   <li><code>ioBufferCount</code>, set as in {@link #setIoBufferCount(int)}</li>
  *   <li><code>numberOfProcessors</code>, set as in {@link #setNumberOfProcessors(int)}</li>
  *   <li><code>filePath</code>, set as in {@link #setProperty(String,String)} with property name {@link #FILE_PATH}</li>
  *   <li><code>fileInitialValue</code>, set as in {@link #setProperty(String,String)} with property name {@link #FILE_INITIAL_VALUE}</li>
  *   <li><code>fileSuffix</code>, set as in {@link #setProperty(String,String)} with property name {@link #FILE_SUFFIX}</li>
+ *   <li><code>fileMemoryMapped</code>, set as in {@link #setProperty(String,String)} with property name {@link #FILE_MEMORY_MAPPED}</li>
+ *   <li><code>constantCachePath</code>, set as in {@link #setProperty(String,String)} with property name {@link #CONSTANT_CACHE_PATH}</li>
+ *   <li><code>bitBurstPrecision</code>, set as in {@link #setProperty(String,String)} with property name {@link #BIT_BURST_PRECISION}</li>
+ *   <li><code>gaussMultiplyThreshold</code>, set as in {@link #setProperty(String,String)} with property name {@link #GAUSS_MULTIPLY_THRESHOLD}</li>
+ *   <li><code>karatsubaCutoffPoint</code>, set as in {@link #setProperty(String,String)} with property name {@link #KARATSUBA_CUTOFF_POINT}</li>
+ *   <li><code>karatsubaCostFactor</code>, set as in {@link #setProperty(String,String)} with property name {@link #KARATSUBA_COST_FACTOR}</li>
+ *   <li><code>toom3CutoffPoint</code>, set as in {@link #setProperty(String,String)} with property name {@link #TOOM3_CUTOFF_POINT}</li>
+ *   <li><code>toom3CostFactor</code>, set as in {@link #setProperty(String,String)} with property name {@link #TOOM3_COST_FACTOR}</li>
+ *   <li><code>toom4CutoffPoint</code>, set as in {@link #setProperty(String,String)} with property name {@link #TOOM4_CUTOFF_POINT}</li>
+ *   <li><code>toom4CostFactor</code>, set as in {@link #setProperty(String,String)} with property name {@link #TOOM4_COST_FACTOR}</li>
+ *   <li><code>nttCostFactor</code>, set as in {@link #setProperty(String,String)} with property name {@link #NTT_COST_FACTOR}</li>
+ *   <li><code>simpleFNTThreshold</code>, set as in {@link #setProperty(String,String)} with property name {@link #SIMPLE_FNT_THRESHOLD}</li>
  *   <li><code>cleanupAtExit</code>, set as in {@link #setCleanupAtExit(boolean)}</li>
  * </ul>
  * <p>
@@ -104,13 +117,25 @@ import org.apfloat.spi.Util;
  * memoryThreshold=65536
  * sharedMemoryTreshold=65536
  * blockSize=65536
+ * ioBufferCount=2
  * numberOfProcessors=1
  * filePath=
  * fileInitialValue=0
  * fileSuffix=.ap
+ * fileMemoryMapped=false
+ * constantCachePath=
+ * bitBurstPrecision=1000000
+ * gaussMultiplyThreshold=1000
  * cleanupAtExit=true
  * </pre>
  *
+ * The convolution algorithm selection properties <code>karatsubaCutoffPoint</code>,
+ * <code>karatsubaCostFactor</code>, <code>toom3CutoffPoint</code>, <code>toom3CostFactor</code>,
+ * <code>toom4CutoffPoint</code>, <code>toom4CostFactor</code>, <code>nttCostFactor</code> and <code>simpleFNTThreshold</code>
+ * are not set by default, in which case values suitable for the element type of the
+ * builder factory are used. They can be measured for the host with the calibration tool
+ * of the apfloat-tools module, which writes them to an <code>apfloat.properties</code> file.<p>
+ *
  * A system property could be used to override any of the above, e.g. by setting
  * on the command line <code>"-Dapfloat.defaultRadix=11"</code>.<p>
  *
@@ -163,7 +188,10 @@ import org.apfloat.spi.Util;
  *       mechanism can be set up for pooling the threads competing for the same
  *       lock, and executing the task using parallel threads from the thread pool.
  *       For example the default apfloat multiplication algorithm uses such a
- *       mechanism. Note that synchronization against the shared memory lock
+ *       mechanism. It also treats the maximum memory block size as a memory budget
+ *       that is shared by the threads using the same shared memory lock, so
+ *       several threads can multiply at the same time, if the memory they need
+ *       fits in the budget. Note that synchronization against the shared memory lock
  *       will be used for all data blocks larger than the shared memory
  *       threshold (see {@link #getSharedMemoryTreshold()}).</li>
  *   <li>{@link #setFilenameGenerator(FilenameGenerator)}: When you clone an
@@ -193,7 +221,7 @@ import org.apfloat.spi.Util;
  * If these features are added to the Java platform in the future, they
  * may be added to the <code>ApfloatContext</code> API as well.
  *
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -263,6 +291,14 @@ public class ApfloatContext
 
     public static final String BLOCK_SIZE = "blockSize";
 
+    /**
+     * Property name for specifying the number of I/O buffers.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String IO_BUFFER_COUNT = "ioBufferCount";
+
     /**
      * Property name for specifying the number of processors available.
      */
@@ -287,6 +323,150 @@ public class ApfloatContext
 
     public static final String FILE_SUFFIX = "fileSuffix";
 
+    /**
+     * Property name for specifying if temporary files should be accessed through memory mapping.
+     * If the value is <code>true</code> then the data storages created for data that is stored
+     * on disk access the files through memory-mapped buffers instead of with reads and writes.
+     * The default is <code>false</code>.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String FILE_MEMORY_MAPPED = "fileMemoryMapped";
+
+    /**
+     * Property name for specifying the path for persistently caching mathematical constants.
+     * If the value is not empty then constants like &pi; and the logarithm of the radix,
+     * as calculated by {@link ApfloatMath}, are saved to files in this directory and
+     * loaded from there, also by later program runs. If more precision is needed than
+     * what is found in the files, the calculation is continued from the saved state where
+     * possible. The default is an empty value, which disables the persistent cache.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String CONSTANT_CACHE_PATH = "constantCachePath";
+
+    /**
+     * Property name for specifying the maximum precision for using the bit-burst algorithm.
+     * The exponential function, logarithm and the trigonometric functions and their inverses
+     * of {@link ApfloatMath} and {@link ApcomplexMath} are calculated with the bit-burst algorithm
+     * and binary splitting up to this precision, in digits. At higher precisions they are calculated
+     * using the arithmetic-geometric mean, which is asymptotically faster. The value 0 disables the
+     * bit-burst algorithm. The default is 1000000. The value must not be negative.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String BIT_BURST_PRECISION = "bitBurstPrecision";
+
+    /**
+     * Property name for specifying the minimum precision for multiplying complex numbers
+     * with Gauss' algorithm. The multiplication in {@link Apcomplex} uses three real
+     * multiplications instead of four when all parts of both operands have at least this
+     * many digits. Below this the saved multiplication does not pay for the extra additions.
+     * The default is 1000. The value must not be negative.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String GAUSS_MULTIPLY_THRESHOLD = "gaussMultiplyThreshold";
+
+    /**
+     * Property name for specifying the Karatsuba convolution cutoff point.
+     * Convolutions where the shorter operand has at most this many elements are
+     * calculated with the basic O(n<sup>2</sup>) algorithm. The value is specific to
+     * the element type of the builder factory. If not set, the value of the element type's
+     * <code>KaratsubaConvolutionStrategy.CUTOFF_POINT</code> is used. The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String KARATSUBA_CUTOFF_POINT = "karatsubaCutoffPoint";
+
+    /**
+     * Property name for specifying the relative cost factor of the Karatsuba convolution.
+     * It is used in selecting the fastest convolution algorithm for the operand sizes.
+     * The value is specific to the element type of the builder factory. If not set, the
+     * value of the element type's <code>Constants.KARATSUBA_COST_FACTOR</code> is used.
+     * The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String KARATSUBA_COST_FACTOR = "karatsubaCostFactor";
+
+    /**
+     * Property name for specifying the Toom-Cook 3-way convolution cutoff point.
+     * Convolutions where the shorter operand has at most this many elements are
+     * calculated with the Karatsuba algorithm instead. The value is specific to
+     * the element type of the builder factory. If not set, the value of the element type's
+     * <code>Toom3ConvolutionStrategy.CUTOFF_POINT</code> is used. The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String TOOM3_CUTOFF_POINT = "toom3CutoffPoint";
+
+    /**
+     * Property name for specifying the relative cost factor of the Toom-Cook 3-way convolution.
+     * It is used in selecting the fastest convolution algorithm for the operand sizes.
+     * The value is specific to the element type of the builder factory. If not set, the
+     * value of the element type's <code>Constants.TOOM3_COST_FACTOR</code> is used.
+     * The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String TOOM3_COST_FACTOR = "toom3CostFactor";
+
+    /**
+     * Property name for specifying the Toom-Cook 4-way convolution cutoff point.
+     * Convolutions where the shorter operand has at most this many elements are
+     * calculated with the Toom-Cook 3-way algorithm instead. The value is specific to
+     * the element type of the builder factory. If not set, the value of the element type's
+     * <code>Toom4ConvolutionStrategy.CUTOFF_POINT</code> is used. The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String TOOM4_CUTOFF_POINT = "toom4CutoffPoint";
+
+    /**
+     * Property name for specifying the relative cost factor of the Toom-Cook 4-way convolution.
+     * It is used in selecting the fastest convolution algorithm for the operand sizes.
+     * The value is specific to the element type of the builder factory. If not set, the
+     * value of the element type's <code>Constants.TOOM4_COST_FACTOR</code> is used.
+     * The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String TOOM4_COST_FACTOR = "toom4CostFactor";
+
+    /**
+     * Property name for specifying the relative cost factor of the NTT convolution.
+     * It is used in selecting the fastest convolution algorithm for the operand sizes.
+     * The value is specific to the element type of the builder factory. If not set, the
+     * value of the element type's <code>Constants.NTT_COST_FACTOR</code> is used.
+     * The value must be positive.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String NTT_COST_FACTOR = "nttCostFactor";
+
+    /**
+     * Property name for specifying the maximum size of a number theoretic transform
+     * that is calculated with the simple table FNT algorithm, in bytes. Larger transforms
+     * that fit in memory are calculated with the six-step algorithm. If not set, half of
+     * the L1 cache size is used.
+     *
+     * @since 1.17.0
+     */
+
+    public static final String SIMPLE_FNT_THRESHOLD = "simpleFNTThreshold";
+
     /**
      * Property name for specifying if clean-up should be done at program exit.
      */
@@ -308,6 +488,7 @@ public class ApfloatContext
             ApfloatContext.threadContexts.values().stream().map(ApfloatContext::getExecutorService).forEach(this::shutdown);
             shutdown(ApfloatContext.globalContext.getExecutorService());
             ApfloatMath.cleanUp();      // Clear references to static cached apfloats
+            RadixConversionHelper.cleanUp();    // Clear references to cached radix powers
             System.gc();
             System.gc();
             this.builderFactory.shutdown();
@@ -842,6 +1023,49 @@ public class ApfloatContext
         this.blockSize = blockSize;
     }
 
+    /**
+     * Get the number of I/O buffers.
+     *
+     * @return The number of I/O buffers.
+     *
+     * @see #setIoBufferCount(int)
+     *
+     * @since 1.17.0
+     */
+
+    public int getIoBufferCount()
+    {
+        return this.ioBufferCount;
+    }
+
+    /**
+     * Set the number of buffers used for overlapping disk I/O with
+     * calculations for this context. The minimum value for this setting is 1.<p>
+     *
+     * When processing data that is stored on disk in blocks, for example in
+     * the "two-pass" transform, the next blocks can be read and the previous
+     * blocks written back in the background while the current block is being
+     * processed. The maximum memory block size is then divided between this
+     * many blocks, so the total amount of memory used is not increased, but
+     * the blocks are smaller and thus the disk I/O is done in smaller pieces.<p>
+     *
+     * With the value 1 no overlapping of I/O and calculations is done. With the
+     * value 2 the data is double-buffered, and with the value 3 or more the
+     * next block can be read and the previous block written at the same
+     * time while the current block is processed. The default value is 2.
+     *
+     * @param ioBufferCount The number of I/O buffers to be used in calculations using this context.
+     *
+     * @since 1.17.0
+     */
+
+    public void setIoBufferCount(int ioBufferCount)
+    {
+        ioBufferCount = Math.max(ioBufferCount, 1);
+        this.properties.setProperty(IO_BUFFER_COUNT, String.valueOf(ioBufferCount));
+        this.ioBufferCount = ioBufferCount;
+    }
+
     /**
      * Get the number of processors that should be used for parallel calculations.
      *
@@ -968,7 +1192,7 @@ public class ApfloatContext
      * @param propertyName The name of the property.
      * @param propertyValue The value of the property as a <code>String</code>.
      *
-     * @exception org.apfloat.ApfloatConfigurationException If the property value can't be converted to the correct type.
+     * @exception org.apfloat.ApfloatConfigurationException If the property value can't be converted to the correct type, or a convolution tuning property value is not positive.
      */
 
     public void setProperty(String propertyName, String propertyValue)
@@ -1012,6 +1236,10 @@ public class ApfloatContext
             {
                 setBlockSize(Integer.parseInt(propertyValue));
             }
+            else if (propertyName.equals(IO_BUFFER_COUNT))
+            {
+                setIoBufferCount(Integer.parseInt(propertyValue));
+            }
             else if (propertyName.equals(NUMBER_OF_PROCESSORS))
             {
                 setNumberOfProcessors(Integer.parseInt(propertyValue));
@@ -1038,6 +1266,35 @@ public class ApfloatContext
             {
                 setCleanupAtExit(Boolean.parseBoolean(propertyValue));
             }
+            else if (propertyName.equals(BIT_BURST_PRECISION))
+            {
+                long bitBurstPrecision = Long.parseLong(propertyValue.trim());
+                if (bitBurstPrecision < 0)
+                {
+                    throw new IllegalArgumentException("Value must not be negative");
+                }
+                this.properties.setProperty(propertyName, String.valueOf(bitBurstPrecision));
+                this.bitBurstPrecision = bitBurstPrecision;
+            }
+            else if (propertyName.equals(GAUSS_MULTIPLY_THRESHOLD))
+            {
+                long gaussMultiplyThreshold = Long.parseLong(propertyValue.trim());
+                if (gaussMultiplyThreshold < 0)
+                {
+                    throw new IllegalArgumentException("Value must not be negative");
+                }
+                this.properties.setProperty(propertyName, String.valueOf(gaussMultiplyThreshold));
+                this.gaussMultiplyThreshold = gaussMultiplyThreshold;
+            }
+            else if (propertyName.equals(KARATSUBA_CUTOFF_POINT) || propertyName.equals(TOOM3_CUTOFF_POINT) || propertyName.equals(TOOM4_CUTOFF_POINT))
+            {
+                // The convolution algorithms could recurse infinitely with a non-positive cutoff point
+                this.properties.setProperty(propertyName, String.valueOf(parsePositiveInt(propertyValue)));
+            }
+            else if (propertyName.equals(KARATSUBA_COST_FACTOR) || propertyName.equals(TOOM3_COST_FACTOR) || propertyName.equals(TOOM4_COST_FACTOR) || propertyName.equals(NTT_COST_FACTOR))
+            {
+                this.properties.setProperty(propertyName, String.valueOf(parsePositiveFloat(propertyValue)));
+            }
             else
             {
                 this.properties.setProperty(propertyName, propertyValue);
@@ -1049,6 +1306,38 @@ public class ApfloatContext
         }
     }
 
+    // The value is parsed when the property is set, as it is checked by every exponential function and logarithm
+    long getBitBurstPrecision()
+    {
+        return this.bitBurstPrecision;
+    }
+
+    // The value is parsed when the property is set, as it is checked by every complex multiplication
+    long getGaussMultiplyThreshold()
+    {
+        return this.gaussMultiplyThreshold;
+    }
+
+    private static int parsePositiveInt(String value)
+    {
+        int i = Integer.parseInt(value.trim());
+        if (i <= 0)
+        {
+            throw new IllegalArgumentException("Value must be positive");
+        }
+        return i;
+    }
+
+    private static float parsePositiveFloat(String value)
+    {
+        float f = Float.parseFloat(value.trim());
+        if (!(f > 0) || Float.isInfinite(f))
+        {
+            throw new IllegalArgumentException("Value must be positive and finite");
+        }
+        return f;
+    }
+
     /**
      * Get the values of all properties as strings.
      * The names of the properties are all of the constants defined above.
@@ -1382,7 +1671,10 @@ public class ApfloatContext
     private volatile long memoryThreshold;
     private volatile long sharedMemoryTreshold;
     private volatile int blockSize;
+    private volatile int ioBufferCount;
     private volatile int numberOfProcessors;
+    private volatile long bitBurstPrecision;
+    private volatile long gaussMultiplyThreshold;
     private volatile CleanupThread cleanupThread;
     private volatile Properties properties;
     private volatile Object sharedMemoryLock = new Object();
@@ -1426,10 +1718,15 @@ public class ApfloatContext
         ApfloatContext.defaultProperties.setProperty(MEMORY_THRESHOLD, String.valueOf(memoryThreshold));
         ApfloatContext.defaultProperties.setProperty(SHARED_MEMORY_TRESHOLD, String.valueOf(maxMemoryBlockSize / numberOfProcessors / 32));
         ApfloatContext.defaultProperties.setProperty(BLOCK_SIZE, String.valueOf(blockSize));
+        ApfloatContext.defaultProperties.setProperty(IO_BUFFER_COUNT, "2");
         ApfloatContext.defaultProperties.setProperty(NUMBER_OF_PROCESSORS, String.valueOf(numberOfProcessors));
         ApfloatContext.defaultProperties.setProperty(FILE_PATH, "");
         ApfloatContext.defaultProperties.setProperty(FILE_INITIAL_VALUE, "0");
         ApfloatContext.defaultProperties.setProperty(FILE_SUFFIX, ".ap");
+        ApfloatContext.defaultProperties.setProperty(FILE_MEMORY_MAPPED, "false");
+        ApfloatContext.defaultProperties.setProperty(CONSTANT_CACHE_PATH, "");
+        ApfloatContext.defaultProperties.setProperty(BIT_BURST_PRECISION, "1000000");
+        ApfloatContext.defaultProperties.setProperty(GAUSS_MULTIPLY_THRESHOLD, "1000");
         ApfloatContext.defaultProperties.setProperty(CLEANUP_AT_EXIT, "true");
         loadSystemOverrides(ApfloatContext.defaultProperties);
 
@@ -26,12 +26,9 @@ package org.apfloat;
 import java.math.BigInteger;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PushbackReader;
-import java.io.Writer;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
 
 import org.apfloat.spi.ApfloatBuilder;
 import org.apfloat.spi.ApfloatImpl;
@@ -41,7 +38,7 @@ import static org.apfloat.spi.RadixConstants.*;
 /**
  * Various utility methods related to apfloats.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -165,6 +162,13 @@ class ApfloatHelper
         return factory.createApfloat(value, precision, radix);
     }
 
+    public static ApfloatImpl createApfloat(ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        ApfloatBuilder factory = getApfloatBuilder();
+        return factory.createApfloat(in);
+    }
+
     public static ApfloatImpl createApfloat(PushbackReader in, boolean isInteger)
         throws IOException, NumberFormatException, ApfloatRuntimeException
     {
@@ -239,33 +243,48 @@ class ApfloatHelper
             checkPrecision(precision);
         }
         checkRadix(radix);
-        Apfloat a;
-        try
-        {
-            a = new Apfloat(createApfloat(toPushbackReader(value), Apfloat.INFINITE, 16, true));
-        }
-        catch (IOException ioe)
+        precision = (precision == Apfloat.DEFAULT ? Apfloat.INFINITE : precision);
+
+        // The naive approach to convert from String is highly inefficient as the BigInteger.toString()
+        // method has O(n^2) complexity. Instead, the bits are converted directly to a power-of-two radix.
+        // Any other radix is converted from that with the subquadratic divide-and-conquer algorithm.
+        ApfloatBuilder factory = getApfloatBuilder();
+        byte[] magnitude = value.abs().toByteArray();
+        if (isPowerOfTwo(radix))
         {
-            if (ioe.getCause() instanceof InterruptedException)
-            {
-                throw new ApfloatInterruptedException("Interrupted", ioe, "interrupted");
-            }
-            throw new ApfloatRuntimeException("Should not occur", ioe, "shouldNotOccur");
+            return factory.createApfloat(value.signum(), magnitude, precision, radix);
         }
-        precision = (precision == Apfloat.DEFAULT ? Apfloat.INFINITE : precision);
+        Apfloat a = new Apfloat(factory.createApfloat(value.signum(), magnitude, Apfloat.INFINITE, 16));
         return a.toRadix(radix).getImpl(precision);
     }
 
     public static ApfloatImpl createApfloat(BigDecimal value)
         throws ApfloatRuntimeException
     {
-        return implCreateApfloat(value.toString(), Apfloat.DEFAULT, 10, false);
+        return implCreateApfloat(value, Apfloat.DEFAULT);
     }
 
     public static ApfloatImpl createApfloat(BigDecimal value, long precision)
         throws IllegalArgumentException, ApfloatRuntimeException
     {
-        return createApfloat(value.toString(), precision, 10, false);
+        if (precision != Apfloat.DEFAULT)
+        {
+            checkPrecision(precision);
+        }
+        return implCreateApfloat(value, precision);
+    }
+
+    // The unscaled value is converted like a BigInteger and then scaled, which is exact in radix 10
+    private static ApfloatImpl implCreateApfloat(BigDecimal value, long precision)
+        throws ApfloatRuntimeException
+    {
+        if (value.signum() == 0)
+        {
+            return createApfloat(BigInteger.ZERO, Apfloat.INFINITE, 10);
+        }
+        precision = (precision == Apfloat.DEFAULT ? value.precision() : precision);
+        Apfloat a = new Apfloat(createApfloat(value.unscaledValue(), Apfloat.INFINITE, 10));
+        return ApfloatMath.scale(a, -(long) value.scale()).getImpl(precision);
     }
 
     /**
@@ -598,6 +617,25 @@ class ApfloatHelper
         return x.precision(reducePrecision(x.precision(), extraPrecision));
     }
 
+    // Returns 1 - x * y, where x * y is known to be equal to one to the specified number of digits
+    public static Apfloat oneMinusMultiply(Apfloat x, Apfloat y, long matchingPrecision)
+        throws ApfloatRuntimeException
+    {
+        if (x.signum() == 0 || y.signum() == 0)
+        {
+            return new Apfloat(1, Apfloat.INFINITE, x.radix());
+        }
+
+        long targetPrecision = Math.min(x.precision(),
+                                        y.precision());
+
+        ApfloatImpl xImpl = x.getImpl(targetPrecision),
+                    yImpl = y.getImpl(targetPrecision),
+                    impl = xImpl.oneMinusMultiply(yImpl, matchingPrecision);
+
+        return new Apfloat(impl);
+    }
+
     // Returns z with precision as specified
     public static Apcomplex setPrecision(Apcomplex z, long precision)
         throws ApfloatRuntimeException
@@ -727,135 +765,15 @@ class ApfloatHelper
 
         // The naive approach to convert to String and then to BigInteger is highly
         // inefficient as the BigInteger String constructor has O(n^2) complexity.
-        // Therefore we first convert to radix-16 and then to a byte array.
-        Apint a = ApintMath.abs(x.toRadix(16));
-        long scale = a.scale();
-        long byteCount = (scale + 1) >> 1;
-
-        if (byteCount > Integer.MAX_VALUE)
-        {
-            throw new IllegalArgumentException("Maximum array size exceeded");
-        }
-
-        byte[] bytes = new byte[(int) byteCount];
-        boolean startHi = ((scale & 1) == 0);
-
-        try
-        {
-            a.writeTo(new Writer()
-            {
-                @Override
-                public void write(int c)
-                {
-                    c = Character.digit(c, 16);
-                    if (this.hi)
-                    {
-                        this.b = (c << 4);
-                    }
-                    else
-                    {
-                        this.b += (c & 0x0F);
-                        bytes[this.bytePosition] = (byte) this.b;
-                        this.bytePosition++;
-                    }
-                    this.hi = !this.hi;
-                }
-
-                @Override
-                public void write(char cbuf[], int off, int len)
-                {
-                    for (int i = 0; i < len; i++)
-                    {
-                        write(cbuf[off + i]);
-                    }
-                }
-
-                @Override
-                public void close()
-                {
-                }
-
-                @Override
-                public void flush()
-                {
-                }
-
-                private int b;
-                private int bytePosition;
-                private boolean hi = startHi;
-            });
-        }
-        catch (IOException ioe)
-        {
-            if (ioe.getCause() instanceof InterruptedException)
-            {
-                throw new ApfloatInterruptedException("Interrupted", ioe, "interrupted");
-            }
-            throw new ApfloatRuntimeException("Should not occur", ioe, "shouldNotOccur");
-        }
+        // Therefore we convert the digits of a power-of-two radix directly to bits.
+        // Any other radix is first converted with the subquadratic divide-and-conquer algorithm.
+        Apint a = (isPowerOfTwo(x.radix()) ? x : x.toRadix(16));
+        byte[] bytes = a.getImpl(Apfloat.INFINITE).toByteArray();
 
         BigInteger b = new BigInteger(x.signum(), bytes);
         return b;
     }
 
-    // Get a reader for the radix-16 presentation of the BigInteger.
-    // The BigInteger.toString() method has O(n^2) complexity,
-    // therefore we convert to a byte array instead.
-    public static PushbackReader toPushbackReader(BigInteger x)
-        throws IOException
-    {
-        byte[] bytes = x.abs().toByteArray();
-        int startB = (x.signum() < 0 ? '-' : -1);     // Start the stream with minus sign in case of negative number
-        InputStream in = new ByteArrayInputStream(bytes)
-        {
-            @Override
-            public int read()
-            {
-                int c;
-                if (this.b == -1)
-                {
-                    this.b = super.read();
-                    if (this.b == -1)
-                    {
-                        c = -1;
-                    }
-                    else
-                    {
-                        c = Character.forDigit(this.b >> 4, 16);
-                        this.b = Character.forDigit(this.b & 0x0F, 16);
-                    }
-                }
-                else
-                {
-                    c = this.b;
-                    this.b = -1;
-                }
-                return c;
-            }
-
-            @Override
-            public int read(byte[] b, int off, int len)
-            {
-                int i = 0;
-                for (; i < len; i++)
-                {
-                    int c = read();
-                    if (c == -1)
-                    {
-                        i = (i == 0 ? -1 : i);  // In case of EOF; there was nothing to read in the stream
-                        break;
-                    }
-                    b[i + off] = (byte) c;
-                }
-                return i;
-            }
-
-            private int b = startB;
-        };
-
-        return new PushbackReader(new InputStreamReader(in, "ISO-8859-1"));
-    }
-
     // Converts ArithmeticException to OverflowException if the Apint overflows a long
     public static long longValueExact(Apint x)
         throws OverflowException
@@ -870,6 +788,11 @@ class ApfloatHelper
         }
     }
 
+    private static boolean isPowerOfTwo(int radix)
+    {
+        return ((radix & (radix - 1)) == 0);
+    }
+
     private static int getDefaultRadix()
         throws NumberFormatException
     {
@@ -37,7 +37,9 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 
 import org.apfloat.spi.Util;
 
@@ -49,7 +51,7 @@ import org.apfloat.spi.Util;
  *
  * @see ApintMath
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -315,8 +317,7 @@ public class ApfloatMath
 
         long precision,
              doublePrecision = ApfloatHelper.getDoublePrecision(x.radix());
-        Apfloat one = new Apfloat(1, Apfloat.INFINITE, x.radix()),
-                divisor = new Apfloat(n, Apfloat.INFINITE, x.radix()),
+        Apfloat divisor = new Apfloat(n, Apfloat.INFINITE, x.radix()),
                 result;
 
         if (initialGuess == null || initialPrecision < doublePrecision)
@@ -369,7 +370,7 @@ public class ApfloatMath
 
             Apfloat t = pow(result, n);
             t = lastIterationExtendPrecision(iterations, precisingIteration, t);
-            t = one.subtract(x.multiply(t));
+            t = ApfloatHelper.oneMinusMultiply(x, t, precision / 2 - Apfloat.EXTRA_PRECISION);     // The previous result is accurate to about half of the precision
             if (iterations < precisingIteration)
             {
                 t = t.precision(precision / 2);
@@ -385,7 +386,7 @@ public class ApfloatMath
                 t = lastIterationExtendPrecision(iterations, -1, t);
 
                 result = lastIterationExtendPrecision(iterations, -1, result);
-                result = result.add(result.multiply(one.subtract(x.multiply(t))).divide(divisor));
+                result = result.add(result.multiply(ApfloatHelper.oneMinusMultiply(x, t, precision / 2 - Apfloat.EXTRA_PRECISION)).divide(divisor));
             }
         }
 
@@ -765,6 +766,30 @@ public class ApfloatMath
         return t;
     }
 
+    /**
+     * Prepares a number for being used repeatedly as a multiplicand.
+     * Subsequent multiplications by the returned number can be faster,
+     * as e.g. intermediate transforms of the number's data can be reused.<p>
+     *
+     * This is useful when one fixed number, for example a reciprocal or a power
+     * of the radix, is multiplied by many different numbers of a similar size.
+     * Intermediate data is cached only when the precision of the multiplication
+     * is enough for using all digits of the number. The cache is bounded in size
+     * and does not prevent garbage collection of the number.
+     *
+     * @param x The number.
+     *
+     * @return A number with the same value as <code>x</code>, prepared for repeated multiplications.
+     *
+     * @since 1.17.0
+     */
+
+    public static Apfloat prepareMultiplicand(Apfloat x)
+        throws ApfloatRuntimeException
+    {
+        return new Apfloat(x.getImpl(x.precision()).prepareMultiplicand());
+    }
+
     /**
      * Fused multiply-add. Calculates <code>a * b + c * d</code>
      * so that the precision used in the multiplications is only
@@ -1007,6 +1032,10 @@ public class ApfloatMath
         synchronized (radixKey)
         {
             pi = ApfloatMath.radixPi.get(radix);
+            if (pi == null)
+            {
+                pi = loadPi(radix);
+            }
 
             if (pi == null || pi.precision() < precision)
             {
@@ -1116,34 +1145,24 @@ public class ApfloatMath
             return v;
         }
 
+        // The terms are split recursively in parallel, each element of the arrays is { T, Q, P }
         public void r(long n1, long n2, ApfloatHolder T, ApfloatHolder Q, ApfloatHolder P)
             throws ApfloatRuntimeException
         {
             assert (n1 != n2);
-            long length = n2 - n1;
 
-            if (length == 1)
-            {
-                Apfloat p0 = p(n1);
-
-                T.setApfloat(a(n1).multiply(p0));
-                Q.setApfloat(q(n1));
-                P.setApfloat(p0);
-            }
-            else
+            LongFunction<Apfloat[]> unitFunction = n ->
             {
-                long nMiddle = (n1 + n2) / 2;
-                ApfloatHolder LT = new ApfloatHolder(),
-                              LQ = new ApfloatHolder(),
-                              LP = new ApfloatHolder();
+                Apfloat p0 = p(n);
+                return new Apfloat[] { a(n).multiply(p0), q(n), p0 };
+            };
+            BiFunction<Apfloat[], Apfloat[], Apfloat[]> combineFunction = (left, right) -> new Apfloat[] { right[1].multiply(left[0]).add(left[2].multiply(right[0])), left[1].multiply(right[1]), left[2].multiply(right[2]) };
 
-                r(n1, nMiddle, LT, LQ, LP);
-                r(nMiddle, n2, T, Q, P);
+            Apfloat[] tqp = RecursiveHelper.recursiveCompute(n1, n2 - 1, unitFunction, combineFunction, RecursiveHelper.BINARY_SPLITTING_GRAIN_SIZE);
 
-                T.setApfloat(Q.getApfloat().multiply(LT.getApfloat()).add(LP.getApfloat().multiply(T.getApfloat())));
-                Q.setApfloat(LQ.getApfloat().multiply(Q.getApfloat()));
-                P.setApfloat(LP.getApfloat().multiply(P.getApfloat()));
-            }
+            T.setApfloat(tqp[0]);
+            Q.setApfloat(tqp[1]);
+            P.setApfloat(tqp[2]);
         }
 
         private final Apfloat A;
@@ -1190,6 +1209,16 @@ public class ApfloatMath
         LP = ApfloatMath.radixPiP.get(radix);
         inverseRoot = ApfloatMath.radixPiInverseRoot.get(radix);
 
+        if ((terms == null || LT == null || LQ == null || LP == null || inverseRoot == null) && loadPi(radix) != null)
+        {
+            // Continue from the state saved in the persistent cache
+            terms = ApfloatMath.radixPiTerms.get(radix);
+            LT = ApfloatMath.radixPiT.get(radix);
+            LQ = ApfloatMath.radixPiQ.get(radix);
+            LP = ApfloatMath.radixPiP.get(radix);
+            inverseRoot = ApfloatMath.radixPiInverseRoot.get(radix);
+        }
+
         if (terms != null && LT != null && LQ != null && LP != null && inverseRoot != null)
         {
             // Some terms have been calculated already previously and cached
@@ -1233,10 +1262,78 @@ public class ApfloatMath
         ApfloatMath.radixPiInverseRoot.put(radix, inverseRoot);
         ApfloatMath.radixPiTerms.put(radix, neededTerms + 1);
         ApfloatMath.radixPi.put(radix, pi);
+        ConstantCache.save("pi", radix, new Apfloat(neededTerms + 1, Apfloat.INFINITE, radix), LT, LQ, LP, inverseRoot, pi);
 
         return pi;
     }
 
+    // Load the state of the pi calculation from the persistent cache to the pre-calculation maps, if it's available
+    private static Apfloat loadPi(int radix)
+        throws ApfloatRuntimeException
+    {
+        Apfloat[] values = ConstantCache.load("pi", radix, 6);
+        if (values == null)
+        {
+            return null;
+        }
+
+        ApfloatMath.radixPiTerms.put(radix, values[0].longValue());
+        ApfloatMath.radixPiT.put(radix, values[1]);
+        ApfloatMath.radixPiQ.put(radix, values[2]);
+        ApfloatMath.radixPiP.put(radix, values[3]);
+        ApfloatMath.radixPiInverseRoot.put(radix, values[4]);
+        ApfloatMath.radixPi.put(radix, values[5]);
+
+        return values[5];
+    }
+
+    // Get a constant from the in-memory or the persistent cache, or calculate it and put it to the caches
+    private static Apfloat cachedConstant(String name, long precision, int radix, ConcurrentMap<Integer, Object> radixKeys, Map<Integer, Apfloat> cache, LongFunction<Apfloat> calculator)
+        throws ApfloatRuntimeException
+    {
+        // Get synchronization lock - getting the lock is also synchronized
+        Object radixKey = getRadixKey(radixKeys, radix);
+
+        Apfloat value;
+
+        synchronized (radixKey)
+        {
+            value = cache.get(radix);
+            if (value == null)
+            {
+                value = loadConstant(name, radix, cache);
+            }
+
+            if (value == null || value.precision() < precision)
+            {
+                value = calculator.apply(precision);
+                cache.put(radix, value);
+                ConstantCache.save(name, radix, value);
+            }
+            else
+            {
+                value = value.precision(precision);
+            }
+        }
+
+        return value;
+    }
+
+    // Load a constant from the persistent cache to the in-memory cache, if it's available
+    private static Apfloat loadConstant(String name, int radix, Map<Integer, Apfloat> cache)
+        throws ApfloatRuntimeException
+    {
+        Apfloat[] values = ConstantCache.load(name, radix, 1);
+        if (values == null)
+        {
+            return null;
+        }
+
+        cache.put(radix, values[0]);
+
+        return values[0];
+    }
+
     /**
      * Natural logarithm.<p>
      *
@@ -1344,6 +1441,12 @@ public class ApfloatMath
             throw new InfiniteExpansionException("Cannot calculate logarithm to infinite precision", "log.infinitePrecision");
         }
 
+        if (multiplyByPi && BitBurstHelper.isUsed(targetPrecision) && x.scale() == 0)
+        {
+            // The agm gives the logarithm divided by pi without calculating pi, so that is used if multiplyByPi is false
+            return BitBurstHelper.log(x, targetPrecision);
+        }
+
         Apfloat one = new Apfloat(1, Apfloat.INFINITE, x.radix());
 
         final int EXTRA_PRECISION = 25;
@@ -1403,7 +1506,12 @@ public class ApfloatMath
         synchronized (radixKey)
         {
             Map<Integer, Apfloat> cache = (multiplyByPi ? ApfloatMath.radixLogPi : ApfloatMath.radixLog);     // Which cache to use, the one multiplied by pi or not
+            String name = (multiplyByPi ? "logPi" : "log");
             logRadix = cache.get(radix);
+            if (logRadix == null)
+            {
+                logRadix = loadConstant(name, radix, cache);
+            }
 
             if (logRadix == null || logRadix.precision() < precision)
             {
@@ -1422,6 +1530,7 @@ public class ApfloatMath
                 }
 
                 cache.put(radix, logRadix);
+                ConstantCache.save(name, radix, logRadix);
             }
             else
             {
@@ -1492,6 +1601,11 @@ public class ApfloatMath
             return new Apfloat(1, Apfloat.INFINITE, radix).add(x).precision(Apfloat.INFINITE);
         }
 
+        if (BitBurstHelper.isUsed(finalPrecision))
+        {
+            return BitBurstHelper.exp(x, finalPrecision);
+        }
+
         Apfloat result;
 
         if (x.scale() < -doublePrecision / 2)
@@ -2234,9 +2348,105 @@ public class ApfloatMath
             throw new InfiniteExpansionException("Cannot calculate e to infinite precision", "e.infinitePrecision");
         }
 
-        long terms = inverseFactorial(precision, radix);
-        Apfloat[] pq = RecursiveHelper.recursiveCompute(1, terms, i -> new Apfloat[] { Apfloat.ONES[radix], new Apfloat(i, precision, radix) }, (first, last) -> new Apfloat[] { first[0].multiply(last[1]).add(last[0]), first[1].multiply(last[1]) });
-        return pq[0].divide(pq[1]).add(Apfloat.ONES[radix]);
+        // Get synchronization lock - getting the lock is also synchronized
+        Object radixKey = getRadixKey(ApfloatMath.radixEKeys, radix);
+
+        Apfloat e;
+
+        synchronized (radixKey)
+        {
+            e = ApfloatMath.radixE.get(radix);
+            if (e == null)
+            {
+                e = loadE(radix);
+            }
+
+            if (e == null || e.precision() < precision)
+            {
+                e = calculateE(precision, radix);
+            }
+            else
+            {
+                e = e.precision(precision);
+            }
+        }
+
+        return e;
+    }
+
+    // Perform actual calculation of e for radix, and store the result to pre-calculation maps.
+    // Uses binary splitting of the series of 1 / n!, calculated to infinite precision so that
+    // previously calculated terms (if such exist) can be used to improve the precision of the calculation.
+    private static Apfloat calculateE(long precision, int radix)
+        throws ApfloatRuntimeException
+    {
+        long neededTerms = inverseFactorial(precision, radix);
+
+        Long terms = ApfloatMath.radixETerms.get(radix);
+        Apfloat P = ApfloatMath.radixEP.get(radix),
+                Q = ApfloatMath.radixEQ.get(radix);
+
+        if ((terms == null || P == null || Q == null) && loadE(radix) != null)
+        {
+            // Continue from the state saved in the persistent cache
+            terms = ApfloatMath.radixETerms.get(radix);
+            P = ApfloatMath.radixEP.get(radix);
+            Q = ApfloatMath.radixEQ.get(radix);
+        }
+
+        LongFunction<Apfloat[]> unitFunction = i -> new Apfloat[] { Apfloat.ONES[radix], new Apfloat(i, Apfloat.INFINITE, radix) };
+        BiFunction<Apfloat[], Apfloat[], Apfloat[]> combineFunction = (first, last) -> new Apfloat[] { first[0].multiply(last[1]).add(last[0]), first[1].multiply(last[1]) };
+
+        if (terms != null && P != null && Q != null)
+        {
+            // Some terms have been calculated already previously and cached
+            if (terms < neededTerms)
+            {
+                Apfloat[] pq = RecursiveHelper.recursiveCompute(terms + 1, neededTerms, unitFunction, combineFunction, RecursiveHelper.BINARY_SPLITTING_GRAIN_SIZE);
+                P = P.multiply(pq[1]).add(pq[0]);
+                Q = Q.multiply(pq[1]);
+            }
+            else
+            {
+                neededTerms = terms;
+            }
+        }
+        else
+        {
+            Apfloat[] pq = RecursiveHelper.recursiveCompute(1, neededTerms, unitFunction, combineFunction, RecursiveHelper.BINARY_SPLITTING_GRAIN_SIZE);
+            P = pq[0];
+            Q = pq[1];
+        }
+
+        long workingPrecision = ApfloatHelper.extendPrecision(precision);
+        Apfloat e = P.precision(workingPrecision).divide(Q).add(Apfloat.ONES[radix]).precision(precision);
+
+        // Put the updated values to the caches
+        ApfloatMath.radixEP.put(radix, P);
+        ApfloatMath.radixEQ.put(radix, Q);
+        ApfloatMath.radixETerms.put(radix, neededTerms);
+        ApfloatMath.radixE.put(radix, e);
+        ConstantCache.save("e", radix, new Apfloat(neededTerms, Apfloat.INFINITE, radix), P, Q, e);
+
+        return e;
+    }
+
+    // Load the state of the e calculation from the persistent cache to the pre-calculation maps, if it's available
+    private static Apfloat loadE(int radix)
+        throws ApfloatRuntimeException
+    {
+        Apfloat[] values = ConstantCache.load("e", radix, 4);
+        if (values == null)
+        {
+            return null;
+        }
+
+        ApfloatMath.radixETerms.put(radix, values[0].longValue());
+        ApfloatMath.radixEP.put(radix, values[1]);
+        ApfloatMath.radixEQ.put(radix, values[2]);
+        ApfloatMath.radixE.put(radix, values[3]);
+
+        return values[3];
     }
 
     // Rough approximation of log(n!) = n log n - n
@@ -2301,7 +2511,7 @@ public class ApfloatMath
             throw new InfiniteExpansionException("Cannot calculate Euler gamma to infinite precision", "euler.infinitePrecision");
         }
 
-        return (precision <= 2000 ? eulerSmall(precision, radix) : EulerHelper.euler(precision, radix));
+        return cachedConstant("euler", precision, radix, ApfloatMath.radixEulerKeys, ApfloatMath.radixEuler, p -> (p <= 2000 ? eulerSmall(p, radix) : EulerHelper.euler(p, radix)));
     }
 
     static Apfloat eulerSmall(long precision, int radix)
@@ -2336,10 +2546,7 @@ public class ApfloatMath
     }
 
     /**
-     * Calculates Catalan's constant, <i>G</i>. Uses the default radix.<p>
-     *
-     * @implNote
-     * This implementation is <i>slow</i>.
+     * Calculates Catalan's constant, <i>G</i>. Uses the default radix.
      *
      * @param precision Number of digits of <i>G</i> to calculate.
      *
@@ -2361,10 +2568,7 @@ public class ApfloatMath
     }
 
     /**
-     * Calculates Catalan's constant, <i>G</i>. Uses the specified radix.<p>
-     *
-     * @implNote
-     * This implementation is <i>slow</i>.
+     * Calculates Catalan's constant, <i>G</i>. Uses the specified radix.
      *
      * @param precision Number of digits of <i>G</i> to calculate.
      * @param radix The radix in which the number should be presented.
@@ -2389,12 +2593,31 @@ public class ApfloatMath
             throw new InfiniteExpansionException("Cannot calculate C to infinite precision", "catalan.infinitePrecision");
         }
 
-        long workingPrecision = ApfloatHelper.extendPrecision(precision);
-        Apfloat one = new Apfloat(1, workingPrecision, radix),
-                two = new Apfloat(2, workingPrecision, radix),
-                three = new Apfloat(3, workingPrecision, radix),
-                four = new Apfloat(4, workingPrecision, radix);
-        return zeta(two, one.divide(four)).subtract(zeta(two, three.divide(four))).divide(new Apint(16, radix)).precision(precision);
+        return cachedConstant("catalan", precision, radix, ApfloatMath.radixCatalanKeys, ApfloatMath.radixCatalan, p -> calculateCatalan(p, radix));
+    }
+
+    // Uses binary splitting of the series from "Formulae for some classical constants" by Alexandru Lupas, Proceedings of ROGER-2000:
+    // G = 1/64 sum (-1)^(n-1) 2^(8n) (40n^2 - 24n + 3) ((2n)!)^3 (n!)^2 / (n^3 (2n - 1) ((4n)!)^2), where each term is about -1/4 times the previous term
+    private static Apfloat calculateCatalan(long precision, int radix)
+        throws ApfloatRuntimeException
+    {
+        long workingPrecision = ApfloatHelper.extendPrecision(precision),
+             neededTerms = (long) ((double) workingPrecision * Math.log((double) radix) / Math.log(4.0)) + 1;
+
+        // The ratio of consecutive terms is p(n) / q(n) = -32 (n - 1)^3 (2n - 3) / ((4n - 1)^2 (4n - 3)^2), each element of the arrays is { T, Q, P }
+        LongFunction<Apfloat[]> unitFunction = n ->
+        {
+            Apfloat m = new Apfloat(n - 1, Apfloat.INFINITE, radix),
+                    p = (n == 1 ? new Apfloat(32, Apfloat.INFINITE, radix) : m.multiply(m).multiply(m).multiply(new Apfloat(-32 * (2 * n - 3), Apfloat.INFINITE, radix))),
+                    r = new Apfloat(4 * n - 1, Apfloat.INFINITE, radix).multiply(new Apfloat(4 * n - 3, Apfloat.INFINITE, radix)),
+                    a = new Apfloat(n, Apfloat.INFINITE, radix).multiply(new Apfloat(40 * n - 24, Apfloat.INFINITE, radix)).add(new Apfloat(3, Apfloat.INFINITE, radix));
+            return new Apfloat[] { a.multiply(p), r.multiply(r), p };
+        };
+        BiFunction<Apfloat[], Apfloat[], Apfloat[]> combineFunction = (left, right) -> new Apfloat[] { right[1].multiply(left[0]).add(left[2].multiply(right[0])), left[1].multiply(right[1]), left[2].multiply(right[2]) };
+
+        Apfloat[] tqp = RecursiveHelper.recursiveCompute(1, neededTerms, unitFunction, combineFunction, RecursiveHelper.BINARY_SPLITTING_GRAIN_SIZE);
+
+        return tqp[0].precision(workingPrecision).divide(tqp[1].multiply(new Apfloat(64, Apfloat.INFINITE, radix))).precision(precision);
     }
 
     /**
@@ -5084,6 +5307,12 @@ public class ApfloatMath
         long targetPrecision = precision;
         precision = ApfloatHelper.extendPrecision(precision);
 
+        if (n <= FactorialHelper.MAX_N)
+        {
+            // Use the prime factorization when the primes can be sieved
+            return FactorialHelper.factorial(n, precision, radix).precision(targetPrecision);
+        }
+
         // Thanks to Peter Luschny for the improved algorithm.
         // The idea is to split the factorial to two parts:
         // a product of odd numbers, and a power of two.
@@ -5150,6 +5379,10 @@ public class ApfloatMath
         }
         if ((n & 1) == 1)
         {
+            if (n <= FactorialHelper.MAX_N)
+            {
+                return FactorialHelper.oddDoubleFactorial(n, ApfloatHelper.extendPrecision(precision), radix).precision(precision);
+            }
             return oddProduct(1, n, precision, radix);
         }
         long n2 = n >>> 1;
@@ -5166,6 +5399,11 @@ public class ApfloatMath
         ApfloatMath.radixPiInverseRoot = SHUTDOWN_MAP;
         ApfloatMath.radixLog = SHUTDOWN_MAP;
         ApfloatMath.radixLogPi = SHUTDOWN_MAP;
+        ApfloatMath.radixE = SHUTDOWN_MAP;
+        ApfloatMath.radixEP = SHUTDOWN_MAP;
+        ApfloatMath.radixEQ = SHUTDOWN_MAP;
+        ApfloatMath.radixEuler = SHUTDOWN_MAP;
+        ApfloatMath.radixCatalan = SHUTDOWN_MAP;
         ApfloatMath.nextGaussian = SHUTDOWN_MAP;
     }
 
@@ -5191,6 +5429,21 @@ public class ApfloatMath
     private static Map<Integer, Apfloat> radixLog = new ConcurrentHashMap<>();
     private static Map<Integer, Apfloat> radixLogPi = new ConcurrentHashMap<>();
 
+    // Synchronization keys for e calculation
+    private static ConcurrentMap<Integer, Object> radixEKeys = new ConcurrentHashMap<>();
+
+    // Shared cached values related to e for different radixes
+    private static Map<Integer, Apfloat> radixE = new ConcurrentSoftHashMap<>();
+    private static Map<Integer, Apfloat> radixEP = new ConcurrentSoftHashMap<>();
+    private static Map<Integer, Apfloat> radixEQ = new ConcurrentSoftHashMap<>();
+    private static Map<Integer, Long> radixETerms = new Hashtable<>();
+
+    // Synchronization keys and shared cached values for Euler's constant and Catalan's constant
+    private static ConcurrentMap<Integer, Object> radixEulerKeys = new ConcurrentHashMap<>();
+    private static Map<Integer, Apfloat> radixEuler = new ConcurrentSoftHashMap<>();
+    private static ConcurrentMap<Integer, Object> radixCatalanKeys = new ConcurrentHashMap<>();
+    private static Map<Integer, Apfloat> radixCatalan = new ConcurrentSoftHashMap<>();
+
     // Synchronization keys for random Gaussian calculation
     private static ConcurrentMap<Integer, Object> radixGaussianKeys = new ConcurrentHashMap<>();
 
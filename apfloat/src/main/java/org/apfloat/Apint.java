@@ -28,6 +28,8 @@ import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.Writer;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Formatter;
 import static java.util.FormattableFlags.*;
 import java.util.FormatFlagsConversionMismatchException;
@@ -45,7 +47,7 @@ import org.apfloat.spi.ApfloatImpl;
  *
  * @see ApintMath
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -182,6 +184,32 @@ public class Apint
         this.value = new Apfloat(ApfloatHelper.createApfloat(in, INFINITE, radix, true, initialSize));
     }
 
+    /**
+     * Reads an apint from a channel in the binary format written by
+     * {@link #writeTo(WritableByteChannel)}. The radix of the number
+     * is also read from the channel.
+     *
+     * @param in The channel to read from.
+     *
+     * @exception IOException If an I/O error occurs accessing the channel.
+     * @exception NumberFormatException If the data is not a valid integer.
+     *
+     * @see Apfloat#Apfloat(ReadableByteChannel)
+     *
+     * @since 1.17.0
+     */
+
+    public Apint(ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        Apfloat value = new Apfloat(in);
+        if (value.precision() != INFINITE || !value.isInteger())
+        {
+            throw new NumberFormatException("Not an integer");
+        }
+        this.value = value;
+    }
+
     /**
      * Constructs an apint from a <code>BigInteger</code>. The default radix is used.
      *
@@ -756,6 +784,25 @@ public class Apint
         this.value.writeTo(out, pretty);
     }
 
+    /**
+     * Write this apint to a channel in a compact binary format.
+     *
+     * @param out The output channel.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     *
+     * @see Apfloat#writeTo(WritableByteChannel)
+     *
+     * @since 1.17.0
+     */
+
+    @Override
+    public void writeTo(WritableByteChannel out)
+        throws IOException, ApfloatRuntimeException
+    {
+        this.value.writeTo(out);
+    }
+
     @Override
     public void formatTo(Formatter formatter, int flags, int width, int precision)
     {
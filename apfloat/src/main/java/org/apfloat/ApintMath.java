@@ -31,7 +31,7 @@ import java.util.Random;
 /**
  * Various mathematical functions for arbitrary precision integers.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -462,46 +462,6 @@ public class ApintMath
         return a.multiply(b).mod(m);
     }
 
-    private static Apint modMultiply(Apint x1, Apint x2, Apint y, Apfloat inverseY)
-        throws ApfloatRuntimeException
-    {
-        Apint x = x1.multiply(x2);
-
-        if (x.signum() == 0)
-        {
-            // 0 % x = 0
-            return x;
-        }
-
-        long precision = x.scale() - y.scale() + Apfloat.EXTRA_PRECISION;       // Some extra precision to avoid round-off errors
-        Apint a, b, t;
-
-        a = abs(x);
-        b = abs(y);
-
-        if (a.compareTo(b) < 0)
-        {
-            return x;                           // abs(x) < abs(y)
-        }
-
-        t = x.multiply(inverseY.precision(precision)).truncate();               // Approximate division
-
-        a = a.subtract(abs(t.multiply(y)));
-
-        if (a.compareTo(b) >= 0)                // Fix division round-off error
-        {
-            a = a.subtract(b);
-        }
-        else if (a.signum() < 0)                // Fix division round-off error
-        {
-            a = a.add(b);
-        }
-
-        t = copySign(a, x);
-
-        return t;
-    }
-
     /**
      * Modular power.
      *
@@ -532,8 +492,6 @@ public class ApintMath
         }
 
         m = abs(m);
-
-        Apfloat inverseModulus = ApfloatMath.inverseRoot(m, 1, m.scale() + Apfloat.EXTRA_PRECISION);
         a = a.mod(m);
 
         if (b.signum() < 0)
@@ -543,68 +501,80 @@ public class ApintMath
             b = b.negate();
         }
 
-        Apint two = new Apint(2, b.radix());    // Sub-optimal; the divisor could be some power of two
-        Apint[] qr;
+        return new ModPowHelper(m).modPow(a, b.toBigInteger());
+    }
 
-        while ((qr = div(b, two))[1].signum() == 0)
+    /**
+     * Modular power of many bases with the same exponent and modulus.
+     * The modular reduction setup is shared and the powers are calculated
+     * in parallel, so this is faster than calling {@link #modPow(Apint,Apint,Apint)}
+     * for each base separately.
+     *
+     * @param a The bases.
+     * @param b Exponent.
+     * @param m Modulus.
+     *
+     * @return <code>a[i]<sup>b</sup> mod m</code> for each <code>i</code>.
+     *
+     * @exception ArithmeticException If the exponent is negative but the GCD of some <code>a[i]</code> and <code>m</code> is not 1 and the modular inverse does not exist.
+     *
+     * @since 1.17.0
+     */
+
+    public static Apint[] modPow(Apint[] a, Apint b, Apint m)
+        throws ArithmeticException, ApfloatRuntimeException
+    {
+        Apint[] results = new Apint[a.length];
+        if (b.signum() == 0 || m.signum() == 0)
         {
-            a = modMultiply(a, a, m, inverseModulus);
-            b = qr[0];
+            for (int i = 0; i < a.length; i++)
+            {
+                results[i] = modPow(a[i], b, m);
+            }
+            return results;
         }
 
-        Apint r = a;
-        qr = div(b, two);
+        m = abs(m);
 
-        while ((b = qr[0]).signum() > 0)
+        for (int i = 0; i < a.length; i++)
         {
-            a = modMultiply(a, a, m, inverseModulus);
-            qr = div(b, two);
-            if (qr[1].signum() != 0)
+            results[i] = a[i].mod(m);
+            if (b.signum() < 0)
             {
-                r = modMultiply(r, a, m, inverseModulus);
+                // Calculate modular inverses first
+                results[i] = modInverse(results[i], m);
             }
         }
 
-        return r;
+        return new ModPowHelper(m).modPow(results, abs(b).toBigInteger());
     }
 
     private static Apint modInverse(Apint a, Apint m)
         throws ArithmeticException, ApfloatRuntimeException
     {
-        // Extended Euclidean algorithm
-        Apint one = Apint.ONES[m.radix()],
-              x = Apint.ZERO,
-              oldX = one,
-              oldA = a,
-              b = m;
-
-        // In the algorithm, y is ignored as it's not needed
-        while (b.signum() != 0)
-        {
-            Apint[] qr = div(a, b);
-
-            Apint q = qr[0];
-            a = b;
-            b = qr[1];
+        // Extended Euclidean algorithm, with the half-gcd algorithm for big numbers
+        Apint[] gcd = GCDHelper.extendedGcd(a, m);
+        Apint x = gcd[1];
 
-            Apint tmp = x;
-            x = oldX.subtract(q.multiply(x));
-            oldX = tmp;
-        }
-
-        if (!abs(a).equals(one))
+        if (!gcd[0].equals(Apint.ONES[m.radix()]))
         {
             // GCD is not 1
             throw new ApfloatArithmeticException("Modular inverse does not exist", "modInverse.notExists");
         }
 
-        if (oldX.signum() != oldA.signum())
+        if (x.signum() != a.signum() && m.signum() < 0 || x.signum() == a.signum() && a.signum() < 0)
+        {
+            // Same result as with the Euclidean algorithm on the signed numbers, where the gcd is -1 if the last remainder has a negative sign
+            x = x.negate();
+        }
+
+        if (x.signum() != a.signum())
         {
             // Adjust by one modulus if sign is wrong
-            oldX = oldX.add(copySign(m, oldA));
+            x = x.add(copySign(m, a));
         }
 
-        return oldX;
+        return x;
     }
 
     /**
@@ -796,7 +766,16 @@ public class ApintMath
             // Optimize performance
             k = n - k;
         }
-        Apint b = pochhammer(n - k + 1, k, radix).divide(factorial(k, radix));
+        Apint b;
+        if (n <= FactorialHelper.MAX_N && k > 0 && n / k < 1000)
+        {
+            // The prime factorization is faster unless k is very small compared to n
+            b = FactorialHelper.binomial(n, k, radix);
+        }
+        else
+        {
+            b = pochhammer(n - k + 1, k, radix).divide(factorial(k, radix));
+        }
         return (negate ? b.negate() : b);
     }
 
@@ -1043,6 +1022,26 @@ public class ApintMath
         return new Apint(ApfloatMath.product(x));
     }
 
+    /**
+     * Prepares a number for being used repeatedly as a multiplicand.
+     * Subsequent multiplications by the returned number can be faster,
+     * as e.g. intermediate transforms of the number's data can be reused.
+     *
+     * @param x The number.
+     *
+     * @return A number with the same value as <code>x</code>, prepared for repeated multiplications.
+     *
+     * @see ApfloatMath#prepareMultiplicand(Apfloat)
+     *
+     * @since 1.17.0
+     */
+
+    public static Apint prepareMultiplicand(Apint x)
+        throws ApfloatRuntimeException
+    {
+        return new Apint(ApfloatMath.prepareMultiplicand(x));
+    }
+
     /**
      * Sum of numbers.<p>
      *
@@ -29,6 +29,8 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.lang.ref.SoftReference;
 import java.util.Formatter;
 import static java.util.FormattableFlags.*;
@@ -43,7 +45,7 @@ import static org.apfloat.spi.RadixConstants.*;
  * @see Apint
  * @see AprationalMath
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -91,6 +93,19 @@ public class Aprational
         reduce();
     }
 
+    // Constructs an aprational, optionally without reducing it, when the numerator and denominator are known to have no common factors
+    Aprational(Apint numerator, Apint denominator, boolean reduce)
+        throws ApfloatRuntimeException
+    {
+        this.numerator = numerator;
+        this.denominator = denominator;
+
+        if (reduce)
+        {
+            reduce();
+        }
+    }
+
     /**
      * Constructs an aprational from a string. The default radix is used.<p>
      *
@@ -203,6 +218,33 @@ public class Aprational
         reduce();
     }
 
+    /**
+     * Reads an aprational from a channel in the binary format written by
+     * {@link #writeTo(WritableByteChannel)}. The radix of the number
+     * is also read from the channel.
+     *
+     * @param in The channel to read from.
+     *
+     * @exception IOException If an I/O error occurs accessing the channel.
+     * @exception NumberFormatException If the data is not a valid number.
+     * @exception IllegalArgumentException In case the denominator is zero.
+     *
+     * @see Apfloat#Apfloat(ReadableByteChannel)
+     *
+     * @since 1.17.0
+     */
+
+    public Aprational(ReadableByteChannel in)
+        throws IOException, NumberFormatException, IllegalArgumentException, ApfloatRuntimeException
+    {
+        this.numerator = new Apint(in);
+        this.denominator = new Apint(in);
+
+        checkDenominator();
+
+        reduce();
+    }
+
     /**
      * Constructs an aprational from a <code>BigInteger</code>.
      * The default radix is used.
@@ -530,7 +572,7 @@ public class Aprational
         throws ApfloatRuntimeException
     {
         return new Aprational(numerator().multiply(x.denominator()).add(denominator().multiply(x.numerator())),
-                              denominator().multiply(x.denominator())).reduce();
+                              denominator().multiply(x.denominator()));
     }
 
     /**
@@ -545,7 +587,7 @@ public class Aprational
         throws ApfloatRuntimeException
     {
         return new Aprational(numerator().multiply(x.denominator()).subtract(denominator().multiply(x.numerator())),
-                              denominator().multiply(x.denominator())).reduce();
+                              denominator().multiply(x.denominator()));
     }
 
     /**
@@ -559,18 +601,10 @@ public class Aprational
     public Aprational multiply(Aprational x)
         throws ApfloatRuntimeException
     {
-        Aprational result = new Aprational(numerator().multiply(x.numerator()),
-                                           denominator().multiply(x.denominator()));
-
-        if (this == x)
-        {
-            // When squaring we know that no reduction is needed
-            return result;
-        }
-        else
-        {
-            return result.reduce();
-        }
+        // When squaring we know that no reduction is needed
+        return new Aprational(numerator().multiply(x.numerator()),
+                              denominator().multiply(x.denominator()),
+                              this != x);
     }
 
     /**
@@ -598,7 +632,7 @@ public class Aprational
         // Comparison against one would be inefficient at this point
 
         return new Aprational(numerator().multiply(x.denominator()),
-                              denominator().multiply(x.numerator())).reduce();
+                              denominator().multiply(x.numerator()));
     }
 
     /**
@@ -945,6 +979,26 @@ public class Aprational
         }
     }
 
+    /**
+     * Write this aprational to a channel in a compact binary format.
+     * The numerator and the denominator are written one after another.
+     *
+     * @param out The output channel.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     *
+     * @see Apfloat#writeTo(WritableByteChannel)
+     *
+     * @since 1.17.0
+     */
+
+    public void writeTo(WritableByteChannel out)
+        throws IOException, ApfloatRuntimeException
+    {
+        numerator().writeTo(out);
+        denominator().writeTo(out);
+    }
+
     /**
      * Formats the object using the provided formatter.
      *
@@ -1072,9 +1126,10 @@ public class Aprational
                     throw new IllegalArgumentException("Numerator and denominator must have the same radix");
                 }
 
-                Apint gcd = ApintMath.gcd(this.numerator, this.denominator);
-                this.numerator = this.numerator.divide(gcd);
-                this.denominator = this.denominator.divide(gcd);
+                // The extended gcd algorithm gives the reduced numerator and denominator without any divisions
+                Apint[] gcd = GCDHelper.extendedGcd(this.numerator, this.denominator);
+                this.numerator = gcd[3];
+                this.denominator = gcd[4];
             }
 
             int sign = this.numerator.signum() * this.denominator.signum();
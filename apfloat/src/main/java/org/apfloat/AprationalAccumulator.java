@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+/**
+ * Accumulator for sums and products of rational numbers, that defers
+ * reducing the result to lowest terms.<p>
+ *
+ * All arithmetic operations of {@link Aprational} reduce the result by
+ * calculating the greatest common divisor of the numerator and denominator.
+ * When a long sequence of operations is performed and only the final value is
+ * needed, this can dominate the time spent. This class keeps the numerator and
+ * denominator unreduced and only removes common factors that are cheap to find,
+ * i.e. powers of the radix. The full reduction is done only when the result
+ * is requested with {@link #toAprational()}, or when the numerator or denominator
+ * has grown to more than twice the size it had after the previous full reduction.<p>
+ *
+ * The accumulator is mutable: all the arithmetic methods modify the value
+ * of the accumulator and return the accumulator itself. It is not thread-safe.
+ *
+ * @see AprationalMath#sum(Aprational...)
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class AprationalAccumulator
+{
+    /**
+     * Constructs an accumulator with the specified initial value.
+     *
+     * @param x The initial value.
+     */
+
+    public AprationalAccumulator(Aprational x)
+    {
+        this.numerator = x.numerator();
+        this.denominator = x.denominator();
+        this.limit = limit(Math.max(this.numerator.scale(), this.denominator.scale()));
+        this.isReduced = true;
+    }
+
+    /**
+     * Constructs an accumulator with the specified numerator and denominator.
+     * The numerator and denominator do not need to be reduced.
+     *
+     * @param numerator The numerator.
+     * @param denominator The denominator.
+     *
+     * @exception IllegalArgumentException In case the denominator is zero, or if the radix of the numerator and denominator are different.
+     */
+
+    public AprationalAccumulator(Apint numerator, Apint denominator)
+        throws IllegalArgumentException, ApfloatRuntimeException
+    {
+        if (denominator.signum() == 0)
+        {
+            throw new IllegalArgumentException("Denominator is zero");
+        }
+        if (numerator.radix() != denominator.radix() && numerator.signum() != 0 && !denominator.equals(Apint.ONE))
+        {
+            throw new IllegalArgumentException("Numerator and denominator must have the same radix");
+        }
+        this.numerator = (denominator.signum() < 0 ? numerator.negate() : numerator);
+        this.denominator = ApintMath.abs(denominator);
+        this.limit = REDUCE_THRESHOLD;
+        normalize();
+    }
+
+    /**
+     * Adds a number to this accumulator.
+     *
+     * @param x The number to be added.
+     *
+     * @return This accumulator.
+     */
+
+    public AprationalAccumulator add(Aprational x)
+        throws ApfloatRuntimeException
+    {
+        return add(x.numerator(), x.denominator());
+    }
+
+    /**
+     * Adds the value of another accumulator to this accumulator.
+     * The other accumulator is not modified.
+     *
+     * @param x The accumulator whose value is to be added.
+     *
+     * @return This accumulator.
+     */
+
+    public AprationalAccumulator add(AprationalAccumulator x)
+        throws ApfloatRuntimeException
+    {
+        this.limit = Math.max(this.limit, x.limit);
+        return add(x.numerator, x.denominator);
+    }
+
+    /**
+     * Subtracts a number from this accumulator.
+     *
+     * @param x The number to be subtracted.
+     *
+     * @return This accumulator.
+     */
+
+    public AprationalAccumulator subtract(Aprational x)
+        throws ApfloatRuntimeException
+    {
+        return add(x.numerator().negate(), x.denominator());
+    }
+
+    /**
+     * Multiplies this accumulator by a number.
+     *
+     * @param x The number to be multiplied by.
+     *
+     * @return This accumulator.
+     */
+
+    public AprationalAccumulator multiply(Aprational x)
+        throws ApfloatRuntimeException
+    {
+        return multiply(x.numerator(), x.denominator());
+    }
+
+    /**
+     * Divides this accumulator by a number.
+     *
+     * @param x The number to be divided by.
+     *
+     * @return This accumulator.
+     *
+     * @exception ArithmeticException In case the divisor is zero.
+     */
+
+    public AprationalAccumulator divide(Aprational x)
+        throws ArithmeticException, ApfloatRuntimeException
+    {
+        if (x.signum() == 0)
+        {
+            throw new ApfloatArithmeticException(this.numerator.signum() == 0 ? "Zero divided by zero" : "Division by zero", this.numerator.signum() == 0 ? "divide.zeroByZero" : "divide.byZero");
+        }
+        return (x.signum() > 0 ? multiply(x.denominator(), x.numerator()) : multiply(x.denominator().negate(), x.numerator().negate()));
+    }
+
+    /**
+     * Returns the value of this accumulator, reduced to lowest terms.
+     * The accumulator keeps the reduced value.
+     *
+     * @return The value of this accumulator.
+     */
+
+    public Aprational toAprational()
+        throws ApfloatRuntimeException
+    {
+        reduce();
+        return new Aprational(this.numerator, this.denominator, false);
+    }
+
+    /**
+     * Returns the value of this accumulator as a string.
+     * The value is not reduced.
+     *
+     * @return The numerator and denominator as a string, e.g. <code>"4/6"</code>.
+     */
+
+    @Override
+    public String toString()
+    {
+        return this.numerator + "/" + this.denominator;
+    }
+
+    private AprationalAccumulator add(Apint numerator, Apint denominator)
+        throws ApfloatRuntimeException
+    {
+        if (this.denominator.equals(denominator))
+        {
+            this.numerator = this.numerator.add(numerator);
+        }
+        else
+        {
+            this.numerator = this.numerator.multiply(denominator).add(this.denominator.multiply(numerator));
+            this.denominator = this.denominator.multiply(denominator);
+        }
+        return normalize();
+    }
+
+    private AprationalAccumulator multiply(Apint numerator, Apint denominator)
+        throws ApfloatRuntimeException
+    {
+        this.numerator = this.numerator.multiply(numerator);
+        this.denominator = this.denominator.multiply(denominator);
+        return normalize();
+    }
+
+    private AprationalAccumulator normalize()
+        throws ApfloatRuntimeException
+    {
+        if (this.numerator.signum() == 0)
+        {
+            this.denominator = Apint.ONES[this.denominator.radix()];
+            this.isReduced = true;
+        }
+        else
+        {
+            this.isReduced = false;
+
+            // Remove common trailing zeros, i.e. common powers of the radix
+            long zeros = Math.min(this.numerator.scale() - this.numerator.size(), this.denominator.scale() - this.denominator.size());
+            if (zeros > 0)
+            {
+                this.numerator = ApintMath.scale(this.numerator, -zeros);
+                this.denominator = ApintMath.scale(this.denominator, -zeros);
+            }
+            if (Math.max(this.numerator.scale(), this.denominator.scale()) > this.limit)
+            {
+                reduce();
+            }
+        }
+        return this;
+    }
+
+    private void reduce()
+        throws ApfloatRuntimeException
+    {
+        if (!this.isReduced && !this.numerator.equals(Apint.ONE) && !this.denominator.equals(Apint.ONE))
+        {
+            Apint[] gcd = GCDHelper.extendedGcd(this.numerator, this.denominator);
+            this.numerator = gcd[3];
+            this.denominator = gcd[4];
+        }
+        this.limit = limit(Math.max(this.numerator.scale(), this.denominator.scale()));
+        this.isReduced = true;
+    }
+
+    private static long limit(long scale)
+    {
+        return Math.max(REDUCE_THRESHOLD, 2 * scale);
+    }
+
+    /**
+     * Minimum size, in digits, where the numerator and denominator are
+     * reduced before the result is requested.
+     */
+
+    static final long REDUCE_THRESHOLD = 1000;
+
+    private Apint numerator;
+    private Apint denominator;
+    private long limit;
+    private boolean isReduced;
+}
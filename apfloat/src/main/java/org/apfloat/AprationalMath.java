@@ -33,7 +33,7 @@ import org.apfloat.spi.Util;
 /**
  * Various mathematical functions for arbitrary precision rational numbers.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -334,7 +334,8 @@ public class AprationalMath
             n[i] = x[i].numerator();
             m[i] = x[i].denominator();
         }
-        return new Aprational(ApintMath.product(n), ApintMath.product(m));
+        // Reduce only once, in the end
+        return new AprationalAccumulator(ApintMath.product(n), ApintMath.product(m)).toAprational();
     }
 
     /**
@@ -364,8 +365,8 @@ public class AprationalMath
 
         Arrays.sort(x, Comparator.comparing(ApfloatHelper::size));
 
-        // Recursively add
-        return recursiveSum(x);
+        // Recursively add, without reducing the intermediate results
+        return recursiveSum(x).toAprational();
     }
 
     /**
@@ -723,9 +724,9 @@ public class AprationalMath
         return h;
     }
 
-    private static Aprational recursiveSum(Aprational[] x)
+    private static AprationalAccumulator recursiveSum(Aprational[] x)
         throws ApfloatRuntimeException
     {
-        return RecursiveHelper.recursiveCompute(0, x.length - 1, i -> x[(int) i], Aprational::add);
+        return RecursiveHelper.recursiveCompute(0, x.length - 1, i -> new AprationalAccumulator(x[(int) i]), AprationalAccumulator::add);
     }
 }
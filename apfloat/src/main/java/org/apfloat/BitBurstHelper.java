@@ -0,0 +1,284 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+/**
+ * Helper class for the exponential function and logarithm using the bit-burst algorithm.<p>
+ *
+ * The argument is split to parts <i>z</i> = <i>z</i><sub>0</sub> + <i>z</i><sub>1</sub> + <i>z</i><sub>2</sub> + ...
+ * where each part <i>z</i><sub><i>k</i></sub> = <i>p</i><sub><i>k</i></sub> / <i>radix</i><sup><i>d</i><sub><i>k</i></sub></sup>
+ * has twice as many digits as the previous part. Then exp(<i>z</i>) is the product of
+ * the exp(<i>z</i><sub><i>k</i></sub>), each calculated from the Taylor series with binary splitting.
+ * The parts with many digits are small in magnitude so their series converge quickly.
+ * The binary splitting is done in parallel with {@link RecursiveHelper}.<p>
+ *
+ * The logarithm is calculated with Newton's iteration from the exponential function.
+ * Complex arguments are supported, so the trigonometric functions and their inverses can
+ * also use these algorithms.<p>
+ *
+ * Up to medium precision this is faster than the algorithms based on the arithmetic-geometric mean.
+ * The maximum precision for which these algorithms are used is specified with the
+ * {@link ApfloatContext#BIT_BURST_PRECISION} property.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class BitBurstHelper
+{
+    // Binary splitting state: the sum of the terms is t / q and the product of the numerators is p
+    private static class Series
+    {
+        public Series(Apcomplex p, Apint q, Apcomplex t)
+        {
+            this.p = p;
+            this.q = q;
+            this.t = t;
+        }
+
+        public Series combine(Series that)
+        {
+            return new Series(this.p.multiply(that.p),
+                              this.q.multiply(that.q),
+                              multiply(this.t, that.q).add(this.p.multiply(that.t)));
+        }
+
+        public Apcomplex p;
+        public Apint q;
+        public Apcomplex t;
+    }
+
+    private BitBurstHelper()
+    {
+    }
+
+    /**
+     * Returns if the bit-burst algorithm should be used for the specified precision.
+     *
+     * @param precision The precision.
+     *
+     * @return If the precision is at least {@link #MIN_PRECISION} and at most the value of the {@link ApfloatContext#BIT_BURST_PRECISION} property.
+     */
+
+    public static boolean isUsed(long precision)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        return (precision >= MIN_PRECISION && precision <= ctx.getBitBurstPrecision());
+    }
+
+    /**
+     * Exponential function.
+     *
+     * @param x The argument, must have at least as many fractional digits as the result should have accurate digits.
+     * @param precision The precision of the result.
+     *
+     * @return <code>e<sup>x</sup></code>.
+     */
+
+    public static Apfloat exp(Apfloat x, long precision)
+        throws ApfloatRuntimeException
+    {
+        return exp(new Apcomplex(x), precision).real();
+    }
+
+    /**
+     * Exponential function.
+     *
+     * @param z The argument, must have at least as many fractional digits as the result should have accurate digits. The absolute value of the imaginary part should be at most &pi;.
+     * @param precision The precision of the result.
+     *
+     * @return <code>e<sup>z</sup></code>.
+     */
+
+    public static Apcomplex exp(Apcomplex z, long precision)
+        throws ApfloatRuntimeException
+    {
+        int radix = z.radix();
+        Apfloat x = z.real();
+        long n = 0;
+
+        if (x.scale() > 0)
+        {
+            // exp(x) = radix^n exp(x - n log(radix)) where the reduced argument is small
+            long scaledPrecision = x.scale() + ApfloatHelper.getDoublePrecision(radix);
+            n = x.precision(scaledPrecision).divide(ApfloatMath.logRadix(scaledPrecision, radix)).truncate().longValue();
+            if (n != 0)
+            {
+                Apfloat logRadix = ApfloatMath.logRadix(ApfloatHelper.extendPrecision(precision, x.scale()), radix);
+                x = x.subtract(new Apfloat(n, Apfloat.INFINITE, radix).multiply(logRadix));
+            }
+        }
+
+        return ApcomplexMath.scale(expSmall(new Apcomplex(x, z.imag()), precision), n);
+    }
+
+    /**
+     * Natural logarithm.
+     *
+     * @param x The argument, must be positive and have scale zero.
+     * @param precision The precision of the result.
+     *
+     * @return <code>log(x)</code>.
+     */
+
+    public static Apfloat log(Apfloat x, long precision)
+        throws ApfloatRuntimeException
+    {
+        return log(new Apcomplex(x), precision).real();
+    }
+
+    /**
+     * Natural logarithm.
+     *
+     * @param z The argument, must be nonzero and have scale zero and a non-negative real part.
+     * @param precision The precision of the result.
+     *
+     * @return <code>log(z)</code>.
+     */
+
+    public static Apcomplex log(Apcomplex z, long precision)
+        throws ApfloatRuntimeException
+    {
+        assert (!z.isZero() && z.scale() == 0 && z.real().signum() >= 0);
+
+        int radix = z.radix();
+        long digits = ApfloatHelper.getDoublePrecision(radix) - 2,
+             workingPrecision = ApfloatHelper.extendPrecision(precision);
+        double real = z.real().doubleValue(),
+               imag = z.imag().doubleValue();
+
+        // The starting value is accurate to about double precision and its digits are exact
+        Apcomplex p = new Apcomplex(new Apfloat(Math.log(Math.hypot(real, imag)) * Math.pow(radix, digits), Apfloat.DEFAULT, radix).truncate(),
+                                    new Apfloat(Math.atan2(imag, real) * Math.pow(radix, digits), Apfloat.DEFAULT, radix).truncate());
+        Apcomplex y = ApcomplexMath.scale(p, -digits),
+                  expNegativeY = expPart(p.negate(), digits, workingPrecision);
+        Apfloat one = new Apfloat(1, Apfloat.INFINITE, radix);
+
+        // Newton's iteration y = y + z exp(-y) - 1, where the correction is truncated so that exp(-y) is updated with the bit-burst algorithm
+        while (digits < workingPrecision)
+        {
+            digits = Math.min(2 * digits, workingPrecision);
+            long iterationPrecision = ApfloatHelper.extendPrecision(digits);
+            Apcomplex w = setPrecision(z, iterationPrecision).multiply(setPrecision(expNegativeY, iterationPrecision)).subtract(one);
+            p = new Apcomplex(ApfloatMath.scale(w.real(), digits).truncate(), ApfloatMath.scale(w.imag(), digits).truncate());
+            y = y.add(ApcomplexMath.scale(p, -digits));
+            if (digits < workingPrecision && !p.isZero())
+            {
+                expNegativeY = expNegativeY.multiply(expPart(p.negate(), digits, workingPrecision));
+            }
+        }
+
+        return setPrecision(y, precision);
+    }
+
+    // Exponential function with the bit-burst algorithm, for a small argument
+    private static Apcomplex expSmall(Apcomplex z, long precision)
+        throws ApfloatRuntimeException
+    {
+        int radix = z.radix();
+        long workingPrecision = ApfloatHelper.extendPrecision(precision),
+             digits = ApfloatHelper.getDoublePrecision(radix);
+        Apcomplex result = new Apfloat(1, workingPrecision, radix),
+                  remaining = z;
+
+        // The digits of the first part are 1 ... digits, the digits of the next part are digits + 1 ... 2 * digits etc.
+        for (long previousDigits = 0; !remaining.isZero() && previousDigits < workingPrecision; previousDigits = digits, digits *= 2)
+        {
+            Apint p = ApfloatMath.scale(remaining.real(), digits).truncate(),
+                  q = ApfloatMath.scale(remaining.imag(), digits).truncate();
+            if (p.signum() != 0 || q.signum() != 0)
+            {
+                Apcomplex part = new Apcomplex(p, q);
+                result = result.multiply(expPart(part, digits, workingPrecision));
+                remaining = remaining.subtract(ApcomplexMath.scale(part, -digits));
+            }
+        }
+
+        // A small imaginary (or real) part of the result is only as accurate as the argument, in absolute terms
+        return setPrecision(result, precision);
+    }
+
+    // Exponential function of p / radix^digits with the Taylor series, using binary splitting
+    private static Apcomplex expPart(Apcomplex p, long digits, long precision)
+        throws ApfloatRuntimeException
+    {
+        int radix = p.radix();
+        long terms = getTerms(p, digits, precision);
+        Apint one = new Apint(1, radix);
+
+        // The term n is the previous term times p / (n * radix^digits)
+        Series series = RecursiveHelper.recursiveCompute(1, terms, n -> new Series(p, ApintMath.scale(new Apint(n, radix), digits), p), Series::combine);
+
+        Apcomplex t = setPrecision(series.t, precision);
+        Apfloat q = series.q.precision(precision);
+        return one.add(t.divide(q));
+    }
+
+    // Number of terms needed so that the last term is less than radix^-precision
+    private static long getTerms(Apcomplex p, long digits, long precision)
+    {
+        int radix = p.radix();
+        double logRadix = Math.log(radix),
+               real = ApfloatMath.scale(p.real(), -p.scale()).doubleValue(),
+               imag = ApfloatMath.scale(p.imag(), -p.scale()).doubleValue(),
+               logZ = Math.log(Math.hypot(real, imag)) + (p.scale() - digits) * logRadix,
+               logTerm = 0,
+               logEpsilon = -precision * logRadix;
+        long n = 0;
+        while (logTerm > logEpsilon || logZ > Math.log(n + 1))
+        {
+            n++;
+            logTerm += logZ - Math.log(n);
+        }
+        return Math.max(n, 1);
+    }
+
+    // The real and imaginary part have the same absolute accuracy, and the larger one has the specified precision
+    private static Apcomplex setPrecision(Apcomplex z, long precision)
+        throws ApfloatRuntimeException
+    {
+        long scale = z.scale();
+        return new Apcomplex(setPrecision(z.real(), precision, scale), setPrecision(z.imag(), precision, scale));
+    }
+
+    private static Apfloat setPrecision(Apfloat x, long precision, long scale)
+        throws ApfloatRuntimeException
+    {
+        return (x.signum() == 0 ? x : x.precision(Math.min(Math.max(precision - scale + x.scale(), 1), x.precision())));
+    }
+
+    private static Apcomplex multiply(Apcomplex z, Apint x)
+        throws ApfloatRuntimeException
+    {
+        return new Apcomplex(z.real().multiply(x), z.imag().multiply(x));
+    }
+
+    /**
+     * Minimum precision where the bit-burst algorithm is used. Below this the results
+     * are computed with Newton's iteration and the arithmetic-geometric mean as before.
+     */
+
+    public static final long MIN_PRECISION = 50;
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent cache for mathematical constants, stored in files in the
+ * directory specified by the {@link ApfloatContext#CONSTANT_CACHE_PATH} property.<p>
+ *
+ * Each file contains one or more numbers in the binary format written by
+ * {@link Apfloat#writeTo(java.nio.channels.WritableByteChannel)}. Files are
+ * replaced atomically, so that concurrently running programs always see
+ * complete files. Missing or invalid files are treated as if nothing was cached,
+ * and failures to write the files are ignored, as the cache is only an optimization.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class ConstantCache
+{
+    private ConstantCache()
+    {
+    }
+
+    /**
+     * Load numbers from the cache.
+     *
+     * @param name The name of the cached numbers.
+     * @param radix The radix of the numbers.
+     * @param count The number of numbers to load.
+     *
+     * @return The numbers, or <code>null</code> if the cache is not enabled or the numbers are not found in the cache.
+     */
+
+    public static Apfloat[] load(String name, int radix, int count)
+        throws ApfloatRuntimeException
+    {
+        Path path = getPath(name, radix);
+        if (path == null || !Files.isRegularFile(path))
+        {
+            return null;
+        }
+
+        // Don't read directly from the FileChannel, as large numbers would then remain backed by the file
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path)))
+        {
+            ReadableByteChannel channel = Channels.newChannel(in);
+            Apfloat[] values = new Apfloat[count];
+            for (int i = 0; i < count; i++)
+            {
+                values[i] = new Apfloat(channel);
+                if (values[i].radix() != radix)
+                {
+                    return null;
+                }
+            }
+            return values;
+        }
+        catch (ApfloatInterruptedException aie)
+        {
+            throw aie;
+        }
+        catch (IOException | NumberFormatException | ApfloatRuntimeException e)
+        {
+            // Just calculate the values again
+            return null;
+        }
+    }
+
+    /**
+     * Save numbers to the cache. Nothing is done if the cache is not enabled
+     * or if the file can't be written.
+     *
+     * @param name The name of the cached numbers.
+     * @param radix The radix of the numbers.
+     * @param values The numbers to save.
+     */
+
+    public static void save(String name, int radix, Apfloat... values)
+        throws ApfloatRuntimeException
+    {
+        Path path = getPath(name, radix);
+        if (path == null)
+        {
+            return;
+        }
+
+        Path temporaryPath = null;
+        try
+        {
+            Files.createDirectories(path.getParent());
+            temporaryPath = Files.createTempFile(path.getParent(), name, ".tmp");
+            try (FileChannel out = FileChannel.open(temporaryPath, StandardOpenOption.WRITE))
+            {
+                for (Apfloat value : values)
+                {
+                    value.writeTo(out);
+                }
+            }
+            try
+            {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException amnse)
+            {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException ioe)
+        {
+            try
+            {
+                if (temporaryPath != null)
+                {
+                    Files.deleteIfExists(temporaryPath);
+                }
+            }
+            catch (IOException ioe2)
+            {
+                // Ignore
+            }
+            // The values are just calculated again the next time
+        }
+    }
+
+    private static Path getPath(String name, int radix)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        String directory = ctx.getProperty(ApfloatContext.CONSTANT_CACHE_PATH);
+        if (directory == null || directory.isEmpty())
+        {
+            return null;
+        }
+        return Paths.get(directory, name + '-' + radix + ".ap").toAbsolutePath();
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,13 +23,12 @@
  */
 package org.apfloat;
 
-import org.apfloat.ApfloatMath.ApfloatHolder;
-
 /**
  * Helper class for computing the Euler gamma using binary splitting and the Brent-McMillan formula.
+ * The binary splitting is done in parallel with {@link RecursiveHelper}.
  *
  * @since 1.11.0
- * @version 1.11.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -38,6 +37,71 @@ class EulerHelper
     // See http://www.numberworld.org/y-cruncher/internals/binary-splitting-library.html#eulergamma_bm_ab
     // See https://www.ginac.de/CLN/binsplit.pdf
 
+    // Binary splitting state of a range of terms; P and T are not needed at the end of the series and V is not needed at the start
+    private class Series
+    {
+        public Series(long b, long terms)
+        {
+            Apfloat bb = new Apfloat(b, EulerHelper.this.precision, EulerHelper.this.radix);
+            Apfloat b2 = bb.multiply(bb);
+            this.first = (b == 1);
+            this.last = (b == terms);
+            if (!this.last)
+            {
+                this.P = new Apfloat(1, EulerHelper.this.precision, EulerHelper.this.radix);
+            }
+            this.Q = bb;
+            this.R = EulerHelper.this.n2;
+            this.S = b2;
+            if (!this.last)
+            {
+                this.T = EulerHelper.this.n2;
+            }
+            this.U = EulerHelper.this.n2;
+            if (!this.first)
+            {
+                this.V = b2.multiply(bb);
+            }
+        }
+
+        private Series(Series left, Series right)
+        {
+            this.first = left.first;
+            this.last = right.last;
+            if (!this.last)
+            {
+                this.P = left.P.multiply(right.Q).add(left.Q.multiply(right.P));
+            }
+            this.Q = left.Q.multiply(right.Q);
+            this.R = left.R.multiply(right.S).add(left.T.multiply(right.R));
+            this.S = left.S.multiply(right.S);
+            if (!this.last)
+            {
+                this.T = left.T.multiply(right.T);
+            }
+            this.U = left.U.multiply(right.V).add(left.P.multiply(left.T).multiply(right.Q).multiply(right.R)).add(left.Q.multiply(left.T).multiply(right.U));
+            if (!this.first)
+            {
+                this.V = left.V.multiply(right.V);
+            }
+        }
+
+        public Series combine(Series that)
+        {
+            return new Series(this, that);
+        }
+
+        public boolean first;
+        public boolean last;
+        public Apfloat P;
+        public Apfloat Q;
+        public Apfloat R;
+        public Apfloat S;
+        public Apfloat T;
+        public Apfloat U;
+        public Apfloat V;
+    }
+
     private EulerHelper(Apfloat n2, long precision, int radix)
         throws ApfloatRuntimeException
     {
@@ -49,84 +113,19 @@ class EulerHelper
     public static Apfloat euler(long precision, int radix)
         throws ApfloatRuntimeException
     {
-        ApfloatHolder Q = new ApfloatHolder(),
-                      R = new ApfloatHolder(),
-                      S = new ApfloatHolder(),
-                      U = new ApfloatHolder();
-
         long workingPrecision = ApfloatHelper.extendPrecision(precision),
              n = ApfloatHelper.extendPrecision((long) (precision * Math.log(radix) / 4)),
              terms = (long) (ALPHA * n);
         Apfloat nn = new Apfloat(n, workingPrecision, radix),
                 n2 = nn.multiply(nn);
-        new EulerHelper(n2, workingPrecision, radix).euler(0, terms, null, Q, R, S, null, U, null);
-        return U.getApfloat().divide(Q.getApfloat().multiply(R.getApfloat().add(S.getApfloat()))).subtract(ApfloatMath.log(nn)).precision(precision);
+        Series series = new EulerHelper(n2, workingPrecision, radix).euler(terms);
+        return series.U.divide(series.Q.multiply(series.R.add(series.S))).subtract(ApfloatMath.log(nn)).precision(precision);
     }
 
-    private void euler(long a, long b, ApfloatHolder P, ApfloatHolder Q, ApfloatHolder R, ApfloatHolder S, ApfloatHolder T, ApfloatHolder U, ApfloatHolder V)
+    private Series euler(long terms)
         throws ApfloatRuntimeException
     {
-        assert (a < b);
-
-        if (b - a == 1)
-        {
-            Apfloat bb = new Apfloat(b, this.precision, this.radix);
-            Apfloat b2 = bb.multiply(bb);
-            if (P != null)
-            {
-                P.setApfloat(new Apfloat(1, this.precision, this.radix));
-            }
-            Q.setApfloat(bb);
-            R.setApfloat(this.n2);
-            S.setApfloat(b2);
-            if (T != null)
-            {
-                T.setApfloat(this.n2);
-            }
-            U.setApfloat(this.n2);
-            if (V != null)
-            {
-                V.setApfloat(b2.multiply(bb));
-            }
-        }
-        else
-        {
-            long m = a + b >>> 1;
-            ApfloatHolder LP = new ApfloatHolder(),
-                          LQ = new ApfloatHolder(),
-                          LR = new ApfloatHolder(),
-                          LS = new ApfloatHolder(),
-                          LT = new ApfloatHolder(),
-                          LU = new ApfloatHolder(),
-                          LV = new ApfloatHolder(),
-                          RP = new ApfloatHolder(),
-                          RQ = new ApfloatHolder(),
-                          RR = new ApfloatHolder(),
-                          RS = new ApfloatHolder(),
-                          RT = new ApfloatHolder(),
-                          RU = new ApfloatHolder(),
-                          RV = new ApfloatHolder();
-
-            euler(a, m, LP, LQ, LR, LS, LT, LU, V != null ? LV : null);
-            euler(m, b, P != null ? RP : null, RQ, RR, RS, T != null ? RT : null, RU, RV);
-
-            if (P != null)
-            {
-                P.setApfloat(LP.getApfloat().multiply(RQ.getApfloat()).add(LQ.getApfloat().multiply(RP.getApfloat())));
-            }
-            Q.setApfloat(LQ.getApfloat().multiply(RQ.getApfloat()));
-            R.setApfloat(LR.getApfloat().multiply(RS.getApfloat()).add(LT.getApfloat().multiply(RR.getApfloat())));
-            S.setApfloat(LS.getApfloat().multiply(RS.getApfloat()));
-            if (T != null)
-            {
-                T.setApfloat(LT.getApfloat().multiply(RT.getApfloat()));
-            }
-            U.setApfloat(LU.getApfloat().multiply(RV.getApfloat()).add(LP.getApfloat().multiply(LT.getApfloat()).multiply(RQ.getApfloat()).multiply(RR.getApfloat())).add(LQ.getApfloat().multiply(LT.getApfloat()).multiply(RU.getApfloat())));
-            if (V != null)
-            {
-                V.setApfloat(LV.getApfloat().multiply(RV.getApfloat()));
-            }
-        }
+        return RecursiveHelper.recursiveCompute(1, terms, b -> new Series(b, terms), Series::combine, RecursiveHelper.BINARY_SPLITTING_GRAIN_SIZE);
     }
 
     private static final double ALPHA = 3.5911214766686221; // 1 / W(1 / e)
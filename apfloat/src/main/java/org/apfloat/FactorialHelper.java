@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Helper class for factorials and binomial coefficients using the prime factorization.<p>
+ *
+ * The exponent of each prime in <i>n</i>! is found with Legendre's formula.
+ * The product of the prime powers is then calculated as
+ * <i>p</i><sub>0</sub> (<i>p</i><sub>1</sub> (<i>p</i><sub>2</sub> ...)<sup>2</sup>)<sup>2</sup>,
+ * where <i>p</i><sub><i>k</i></sub> is the product of the primes whose exponent
+ * has bit <i>k</i> set. This way the result is built mostly by squaring, and the
+ * products of the primes are calculated in parallel with {@link RecursiveHelper}.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class FactorialHelper
+{
+    private FactorialHelper()
+    {
+    }
+
+    /**
+     * Factorial.
+     *
+     * @param n The argument, must be positive and at most {@link #MAX_N}.
+     * @param precision The precision of the result.
+     * @param radix The radix of the result.
+     *
+     * @return <code>n!</code>
+     */
+
+    public static Apfloat factorial(long n, long precision, int radix)
+        throws ApfloatRuntimeException
+    {
+        return primePowerProduct(n, p -> exponent(n, p), precision, radix);
+    }
+
+    /**
+     * Double factorial of an odd number.
+     *
+     * @param n The argument, must be odd, positive and at most {@link #MAX_N}.
+     * @param precision The precision of the result.
+     * @param radix The radix of the result.
+     *
+     * @return <code>n!!</code>
+     */
+
+    public static Apfloat oddDoubleFactorial(long n, long precision, int radix)
+        throws ApfloatRuntimeException
+    {
+        assert ((n & 1) == 1);
+
+        // n!! = n! / (2^m m!) where m = (n - 1) / 2
+        long m = n >>> 1;
+        return primePowerProduct(n, p -> (p == 2 ? 0 : exponent(n, p) - exponent(m, p)), precision, radix);
+    }
+
+    /**
+     * Binomial coefficient.
+     *
+     * @param n The first argument, must be positive and at most {@link #MAX_N}.
+     * @param k The second argument, must be between 0 and <code>n</code>.
+     * @param radix The radix of the result.
+     *
+     * @return <code>binomial(n, k)</code>
+     */
+
+    public static Apint binomial(long n, long k, int radix)
+        throws ApfloatRuntimeException
+    {
+        assert (k >= 0 && k <= n);
+
+        return new Apint(primePowerProduct(n, p -> exponent(n, p) - exponent(k, p) - exponent(n - k, p), Apfloat.INFINITE, radix));
+    }
+
+    // Product of p^exponent(p) for all primes p <= n, where the exponents are at most those of n!
+    private static Apfloat primePowerProduct(long n, LongUnaryOperator exponentFunction, long precision, int radix)
+        throws ApfloatRuntimeException
+    {
+        assert (n > 0 && n <= MAX_N);
+
+        // The exponents are at most those of n!, where the exponent of 2 is the highest
+        int maxBit = 63 - Long.numberOfLeadingZeros(exponent(n, 2));
+        int[] sievingPrimes = primes((int) Math.sqrt((double) n));
+        long[] words = new long[(SEGMENT_SIZE >>> 1) + 1];
+
+        Apfloat result = new Apfloat(1, precision, radix);
+        for (int k = maxBit; k >= 0; k--)
+        {
+            // Note that the exponent of p is less than n / (p - 1), so only small primes can have the high bits set.
+            // The primes are sieved in segments, so that the memory usage does not depend on n
+            long limit = Math.min(n, (n >> k) + 1);
+            List<Apfloat> products = new ArrayList<>();
+            for (long start = 2; start <= limit; start += SEGMENT_SIZE)
+            {
+                int[] primes = primes(start, Math.min(start + SEGMENT_SIZE, limit + 1), sievingPrimes);
+                int count = 0;
+                long word = 1;
+                for (int p : primes)
+                {
+                    if ((exponentFunction.applyAsLong(p) & (1L << k)) != 0)
+                    {
+                        // Pack as many primes to one word as possible, to keep the number of multiplications low
+                        if (word > Long.MAX_VALUE / p)
+                        {
+                            words[count++] = word;
+                            word = 1;
+                        }
+                        word *= p;
+                    }
+                }
+                if (word > 1)
+                {
+                    words[count++] = word;
+                }
+                if (count > 0)
+                {
+                    products.add(product(words, count, precision, radix));
+                }
+            }
+
+            result = result.multiply(result);
+            if (!products.isEmpty())
+            {
+                result = result.multiply(RecursiveHelper.recursiveCompute(0, products.size() - 1, i -> products.get((int) i), Apfloat::multiply));
+            }
+        }
+
+        return result;
+    }
+
+    // Product of the numbers in the array, calculated in parallel
+    private static Apfloat product(long[] words, int count, long precision, int radix)
+        throws ApfloatRuntimeException
+    {
+        return RecursiveHelper.recursiveCompute(0, count - 1, i -> new Apfloat(words[(int) i], precision, radix), Apfloat::multiply);
+    }
+
+    // Exponent of prime p in n!, using Legendre's formula
+    private static long exponent(long n, long p)
+    {
+        long exponent = 0;
+        while (n >= p)
+        {
+            n /= p;
+            exponent += n;
+        }
+        return exponent;
+    }
+
+    // Primes in the range [from, to), using a segmented sieve of Eratosthenes with the primes up to sqrt(to)
+    private static int[] primes(long from, long to, int[] sievingPrimes)
+    {
+        int length = (int) (to - from);
+        BitSet composite = new BitSet(length);          // Bit i is the number from + i
+        for (int p : sievingPrimes)
+        {
+            if ((long) p * p >= to)
+            {
+                break;
+            }
+            for (long j = Math.max((long) p * p, (from + p - 1) / p * p); j < to; j += p)
+            {
+                composite.set((int) (j - from));
+            }
+        }
+
+        int[] primes = new int[(length >>> 1) + 1];
+        int count = 0;
+        for (int i = composite.nextClearBit(0); i < length; i = composite.nextClearBit(i + 1))
+        {
+            primes[count++] = (int) (from + i);
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    // All primes up to n, using the sieve of Eratosthenes on odd numbers only
+    private static int[] primes(int n)
+    {
+        BitSet composite = new BitSet((n + 1) >>> 1);   // Bit i is the number 2 * i + 1
+        for (long i = 1; (2 * i + 1) * (2 * i + 1) <= n; i++)
+        {
+            if (!composite.get((int) i))
+            {
+                long p = 2 * i + 1;
+                for (long j = p * p >>> 1; j <= n >>> 1; j += p)
+                {
+                    composite.set((int) j);
+                }
+            }
+        }
+
+        int[] primes = new int[(int) Math.min(n, 1.26 * n / Math.log(Math.max(n, 2))) + 2];   // Upper bound for the number of primes
+        int count = 0;
+        if (n >= 2)
+        {
+            primes[count++] = 2;
+        }
+        for (int i = composite.nextClearBit(1); 2L * i + 1 <= n; i = composite.nextClearBit(i + 1))
+        {
+            primes[count++] = 2 * i + 1;
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    /**
+     * Maximum argument for which the primes are sieved.
+     */
+
+    public static final long MAX_N = 1L << 30;
+
+    // Numbers sieved at a time, so that the primes of one segment take at most a few megabytes
+    private static final int SEGMENT_SIZE = 1 << 20;
+}
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,16 +23,18 @@
  */
 package org.apfloat;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apfloat.spi.Util;
 
 import static org.apfloat.ApintMath.abs;
 import static org.apfloat.ApintMath.scale;
 
 /**
- * Binary recursive GCD algorithm implementation.
+ * Binary recursive GCD algorithm and extended half-GCD algorithm implementation.
  *
  * @since 1.6
- * @version 1.10.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -49,19 +51,75 @@ class GCDHelper
             this.r22 = r22;
         }
 
+        public static Matrix identity(int radix)
+        {
+            Apint one = Apint.ONES[radix];
+            return new Matrix(one, Apint.ZERO, Apint.ZERO, one);
+        }
+
         public Matrix multiply(Matrix a)
             throws ApfloatRuntimeException
         {
-            return new Matrix(multiplyAdd(this.r11, a.r11, this.r12, a.r21),
-                              multiplyAdd(this.r11, a.r12, this.r12, a.r22),
-                              multiplyAdd(this.r21, a.r11, this.r22, a.r21),
-                              multiplyAdd(this.r21, a.r12, this.r22, a.r22));
+            Apint[] x = { this.r11, this.r12, this.r11, this.r12, this.r21, this.r22, this.r21, this.r22 },
+                    y = { a.r11, a.r21, a.r12, a.r22, a.r11, a.r21, a.r12, a.r22 },
+                    products = new Apint[8];
+
+            if (Math.min(size(this), size(a)) >= PARALLEL_THRESHOLD)
+            {
+                // The eight products are independent so they can be calculated in parallel
+                AtomicInteger next = new AtomicInteger();
+                Runnable runnable = () ->
+                {
+                    int i;
+                    while ((i = next.getAndIncrement()) < products.length)
+                    {
+                        products[i] = x[i].multiply(y[i]);
+                    }
+                };
+
+                ParallelHelper.runParallel(runnable);
+            }
+            else
+            {
+                for (int i = 0; i < products.length; i++)
+                {
+                    products[i] = x[i].multiply(y[i]);
+                }
+            }
+
+            return new Matrix(products[0].add(products[1]),
+                              products[2].add(products[3]),
+                              products[4].add(products[5]),
+                              products[6].add(products[7]));
         }
 
-        private static Apint multiplyAdd(Apint a, Apint b, Apint c, Apint d)
+        // Multiply by the matrix [1 q; 0 1] from the right
+        public Matrix multiplyUpper(Apint q)
             throws ApfloatRuntimeException
         {
-            return a.multiply(b).add(c.multiply(d));
+            return new Matrix(this.r11, this.r11.multiply(q).add(this.r12),
+                              this.r21, this.r21.multiply(q).add(this.r22));
+        }
+
+        // Multiply by the matrix [1 0; q 1] from the right
+        public Matrix multiplyLower(Apint q)
+            throws ApfloatRuntimeException
+        {
+            return new Matrix(this.r11.add(this.r12.multiply(q)), this.r12,
+                              this.r21.add(this.r22.multiply(q)), this.r22);
+        }
+
+        // Multiply the vector (a, b) by the inverse of this matrix, assuming the determinant is one
+        public Apint[] multiplyInverse(Apint a, Apint b)
+            throws ApfloatRuntimeException
+        {
+            return new Apint[] { this.r22.multiply(a).subtract(this.r12.multiply(b)),
+                                 this.r11.multiply(b).subtract(this.r21.multiply(a)) };
+        }
+
+        private static long size(Matrix a)
+        {
+            return Math.min(Math.min(a.r11.size(), a.r12.size()), Math.min(a.r21.size(), a.r22.size()));
         }
 
         public final Apint r11;
@@ -83,6 +141,21 @@ class GCDHelper
         public final Matrix r;
     }
 
+    // Return type for the extended half-gcd method, where (a, b) = m (c, d) for the original numbers a and b
+    private static class HalfGcdResult
+    {
+        public HalfGcdResult(Matrix m, Apint c, Apint d)
+        {
+            this.m = m;
+            this.c = c;
+            this.d = d;
+        }
+
+        public final Matrix m;
+        public final Apint c;
+        public final Apint d;
+    }
+
     private GCDHelper()
     {
     }
@@ -124,6 +197,84 @@ class GCDHelper
         return gcd;
     }
 
+    /**
+     * Extended greatest common divisor. The cofactors are calculated with the
+     * half-gcd algorithm, and additionally the numbers divided by the gcd are
+     * obtained without any divisions.
+     *
+     * @param a First argument.
+     * @param b Second argument.
+     *
+     * @return An array of five numbers: <code>gcd(a, b)</code>, <code>x</code> and <code>y</code> so that <code>a x + b y = gcd(a, b)</code>, <code>a / gcd(a, b)</code> and <code>b / gcd(a, b)</code>.
+     */
+
+    public static Apint[] extendedGcd(Apint a, Apint b)
+        throws ApfloatRuntimeException
+    {
+        assert (a.signum() != 0 || b.signum() != 0);
+
+        int radix = a.radix();
+        HalfGcdResult result = new HalfGcdResult(Matrix.identity(radix), abs(a), abs(b));
+
+        // Invariant: (|a|, |b|) = m (c, d) where the determinant of m is one
+        while (result.c.signum() != 0 && result.d.signum() != 0)
+        {
+            HalfGcdResult t = (isBig(Math.max(result.c.scale(), result.d.scale()), radix) ? halfGcd(result.c, result.d) : null);
+            if (t != null)
+            {
+                result = new HalfGcdResult(result.m.multiply(t.m), t.c, t.d);
+            }
+            else if ((t = lehmerStep(result, -1)) != null)
+            {
+                result = t;
+            }
+            else if (result.c.compareTo(result.d) >= 0)
+            {
+                Apint[] qr = ApintMath.div(result.c, result.d);
+                result = new HalfGcdResult(result.m.multiplyUpper(qr[0]), qr[1], result.d);
+            }
+            else
+            {
+                Apint[] qr = ApintMath.div(result.d, result.c);
+                result = new HalfGcdResult(result.m.multiplyLower(qr[0]), result.c, qr[1]);
+            }
+        }
+
+        Matrix m = result.m;
+        Apint gcd, x, y, aDivGcd, bDivGcd;
+        if (result.d.signum() == 0)
+        {
+            // (|a|, |b|) = m (gcd, 0) and (gcd, 0) = inverse(m) (|a|, |b|)
+            gcd = result.c;
+            x = m.r22;
+            y = m.r12.negate();
+            aDivGcd = m.r11;
+            bDivGcd = m.r21;
+        }
+        else
+        {
+            // (|a|, |b|) = m (0, gcd) and (0, gcd) = inverse(m) (|a|, |b|)
+            gcd = result.d;
+            x = m.r21.negate();
+            y = m.r11;
+            aDivGcd = m.r12;
+            bDivGcd = m.r22;
+        }
+
+        if (a.signum() < 0)
+        {
+            x = x.negate();
+            aDivGcd = aDivGcd.negate();
+        }
+        if (b.signum() < 0)
+        {
+            y = y.negate();
+            bDivGcd = bDivGcd.negate();
+        }
+
+        return new Apint[] { gcd, x, y, aDivGcd, bDivGcd };
+    }
+
     private static Apint elementaryGcd(Apint a, Apint b)
         throws ApfloatRuntimeException
     {
@@ -229,6 +380,196 @@ class GCDHelper
         return new HalfGcdType(j, result);
     }
 
+    // Based on the half-gcd algorithm by Niels Möller, "On Schönhage's algorithm and subquadratic integer gcd computation".
+    // The positive numbers a and b are reduced as long as both of them remain bigger than radix^s, where s is about half of the size of the numbers.
+    // The matrix of the reduction is found recursively from the most significant digits of the numbers. Returns null if no reduction can be done.
+    private static HalfGcdResult halfGcd(Apint a, Apint b)
+        throws ApfloatRuntimeException
+    {
+        int radix = a.radix();
+        long n = Math.max(a.scale(), b.scale()),
+             s = n / 2 + 1;
+        if (Math.min(a.scale(), b.scale()) <= s)
+        {
+            return null;
+        }
+
+        HalfGcdResult result = new HalfGcdResult(Matrix.identity(radix), a, b);
+        boolean reduced = false;
+
+        if (isBig(n, radix))
+        {
+            // Reduce first with the half-gcd of the most significant half, which reduces the numbers to about 3/4 of their size
+            long p = n / 2;
+            HalfGcdResult t = halfGcd(scale(a, -p), scale(b, -p));
+            if (t != null)
+            {
+                result = adjust(result, t);
+                reduced = true;
+            }
+
+            long n2 = 3 * n / 4 + 1;
+            while (Math.max(result.c.scale(), result.d.scale()) > n2)
+            {
+                t = reduceStep(result, s);
+                if (t == null)
+                {
+                    return (reduced ? result : null);
+                }
+                result = t;
+                reduced = true;
+            }
+
+            // Then reduce with the half-gcd of the most significant part so that the numbers are reduced to size s
+            long n3 = Math.max(result.c.scale(), result.d.scale());
+            if (n3 > s + 2)
+            {
+                p = 2 * s - n3 + 1;
+                t = halfGcd(scale(result.c, -p), scale(result.d, -p));
+                if (t != null)
+                {
+                    result = adjust(result, t);
+                    reduced = true;
+                }
+            }
+        }
+
+        // Finish with the elementary algorithm
+        for (HalfGcdResult t; (t = reduceStep(result, s)) != null; )
+        {
+            result = t;
+            reduced = true;
+        }
+
+        return (reduced ? result : null);
+    }
+
+    // Apply the reduction found from the most significant digits of the numbers to the full numbers
+    private static HalfGcdResult adjust(HalfGcdResult result, HalfGcdResult t)
+        throws ApfloatRuntimeException
+    {
+        Apint[] cd = t.m.multiplyInverse(result.c, result.d);
+
+        assert (cd[0].signum() > 0 && cd[1].signum() > 0);
+
+        return new HalfGcdResult(result.m.multiply(t.m), cd[0], cd[1]);
+    }
+
+    // Reduce with Lehmer's algorithm if possible, or otherwise with one division step
+    private static HalfGcdResult reduceStep(HalfGcdResult result, long s)
+        throws ApfloatRuntimeException
+    {
+        HalfGcdResult t = lehmerStep(result, s);
+        return (t != null ? t : halfGcdStep(result, s));
+    }
+
+    // Lehmer's algorithm: division steps are done with the leading digits of the numbers using the long data type, as long as the
+    // quotients are surely the same as with the full numbers. If s is not negative, the numbers and their difference must remain
+    // bigger than radix^s, like in the half-gcd algorithm. Returns null if no steps can be done.
+    private static HalfGcdResult lehmerStep(HalfGcdResult result, long s)
+        throws ApfloatRuntimeException
+    {
+        Apint c = result.c,
+              d = result.d;
+        int radix = c.radix();
+        long shift = Math.max(Math.max(c.scale(), d.scale()) - LEHMER_DIGITS[radix], 0),
+             u = scale(c, -shift).longValue(),
+             v = scale(d, -shift).longValue(),
+             e = (shift > 0 ? 1 : 0);     // If the leading digits are not exact, the quotients must be the same for both of the extreme values
+
+        // Invariant: (u, v) = inverse(p) (leading digits of c, leading digits of d)
+        long p11 = 1,
+             p12 = 0,
+             p21 = 0,
+             p22 = 1;
+        boolean reduced = false;
+        while (true)
+        {
+            if (u >= v)
+            {
+                long v1 = v - e * p21;
+                if (v1 <= 0)
+                {
+                    break;
+                }
+                long q = (u + e * p22) / v1;
+                if (e != 0 && q != (u - p12) / (v + p11))
+                {
+                    break;
+                }
+                u -= q * v;
+                p12 += q * p11;
+                p22 += q * p21;
+            }
+            else
+            {
+                long u1 = u - e * p12;
+                if (u1 <= 0)
+                {
+                    break;
+                }
+                long q = (v + e * p11) / u1;
+                if (e != 0 && q != (v - p21) / (u + p22))
+                {
+                    break;
+                }
+                v -= q * u;
+                p11 += q * p12;
+                p21 += q * p22;
+            }
+            reduced = true;
+        }
+
+        if (!reduced)
+        {
+            return null;
+        }
+
+        Matrix p = new Matrix(new Apint(p11, radix), new Apint(p12, radix), new Apint(p21, radix), new Apint(p22, radix));
+        Apint[] cd = p.multiplyInverse(c, d);
+        if (s >= 0 && (Math.min(cd[0].scale(), cd[1].scale()) <= s || cd[0].subtract(cd[1]).scale() <= s))
+        {
+            return null;
+        }
+
+        return new HalfGcdResult(result.m.multiply(p), cd[0], cd[1]);
+    }
+
+    // One division step of the half-gcd algorithm, where the remainder must remain bigger than radix^s. Returns null if no step can be done.
+    private static HalfGcdResult halfGcdStep(HalfGcdResult result, long s)
+        throws ApfloatRuntimeException
+    {
+        boolean isUpper = (result.c.compareTo(result.d) >= 0);
+        Apint a = (isUpper ? result.c : result.d),
+              b = (isUpper ? result.d : result.c),
+              difference = a.subtract(b);
+
+        if (difference.scale() <= s)
+        {
+            return null;
+        }
+
+        // Use the biggest quotient q so that a - q b is bigger than radix^s
+        Apint one = Apint.ONES[a.radix()];
+        Apint[] qr = ApintMath.div(difference, b);
+        Apint q = qr[0].add(one),
+              r = qr[1];
+        if (r.scale() <= s)
+        {
+            q = qr[0];
+            r = r.add(b);
+        }
+
+        return (isUpper ? new HalfGcdResult(result.m.multiplyUpper(q), r, result.d) :
+                          new HalfGcdResult(result.m.multiplyLower(q), result.c, r));
+    }
+
+    // If the half-gcd algorithm should be used instead of the elementary algorithm for numbers of size n
+    private static boolean isBig(long n, int radix)
+    {
+        return (n * Math.log((double) radix) >= HALF_GCD_THRESHOLD);
+    }
+
     // The fast "generalized binary division" algorithm.
     // This is another quite strange algorithm, producing a "quotient" and "remainder"
     // but not like in a normal division algorithm. Instead of removing the high-order
@@ -287,4 +628,17 @@ class GCDHelper
         a = (a.compareTo(halfM.negate()) <= 0 ? a.add(m) : a);
         return a;
     }
+
+    private static final int[] LEHMER_DIGITS = new int[Character.MAX_RADIX + 1];   // Number of digits that fit in 62 bits, so that the sum of two such numbers fits in a long
+
+    static
+    {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            LEHMER_DIGITS[radix] = (int) (62 * Math.log(2.0) / Math.log((double) radix));
+        }
+    }
+
+    private static final double HALF_GCD_THRESHOLD = 10000;    // Size of the numbers, in nats, where the half-gcd algorithm is used
+    private static final long PARALLEL_THRESHOLD = 10000;      // Size of the matrix elements, in digits, where the matrix products are calculated in parallel
 }
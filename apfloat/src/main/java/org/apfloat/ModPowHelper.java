@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helper class for modular powers.<p>
+ *
+ * The modular reduction uses Barrett reduction: the quotient is approximated
+ * by multiplying with a precomputed reciprocal of the modulus. The modulus and its
+ * reciprocal are prepared as multiplicands, so their transforms are calculated
+ * only once for all the modular multiplications.<p>
+ *
+ * The power is calculated with the sliding window method, scanning the bits of the
+ * exponent from the most significant bit. The odd powers of the base that are needed
+ * for the windows are also prepared as multiplicands.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class ModPowHelper
+{
+    /**
+     * Create a helper for the specified modulus.
+     *
+     * @param m The modulus, must be positive.
+     */
+
+    public ModPowHelper(Apint m)
+        throws ApfloatRuntimeException
+    {
+        assert (m.signum() > 0);
+
+        this.modulus = ApintMath.prepareMultiplicand(m);
+        this.inverseModulus = ApfloatMath.prepareMultiplicand(ApfloatMath.inverseRoot(m, 1, m.scale() + Apfloat.EXTRA_PRECISION));
+    }
+
+    /**
+     * Modular power.
+     *
+     * @param a The base, must be less than the modulus in absolute value.
+     * @param b The exponent, must be positive.
+     *
+     * @return <code>a<sup>b</sup> mod m</code>
+     */
+
+    public Apint modPow(Apint a, BigInteger b)
+        throws ApfloatRuntimeException
+    {
+        assert (b.signum() > 0);
+
+        int bits = b.bitLength(),
+            windowSize = getWindowSize(bits);
+
+        // Odd powers a, a^3, a^5, ..., a^(2^windowSize - 1)
+        Apint[] powers = new Apint[1 << windowSize - 1];
+        powers[0] = ApintMath.prepareMultiplicand(a);
+        if (powers.length > 1)
+        {
+            Apint a2 = modMultiply(a, a);
+            for (int i = 1; i < powers.length; i++)
+            {
+                powers[i] = ApintMath.prepareMultiplicand(modMultiply(powers[i - 1], a2));
+            }
+        }
+
+        Apint r = null;
+        for (int i = bits - 1; i >= 0; )
+        {
+            if (!b.testBit(i))
+            {
+                r = modMultiply(r, r);
+                i--;
+                continue;
+            }
+
+            // Longest window starting at bit i that ends with a one bit
+            int j = Math.max(i - windowSize + 1, 0);
+            while (!b.testBit(j))
+            {
+                j++;
+            }
+            int window = 0;
+            for (int k = i; k >= j; k--)
+            {
+                window = window << 1 | (b.testBit(k) ? 1 : 0);
+                if (r != null)
+                {
+                    r = modMultiply(r, r);
+                }
+            }
+            r = (r == null ? powers[window >>> 1] : modMultiply(r, powers[window >>> 1]));
+            i = j - 1;
+        }
+
+        return r;
+    }
+
+    /**
+     * Modular powers of many bases, calculated in parallel.
+     *
+     * @param a The bases, must be less than the modulus in absolute value.
+     * @param b The exponent, must be positive.
+     *
+     * @return <code>a[i]<sup>b</sup> mod m</code> for all <code>i</code>.
+     */
+
+    public Apint[] modPow(Apint[] a, BigInteger b)
+        throws ApfloatRuntimeException
+    {
+        Apint[] results = new Apint[a.length];
+        AtomicInteger next = new AtomicInteger();
+        Runnable runnable = () ->
+        {
+            // Calculate powers as long as there are any left
+            int i;
+            while ((i = next.getAndIncrement()) < a.length)
+            {
+                results[i] = modPow(a[i], b);
+            }
+        };
+
+        ParallelHelper.runParallel(runnable);
+
+        return results;
+    }
+
+    /**
+     * Modular multiplication.
+     *
+     * @param x1 First argument.
+     * @param x2 Second argument.
+     *
+     * @return <code>x1 * x2 mod m</code>, with the sign of <code>x1 * x2</code>.
+     */
+
+    public Apint modMultiply(Apint x1, Apint x2)
+        throws ApfloatRuntimeException
+    {
+        Apint x = x1.multiply(x2);
+
+        if (x.signum() == 0)
+        {
+            // 0 % x = 0
+            return x;
+        }
+
+        Apint a = ApintMath.abs(x),
+              b = this.modulus;
+
+        if (a.compareTo(b) < 0)
+        {
+            return x;                           // abs(x) < abs(y)
+        }
+
+        // Approximate division; the reciprocal is always used with full precision so that its cached transform can be reused
+        Apint t = x.multiply(this.inverseModulus).truncate();
+
+        a = a.subtract(ApintMath.abs(t.multiply(b)));
+
+        if (a.compareTo(b) >= 0)                // Fix division round-off error
+        {
+            a = a.subtract(b);
+        }
+        else if (a.signum() < 0)                // Fix division round-off error
+        {
+            a = a.add(b);
+        }
+
+        return ApintMath.copySign(a, x);
+    }
+
+    // Window size that minimizes the number of multiplications for an exponent of the specified number of bits
+    private static int getWindowSize(int bits)
+    {
+        int windowSize = 1;
+        while (windowSize < WINDOW_SIZE_THRESHOLDS.length && bits > WINDOW_SIZE_THRESHOLDS[windowSize - 1])
+        {
+            windowSize++;
+        }
+        return windowSize;
+    }
+
+    private static final int[] WINDOW_SIZE_THRESHOLDS = { 7, 25, 81, 241, 673 };
+
+    private Apint modulus;
+    private Apfloat inverseModulus;
+}
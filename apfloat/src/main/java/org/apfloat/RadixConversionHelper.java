@@ -23,16 +23,29 @@
  */
 package org.apfloat;
 
+import java.lang.ref.SoftReference;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
+import org.apfloat.spi.BuilderFactory;
 import org.apfloat.spi.Util;
 import static org.apfloat.spi.RadixConstants.*;
 
 /**
- * Helper class for radix conversion.
+ * Helper class for radix conversion.<p>
  *
- * @version 1.9.0
+ * The conversion is done with a divide-and-conquer algorithm. Large numbers
+ * are split to chunks that are converted in parallel, if the current context
+ * <code>ExecutorService</code> is a <code>ForkJoinPool</code> (which is the default).
+ * The powers of the radix that are needed in the conversion are cached for
+ * a few most recently used radix pairs and builder factories, and reused by
+ * later conversions.
+ *
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -44,7 +57,21 @@ class RadixConversionHelper
             throws ApfloatRuntimeException
         {
             this.list = new ArrayList<>();
-            this.list.add(new Apfloat(fromRadix, ApfloatHelper.extendPrecision(precision), toRadix));
+            this.precision = ApfloatHelper.extendPrecision(precision);
+            this.list.add(new Apfloat(fromRadix, this.precision, toRadix));
+        }
+
+        // Shares the powers of the other list, but uses them only to the specified precision
+        public RadixPowerList(RadixPowerList radixPowerList, long precision)
+            throws ApfloatRuntimeException
+        {
+            this.list = radixPowerList.list;
+            this.precision = ApfloatHelper.extendPrecision(precision);
+        }
+
+        public long getPrecision()
+        {
+            return this.precision;
         }
 
         public Apfloat pow(long n)
@@ -77,24 +104,58 @@ class RadixConversionHelper
             return r;
         }
 
-        private Apfloat get(int index)
+        // Calculates the needed powers in advance, so that the list is not modified during parallel execution
+        public void prepare(long n)
             throws ApfloatRuntimeException
         {
-            Apfloat x;
-            if (this.list.size() > index)
+            if (n > 0)
             {
-                x = this.list.get(index);
+                getShared(63 - Long.numberOfLeadingZeros(n));
             }
-            else
+        }
+
+        private Apfloat get(int index)
+            throws ApfloatRuntimeException
+        {
+            Apfloat x = getShared(index);
+            return (x.precision() > this.precision ? x.precision(this.precision) : x);
+        }
+
+        private Apfloat getShared(int index)
+            throws ApfloatRuntimeException
+        {
+            synchronized (this.list)
             {
-                x = get(index - 1);
-                x = x.multiply(x);
-                this.list.add(x);
+                Apfloat x;
+                if (this.list.size() > index)
+                {
+                    x = this.list.get(index);
+                }
+                else
+                {
+                    x = getShared(index - 1);
+                    x = x.multiply(x);
+                    this.list.add(x);
+                }
+                return x;
             }
-            return x;
         }
 
         private List<Apfloat> list;
+        private long precision;
+    }
+
+    // A converted part of the number and the number of digits it was converted from
+    private static class Part
+    {
+        public Part(Apfloat value, long size)
+        {
+            this.value = value;
+            this.size = size;
+        }
+
+        public Apfloat value;
+        public long size;
     }
 
     private RadixConversionHelper()
@@ -118,13 +179,22 @@ class RadixConversionHelper
         long size = x.size(),
              scale = x.scale(),
              precision = getPrecision(x.precision(), fromRadix, toRadix);
-        RadixPowerList radixPowerList = new RadixPowerList(fromRadix, toRadix, precision);
+        RadixPowerList radixPowerList = getRadixPowerList(fromRadix, toRadix, precision);
 
         return toRadixIntegerPart(x, toRadix, size, scale, radixPowerList)
           .add(toRadixFractionalPart(x, toRadix, size, scale, radixPowerList))
           .precision(precision);
     }
 
+    // Clean up the cache at shutdown, to allow garbage collecting temporary files
+    static void cleanUp()
+    {
+        synchronized (RadixConversionHelper.radixPowerLists)
+        {
+            RadixConversionHelper.radixPowerLists.clear();
+        }
+    }
+
     private static Apfloat toRadixIntegerPart(Apfloat x, int toRadix, long size, long scale, RadixPowerList radixPowerList)
         throws ApfloatRuntimeException
     {
@@ -179,7 +249,55 @@ class RadixConversionHelper
         throws ApfloatRuntimeException
     {
         long maxPow2 = Util.round2down(size);
-        return split(x, toRadix, size, maxPow2, radixPowerList);
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        int numberOfProcessors = ctx.getNumberOfProcessors();
+        if (numberOfProcessors <= 1 || size < 2 * PARALLEL_THRESHOLD)
+        {
+            return split(x, toRadix, size, maxPow2, radixPowerList);
+        }
+
+        // Split to chunks with a power of two size, aligned from the least significant digit, so the chunks are combined with the same radix powers as in the sequential algorithm
+        long chunkSize = Math.max(PARALLEL_THRESHOLD, Util.round2up((size + 2 * numberOfProcessors - 1) / (2 * numberOfProcessors))),
+             chunks = (size + chunkSize - 1) / chunkSize;
+        radixPowerList.prepare(maxPow2);     // So that the list is not modified during parallel execution
+
+        Part part = RecursiveHelper.recursiveCompute(0, chunks - 1, n -> withContext(ctx, () ->
+        {
+            // Chunk number zero is the most significant one
+            long shift = (chunks - 1 - n) * chunkSize;
+            Apfloat chunk = ApfloatMath.scale(x, -shift).truncate();
+            long chunkLength = (n == 0 ? size - shift : chunkSize);
+            if (n > 0)
+            {
+                chunk = ApfloatMath.scale(ApfloatMath.scale(chunk, -chunkSize).frac(), chunkSize);
+            }
+            return new Part(split(chunk, toRadix, chunkLength, Util.round2down(chunkLength), radixPowerList), chunkLength);
+        }), (top, bottom) -> withContext(ctx, () -> new Part(top.value.multiply(radixPowerList.pow(bottom.size)).add(bottom.value), top.size + bottom.size)));
+
+        return part.value;
+    }
+
+    // The functions may be run in an executor thread so make sure the same context, and builder factory, is used
+    private static <T> T withContext(ApfloatContext ctx, Supplier<T> supplier)
+    {
+        ApfloatContext threadCtx = ApfloatContext.getThreadContext();
+        ApfloatContext.setThreadContext(ctx);
+        try
+        {
+            return supplier.get();
+        }
+        finally
+        {
+            if (threadCtx != null)
+            {
+                ApfloatContext.setThreadContext(threadCtx);
+            }
+            else
+            {
+                ApfloatContext.removeThreadContext();
+            }
+        }
     }
 
     private static Apfloat split(Apfloat x, int toRadix, long size, long split, RadixPowerList radixPowerList)
@@ -214,4 +332,40 @@ class RadixConversionHelper
         }
         return Util.ifFinite(precision, newPrecision);
     }
+
+    // Get a list of radix powers that shares the powers calculated in any previous conversions with the same builder factory
+    private static RadixPowerList getRadixPowerList(int fromRadix, int toRadix, long precision)
+        throws ApfloatRuntimeException
+    {
+        BuilderFactory builderFactory = ApfloatContext.getContext().getBuilderFactory();
+        List<Object> key = Arrays.asList(builderFactory, fromRadix, toRadix);
+        synchronized (RadixConversionHelper.radixPowerLists)
+        {
+            SoftReference<RadixPowerList> reference = RadixConversionHelper.radixPowerLists.get(key);
+            RadixPowerList radixPowerList = (reference == null ? null : reference.get());
+            if (radixPowerList == null || radixPowerList.getPrecision() < ApfloatHelper.extendPrecision(precision))
+            {
+                radixPowerList = new RadixPowerList(fromRadix, toRadix, precision);
+                RadixConversionHelper.radixPowerLists.put(key, new SoftReference<>(radixPowerList));
+            }
+            return new RadixPowerList(radixPowerList, precision);
+        }
+    }
+
+    // Minimum number of digits in a chunk that is converted in parallel
+    private static final long PARALLEL_THRESHOLD = 1 << 14;
+
+    // Maximum number of radix pairs and builder factories for which the radix powers are cached
+    private static final int MAX_CACHED_RADIX_POWER_LISTS = 8;
+
+    // Cached radix powers by builder factory and radix pair, the least recently used one is removed first
+    @SuppressWarnings("serial")
+    private static Map<List<Object>, SoftReference<RadixPowerList>> radixPowerLists = new LinkedHashMap<List<Object>, SoftReference<RadixPowerList>>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, SoftReference<RadixPowerList>> eldest)
+        {
+            return size() > MAX_CACHED_RADIX_POWER_LISTS;
+        }
+    };
 }
@@ -35,6 +35,7 @@ import java.util.function.LongFunction;
  * Helper class for recursive computations.
  *
  * @since 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -50,13 +51,14 @@ class RecursiveHelper
     private static class ParallelRecursiveTask<V>
         extends CountedCompleter<V>
     {
-        public ParallelRecursiveTask(long start, long end, LongFunction<V> unitFunction, BiFunction<V, V, V> combineFunction, int numberOfProcessors, ForkJoinPool forkJoinPool, ParallelRecursiveTask<V> parent)
+        public ParallelRecursiveTask(long start, long end, LongFunction<V> unitFunction, BiFunction<V, V, V> combineFunction, long grainSize, int numberOfProcessors, ForkJoinPool forkJoinPool, ParallelRecursiveTask<V> parent)
         {
             super(parent);
             this.start = start;
             this.end = end;
             this.unitFunction = unitFunction;
             this.combineFunction = combineFunction;
+            this.grainSize = grainSize;
             this.numberOfProcessors = numberOfProcessors;
             this.forkJoinPool = forkJoinPool;
         }
@@ -68,7 +70,7 @@ class RecursiveHelper
 
             try
             {
-                if (this.start == this.end || this.numberOfProcessors <= 1 || this.forkJoinPool == null)
+                if (this.end - this.start < this.grainSize || this.numberOfProcessors <= 1 || this.forkJoinPool == null)
                 {
                     V result = compute(this.start, this.end);
                     setRawResult(result);
@@ -91,8 +93,8 @@ class RecursiveHelper
                     }
                     int rightProcessors = this.numberOfProcessors - leftProcessors;
 
-                    this.left = new ParallelRecursiveTask<>(this.start, mid - 1, this.unitFunction, this.combineFunction, leftProcessors, this.forkJoinPool, this);
-                    this.right = new ParallelRecursiveTask<>(mid, this.end, this.unitFunction, this.combineFunction, rightProcessors, this.forkJoinPool, this);
+                    this.left = new ParallelRecursiveTask<>(this.start, mid - 1, this.unitFunction, this.combineFunction, this.grainSize, leftProcessors, this.forkJoinPool, this);
+                    this.right = new ParallelRecursiveTask<>(mid, this.end, this.unitFunction, this.combineFunction, this.grainSize, rightProcessors, this.forkJoinPool, this);
 
                     setPendingCount(2);
 
@@ -206,6 +208,7 @@ class RecursiveHelper
         private long end;
         private LongFunction<V> unitFunction;
         private BiFunction<V, V, V> combineFunction;
+        private long grainSize;
         private int numberOfProcessors;
         private ForkJoinPool forkJoinPool;
         private volatile V result;
@@ -236,13 +239,36 @@ class RecursiveHelper
      */
 
     public static <V> V recursiveCompute(long start, long end, LongFunction<V> unitFunction, BiFunction<V, V, V> combineFunction)
+    {
+        return recursiveCompute(start, end, unitFunction, combineFunction, 1);
+    }
+
+    /**
+     * Computes the given recursive task in parallel using multiple threads.
+     * Ranges of fewer than <code>grainSize</code> indexes are not split to
+     * parallel subtasks but computed sequentially in the current thread.
+     *
+     * @param <V> Return value type.
+     * @param start Start index for recursive computation (inclusive).
+     * @param end End index for recursive computation (inclusive).
+     * @param unitFunction Function to calculate result for a single index.
+     * @param combineFunction Function to combine two sub-results.
+     * @param grainSize Minimum number of indexes to split to parallel subtasks.
+     *
+     * @return The computed value.
+     *
+     * @since 1.17.0
+     */
+
+    public static <V> V recursiveCompute(long start, long end, LongFunction<V> unitFunction, BiFunction<V, V, V> combineFunction, long grainSize)
     {
         assert (start <= end);
+        assert (grainSize > 0);
         ApfloatContext ctx = ApfloatContext.getContext();
         int numberOfProcessors = ctx.getNumberOfProcessors();
         ExecutorService executorService = ctx.getExecutorService();
         ForkJoinPool forkJoinPool = (executorService instanceof ForkJoinPool ? (ForkJoinPool) executorService : null);
-        ParallelRecursiveTask<V> task = new ParallelRecursiveTask<V>(start, end, unitFunction, combineFunction, numberOfProcessors, forkJoinPool, null);
+        ParallelRecursiveTask<V> task = new ParallelRecursiveTask<V>(start, end, unitFunction, combineFunction, grainSize, numberOfProcessors, forkJoinPool, null);
         try
         {
             task.compute();  // Do not invoke the root task to the pool but use the current thread as a "worker thread", too
@@ -271,4 +297,10 @@ class RecursiveHelper
             throw new ApfloatRuntimeException("Task execution failed", ee, "task.error");
         }
     }
+
+    /**
+     * Grain size for binary splitting of series, where a single term is cheap to compute.
+     */
+
+    public static final long BINARY_SPLITTING_GRAIN_SIZE = 64;
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -34,8 +34,9 @@ import org.apfloat.spi.Util;
  * Abstract base class for creating convolutions of suitable type for the specified length.<p>
  *
  * Based on a work estimate, depending on the operand sizes and implementation-dependent
- * factors, the O(n<sup>2</sup>) long multiplication, Karatsuba multiplication and
- * the NTT algorithms are chosen e.g. as follows:
+ * factors, the O(n<sup>2</sup>) long multiplication, Karatsuba multiplication,
+ * Toom-Cook 3-way and 4-way multiplication and the NTT algorithms are chosen e.g. as follows
+ * (with the default settings of the <code>long</code> element type):
  *
  * <table style="border-collapse:collapse; border:1px solid black" border="1">
  * <caption>Convolution algorithms</caption>
@@ -45,19 +46,21 @@ import org.apfloat.spi.Util;
  * <tr><td>32</td><td>32</td><td>Long</td></tr>
  * <tr><td>32</td><td>256</td><td>Long</td></tr>
  * <tr><td>64</td><td>64</td><td>Karatsuba</td></tr>
- * <tr><td>64</td><td>256</td><td>NTT</td></tr>
  * <tr><td>64</td><td>65536</td><td>Karatsuba</td></tr>
- * <tr><td>128</td><td>128</td><td>NTT</td></tr>
- * <tr><td>128</td><td>65536</td><td>NTT</td></tr>
- * <tr><td>128</td><td>4294967296</td><td>Karatsuba</td></tr>
- * <tr><td>256</td><td>256</td><td>NTT</td></tr>
+ * <tr><td>256</td><td>256</td><td>Karatsuba</td></tr>
+ * <tr><td>256</td><td>1024</td><td>NTT</td></tr>
  * <tr><td>256</td><td>4294967296</td><td>Karatsuba</td></tr>
- * <tr><td>512</td><td>512</td><td>NTT</td></tr>
- * <tr><td>512</td><td>4294967296</td><td>NTT</td></tr>
+ * <tr><td>512</td><td>512</td><td>Toom-Cook 3-way</td></tr>
+ * <tr><td>512</td><td>1048576</td><td>Toom-Cook 3-way</td></tr>
+ * <tr><td>1024</td><td>1024</td><td>NTT</td></tr>
+ * <tr><td>1024</td><td>1048576</td><td>NTT</td></tr>
+ * <tr><td>1024</td><td>4294967296</td><td>Toom-Cook 4-way</td></tr>
+ * <tr><td>2048</td><td>2048</td><td>NTT</td></tr>
+ * <tr><td>2048</td><td>4294967296</td><td>NTT</td></tr>
  * </table>
  *
  * @since 1.7.0
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -91,16 +94,26 @@ public abstract class AbstractConvolutionBuilder
         {
             float mediumCost = (float) minSize * maxSize,
                   karatsubaCost = getKaratsubaCostFactor() * (float) Math.pow((double) minSize, LOG2_3) * maxSize / minSize,
+                  toom3Cost = (minSize <= getToom3CutoffPoint() ? Float.POSITIVE_INFINITY : getToom3CostFactor() * (float) Math.pow((double) minSize, LOG3_5) * maxSize / minSize),
+                  toom4Cost = (minSize <= getToom4CutoffPoint() ? Float.POSITIVE_INFINITY : getToom4CostFactor() * (float) Math.pow((double) minSize, LOG4_7) * maxSize / minSize),
                   nttCost = getNTTCostFactor() * totalSize * Util.log2down(totalSize);
 
-            if (mediumCost <= Math.min(karatsubaCost, nttCost))
+            if (mediumCost <= Math.min(Math.min(karatsubaCost, toom3Cost), Math.min(toom4Cost, nttCost)))
             {
                 return createMediumConvolutionStrategy(radix);
             }
-            else if (karatsubaCost <= nttCost)
+            else if (karatsubaCost <= Math.min(Math.min(toom3Cost, toom4Cost), nttCost))
             {
                 return createKaratsubaConvolutionStrategy(radix);
             }
+            else if (toom3Cost <= Math.min(toom4Cost, nttCost))
+            {
+                return createToom3ConvolutionStrategy(radix);
+            }
+            else if (toom4Cost <= nttCost)
+            {
+                return createToom4ConvolutionStrategy(radix);
+            }
             else
             {
                 ApfloatContext ctx = ApfloatContext.getContext();
@@ -148,6 +161,72 @@ public abstract class AbstractConvolutionBuilder
 
     protected abstract float getNTTCostFactor();
 
+    /**
+     * Get the Toom-Cook 3-way convolution cutoff point.
+     * When either operand is at most this long, the Toom-Cook 3-way
+     * convolution strategy is not used. The default implementation
+     * returns <code>Integer.MAX_VALUE</code>, so the algorithm is never used.
+     *
+     * @return The Toom-Cook 3-way convolution cutoff point.
+     *
+     * @since 1.17.0
+     */
+
+    protected int getToom3CutoffPoint()
+    {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the Toom-Cook 3-way convolution cost factor.
+     * It is used in determining the most efficient
+     * convolution strategy for the given data lengths.
+     * The default implementation returns the Karatsuba
+     * convolution cost factor.
+     *
+     * @return The Toom-Cook 3-way convolution cost factor.
+     *
+     * @since 1.17.0
+     */
+
+    protected float getToom3CostFactor()
+    {
+        return getKaratsubaCostFactor();
+    }
+
+    /**
+     * Get the Toom-Cook 4-way convolution cutoff point.
+     * When either operand is at most this long, the Toom-Cook 4-way
+     * convolution strategy is not used. The default implementation
+     * returns <code>Integer.MAX_VALUE</code>, so the algorithm is never used.
+     *
+     * @return The Toom-Cook 4-way convolution cutoff point.
+     *
+     * @since 1.17.0
+     */
+
+    protected int getToom4CutoffPoint()
+    {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the Toom-Cook 4-way convolution cost factor.
+     * It is used in determining the most efficient
+     * convolution strategy for the given data lengths.
+     * The default implementation returns the Toom-Cook
+     * 3-way convolution cost factor.
+     *
+     * @return The Toom-Cook 4-way convolution cost factor.
+     *
+     * @since 1.17.0
+     */
+
+    protected float getToom4CostFactor()
+    {
+        return getToom3CostFactor();
+    }
+
     /**
      * Create a short-length convolution strategy where the size of either
      * data set is one.
@@ -186,6 +265,38 @@ public abstract class AbstractConvolutionBuilder
 
     protected abstract ConvolutionStrategy createKaratsubaConvolutionStrategy(int radix);
 
+    /**
+     * Create a Toom-Cook 3-way convolution strategy.
+     * The default implementation creates a Karatsuba convolution strategy.
+     *
+     * @param radix The radix that will be used.
+     *
+     * @return A new Toom-Cook 3-way convolution strategy.
+     *
+     * @since 1.17.0
+     */
+
+    protected ConvolutionStrategy createToom3ConvolutionStrategy(int radix)
+    {
+        return createKaratsubaConvolutionStrategy(radix);
+    }
+
+    /**
+     * Create a Toom-Cook 4-way convolution strategy.
+     * The default implementation creates a Toom-Cook 3-way convolution strategy.
+     *
+     * @param radix The radix that will be used.
+     *
+     * @return A new Toom-Cook 4-way convolution strategy.
+     *
+     * @since 1.17.0
+     */
+
+    protected ConvolutionStrategy createToom4ConvolutionStrategy(int radix)
+    {
+        return createToom3ConvolutionStrategy(radix);
+    }
+
     /**
      * Create a 3-NTT convolution strategy.
      *
@@ -200,4 +311,6 @@ public abstract class AbstractConvolutionBuilder
     protected abstract ConvolutionStrategy createThreeNTTConvolutionStrategy(int radix, NTTStrategy nttStrategy);
 
     private static final double LOG2_3 = Math.log(3.0) / Math.log(2.0);
+    private static final double LOG3_5 = Math.log(5.0) / Math.log(3.0);
+    private static final double LOG4_7 = Math.log(7.0) / Math.log(4.0);
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,6 +23,9 @@
  */
 package org.apfloat.internal;
 
+import java.lang.management.ManagementFactory;
+import java.util.ServiceConfigurationError;
+
 import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
 import org.apfloat.spi.DataStorageBuilder;
@@ -36,7 +39,7 @@ import org.apfloat.spi.DataStorage;
  * are created.
  *
  * @since 1.7.0
- * @version 1.8.2
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -62,6 +65,10 @@ public abstract class AbstractDataStorageBuilder
         {
             return createCachedDataStorage();
         }
+        else if (size <= ctx.getMemoryThreshold() && size <= getMaxOffHeapSize())
+        {
+            return createOffHeapDataStorage();
+        }
         else
         {
             return createNonCachedDataStorage();
@@ -80,6 +87,11 @@ public abstract class AbstractDataStorageBuilder
             // Use memory data storage if it can fit in memory
             return createCachedDataStorage();
         }
+        else if (size <= ctx.getMaxMemoryBlockSize() && size <= getMaxOffHeapSize())
+        {
+            // Use off-heap memory data storage if it can fit in memory but not in an array
+            return createOffHeapDataStorage();
+        }
         else
         {
             // If it can't fit in memory then still have to use disk data storage
@@ -116,6 +128,39 @@ public abstract class AbstractDataStorageBuilder
 
     protected abstract long getMaxCachedSize();
 
+    /**
+     * Get the maximum off-heap data storage size. Off-heap data storages are
+     * created for data that fits in memory but is larger than {@link #getMaxCachedSize()}.<p>
+     *
+     * By default off-heap data storages are not used and this method returns zero.
+     *
+     * @return The maximum off-heap data storage size.
+     *
+     * @since 1.17.0
+     */
+
+    protected long getMaxOffHeapSize()
+    {
+        return 0;
+    }
+
+    /**
+     * Create an off-heap data storage. Such a data storage is cached
+     * but not limited by the maximum size of an array.<p>
+     *
+     * By default this method creates a non-cached data storage.
+     *
+     * @return A new off-heap data storage.
+     *
+     * @since 1.17.0
+     */
+
+    protected DataStorage createOffHeapDataStorage()
+        throws ApfloatRuntimeException
+    {
+        return createNonCachedDataStorage();
+    }
+
     /**
      * Create a cached data storage.
      *
@@ -144,4 +189,48 @@ public abstract class AbstractDataStorageBuilder
 
     protected abstract boolean isCached(DataStorage dataStorage)
         throws ApfloatRuntimeException;
+
+    /**
+     * Get the maximum amount of direct memory that can be allocated in the JVM.
+     * This is the value of the <code>-XX:MaxDirectMemorySize</code> option if it
+     * is set, otherwise the maximum heap size.
+     *
+     * @return The maximum direct memory size, in bytes.
+     *
+     * @since 1.17.0
+     */
+
+    protected static long getMaxDirectMemorySize()
+    {
+        return MAX_DIRECT_MEMORY_SIZE;
+    }
+
+    private static long findMaxDirectMemorySize()
+    {
+        long maxDirectMemorySize = Runtime.getRuntime().maxMemory();
+        try
+        {
+            for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments())
+            {
+                if (argument.startsWith(MAX_DIRECT_MEMORY_SIZE_OPTION))
+                {
+                    String value = argument.substring(MAX_DIRECT_MEMORY_SIZE_OPTION.length()).toLowerCase();
+                    int shift = Math.max(0, 10 * ("kmgt".indexOf(value.charAt(value.length() - 1)) + 1));
+                    long size = Long.parseLong(shift == 0 ? value : value.substring(0, value.length() - 1)) << shift;
+                    if (size > 0)
+                    {
+                        maxDirectMemorySize = size;
+                    }
+                }
+            }
+        }
+        catch (NoClassDefFoundError | ServiceConfigurationError | RuntimeException e)
+        {
+            // The ManagementFactory class might be unavailable or the option value could not be parsed
+        }
+        return maxDirectMemorySize;
+    }
+
+    private static final String MAX_DIRECT_MEMORY_SIZE_OPTION = "-XX:MaxDirectMemorySize=";
+    private static final long MAX_DIRECT_MEMORY_SIZE = findMaxDirectMemorySize();
 }
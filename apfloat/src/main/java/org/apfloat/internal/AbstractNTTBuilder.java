@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -31,10 +31,13 @@ import org.apfloat.spi.Util;
 
 /**
  * Abstract base class for creating Number Theoretic Transforms suitable for the
- * specified length, based on available memory configured in the {@link ApfloatContext}.
+ * specified length, based on available memory configured in the {@link ApfloatContext}.<p>
+ *
+ * The simple table FNT is used for transforms up to the size specified with the
+ * {@link ApfloatContext#SIMPLE_FNT_THRESHOLD} property, by default half of the L1 cache size.
  *
  * @since 1.7.0
- * @version 1.8.3
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -54,7 +57,7 @@ public abstract class AbstractNTTBuilder
     {
         ApfloatContext ctx = ApfloatContext.getContext();
         BuilderFactory builderFactory = ctx.getBuilderFactory();
-        int cacheSize = ctx.getCacheL1Size() / builderFactory.getElementSize();
+        long simpleFNTThreshold = PropertyHelper.getLong(ApfloatContext.SIMPLE_FNT_THRESHOLD, ctx.getCacheL1Size() / 2) / builderFactory.getElementSize();
         long maxMemoryBlockSize = ctx.getMaxMemoryBlockSize() / builderFactory.getElementSize();
 
         NTTStrategy nttStrategy;
@@ -69,9 +72,9 @@ public abstract class AbstractNTTBuilder
         }
 
         // Select transform for the power-of-two part
-        if (power2size <= cacheSize / 2)
+        if (power2size <= simpleFNTThreshold)
         {
-            // The whole transform plus w-table fits into the cache, so use the simplest approach
+            // The whole transform plus w-table fits into the cache (by default), so use the simplest approach
             nttStrategy = createSimpleFNTStrategy(power2size);
         }
         else if (power2size <= maxMemoryBlockSize && power2size <= Integer.MAX_VALUE)
@@ -81,7 +84,7 @@ public abstract class AbstractNTTBuilder
         }
         else
         {
-            // The whole transform won't fit into available memory, so use a two-pass disk based approach
+            // The whole transform won't fit into available memory or one array, so use a two-pass approach, possibly with an off-heap memory data storage
             nttStrategy = createTwoPassFNTStrategy(power2size);
         }
 
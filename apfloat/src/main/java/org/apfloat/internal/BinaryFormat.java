@@ -0,0 +1,563 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.ApfloatBuilder;
+import org.apfloat.spi.ApfloatImpl;
+
+/**
+ * Binary format of the numbers written to and read from byte channels.<p>
+ *
+ * The format consists of a fixed-size header followed by the words of the mantissa,
+ * most significant word first. All values are stored in big-endian byte order.
+ * The header contains the following fields:
+ *
+ * <table border="1">
+ * <caption>Header fields</caption>
+ * <tr><th>Offset</th><th>Size</th><th>Contents</th></tr>
+ * <tr><td>0</td><td>4</td><td>Magic number <code>0x41504E31</code> ("APN1")</td></tr>
+ * <tr><td>4</td><td>1</td><td>Format version, currently 1</td></tr>
+ * <tr><td>5</td><td>1</td><td>Element type of the words: 1 = <code>int</code>, 2 = <code>long</code>, 3 = <code>float</code>, 4 = <code>double</code></td></tr>
+ * <tr><td>6</td><td>1</td><td>Radix</td></tr>
+ * <tr><td>7</td><td>1</td><td>Sign, -1, 0 or 1</td></tr>
+ * <tr><td>8</td><td>8</td><td>Exponent, in words</td></tr>
+ * <tr><td>16</td><td>8</td><td>Precision, in digits</td></tr>
+ * <tr><td>24</td><td>8</td><td>Number of words</td></tr>
+ * </table>
+ *
+ * The words are stored in the same way as in the files of the disk data storages,
+ * so they can be transferred directly between files. The header size is a multiple
+ * of all element sizes, so when numbers are written one after another to the
+ * beginning of a file, the words are always aligned to the element size.<p>
+ *
+ * The generic {@link #writeTo(ApfloatImpl,WritableByteChannel)} and
+ * {@link #createApfloat(ApfloatBuilder,ReadableByteChannel)} methods, used by the default
+ * methods of the SPI, convert the mantissa digits through the string presentation
+ * of the number, so they work for any implementation but are slower than the
+ * implementation-specific methods. They write <code>long</code> words, and read
+ * words of any element type.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class BinaryFormat
+{
+    /**
+     * The header of a number in the binary format.
+     */
+
+    public static class Header
+    {
+        public Header(Class<?> elementType, int radix, int sign, long exponent, long precision, long size)
+        {
+            this.elementType = elementType;
+            this.radix = radix;
+            this.sign = sign;
+            this.exponent = exponent;
+            this.precision = precision;
+            this.size = size;
+        }
+
+        public Class<?> getElementType()
+        {
+            return this.elementType;
+        }
+
+        public int getRadix()
+        {
+            return this.radix;
+        }
+
+        public int getSign()
+        {
+            return this.sign;
+        }
+
+        public long getExponent()
+        {
+            return this.exponent;
+        }
+
+        public long getPrecision()
+        {
+            return this.precision;
+        }
+
+        public long getSize()
+        {
+            return this.size;
+        }
+
+        private Class<?> elementType;
+        private int radix;
+        private int sign;
+        private long exponent;
+        private long precision;
+        private long size;
+    }
+
+    // Returns the string "0." followed by the digits of the words read from the channel
+    private static class DigitReader
+        extends Reader
+    {
+        public DigitReader(ReadableByteChannel in, Class<?> elementType, int radix, long size)
+        {
+            this.in = in;
+            this.elementType = elementType;
+            this.elementSize = getElementSize(elementType);
+            this.radix = radix;
+            this.baseDigits = getBaseDigits(elementType, radix);
+            this.base = 1;
+            for (int i = 0; i < this.baseDigits; i++)
+            {
+                this.base *= radix;
+            }
+            this.remaining = size;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.limit(0);
+            this.digits = new char[Math.max(2, this.baseDigits)];
+            this.digits[0] = '0';
+            this.digits[1] = '.';
+            this.length = 2;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length)
+            throws IOException
+        {
+            if (this.position == this.length)
+            {
+                if (this.remaining == 0)
+                {
+                    return -1;
+                }
+                readWord();
+            }
+            length = Math.min(length, this.length - this.position);
+            System.arraycopy(this.digits, this.position, buffer, offset, length);
+            this.position += length;
+            return length;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        private void readWord()
+            throws IOException
+        {
+            if (!this.buffer.hasRemaining())
+            {
+                this.buffer.clear();
+                this.buffer.limit((int) Math.min(BUFFER_SIZE / this.elementSize, this.remaining) * this.elementSize);
+                readFully(this.in, this.buffer);
+                this.buffer.flip();
+            }
+
+            long word = getWord(this.buffer, this.elementType);
+            if (word < 0 || word >= this.base || this.isFirst && word == 0)
+            {
+                throw new NumberFormatException("Invalid data");
+            }
+            for (int i = this.baseDigits; --i >= 0; )
+            {
+                this.digits[i] = Character.forDigit((int) (word % this.radix), this.radix);
+                word /= this.radix;
+            }
+            this.isFirst = false;
+            this.remaining--;
+            this.position = 0;
+            this.length = this.baseDigits;
+        }
+
+        private ReadableByteChannel in;
+        private Class<?> elementType;
+        private int elementSize;
+        private int radix;
+        private int baseDigits;
+        private long base;
+        private long remaining;
+        private ByteBuffer buffer;
+        private char[] digits;
+        private int position;
+        private int length;
+        private boolean isFirst = true;
+    }
+
+    private BinaryFormat()
+    {
+    }
+
+    /**
+     * Write a number with any implementation. The digits are converted
+     * through the string presentation of the number and written as <code>long</code> words.
+     *
+     * @param x The number.
+     * @param out The channel to write to.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     */
+
+    public static void writeTo(ApfloatImpl x, WritableByteChannel out)
+        throws IOException, ApfloatRuntimeException
+    {
+        int radix = x.radix(),
+            sign = x.signum();
+        if (sign == 0)
+        {
+            writeHeader(out, new Header(Long.TYPE, radix, 0, 0, Apfloat.INFINITE, 0));
+            return;
+        }
+
+        // Words are aligned so that the radix point is at a word boundary
+        int baseDigits = getBaseDigits(Long.TYPE, radix);
+        long scale = x.scale(),
+             exponent = Math.floorDiv(scale + baseDigits - 1, baseDigits),
+             leadingZeros = exponent * baseDigits - scale,
+             size = (leadingZeros + x.size() + baseDigits - 1) / baseDigits;
+        writeHeader(out, new Header(Long.TYPE, radix, sign, exponent, x.precision(), size));
+
+        // Scale the number to 0.ddd so that the digits can be read from the string presentation without an exponent
+        ApfloatBuilder builder = ApfloatContext.getContext().getBuilderFactory().getApfloatBuilder();
+        ApfloatImpl mantissa = (sign < 0 ? x.negate() : x);
+        mantissa = (scale == 0 ? mantissa : mantissa.multiply(powerOfRadix(builder, radix, -scale)));
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (Reader in = new BufferedReader(mantissa.toReader(true)))
+        {
+            int c;
+            while ((c = in.read()) != '.' && c != -1)
+            {
+                // Skip the integer part, which is zero
+            }
+            for (long i = 0; i < size; i++)
+            {
+                long word = 0;
+                for (int j = 0; j < baseDigits; j++)
+                {
+                    // Missing trailing digits are zeros
+                    int digit = (i == 0 && j < leadingZeros ? 0 : Character.digit(in.read(), radix));
+                    word = word * radix + Math.max(digit, 0);
+                }
+                if (!buffer.hasRemaining())
+                {
+                    buffer.flip();
+                    writeFully(out, buffer);
+                    buffer.clear();
+                }
+                buffer.putLong(word);
+            }
+        }
+        buffer.flip();
+        writeFully(out, buffer);
+    }
+
+    /**
+     * Read a number with any implementation. The digits of words of any
+     * element type are converted through the string presentation of the number.
+     *
+     * @param builder The builder for creating the number.
+     * @param in The channel to read from.
+     *
+     * @return The number.
+     *
+     * @exception IOException In case of I/O error reading from the channel.
+     * @exception NumberFormatException If the data is not a valid number.
+     */
+
+    public static ApfloatImpl createApfloat(ApfloatBuilder builder, ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        Header header = readHeader(in);
+        int radix = header.getRadix(),
+            baseDigits = getBaseDigits(header.getElementType(), radix);
+        long size = header.getSize();
+
+        if (header.getSign() == 0)
+        {
+            return builder.createApfloat(0, Apfloat.INFINITE, radix);
+        }
+        if (size > Long.MAX_VALUE / baseDigits)
+        {
+            throw new NumberFormatException("Invalid header");
+        }
+
+        // Read the digits as 0.ddd and then scale by the exponent
+        PushbackReader reader = new PushbackReader(new DigitReader(in, header.getElementType(), radix, size));
+        ApfloatImpl mantissa = builder.createApfloat(reader, header.getPrecision(), radix, false, size * baseDigits),
+                    result = mantissa.multiply(powerOfRadix(builder, radix, header.getExponent() * baseDigits));
+
+        return (header.getSign() < 0 ? result.negate() : result);
+    }
+
+    /**
+     * Write a header.
+     *
+     * @param out The channel to write to.
+     * @param header The header.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     */
+
+    public static void writeHeader(WritableByteChannel out, Header header)
+        throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) getElementTypeCode(header.getElementType()));
+        buffer.put((byte) header.getRadix());
+        buffer.put((byte) header.getSign());
+        buffer.putLong(header.getExponent());
+        buffer.putLong(header.getPrecision());
+        buffer.putLong(header.getSize());
+        buffer.flip();
+        writeFully(out, buffer);
+    }
+
+    /**
+     * Read and validate a header.
+     *
+     * @param in The channel to read from.
+     *
+     * @return The header.
+     *
+     * @exception IOException In case of I/O error reading from the channel.
+     * @exception NumberFormatException If the header is not valid.
+     */
+
+    public static Header readHeader(ReadableByteChannel in)
+        throws IOException, NumberFormatException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(in, buffer);
+        buffer.flip();
+
+        if (buffer.getInt() != MAGIC)
+        {
+            throw new NumberFormatException("Not a number in binary format");
+        }
+        int version = buffer.get();
+        if (version != VERSION)
+        {
+            throw new NumberFormatException("Unsupported binary format version " + version);
+        }
+        Class<?> elementType = getElementType(buffer.get());
+        int radix = buffer.get(),
+            sign = buffer.get();
+        long exponent = buffer.getLong(),
+             precision = buffer.getLong(),
+             size = buffer.getLong();
+
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+        {
+            throw new NumberFormatException("Invalid radix " + radix);
+        }
+        if (sign == 0 ? exponent != 0 || precision != Apfloat.INFINITE || size != 0
+                      : sign != 1 && sign != -1 || precision <= 0 || size <= 0 || Math.abs(exponent) > getMaxExponent(elementType, radix))
+        {
+            throw new NumberFormatException("Invalid header");
+        }
+
+        return new Header(elementType, radix, sign, exponent, precision, size);
+    }
+
+    /**
+     * Read from a channel until the buffer is full.
+     *
+     * @param in The channel to read from.
+     * @param buffer The buffer to read to.
+     *
+     * @exception IOException In case of I/O error reading from the channel.
+     * @exception EOFException If the end of the channel is reached before the buffer is full.
+     */
+
+    public static void readFully(ReadableByteChannel in, ByteBuffer buffer)
+        throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            if (in.read(buffer) < 0)
+            {
+                throw new EOFException("Unexpected end of data");
+            }
+        }
+    }
+
+    /**
+     * Write the contents of a buffer fully to a channel.
+     *
+     * @param out The channel to write to.
+     * @param buffer The buffer to write.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     */
+
+    public static void writeFully(WritableByteChannel out, ByteBuffer buffer)
+        throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Get the next word from a buffer.
+     *
+     * @param buffer The buffer.
+     * @param elementType The element type of the word.
+     *
+     * @return The word.
+     *
+     * @exception NumberFormatException If the word is not an integer.
+     */
+
+    public static long getWord(ByteBuffer buffer, Class<?> elementType)
+        throws NumberFormatException
+    {
+        if (elementType == Integer.TYPE)
+        {
+            return buffer.getInt();
+        }
+        else if (elementType == Long.TYPE)
+        {
+            return buffer.getLong();
+        }
+
+        double value = (elementType == Float.TYPE ? buffer.getFloat() : buffer.getDouble());
+        long word = (long) value;
+        if (word != value)
+        {
+            throw new NumberFormatException("Invalid word " + value);
+        }
+        return word;
+    }
+
+    /**
+     * Size of an element type.
+     *
+     * @param elementType The element type.
+     *
+     * @return The size of the element type, in bytes.
+     */
+
+    public static int getElementSize(Class<?> elementType)
+    {
+        return (elementType == Integer.TYPE || elementType == Float.TYPE ? 4 : 8);
+    }
+
+    /**
+     * Number of digits in a word of an element type.
+     *
+     * @param elementType The element type.
+     * @param radix The radix.
+     *
+     * @return The number of digits in one word.
+     */
+
+    public static int getBaseDigits(Class<?> elementType, int radix)
+    {
+        return (elementType == Integer.TYPE ? IntRadixConstants.BASE_DIGITS :
+                elementType == Long.TYPE ? LongRadixConstants.BASE_DIGITS :
+                elementType == Float.TYPE ? FloatRadixConstants.BASE_DIGITS :
+                DoubleRadixConstants.BASE_DIGITS)[radix];
+    }
+
+    // Powers of the radix have a one-digit mantissa, so they are exact and cheap to multiply
+    private static ApfloatImpl powerOfRadix(ApfloatBuilder builder, int radix, long n)
+        throws ApfloatRuntimeException
+    {
+        ApfloatImpl result = builder.createApfloat(1, Apfloat.INFINITE, radix),
+                    power = (n >= 0 ? builder.createApfloat(radix, Apfloat.INFINITE, radix) : builder.createApfloat("0.1", Apfloat.INFINITE, radix, false));
+        for (n = Math.abs(n); n > 0; n >>>= 1)
+        {
+            if ((n & 1) != 0)
+            {
+                result = result.multiply(power);
+            }
+            if (n > 1)
+            {
+                power = power.multiply(power);
+            }
+        }
+        return result;
+    }
+
+    private static long getMaxExponent(Class<?> elementType, int radix)
+    {
+        return (elementType == Integer.TYPE ? IntRadixConstants.MAX_EXPONENT :
+                elementType == Long.TYPE ? LongRadixConstants.MAX_EXPONENT :
+                elementType == Float.TYPE ? FloatRadixConstants.MAX_EXPONENT :
+                DoubleRadixConstants.MAX_EXPONENT)[radix];
+    }
+
+    private static int getElementTypeCode(Class<?> elementType)
+    {
+        for (int i = 1; i < ELEMENT_TYPES.length; i++)
+        {
+            if (ELEMENT_TYPES[i] == elementType)
+            {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported element type " + elementType);
+    }
+
+    private static Class<?> getElementType(int code)
+        throws NumberFormatException
+    {
+        if (code < 1 || code >= ELEMENT_TYPES.length)
+        {
+            throw new NumberFormatException("Invalid element type " + code);
+        }
+        return ELEMENT_TYPES[code];
+    }
+
+    /**
+     * Size of the header, in bytes.
+     */
+
+    public static final int HEADER_SIZE = 32;
+
+    private static final int MAGIC = 0x41504E31;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 8192;
+    private static final Class<?>[] ELEMENT_TYPES = { null, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE };
+}
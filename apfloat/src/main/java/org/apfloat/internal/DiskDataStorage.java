@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2024 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -33,11 +33,14 @@ import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apfloat.ApfloatContext;
@@ -50,9 +53,13 @@ import org.apfloat.spi.MatrixStrategy;
 
 /**
  * Abstract base class for disk-based data storage, containing the common
- * functionality independent of the element type.
+ * functionality independent of the element type.<p>
  *
- * @version 1.15.0
+ * The data can be accessed either with <code>FileChannel</code> reads and writes,
+ * or by subclasses directly from a memory-mapped view of the file, see
+ * {@link #getMappedBuffer(long,int)}.
+ *
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -68,6 +75,13 @@ public abstract class DiskDataStorage
             init();
         }
 
+        public FileStorage(FileChannel fileChannel)
+        {
+            // Existing data in a channel owned by someone else; not deleted after garbage collection
+            this.fileChannel = fileChannel;
+            this.mappings = new ArrayList<>();
+        }
+
         private void init()
             throws ApfloatRuntimeException
         {
@@ -82,7 +96,7 @@ public abstract class DiskDataStorage
             {
                 if (!this.file.createNewFile())
                 {
-                    throw new BackingStorageException("Failed to create new file \"" + this.file.getAbsolutePath() + '\"', "file.create", this.file.getAbsolutePath());
+                    throw new BackingStorageException("Failed to create new file \"" + getPath() + '\"', "file.create", getPath());
                 }
 
                 // Ensure file is deleted always
@@ -92,10 +106,11 @@ public abstract class DiskDataStorage
             }
             catch (IOException ioe)
             {
-                throw new BackingStorageException("Unable to access file \"" + this.file.getAbsolutePath() + '\"', ioe, "file.access", this.file.getAbsolutePath());
+                throw new BackingStorageException("Unable to access file \"" + getPath() + '\"', ioe, "file.access", getPath());
             }
 
             this.fileChannel = this.randomAccessFile.getChannel();
+            this.mappings = new ArrayList<>();
 
             referenceFileStorage(this);     // To put to reference queue after garbage collection
         }
@@ -103,6 +118,19 @@ public abstract class DiskDataStorage
         public void setSize(long size)
             throws IOException, ApfloatRuntimeException
         {
+            synchronized (this)
+            {
+                // Any existing mappings would not cover the new size, and the file can't be safely truncated under them
+                this.segments = null;
+                synchronized (this.mappings)
+                {
+                    for (MappedByteBuffer buffer : this.mappings)
+                    {
+                        MappedBufferUnmapper.unmap(buffer);
+                    }
+                    this.mappings.clear();
+                }
+            }
             try
             {
                 getRandomAccessFile().setLength(size);
@@ -158,7 +186,7 @@ public abstract class DiskDataStorage
             }
             catch (IOException ioe)
             {
-                throw new BackingStorageException("Unable to write to file \"" + this.file.getAbsolutePath() + '\"', ioe, "file.write", this.file.getAbsolutePath());
+                throw new BackingStorageException("Unable to write to file \"" + getPath() + '\"', ioe, "file.write", getPath());
             }
         }
 
@@ -204,15 +232,67 @@ public abstract class DiskDataStorage
             }
             catch (IOException ioe)
             {
-                throw new BackingStorageException("Unable to read from file \"" + this.file.getAbsolutePath() + '\"', ioe, "file.read", this.file.getAbsolutePath());
+                throw new BackingStorageException("Unable to read from file \"" + getPath() + '\"', ioe, "file.read", getPath());
             }
         }
 
+        public ByteBuffer map(long position, int size)
+            throws ApfloatRuntimeException
+        {
+            try
+            {
+                long segment = position >>> MAPPED_SEGMENT_BITS;
+                if (segment == (position + size - 1) >>> MAPPED_SEGMENT_BITS)
+                {
+                    // Use the cached mapping of the whole segment
+                    ByteBuffer buffer = getSegment((int) segment).duplicate();
+                    int offset = (int) (position & ((1 << MAPPED_SEGMENT_BITS) - 1));
+                    buffer.position(offset);
+                    buffer.limit(offset + size);
+                    return buffer.slice();
+                }
+
+                // Crosses a segment boundary; rare so just map the requested range separately, released when garbage collected
+                return getFileChannel().map(FileChannel.MapMode.READ_WRITE, position, size);
+            }
+            catch (IOException ioe)
+            {
+                throw new BackingStorageException("Unable to map file \"" + getPath() + '\"', ioe, "file.map", getPath());
+            }
+        }
+
+        private synchronized MappedByteBuffer getSegment(int segment)
+            throws IOException
+        {
+            long fileSize = getFileChannel().size();
+            if (this.segments == null)
+            {
+                this.segments = new MappedByteBuffer[(int) ((fileSize + (1L << MAPPED_SEGMENT_BITS) - 1) >>> MAPPED_SEGMENT_BITS)];
+            }
+            MappedByteBuffer buffer = this.segments[segment];
+            if (buffer == null)
+            {
+                long position = (long) segment << MAPPED_SEGMENT_BITS;
+                buffer = getFileChannel().map(FileChannel.MapMode.READ_WRITE, position, Math.min(1L << MAPPED_SEGMENT_BITS, fileSize - position));
+                this.segments[segment] = buffer;
+                synchronized (this.mappings)
+                {
+                    this.mappings.add(buffer);
+                }
+            }
+            return buffer;
+        }
+
         public File getFile()
         {
             return this.file;
         }
 
+        public String getPath()
+        {
+            return (this.file == null ? String.valueOf(this.fileChannel) : this.file.getAbsolutePath());
+        }
+
         public RandomAccessFile getRandomAccessFile()
         {
             return this.randomAccessFile;
@@ -223,6 +303,11 @@ public abstract class DiskDataStorage
             return this.fileChannel;
         }
 
+        public List<MappedByteBuffer> getMappings()
+        {
+            return this.mappings;
+        }
+
         // Writes the file contents to the serialization stream
         private void writeObject(ObjectOutputStream out)
             throws IOException
@@ -257,6 +342,8 @@ public abstract class DiskDataStorage
         private transient File file;
         private transient RandomAccessFile randomAccessFile;
         private transient FileChannel fileChannel;
+        private transient MappedByteBuffer[] segments;
+        private transient List<MappedByteBuffer> mappings;
     }
 
     // A PhantomReference is used so it's only queued when the Apfloat can't become accessible in any way (e.g. if it's weakly referenced)
@@ -270,6 +357,20 @@ public abstract class DiskDataStorage
             this.file = fileStorage.getFile();
             this.randomAccessFile = fileStorage.getRandomAccessFile();
             this.fileChannel = fileStorage.getFileChannel();
+            this.mappings = fileStorage.getMappings();
+        }
+
+        // Only safe after the file storage has been garbage collected, or at shutdown, as then nothing should access the mapped segments any more
+        public void unmap()
+        {
+            synchronized (this.mappings)
+            {
+                for (MappedByteBuffer buffer : this.mappings)
+                {
+                    MappedBufferUnmapper.unmap(buffer);
+                }
+                this.mappings.clear();
+            }
         }
 
         public void dispose()
@@ -299,6 +400,7 @@ public abstract class DiskDataStorage
         private File file;
         private RandomAccessFile randomAccessFile;
         private FileChannel fileChannel;
+        private List<MappedByteBuffer> mappings;
     }
 
     /**
@@ -311,6 +413,24 @@ public abstract class DiskDataStorage
         this.fileStorage = createFileStorage();
     }
 
+    /**
+     * Constructor for accessing existing data in a file.
+     * The data is read directly from the channel when needed,
+     * so the channel must not be closed and the file must not be
+     * modified while this data storage is in use. The channel is not
+     * closed and the file is not deleted when this data storage is
+     * garbage collected. The data storage should be used read-only.
+     *
+     * @param fileChannel The channel of the file.
+     *
+     * @since 1.17.0
+     */
+
+    protected DiskDataStorage(FileChannel fileChannel)
+    {
+        this.fileStorage = new FileStorage(fileChannel);
+    }
+
     /**
      * Subsequence constructor.
      *
@@ -437,6 +557,21 @@ public abstract class DiskDataStorage
     @Override
     protected synchronized ArrayAccess implGetArray(int mode, int startColumn, int columns, int rows)
         throws ApfloatRuntimeException
+    {
+        return readArray(mode, startColumn, columns, rows);
+    }
+
+    @Override
+    protected synchronized ArrayAccess implGetTransposedArray(int mode, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        return readTransposedArray(mode, startColumn, columns, rows);
+    }
+
+    // The following methods are not synchronized, so subclasses that support concurrent access can call them directly
+
+    ArrayAccess readArray(int mode, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
     {
         int width = (int) (getSize() / rows);
 
@@ -463,8 +598,7 @@ public abstract class DiskDataStorage
         return arrayAccess;
     }
 
-    @Override
-    protected synchronized ArrayAccess implGetTransposedArray(int mode, int startColumn, int columns, int rows)
+    ArrayAccess readTransposedArray(int mode, int startColumn, int columns, int rows)
         throws ApfloatRuntimeException
     {
         int width = (int) (getSize() / rows);
@@ -511,7 +645,7 @@ public abstract class DiskDataStorage
                 // Wider than tall section
                 for (int i = 0; i < b; i++)
                 {
-                    long readPosition = startColumn + i * width;
+                    long readPosition = startColumn + (long) i * width;
                     int writePosition = i * b;
 
                     for (int j = 0; j < columns; j += b)
@@ -551,17 +685,7 @@ public abstract class DiskDataStorage
     protected synchronized void setArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
         throws ApfloatRuntimeException
     {
-        int width = (int) (getSize() / rows);
-
-        int readPosition = 0;
-        long writePosition = startColumn;
-        for (int i = 0; i < rows; i++)
-        {
-            writeFromArray(arrayAccess, readPosition, writePosition, columns);
-
-            readPosition += columns;
-            writePosition += width;
-        }
+        writeArray(arrayAccess, startColumn, columns, rows);
     }
 
     /**
@@ -578,6 +702,28 @@ public abstract class DiskDataStorage
 
     protected synchronized void setTransposedArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
         throws ApfloatRuntimeException
+    {
+        writeTransposedArray(arrayAccess, startColumn, columns, rows);
+    }
+
+    void writeArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        int width = (int) (getSize() / rows);
+
+        int readPosition = 0;
+        long writePosition = startColumn;
+        for (int i = 0; i < rows; i++)
+        {
+            writeFromArray(arrayAccess, readPosition, writePosition, columns);
+
+            readPosition += columns;
+            writePosition += width;
+        }
+    }
+
+    void writeTransposedArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
     {
         int width = (int) (getSize() / rows);
 
@@ -622,7 +768,7 @@ public abstract class DiskDataStorage
 
             for (int i = 0; i < b; i++)
             {
-                long writePosition = startColumn + i * width;
+                long writePosition = startColumn + (long) i * width;
                 int readPosition = i * b;
 
                 for (int j = 0; j < columns; j += b)
@@ -712,6 +858,40 @@ public abstract class DiskDataStorage
         this.fileStorage.transferTo(out, position, size);
     }
 
+    // Transfer elements of this data storage to a channel; offset and length are in elements
+    void writeTo(WritableByteChannel out, long offset, long length)
+        throws ApfloatRuntimeException
+    {
+        int unitSize = getUnitSize();
+        transferTo(out, (getOffset() + offset) * unitSize, length * unitSize);
+    }
+
+    /**
+     * Get a memory-mapped view of the underlying disk file.
+     * The file is mapped in large segments that are cached and shared by all
+     * subsequences of this data storage, so no I/O calls or synchronization
+     * are needed for accessing the data, and multiple threads can access
+     * different parts of the file concurrently.<p>
+     *
+     * The mapped segments are released when the size of the file is changed,
+     * when this data storage and all other data storages sharing the same file
+     * have been garbage collected and the file is deleted, or at shutdown.
+     * The returned buffer must not be used after that.
+     *
+     * @param position Start position of the view, in bytes from the beginning of the file.
+     * @param size Size of the view, in bytes.
+     *
+     * @return A buffer with the specified contents of the file, with position zero and limit <code>size</code>.
+     *
+     * @since 1.17.0
+     */
+
+    protected final ByteBuffer getMappedBuffer(long position, int size)
+        throws ApfloatRuntimeException
+    {
+        return this.fileStorage.map(position, size);
+    }
+
     /**
      * Convenience method for getting the block size (in bytes) for the
      * current {@link ApfloatContext}.
@@ -741,7 +921,7 @@ public abstract class DiskDataStorage
 
     protected final String getFilename()
     {
-        return this.fileStorage.getFile().getAbsolutePath();
+        return this.fileStorage.getPath();
     }
 
     /**
@@ -761,6 +941,7 @@ public abstract class DiskDataStorage
         for (FileStorageReference reference : DiskDataStorage.references)
         {
             // Just remove everything that has been created
+            reference.unmap();
             reference.dispose();
             reference.clear();
         }
@@ -834,6 +1015,7 @@ public abstract class DiskDataStorage
         // Just check if there's anything that can be cleaned up immediately
         while ((reference = (FileStorageReference) DiskDataStorage.referenceQueue.poll()) != null)
         {
+            reference.unmap();
             reference.dispose();
             reference.clear();
             DiskDataStorage.references.remove(reference);
@@ -849,6 +1031,7 @@ public abstract class DiskDataStorage
             // Instead of poll(), wait for some time for GC to finish; we want to free as much disk as possible e.g. if we are out of disk space so waiting some time is not that bad
             while ((reference = (FileStorageReference) DiskDataStorage.referenceQueue.remove(TIMEOUT)) != null)
             {
+                reference.unmap();
                 reference.dispose();
                 reference.clear();
                 DiskDataStorage.references.remove(reference);
@@ -890,6 +1073,7 @@ public abstract class DiskDataStorage
     private static final long serialVersionUID = 741984828408146034L;
 
     private static final long TIMEOUT = 1000;   // Reference queue waiting timeout when forcing deleting garbage collected files
+    private static final int MAPPED_SEGMENT_BITS = 30;  // Memory-mapped segments of the file are 1 GB
 
     private static ReferenceQueue<FileStorage> referenceQueue = new ReferenceQueue<>();
     private static Set<FileStorageReference> references = new HashSet<>();
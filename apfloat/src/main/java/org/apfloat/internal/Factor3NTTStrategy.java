@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -38,7 +38,7 @@ import org.apfloat.spi.Util;
  * @see Factor3NTTStepStrategy
  *
  * @since 1.7.0
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -156,6 +156,12 @@ public class Factor3NTTStrategy
         return Util.round23up(size);
     }
 
+    // Needed for identifying the type of the transform
+    NTTStrategy getFactor2Strategy()
+    {
+        return this.factor2Strategy;
+    }
+
     /**
      * The factor-3 NTT steps.
      */
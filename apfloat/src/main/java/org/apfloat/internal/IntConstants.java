@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -27,7 +27,7 @@ package org.apfloat.internal;
  * Constants needed for various algorithms for the <code>int</code> type.
  *
  * @since 1.4
- * @version 1.4
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -39,6 +39,22 @@ public interface IntConstants
 
     public static final float KARATSUBA_COST_FACTOR = 4.8f;
 
+    /**
+     * Relative cost of Toom-Cook 3-way multiplication.
+     *
+     * @since 1.17.0
+     */
+
+    public static final float TOOM3_COST_FACTOR = 10.0f;
+
+    /**
+     * Relative cost of Toom-Cook 4-way multiplication.
+     *
+     * @since 1.17.0
+     */
+
+    public static final float TOOM4_COST_FACTOR = 15.2f;
+
     /**
      * Relative cost of NTT multiplication.
      */
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Releases the mapping of a memory-mapped buffer before it is garbage collected.
+ * Implementation for Java 8, using the cleaner of the direct buffer.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class MappedBufferUnmapper
+{
+    private MappedBufferUnmapper()
+    {
+    }
+
+    /**
+     * Unmap the buffer. The buffer must not be accessed any more after this.
+     * If unmapping is not possible, the mapping is released only when the
+     * buffer is garbage collected.
+     *
+     * @param buffer The buffer to unmap.
+     */
+
+    public static void unmap(MappedByteBuffer buffer)
+    {
+        if (MappedBufferUnmapper.clean == null)
+        {
+            return;
+        }
+        try
+        {
+            Object cleaner = MappedBufferUnmapper.cleaner.invoke(buffer);
+            if (cleaner != null)
+            {
+                MappedBufferUnmapper.clean.invoke(cleaner);
+            }
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            // Ignore, the mapping is released when the buffer is garbage collected
+        }
+    }
+
+    private static Method cleaner;
+    private static Method clean;
+
+    static
+    {
+        try
+        {
+            // The mapping can't be released with public APIs, only with the JDK-internal cleaner
+            MappedBufferUnmapper.cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            MappedBufferUnmapper.clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        }
+        catch (ReflectiveOperationException | RuntimeException | LinkageError e)
+        {
+            MappedBufferUnmapper.clean = null;
+        }
+    }
+}
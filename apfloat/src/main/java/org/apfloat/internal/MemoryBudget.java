@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+
+/**
+ * Memory budget that is shared by the threads using the same shared memory lock.<p>
+ *
+ * Threads acquire an amount of memory from the budget before processing large
+ * data, and release it when they are done. Several threads can process data at the
+ * same time, as long as the total amount of memory that they have acquired fits
+ * in the budget. An amount that doesn't fit in the budget even alone is granted
+ * when no other thread holds any memory from the budget.<p>
+ *
+ * The requests are granted in the order in which they were made, so that a large
+ * request is not starved by a continuous flow of smaller requests. A thread that
+ * already holds memory from the budget is granted more memory immediately,
+ * like a reentrant lock.<p>
+ *
+ * The acquisition is returned as a <code>Future</code> that is completed when
+ * the memory is granted, so that the thread can wait for it with
+ * {@link ParallelRunner#wait(java.util.concurrent.Future)} and do some useful work
+ * while waiting. The memory is released with {@link Acquisition#release()}, which
+ * grants the memory to the next requests in the queue that fit in the budget.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class MemoryBudget
+{
+    /**
+     * An acquisition of memory from the budget. It is completed when the memory
+     * has been granted, which wakes up any threads waiting for it.
+     */
+
+    public class Acquisition
+        extends ParallelRunner.NotifyingFutureTask<Void>
+    {
+        private Acquisition(long amount, long budget)
+        {
+            super(VOID_CALLABLE);
+            this.thread = Thread.currentThread();   // Store the calling thread as the memory is held by the thread
+            this.amount = amount;
+            this.budget = budget;
+        }
+
+        /**
+         * Release the memory if it was granted, or withdraw the request if not.
+         * Calling this method more than once has no effect.
+         */
+
+        public void release()
+        {
+            synchronized (MemoryBudget.this)
+            {
+                if (this.granted)
+                {
+                    this.granted = false;
+                    MemoryBudget.this.used -= this.amount;
+                    MemoryBudget.this.holders.computeIfPresent(this.thread, (thread, count) -> (count == 1 ? null : count - 1));
+                }
+                else if (!MemoryBudget.this.queue.remove(this))
+                {
+                    return;
+                }
+
+                // Someone else may be able to get memory now
+                grantQueued();
+            }
+        }
+
+        /**
+         * Withdraw the request if the memory has not been granted yet.
+         * Granted memory must be released with {@link #release()}.
+         *
+         * @param mayInterruptIfRunning Not used.
+         *
+         * @return <code>true</code> if the request was withdrawn.
+         */
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            synchronized (MemoryBudget.this)
+            {
+                if (this.granted || !super.cancel(mayInterruptIfRunning))
+                {
+                    return false;
+                }
+                MemoryBudget.this.queue.remove(this);
+                grantQueued();
+            }
+            return true;
+        }
+
+        private void grant()
+        {
+            this.granted = true;
+            MemoryBudget.this.used += this.amount;
+            MemoryBudget.this.holders.merge(this.thread, 1, Integer::sum);
+            set(null);                              // Completes the future and wakes up the waiting threads
+        }
+
+        private Thread thread;
+        private long amount;
+        private long budget;
+        private boolean granted;
+    }
+
+    /**
+     * Default constructor.
+     */
+
+    public MemoryBudget()
+    {
+        this.queue = new ArrayDeque<>();
+        this.holders = new HashMap<>();
+    }
+
+    /**
+     * Request memory from the budget.
+     *
+     * @param amount The amount of memory, in bytes.
+     * @param budget The total amount of memory that can be held by all threads, in bytes.
+     *
+     * @return The acquisition, which is completed when the memory is granted.
+     */
+
+    public synchronized Acquisition acquire(long amount, long budget)
+    {
+        Acquisition acquisition = new Acquisition(amount, budget);
+        if (this.holders.containsKey(acquisition.thread))
+        {
+            acquisition.grant();
+        }
+        else
+        {
+            this.queue.add(acquisition);
+            grantQueued();
+        }
+        return acquisition;
+    }
+
+    /**
+     * Get the amount of memory that is currently held by all threads.
+     *
+     * @return The amount of memory, in bytes.
+     */
+
+    public synchronized long getUsed()
+    {
+        return this.used;
+    }
+
+    private void grantQueued()
+    {
+        Acquisition acquisition;
+        while ((acquisition = this.queue.peek()) != null &&
+               (this.used == 0 || this.used + acquisition.amount <= acquisition.budget))
+        {
+            this.queue.remove();
+            acquisition.grant();
+        }
+    }
+
+    private static final Callable<Void> VOID_CALLABLE = () -> null;
+
+    private Queue<Acquisition> queue;
+    private Map<Thread, Integer> holders;
+    private long used;
+}
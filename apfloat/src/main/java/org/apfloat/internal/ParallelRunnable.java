@@ -37,7 +37,7 @@ import org.apfloat.spi.Util;
  * only returns when all batches are completed.
  *
  * @since 1.1
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -101,7 +101,7 @@ public abstract class ParallelRunnable
         boolean isRun = false;
         if (isWorkToBeStarted())
         {
-            long batchSize = Math.max(MINIMUM_BATCH_SIZE, getPreferredBatchSize());
+            long batchSize = Math.max(getMinimumBatchSize(), getPreferredBatchSize());
             long startValue = this.started.getAndAdd(batchSize);
             long length = Math.min(batchSize, this.length - startValue);
             if (length > 0)
@@ -191,6 +191,21 @@ public abstract class ParallelRunnable
         return this.preferredBatchSize;
     }
 
+    /**
+     * Get the minimum batch size. By default batches are not made
+     * very small, to keep the synchronization overhead low. Subclasses
+     * that have only a few, large units of work may override this.
+     *
+     * @return The minimum batch size.
+     *
+     * @since 1.17.0
+     */
+
+    protected long getMinimumBatchSize()
+    {
+        return MINIMUM_BATCH_SIZE;
+    }
+
     private static final int MINIMUM_BATCH_SIZE = 16;
 
     private long length;
@@ -24,12 +24,22 @@
 package org.apfloat.internal;
 
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatInterruptedException;
@@ -44,10 +54,21 @@ import org.apfloat.ApfloatRuntimeException;
  * one less than the number of processors. This way, when also the current thread
  * runs batches from the <code>ParallelRunnable</code>, CPU utilization should be
  * maximized but only so that no more threads are actively executing than the
- * number of processors.
+ * number of processors.<p>
+ *
+ * Threads that wait for a <code>Future</code> with {@link #wait(Future)} steal
+ * work from the running tasks while there is any available. When there is
+ * none, the waiting threads are parked, and they are woken up when new work
+ * becomes available or when something that they may be waiting for happens,
+ * see {@link #notifyWaiters()}. The total time spent stealing and parked is
+ * available from {@link #getStealTime()} and {@link #getParkTime()}.<p>
+ *
+ * Tasks that are waited for should preferably be {@link NotifyingFutureTask}s
+ * or <code>CompletableFuture</code>s, so that the waiting thread is woken up
+ * as soon as the task is completed.
  *
  * @since 1.1
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -71,6 +92,7 @@ public class ParallelRunner
         throws ApfloatRuntimeException
     {
         ParallelRunner.tasks.add(parallelRunnable);
+        notifyWaiters();
         try
         {
             runTasks(parallelRunnable);
@@ -83,7 +105,13 @@ public class ParallelRunner
 
     /**
      * While waiting for a <code>Future</code> to be completed, steal a minimal
-     * amount of work from any running task and run it.
+     * amount of work from any running task and run it.<p>
+     *
+     * If there is no work to steal, the current thread is parked until new work
+     * is available or {@link #notifyWaiters()} is called. A {@link NotifyingFutureTask}
+     * and a <code>CompletableFuture</code> also wake up the thread when completed.
+     * Other futures in general can't notify when they are completed, so the thread
+     * waits for them with a timeout instead, and then checks if there is new work.
      *
      * @param future The Future to wait for.
      */
@@ -93,6 +121,7 @@ public class ParallelRunner
         ApfloatContext ctx = ApfloatContext.getContext();
         int numberOfProcessors = ctx.getNumberOfProcessors();
         AtomicInteger inflightTasks = new AtomicInteger();
+        AtomicBoolean isStolen = new AtomicBoolean();
 
         StartableRunnable stealer = new StartableRunnable()
         {
@@ -106,7 +135,10 @@ public class ParallelRunner
                     if (parallelRunnable != null)
                     {
                         // Steal a minimal amount of work while we wait
-                        parallelRunnable.runBatch();
+                        if (parallelRunnable.runBatch())
+                        {
+                            isStolen.set(true);
+                        }
                     }
                 }
                 inflightTasks.decrementAndGet();
@@ -126,15 +158,141 @@ public class ParallelRunner
             }
         };
 
-        while (!future.isDone())
+        Thread thread = Thread.currentThread();
+        boolean isNotifying = future instanceof NotifyingFutureTask;
+        if (future instanceof CompletableFuture)
+        {
+            ((CompletableFuture<?>) future).whenComplete((result, throwable) -> LockSupport.unpark(thread));
+            isNotifying = true;
+        }
+
+        ParallelRunner.waiters.add(thread);
+        try
+        {
+            long parkInterval = MIN_PARK_INTERVAL;
+            while (!future.isDone())
+            {
+                if (!ParallelRunner.tasks.isEmpty())
+                {
+                    // Tasks should run only for a minimal time, so if there are other (non-ParallelRunner) tasks, they get to run, too
+                    long start = System.nanoTime();
+                    isStolen.set(false);
+                    runTasks(stealer);
+                    ParallelRunner.stealTime.add(System.nanoTime() - start);
+                    if (isStolen.get())
+                    {
+                        parkInterval = MIN_PARK_INTERVAL;
+                        continue;
+                    }
+                }
+
+                // No work could be stolen, so park until notified, but check the future periodically with an increasing interval
+                long start = System.nanoTime();
+                if (isNotifying)
+                {
+                    LockSupport.parkNanos(future, parkInterval);
+                }
+                else
+                {
+                    awaitDone(future, parkInterval);
+                }
+                ParallelRunner.parkTime.add(System.nanoTime() - start);
+                parkInterval = Math.min(2 * parkInterval, MAX_PARK_INTERVAL);
+
+                ApfloatContext.checkInterrupted();
+            }
+        }
+        finally
+        {
+            ParallelRunner.waiters.remove(thread);
+        }
+    }
+
+    /**
+     * A <code>FutureTask</code> that wakes up the threads waiting in {@link #wait(Future)}
+     * when it is completed.
+     *
+     * @param <V> The result type of the task.
+     *
+     * @since 1.17.0
+     */
+
+    public static class NotifyingFutureTask<V>
+        extends FutureTask<V>
+    {
+        /**
+         * Creates a task that will run the callable.
+         *
+         * @param callable The callable task.
+         */
+
+        public NotifyingFutureTask(Callable<V> callable)
+        {
+            super(callable);
+        }
+
+        /**
+         * Creates a task that will run the runnable.
+         *
+         * @param runnable The runnable task.
+         * @param result The result to return on successful completion.
+         */
+
+        public NotifyingFutureTask(Runnable runnable, V result)
+        {
+            super(runnable, result);
+        }
+
+        @Override
+        protected void done()
         {
-            // Tasks should run only for a minimal time, so if there are other (non-ParallelRunner) tasks, they get to run, too
-            runTasks(stealer);
-            // Regardless of if we stole any work, give up the rest of the CPU time slice
-            Thread.yield();
+            notifyWaiters();
         }
     }
 
+    /**
+     * Wake up all threads that are parked in {@link #wait(Future)}, so they check
+     * if the future they are waiting for is done, and if there is work to steal.
+     * This should be called whenever something happens that can cause
+     * a future, that is being waited for, to be completed.
+     *
+     * @since 1.17.0
+     */
+
+    public static void notifyWaiters()
+    {
+        for (Thread thread : ParallelRunner.waiters)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Total time that threads waiting in {@link #wait(Future)} have spent stealing work.
+     *
+     * @return The time in nanoseconds.
+     *
+     * @since 1.17.0
+     */
+
+    public static long getStealTime()
+    {
+        return ParallelRunner.stealTime.sum();
+    }
+
+    /**
+     * Total time that threads waiting in {@link #wait(Future)} have spent parked, not using any CPU time.
+     *
+     * @return The time in nanoseconds.
+     *
+     * @since 1.17.0
+     */
+
+    public static long getParkTime()
+    {
+        return ParallelRunner.parkTime.sum();
+    }
+
     private static class CountedRunnable
         extends FutureTask<Void>
     {
@@ -183,6 +341,32 @@ public class ParallelRunner
         private CountedRunnable next;
     }
 
+    // Waits until the future is done, but at most the specified time; the result or failure is not of interest here
+    private static void awaitDone(Future<?> future, long nanos)
+    {
+        long start = System.nanoTime();
+        try
+        {
+            future.get(nanos, TimeUnit.NANOSECONDS);
+
+            // Don't spin if the future returned early without being done
+            long remaining = nanos - (System.nanoTime() - start);
+            if (remaining > 0 && !future.isDone())
+            {
+                LockSupport.parkNanos(future, remaining);
+            }
+        }
+        catch (InterruptedException ie)
+        {
+            // Checked by the caller
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | CancellationException | TimeoutException e)
+        {
+            // The future is done or not, checked by the caller
+        }
+    }
+
     private static void runTasks(StartableRunnable runnable)
     {
         ApfloatContext ctx = ApfloatContext.getContext();
@@ -214,6 +398,12 @@ public class ParallelRunner
         }
     }
 
+    private static final long MIN_PARK_INTERVAL = 10000L;      // 10 microseconds
+    private static final long MAX_PARK_INTERVAL = 1000000L;    // 1 millisecond
+
     // Implemented as a List because the assumption is that the number of concurrent tasks is very small
     private static Queue<ParallelRunnable> tasks = new ConcurrentLinkedQueue<>();
+    private static Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+    private static LongAdder stealTime = new LongAdder();
+    private static LongAdder parkTime = new LongAdder();
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,12 +25,12 @@ package org.apfloat.internal;
 
 import java.util.Map;
 import java.util.WeakHashMap;
-import java.util.concurrent.Callable;
-import java.util.concurrent.FutureTask;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjIntConsumer;
 
 import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.DataStorage;
+import org.apfloat.spi.NTTBuilder;
 import org.apfloat.spi.NTTStrategy;
 
 /**
@@ -42,63 +42,211 @@ import org.apfloat.spi.NTTStrategy;
  * in {@link ApfloatContext#getNumberOfProcessors()}.<p>
  *
  * If the data block to be transformed is larger than the shared memory threshold setting
- * in the current ApfloatContext, this class will synchronize all data access on
- * the shared memory lock retrieved from {@link ApfloatContext#getSharedMemoryLock()}.<p>
+ * in the current ApfloatContext, this class will acquire the memory needed for the
+ * convolution from a memory budget that is shared by all threads using the same shared
+ * memory lock, retrieved from {@link ApfloatContext#getSharedMemoryLock()}. The size of the
+ * budget is the maximum memory block size ({@link ApfloatContext#getMaxMemoryBlockSize()}),
+ * so several large convolutions can run at the same time if they fit in the budget together.
+ * The memory is granted in the order that it was requested, so large convolutions are
+ * not starved by smaller ones.<p>
+ *
+ * If the number of processors is greater than one and the working memory needed
+ * for all three moduli at the same time fits in the maximum memory block size
+ * ({@link ApfloatContext#getMaxMemoryBlockSize()}), the convolutions modulo the three
+ * different moduli are also performed concurrently. In this case each modulus uses
+ * its own transform and convolution step objects, as they are not thread-safe.<p>
  *
  * All access to this class must be externally synchronized.
  *
  * @since 1.7.0
- * @version 1.9.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
 public class ParallelThreeNTTConvolutionStrategy
     extends ThreeNTTConvolutionStrategy
 {
-    private static class LockFuture
-        extends FutureTask<Void>
+    /**
+     * Creates a new convoluter that uses the specified
+     * transform for transforming the data.
+     *
+     * @param radix The radix to be used.
+     * @param nttStrategy The transform to be used.
+     */
+
+    public ParallelThreeNTTConvolutionStrategy(int radix, NTTStrategy nttStrategy)
+    {
+        super(radix, nttStrategy);
+        this.radix = radix;
+    }
+
+    @Override
+    public DataStorage convolute(DataStorage x, DataStorage y, long resultSize)
+        throws ApfloatRuntimeException
     {
-        public LockFuture(Lock lock)
+        if (x == y)
         {
-            super(VOID_CALLABLE);
-            this.thread = Thread.currentThread();   // Store the calling thread as the lock (and unlock) is thread-specific
-            this.lock = lock;
+            return autoConvolute(x, resultSize);
         }
 
-        @Override
-        public synchronized boolean isDone()
+        long length = getTransformLength(x, y);
+
+        if (!isConcurrent(length))
         {
-            if (!this.done && Thread.currentThread().equals(this.thread))   // Only the thread making the wait(Future) call should lock the lock, as it will unlock it also
-            {
-                this.done = this.lock.tryLock();
-            }
-            return this.done;
+            return super.convolute(x, y, resultSize);
+        }
+
+        DataStorage result;
+        lock(length);
+        try
+        {
+            DataStorage[] resultMod = new DataStorage[3];
+            runConcurrent(length, (convolutionStrategy, modulus) -> resultMod[modulus] = convolutionStrategy.convoluteWrappedOne(x, y, length, modulus, modulus == 2));
+
+            result = super.carryCRTStrategy.carryCRT(resultMod[0], resultMod[1], resultMod[2], resultSize);
+        }
+        finally
+        {
+            unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public DataStorage convoluteMiddle(DataStorage x, DataStorage y, long offset, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        long length = getMiddleTransformLength(x, y, offset, resultSize);
+
+        if (length == 0 || !isConcurrent(length))
+        {
+            return super.convoluteMiddle(x, y, offset, resultSize);
+        }
+
+        DataStorage result;
+        lock(length);
+        try
+        {
+            DataStorage[] resultMod = new DataStorage[3];
+            runConcurrent(length, (convolutionStrategy, modulus) -> resultMod[modulus] = convolutionStrategy.convoluteOne(x, y, length, modulus, modulus == 2));
+
+            result = carryCRTMiddle(resultMod[0], resultMod[1], resultMod[2], offset, resultSize);
+        }
+        finally
+        {
+            unlock();
+        }
+        return result;
+    }
+
+    @Override
+    protected DataStorage autoConvolute(DataStorage x, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        long length = getTransformLength(x, x);
+
+        if (!isConcurrent(length))
+        {
+            return super.autoConvolute(x, resultSize);
         }
 
-        private static final Callable<Void> VOID_CALLABLE = () -> null;
+        DataStorage result;
+        lock(length);
+        try
+        {
+            DataStorage[] resultMod = new DataStorage[3];
+            runConcurrent(length, (convolutionStrategy, modulus) -> resultMod[modulus] = convolutionStrategy.convoluteWrappedOne(x, x, length, modulus, modulus == 2));
 
-        private Thread thread;
-        private Lock lock;
-        private boolean done;
+            result = super.carryCRTStrategy.carryCRT(resultMod[0], resultMod[1], resultMod[2], resultSize);
+        }
+        finally
+        {
+            unlock();
+        }
+        return result;
     }
 
     /**
-     * Creates a new convoluter that uses the specified
-     * transform for transforming the data.
+     * Returns if the convolutions modulo the three moduli should be performed concurrently.
+     * This is done only if more than one processor is available and if the memory
+     * needed for the data of all three moduli at the same time fits in the
+     * maximum memory block size.
      *
-     * @param radix The radix to be used.
-     * @param nttStrategy The transform to be used.
+     * @param length The transform length.
+     *
+     * @return If the three moduli should be processed concurrently.
+     *
+     * @since 1.17.0
      */
 
-    public ParallelThreeNTTConvolutionStrategy(int radix, NTTStrategy nttStrategy)
+    protected boolean isConcurrent(long length)
     {
-        super(radix, nttStrategy);
+        ApfloatContext ctx = ApfloatContext.getContext();
+        long concurrentMemorySize = 3 * 2 * length * ctx.getBuilderFactory().getElementSize();    // Two data sets per modulus
+        return ctx.getNumberOfProcessors() > 1 && concurrentMemorySize <= ctx.getMaxMemoryBlockSize();
+    }
+
+    private void runConcurrent(long length, ObjIntConsumer<ThreeNTTConvolutionStrategy> moduloConvolution)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        NTTBuilder nttBuilder = ctx.getBuilderFactory().getNTTBuilder();
+
+        // The transform and step strategies have modulus-specific state, so the other moduli need their own
+        ThreeNTTConvolutionStrategy[] convolutionStrategies = { this,
+                                                                new ThreeNTTConvolutionStrategy(this.radix, nttBuilder.createNTT(length)),
+                                                                new ThreeNTTConvolutionStrategy(this.radix, nttBuilder.createNTT(length)) };
+
+        ParallelRunnable parallelRunnable = new ParallelRunnable(3)
+        {
+            @Override
+            public Runnable getRunnable(int startValue, int length)
+            {
+                return () ->
+                {
+                    // The runnable may be run in an executor thread so make sure the same context is used
+                    ApfloatContext threadCtx = ApfloatContext.getThreadContext();
+                    ApfloatContext.setThreadContext(ctx);
+                    try
+                    {
+                        for (int modulus = startValue; modulus < startValue + length; modulus++)
+                        {
+                            moduloConvolution.accept(convolutionStrategies[modulus], modulus);
+                        }
+                    }
+                    finally
+                    {
+                        if (threadCtx != null)
+                        {
+                            ApfloatContext.setThreadContext(threadCtx);
+                        }
+                        else
+                        {
+                            ApfloatContext.removeThreadContext();
+                        }
+                    }
+                };
+            }
+
+            @Override
+            protected long getMinimumBatchSize()
+            {
+                return 1;
+            }
+
+            @Override
+            protected long getPreferredBatchSize()
+            {
+                return 1;
+            }
+        };
+
+        ParallelRunner.runParallel(parallelRunnable);
     }
 
     @Override
     protected void lock(long length)
     {
-        assert(this.key == null);
+        assert(this.acquisition == null);
 
         if (super.nttStrategy instanceof Parallelizable &&
             super.carryCRTStrategy instanceof Parallelizable &&
@@ -107,17 +255,29 @@ public class ParallelThreeNTTConvolutionStrategy
             ApfloatContext ctx = ApfloatContext.getContext();
             if (length > ctx.getSharedMemoryTreshold() / ctx.getBuilderFactory().getElementSize())
             {
-                // Data size is big: synchronize on shared memory lock
-                this.key = ctx.getSharedMemoryLock();
+                // Data size is big: acquire the memory from the budget of the shared memory lock
+                Object key = ctx.getSharedMemoryLock();
 
-                if (this.key != null)
+                if (key != null)
                 {
-                    Lock lock;
-                    synchronized (ParallelThreeNTTConvolutionStrategy.locks)
+                    MemoryBudget memoryBudget;
+                    synchronized (ParallelThreeNTTConvolutionStrategy.memoryBudgets)
                     {
-                        lock = ParallelThreeNTTConvolutionStrategy.locks.computeIfAbsent(this.key, k -> new ReentrantLock());
+                        memoryBudget = ParallelThreeNTTConvolutionStrategy.memoryBudgets.computeIfAbsent(key, k -> new MemoryBudget());
                     }
-                    ctx.wait(new LockFuture(lock));
+                    long memorySize = getMemorySize(length);
+                    MemoryBudget.Acquisition acquisition = memoryBudget.acquire(memorySize, ctx.getMaxMemoryBlockSize());
+                    try
+                    {
+                        ctx.wait(acquisition);
+                    }
+                    catch (RuntimeException re)
+                    {
+                        // Do not block the other threads if e.g. interrupted
+                        acquisition.release();
+                        throw re;
+                    }
+                    this.acquisition = acquisition;
                 }
             }
         }
@@ -126,16 +286,26 @@ public class ParallelThreeNTTConvolutionStrategy
     @Override
     protected void unlock()
     {
-        if (this.key != null)
+        if (this.acquisition != null)
         {
-            synchronized (ParallelThreeNTTConvolutionStrategy.locks)
-            {
-                ParallelThreeNTTConvolutionStrategy.locks.get(this.key).unlock();
-            }
+            // Releases the memory and wakes up any threads waiting for it
+            this.acquisition.release();
+            this.acquisition = null;
         }
     }
 
-    private static Map<Object, Lock> locks = new WeakHashMap<>();
+    private long getMemorySize(long length)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        int elementSize = ctx.getBuilderFactory().getElementSize();
+
+        // The results of all three moduli are kept for the carry-CRT, and each modulus needs the transform of the other data set,
+        // at the same time if the moduli are processed concurrently; the carry-CRT then needs space for its result
+        return ((isConcurrent(length) ? 3 + 3 : 3 + 1) + 1) * length * elementSize;
+    }
+
+    private static Map<Object, MemoryBudget> memoryBudgets = new WeakHashMap<>();
 
-    private Object key;
+    private MemoryBudget.Acquisition acquisition;
+    private int radix;
 }
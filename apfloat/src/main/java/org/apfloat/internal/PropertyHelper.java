@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.apfloat.internal;
+
+import org.apfloat.ApfloatContext;
+
+/**
+ * Helper for reading numeric tuning properties from the {@link ApfloatContext}.<p>
+ *
+ * The properties are optional. If a property is not set or its value is not
+ * a valid number, the default value is used.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class PropertyHelper
+{
+    private PropertyHelper()
+    {
+    }
+
+    /**
+     * Get the value of a property as an <code>int</code>.
+     *
+     * @param propertyName The name of the property.
+     * @param defaultValue The value to use if the property is not set.
+     *
+     * @return The value of the property.
+     */
+
+    public static int getInt(String propertyName, int defaultValue)
+    {
+        String value = ApfloatContext.getContext().getProperty(propertyName);
+        try
+        {
+            return (value == null ? defaultValue : Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException nfe)
+        {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the value of a property as a <code>long</code>.
+     *
+     * @param propertyName The name of the property.
+     * @param defaultValue The value to use if the property is not set.
+     *
+     * @return The value of the property.
+     */
+
+    public static long getLong(String propertyName, long defaultValue)
+    {
+        String value = ApfloatContext.getContext().getProperty(propertyName);
+        try
+        {
+            return (value == null ? defaultValue : Long.parseLong(value.trim()));
+        }
+        catch (NumberFormatException nfe)
+        {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the value of a property as a <code>float</code>.
+     *
+     * @param propertyName The name of the property.
+     * @param defaultValue The value to use if the property is not set.
+     *
+     * @return The value of the property.
+     */
+
+    public static float getFloat(String propertyName, float defaultValue)
+    {
+        String value = ApfloatContext.getContext().getProperty(propertyName);
+        try
+        {
+            return (value == null ? defaultValue : Float.parseFloat(value.trim()));
+        }
+        catch (NumberFormatException nfe)
+        {
+            return defaultValue;
+        }
+    }
+}
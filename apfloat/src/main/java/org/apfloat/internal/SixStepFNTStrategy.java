@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -55,10 +55,14 @@ import org.apfloat.spi.NTTStepStrategy;
  * is not sensitive to the order in which the elements are.
  * Also scrambling the data can be omitted.<p>
  *
+ * If the data is too long to fit in one array, for example if it's in
+ * an off-heap memory data storage, the data is transformed in blocks
+ * of columns and rows, with the same algorithm as {@link TwoPassFNTStrategy}.<p>
+ *
  * All access to this class must be externally synchronized.
  *
  * @since 1.7.0
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -95,7 +99,9 @@ public class SixStepFNTStrategy
     {
         if (length > Integer.MAX_VALUE)
         {
-            throw new ApfloatInternalException("Maximum array size exceeded: " + length, "maximumArraySizeExceeded", length);
+            // The data doesn't fit in one array, so transform it in blocks of columns and rows
+            createBlockStrategy().transform(dataStorage, n1, n2, length, modulus);
+            return;
         }
 
         assert (n2 >= n1);
@@ -132,7 +138,9 @@ public class SixStepFNTStrategy
     {
         if (length > Integer.MAX_VALUE)
         {
-            throw new ApfloatInternalException("Maximum array size exceeded: " + length, "maximumArraySizeExceeded", length);
+            // The data doesn't fit in one array, so transform it in blocks of rows and columns
+            createBlockStrategy().inverseTransform(dataStorage, n1, n2, length, totalTransformLength, modulus);
+            return;
         }
 
         assert (n2 >= n1);
@@ -274,6 +282,12 @@ public class SixStepFNTStrategy
         super.stepStrategy.multiplyElements(arrayAccess, 0, 0, rows, columns, length, totalTransformLength, isInverse, modulus);
     }
 
+    // The two-pass algorithm transforms the data in blocks that fit in arrays, the data storage can still be e.g. in off-heap memory
+    private TwoPassFNTStrategy createBlockStrategy()
+    {
+        return new TwoPassFNTStrategy(super.stepStrategy);
+    }
+
     /**
      * The matrix strategy.
      */
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,8 +23,12 @@
  */
 package org.apfloat.internal;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
 import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.ArrayAccess;
 import org.apfloat.spi.BuilderFactory;
 import org.apfloat.spi.CarryCRTStrategy;
 import org.apfloat.spi.ConvolutionStrategy;
@@ -32,6 +36,7 @@ import org.apfloat.spi.NTTStrategy;
 import org.apfloat.spi.NTTConvolutionStepStrategy;
 import org.apfloat.spi.DataStorageBuilder;
 import org.apfloat.spi.DataStorage;
+import org.apfloat.spi.Util;
 
 /**
  * Convolution using three Number Theoretic Transforms
@@ -40,10 +45,21 @@ import org.apfloat.spi.DataStorage;
  * Multiplication can be done in linear time in the transform domain, where
  * the multiplication is simply an element-by-element multiplication.<p>
  *
+ * If either data set has been registered to the transform cache, e.g. with
+ * {@link org.apfloat.ApfloatMath#prepareMultiplicand(org.apfloat.Apfloat)}, its
+ * forward transforms are cached and reused in subsequent convolutions, so only
+ * two transforms are needed per modulus instead of three.<p>
+ *
+ * If the size of the result only slightly exceeds a supported transform length,
+ * the convolution is calculated as a cyclic convolution of that shorter length,
+ * and the part of the result that wraps around is corrected with a separate,
+ * much shorter convolution. This avoids most of the padding to the next
+ * transform length.<p>
+ *
  * All access to this class must be externally synchronized.
  *
  * @since 1.7.0
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -76,7 +92,89 @@ public class ThreeNTTConvolutionStrategy
             return autoConvolute(x, resultSize);
         }
 
-        long length = this.nttStrategy.getTransformLength(x.getSize() + y.getSize());
+        long length = getTransformLength(x, y);
+
+        DataStorage result;
+        lock(length);
+        try
+        {
+            DataStorage resultMod0 = convoluteWrappedOne(x, y, length, 0, false),
+                        resultMod1 = convoluteWrappedOne(x, y, length, 1, false),
+                        resultMod2 = convoluteWrappedOne(x, y, length, 2, true);
+
+            result = this.carryCRTStrategy.carryCRT(resultMod0, resultMod1, resultMod2, resultSize);
+        }
+        finally
+        {
+            unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the transform length for a convolution of the two sets of data.<p>
+     *
+     * Normally this is the transform length for the full size of the result.
+     * If the result is only slightly longer than the next shorter transform length,
+     * that length is returned instead, and the elements of the result that wrap
+     * around are calculated separately, see {@link #convoluteWrappedOne(DataStorage,DataStorage,long,int,boolean)}.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     *
+     * @return The transform length.
+     *
+     * @since 1.17.0
+     */
+
+    protected long getTransformLength(DataStorage x, DataStorage y)
+    {
+        long xSize = x.getSize(),
+             ySize = y.getSize(),
+             size = xSize + ySize,
+             fullLength = this.nttStrategy.getTransformLength(size);
+
+        if (fullLength <= 2)
+        {
+            return fullLength;
+        }
+
+        long length = Util.round23down(fullLength - 1),                    // Next shorter transform length
+             wrapSize = size - 1 - length,                                  // The last element of the full result is always zero
+             wrapLength = (wrapSize > 0 ? Util.round23up(2 * wrapSize) : 0);
+
+        // The separate convolution has some overhead, so only use the shorter length if the saving is significant
+        return (length < Math.max(xSize, ySize) || (length + wrapLength) * 8 > fullLength * 7 ? fullLength : length);
+    }
+
+    /**
+     * Convolutes the two sets of data, calculating only a middle part of the result.<p>
+     *
+     * The convolution is calculated as a cyclic convolution, with a transform length
+     * that is shorter than for the full result. The part of the result that wraps
+     * around only overlaps the most significant elements that are not needed.
+     * If this does not allow a shorter transform length, the full convolution is calculated.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     * @param offset Number of most significant elements of the full result that are not needed.
+     * @param resultSize Number of elements needed in the result data after <code>offset</code>.
+     *
+     * @return The convolved data, of size <code>resultSize</code>.
+     *
+     * @since 1.17.0
+     */
+
+    @Override
+    public DataStorage convoluteMiddle(DataStorage x, DataStorage y, long offset, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        long length = getMiddleTransformLength(x, y, offset, resultSize);
+
+        if (length == 0)
+        {
+            return ConvolutionStrategy.super.convoluteMiddle(x, y, offset, resultSize);
+        }
 
         DataStorage result;
         lock(length);
@@ -86,7 +184,7 @@ public class ThreeNTTConvolutionStrategy
                         resultMod1 = convoluteOne(x, y, length, 1, false),
                         resultMod2 = convoluteOne(x, y, length, 2, true);
 
-            result = this.carryCRTStrategy.carryCRT(resultMod0, resultMod1, resultMod2, resultSize);
+            result = carryCRTMiddle(resultMod0, resultMod1, resultMod2, offset, resultSize);
         }
         finally
         {
@@ -95,6 +193,155 @@ public class ThreeNTTConvolutionStrategy
         return result;
     }
 
+    /**
+     * Returns the transform length for calculating a middle part of a convolution.
+     * For a cyclic convolution of length <i>n</i>, the elements of the full
+     * convolution after the first <i>n</i> elements are added to the first elements.
+     * The transform length must be so long that this does not affect the needed part.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     * @param offset Number of most significant elements of the full result that are not needed.
+     * @param resultSize Number of elements needed in the result data after <code>offset</code>.
+     *
+     * @return The transform length, or zero if it would not be shorter than for the full convolution.
+     *
+     * @since 1.17.0
+     */
+
+    protected long getMiddleTransformLength(DataStorage x, DataStorage y, long offset, long resultSize)
+    {
+        long size = x.getSize() + y.getSize(),
+             minLength = Math.max(Math.max(x.getSize(), y.getSize()),
+                                  Math.max(size - offset,                   // The wrapped around part ends before the offset
+                                           offset + resultSize + 2)),       // The carry-CRT uses two extra elements after the result
+             length = this.nttStrategy.getTransformLength(minLength);
+
+        return (offset < MIDDLE_PRODUCT_SKIP_SIZE || length >= getTransformLength(x, y) ? 0 : length);
+    }
+
+    /**
+     * Performs the carry-CRT for a middle part of a convolution.
+     * The elements of the cyclic convolution that only affect the result
+     * above the offset are cleared, so that the carries fit in the result.
+     *
+     * @param resultMod0 The result modulo the first modulus.
+     * @param resultMod1 The result modulo the second modulus.
+     * @param resultMod2 The result modulo the third modulus.
+     * @param offset Number of most significant elements of the full result that are not needed.
+     * @param resultSize Number of elements needed in the result data after <code>offset</code>.
+     *
+     * @return The result data, of size <code>resultSize</code>.
+     *
+     * @since 1.17.0
+     */
+
+    protected DataStorage carryCRTMiddle(DataStorage resultMod0, DataStorage resultMod1, DataStorage resultMod2, long offset, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        // Element i of the convolution affects words i - 1 to i + 1 of the result,
+        // so the first two elements here only affect the words above the offset
+        long start = offset - MIDDLE_PRODUCT_SKIP_SIZE,
+             length = resultMod0.getSize() - start;
+
+        clear(resultMod0, start, start + 2);
+        clear(resultMod1, start, start + 2);
+        clear(resultMod2, start, start + 2);
+
+        DataStorage result = this.carryCRTStrategy.carryCRT(resultMod0.subsequence(start, length),
+                                                            resultMod1.subsequence(start, length),
+                                                            resultMod2.subsequence(start, length),
+                                                            resultSize + MIDDLE_PRODUCT_SKIP_SIZE);
+
+        return result.subsequence(MIDDLE_PRODUCT_SKIP_SIZE, resultSize);
+    }
+
+    private static void clear(DataStorage dataStorage, long start, long end)
+        throws ApfloatRuntimeException
+    {
+        int length = (int) (end - start);
+        try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.WRITE, start, length))
+        {
+            Object data = arrayAccess.getData();
+            System.arraycopy(Array.newInstance(data.getClass().getComponentType(), length), 0, data, arrayAccess.getOffset(), length);
+        }
+    }
+
+    private static void copy(DataStorage source, DataStorage destination)
+        throws ApfloatRuntimeException
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        int blockSize = ctx.getBlockSize() / ctx.getBuilderFactory().getElementSize();
+        long size = source.getSize();
+
+        for (long offset = 0; offset < size; offset += blockSize)
+        {
+            int length = (int) Math.min(blockSize, size - offset);
+            try (ArrayAccess src = source.getArray(DataStorage.READ, offset, length);
+                 ArrayAccess dst = destination.getArray(DataStorage.WRITE, offset, length))
+            {
+                System.arraycopy(src.getData(), src.getOffset(), dst.getData(), dst.getOffset(), length);
+            }
+        }
+    }
+
+    /**
+     * Performs a convolution modulo one modulus, of the specified transform length,
+     * which can be shorter than the size of the result.<p>
+     *
+     * The elements of the full result after the transform length wrap around
+     * in the cyclic convolution, and are added to the first elements. They only
+     * depend on the least significant parts of the data, so they are calculated
+     * with a separate convolution of those parts. They are then subtracted from
+     * the first elements and appended after the cyclic convolution.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     * @param length Length of the transformation, as returned by {@link #getTransformLength(DataStorage,DataStorage)}.
+     * @param modulus Which modulus to use.
+     * @param cached If the result data should be kept cached in memory when possible.
+     *
+     * @return The result of the convolution for one modulus.
+     *
+     * @since 1.17.0
+     */
+
+    protected DataStorage convoluteWrappedOne(DataStorage x, DataStorage y, long length, int modulus, boolean cached)
+        throws ApfloatRuntimeException
+    {
+        // The shorter length can be three times a power of two even if the transform only does powers of two
+        NTTStrategy nttStrategy = (this.nttStrategy.getTransformLength(length) == length ? this.nttStrategy : new Factor3NTTStrategy(this.nttStrategy));
+
+        long xSize = x.getSize(),
+             ySize = y.getSize(),
+             size = xSize + ySize;
+
+        if (length >= size)
+        {
+            return convoluteOne(nttStrategy, x, y, length, modulus, cached);
+        }
+
+        DataStorage result = createCachedDataStorage(size);
+        result.copyFrom(convoluteOne(nttStrategy, x, y, length, modulus, true), size);
+
+        long wrapSize = size - 1 - length;
+        if (wrapSize > 0)
+        {
+            // The wrapped around elements are the second half of the convolution of the last elements of the data
+            ApfloatContext ctx = ApfloatContext.getContext();
+            long wrapLength = Util.round23up(2 * wrapSize);
+            NTTStrategy wrapNTTStrategy = ctx.getBuilderFactory().getNTTBuilder().createNTT(wrapLength);
+            DataStorage wrapX = x.subsequence(length - ySize + 1, wrapSize),
+                        wrapY = (x == y ? wrapX : y.subsequence(length - xSize + 1, wrapSize)),
+                        wrapped = convoluteOne(wrapNTTStrategy, wrapX, wrapY, wrapLength, modulus, true).subsequence(wrapSize - 1, wrapSize);
+
+            this.stepStrategy.subtractInPlace(result.subsequence(0, wrapSize), wrapped, modulus);
+            copy(wrapped, result.subsequence(length, wrapSize));
+        }
+
+        return (cached ? result : createDataStorage(result));
+    }
+
     /**
      * Performs a convolution modulo one modulus, of the specified transform length.
      *
@@ -110,23 +357,86 @@ public class ThreeNTTConvolutionStrategy
     protected DataStorage convoluteOne(DataStorage x, DataStorage y, long length, int modulus, boolean cached)
         throws ApfloatRuntimeException
     {
-        DataStorage tmpY = createCachedDataStorage(length);
-        tmpY.copyFrom(y, length);                               // Using a cached data storage here can avoid an extra write
-        this.nttStrategy.transform(tmpY, modulus);
-        tmpY = createDataStorage(tmpY);
+        return convoluteOne(this.nttStrategy, x, y, length, modulus, cached);
+    }
+
+    private DataStorage convoluteOne(NTTStrategy nttStrategy, DataStorage x, DataStorage y, long length, int modulus, boolean cached)
+        throws ApfloatRuntimeException
+    {
+        if (x == y)
+        {
+            return autoConvoluteOne(nttStrategy, x, length, modulus, cached);
+        }
+
+        if (TransformCache.isRegistered(x) && !TransformCache.isRegistered(y))
+        {
+            // Only the transform of the second data set can be reused, as the first one is overwritten
+            DataStorage tmp = x;
+            x = y;
+            y = tmp;
+        }
+
+        DataStorage tmpY = transform(nttStrategy, y, length, modulus);
 
         DataStorage tmpX = createCachedDataStorage(length);
         tmpX.copyFrom(x, length);
-        this.nttStrategy.transform(tmpX, modulus);
+        nttStrategy.transform(tmpX, modulus);
 
         this.stepStrategy.multiplyInPlace(tmpX, tmpY, modulus);
 
-        this.nttStrategy.inverseTransform(tmpX, modulus, length);
+        nttStrategy.inverseTransform(tmpX, modulus, length);
         tmpX = (cached ? tmpX : createDataStorage(tmpX));
 
         return tmpX;
     }
 
+    /**
+     * Performs the forward transform of a data set modulo one modulus.
+     * If the data set is registered to the transform cache, a cached
+     * transform is used if available, or the transform is added to the cache.
+     *
+     * @param nttStrategy The transform to be used.
+     * @param y The data set.
+     * @param length Length of the transformation.
+     * @param modulus Which modulus to use.
+     *
+     * @return The transformed data, which must not be modified.
+     */
+
+    private DataStorage transform(NTTStrategy nttStrategy, DataStorage y, long length, int modulus)
+        throws ApfloatRuntimeException
+    {
+        boolean isRegistered = TransformCache.isRegistered(y);
+        Object transformType = (isRegistered ? getTransformType(nttStrategy) : null);
+        DataStorage tmpY = (isRegistered ? TransformCache.get(y, transformType, length, modulus) : null);
+
+        if (tmpY == null)
+        {
+            tmpY = createCachedDataStorage(length);
+            tmpY.copyFrom(y, length);                           // Using a cached data storage here can avoid an extra write
+            nttStrategy.transform(tmpY, modulus);
+            tmpY = createDataStorage(tmpY);
+
+            if (isRegistered)
+            {
+                tmpY.setReadOnly();
+                TransformCache.put(y, transformType, length, modulus, tmpY);
+            }
+        }
+
+        return tmpY;
+    }
+
+    // The transformed data is in an implementation-specific order, so it can only be reused with the same kind of transform
+    private static Object getTransformType(NTTStrategy nttStrategy)
+    {
+        if (nttStrategy instanceof Factor3NTTStrategy)
+        {
+            return Arrays.asList(Factor3NTTStrategy.class, ((Factor3NTTStrategy) nttStrategy).getFactor2Strategy().getClass());
+        }
+        return nttStrategy.getClass();
+    }
+
     /**
      * Convolutes a data set with itself.
      *
@@ -139,15 +449,15 @@ public class ThreeNTTConvolutionStrategy
     protected DataStorage autoConvolute(DataStorage x, long resultSize)
         throws ApfloatRuntimeException
     {
-        long length = this.nttStrategy.getTransformLength(x.getSize() * 2);
+        long length = getTransformLength(x, x);
 
         DataStorage result;
         lock(length);
         try
         {
-            DataStorage resultMod0 = autoConvoluteOne(x, length, 0, false),
-                        resultMod1 = autoConvoluteOne(x, length, 1, false),
-                        resultMod2 = autoConvoluteOne(x, length, 2, true);
+            DataStorage resultMod0 = convoluteWrappedOne(x, x, length, 0, false),
+                        resultMod1 = convoluteWrappedOne(x, x, length, 1, false),
+                        resultMod2 = convoluteWrappedOne(x, x, length, 2, true);
 
             result = this.carryCRTStrategy.carryCRT(resultMod0, resultMod1, resultMod2, resultSize);
         }
@@ -171,14 +481,20 @@ public class ThreeNTTConvolutionStrategy
 
     protected DataStorage autoConvoluteOne(DataStorage x, long length, int modulus, boolean cached)
         throws ApfloatRuntimeException
+    {
+        return autoConvoluteOne(this.nttStrategy, x, length, modulus, cached);
+    }
+
+    private DataStorage autoConvoluteOne(NTTStrategy nttStrategy, DataStorage x, long length, int modulus, boolean cached)
+        throws ApfloatRuntimeException
     {
         DataStorage tmp = createCachedDataStorage(length);
         tmp.copyFrom(x, length);
-        this.nttStrategy.transform(tmp, modulus);
+        nttStrategy.transform(tmp, modulus);
 
         this.stepStrategy.squareInPlace(tmp, modulus);
 
-        this.nttStrategy.inverseTransform(tmp, modulus, length);
+        nttStrategy.inverseTransform(tmp, modulus, length);
         tmp = (cached ? tmp : createDataStorage(tmp));
 
         return tmp;
@@ -251,4 +567,7 @@ public class ThreeNTTConvolutionStrategy
      */
 
     protected NTTConvolutionStepStrategy stepStrategy;
+
+    // Number of elements above the offset that are included in the carry-CRT of a middle product
+    private static final int MIDDLE_PRODUCT_SKIP_SIZE = 3;
 }
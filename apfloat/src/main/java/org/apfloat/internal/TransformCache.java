@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.spi.DataStorage;
+
+/**
+ * Cache for the forward transforms of data that is used repeatedly
+ * as a multiplicand.<p>
+ *
+ * Only data storages that have been explicitly registered with
+ * {@link #register(DataStorage)} have their transforms cached. The data
+ * storages are referenced weakly and the transforms softly, so cache entries
+ * do not prevent garbage collection. Additionally the total size of the cached
+ * transforms is limited to the maximum memory block size of the current
+ * {@link ApfloatContext}, and the least recently used transforms are removed first.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class TransformCache
+{
+    private static class Key
+    {
+        public Key(DataStorage dataStorage, Object transformType, long length, int modulus)
+        {
+            this.dataStorage = new WeakReference<>(dataStorage);
+            this.transformType = transformType;
+            this.length = length;
+            this.modulus = modulus;
+            this.hashCode = (System.identityHashCode(dataStorage) * 31 + transformType.hashCode()) * 31 + Long.hashCode(length) * 3 + modulus;
+        }
+
+        public boolean isStale()
+        {
+            return (this.dataStorage.get() == null);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (obj instanceof Key)
+            {
+                Key that = (Key) obj;
+                DataStorage dataStorage = this.dataStorage.get();
+                return (dataStorage != null && dataStorage == that.dataStorage.get() &&
+                        this.transformType.equals(that.transformType) &&
+                        this.length == that.length &&
+                        this.modulus == that.modulus);
+            }
+            return false;
+        }
+
+        private WeakReference<DataStorage> dataStorage;
+        private Object transformType;
+        private long length;
+        private int modulus;
+        private int hashCode;
+    }
+
+    private static class Value
+        extends SoftReference<DataStorage>
+    {
+        public Value(DataStorage transform, long size)
+        {
+            super(transform);
+            this.size = size;
+        }
+
+        public long getSize()
+        {
+            return this.size;
+        }
+
+        private long size;
+    }
+
+    private TransformCache()
+    {
+    }
+
+    /**
+     * Register a data storage so that its transforms will be cached.
+     *
+     * @param dataStorage The data storage.
+     */
+
+    public static void register(DataStorage dataStorage)
+    {
+        synchronized (TransformCache.registered)
+        {
+            TransformCache.registered.put(dataStorage, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Returns if the transforms of a data storage should be cached.
+     *
+     * @param dataStorage The data storage.
+     *
+     * @return If the data storage has been registered to this cache.
+     */
+
+    public static boolean isRegistered(DataStorage dataStorage)
+    {
+        synchronized (TransformCache.registered)
+        {
+            return TransformCache.registered.containsKey(dataStorage);
+        }
+    }
+
+    /**
+     * Get a cached transform.
+     *
+     * @param dataStorage The data storage that was transformed.
+     * @param transformType Identifies the transform implementation that was used.
+     * @param length The transform length.
+     * @param modulus The modulus that was used.
+     *
+     * @return The transformed data, or <code>null</code> if it's not cached.
+     */
+
+    public static DataStorage get(DataStorage dataStorage, Object transformType, long length, int modulus)
+    {
+        synchronized (TransformCache.cache)
+        {
+            Value value = TransformCache.cache.get(new Key(dataStorage, transformType, length, modulus));
+            return (value == null ? null : value.get());
+        }
+    }
+
+    /**
+     * Put a transform in the cache.
+     * The transformed data must not be modified after this.
+     *
+     * @param dataStorage The data storage that was transformed.
+     * @param transformType Identifies the transform implementation that was used.
+     * @param length The transform length.
+     * @param modulus The modulus that was used.
+     * @param transform The transformed data.
+     */
+
+    public static void put(DataStorage dataStorage, Object transformType, long length, int modulus, DataStorage transform)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        long size = transform.getSize() * ctx.getBuilderFactory().getElementSize(),
+             maxSize = ctx.getMaxMemoryBlockSize();
+
+        if (size > maxSize)
+        {
+            // Would not fit in the cache anyway
+            return;
+        }
+
+        synchronized (TransformCache.cache)
+        {
+            Value value = TransformCache.cache.put(new Key(dataStorage, transformType, length, modulus), new Value(transform, size));
+            TransformCache.totalSize += size - (value == null ? 0 : value.getSize());
+
+            // Remove stale entries and then least recently used entries until the cache fits in the allowed size
+            for (Iterator<Map.Entry<Key, Value>> iterator = TransformCache.cache.entrySet().iterator(); iterator.hasNext(); )
+            {
+                Map.Entry<Key, Value> entry = iterator.next();
+                if (entry.getKey().isStale() || entry.getValue().get() == null)
+                {
+                    TransformCache.totalSize -= entry.getValue().getSize();
+                    iterator.remove();
+                }
+            }
+            for (Iterator<Value> iterator = TransformCache.cache.values().iterator(); TransformCache.totalSize > maxSize && iterator.hasNext(); )
+            {
+                TransformCache.totalSize -= iterator.next().getSize();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all cached transforms and registered data storages.
+     */
+
+    public static void clear()
+    {
+        synchronized (TransformCache.cache)
+        {
+            TransformCache.cache.clear();
+            TransformCache.totalSize = 0;
+        }
+        synchronized (TransformCache.registered)
+        {
+            TransformCache.registered.clear();
+        }
+    }
+
+    private static Map<DataStorage, Boolean> registered = new WeakHashMap<>();
+    private static Map<Key, Value> cache = new LinkedHashMap<>(16, 0.75f, true);     // Access order, for removing the least recently used entries
+    private static long totalSize;
+}
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,7 +23,13 @@
  */
 package org.apfloat.internal;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
 import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatInterruptedException;
 import org.apfloat.ApfloatRuntimeException;
 import org.apfloat.spi.DataStorage;
 import org.apfloat.spi.NTTStepStrategy;
@@ -68,6 +74,12 @@ import org.apfloat.spi.Util;
  * rows by reading the b-length blocks to proper locations in memory and then
  * transposing the b x b blocks.<p>
  *
+ * If the number of I/O buffers in the {@link ApfloatContext} is more than one,
+ * the disk I/O is overlapped with the transforms: while one block of data is
+ * transformed, the next blocks are read and the previous block is written back in
+ * a background thread from the context's <code>ExecutorService</code>. The available
+ * memory is divided between the buffers, so the blocks are correspondingly smaller.<p>
+ *
  * In a convolution algorithm the data elements can remain in any order after
  * the transform, as long as the inverse transform can transform it back.
  * The convolution's element-by-element multiplication is not sensitive
@@ -76,9 +88,10 @@ import org.apfloat.spi.Util;
  * All access to this class must be externally synchronized.
  *
  * @see DataStorage#getTransposedArray(int,int,int,int)
+ * @see ApfloatContext#getIoBufferCount()
  *
  * @since 1.7.0
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -86,6 +99,18 @@ public class TwoPassFNTStrategy
     extends AbstractStepFNTStrategy
     implements DecorableNTTStrategy
 {
+    // Reads a block of rows or columns
+    private static interface BlockReader
+    {
+        public ArrayAccess read(int start, int count);
+    }
+
+    // Processes a block of rows or columns that has been read in memory
+    private static interface BlockTransform
+    {
+        public void transform(ArrayAccess arrayAccess, int start, int count);
+    }
+
     /**
      * Default constructor.
      */
@@ -111,48 +136,29 @@ public class TwoPassFNTStrategy
     {
         assert (n2 >= n1);
 
-        int maxBlockSize = getMaxMemoryBlockSize(length),   // Maximum memory array size that can be allocated
-            b;
+        int maxBlockSize = getMaxMemoryBlockSize(length);   // Maximum memory array size that can be allocated
 
         if (n1 > maxBlockSize || n2 > maxBlockSize)
         {
             throw new ApfloatInternalException("Not enough memory available to fit one row or column of matrix to memory; n1=" + n1 + ", n2=" + n2 + ", available=" + maxBlockSize, "twoPass.memory", n1, n2, maxBlockSize);
         }
 
-        b = maxBlockSize / n1;
-
-        for (int i = 0; i < n2; i += b)
+        // Read the data in n1 x b blocks, transposed
+        transformBlocks(n2, n1, maxBlockSize, (i, b) -> getColumns(dataStorage, i, b, n1), (arrayAccess, i, b) ->
         {
-            // Read the data in n1 x b blocks, transposed
-            try (ArrayAccess arrayAccess = getColumns(dataStorage, i, b, n1))
-            {
-                preTransform(arrayAccess);
-
-                // Do b transforms of size n1
-                transformColumns(arrayAccess, n1, b, false, modulus);
+            // Do b transforms of size n1
+            transformColumns(arrayAccess, n1, b, false, modulus);
+        });
 
-                postTransform(arrayAccess);
-            }
-        }
-
-        b = maxBlockSize / n2;
-
-        for (int i = 0; i < n1; i += b)
+        // Read the data in b x n2 blocks
+        transformBlocks(n1, n2, maxBlockSize, (i, b) -> getRows(dataStorage, i, b, n2), (arrayAccess, i, b) ->
         {
-            // Read the data in b x n2 blocks
-            try (ArrayAccess arrayAccess = getRows(dataStorage, i, b, n2))
-            {
-                preTransform(arrayAccess);
-
-                // Multiply each matrix element by w^(i*j)
-                multiplyElements(arrayAccess, i, 0, b, n2, length, 1, false, modulus);
-
-                // Do b transforms of size n2
-                transformRows(arrayAccess, n2, b, false, modulus);
+            // Multiply each matrix element by w^(i*j)
+            multiplyElements(arrayAccess, i, 0, b, n2, length, 1, false, modulus);
 
-                postTransform(arrayAccess);
-            }
-        }
+            // Do b transforms of size n2
+            transformRows(arrayAccess, n2, b, false, modulus);
+        });
     }
 
     @Override
@@ -161,48 +167,29 @@ public class TwoPassFNTStrategy
     {
         assert (n2 >= n1);
 
-        int maxBlockSize = getMaxMemoryBlockSize(length),   // Maximum memory array size that can be allocated
-            b;
+        int maxBlockSize = getMaxMemoryBlockSize(length);   // Maximum memory array size that can be allocated
 
         if (n1 > maxBlockSize || n2 > maxBlockSize)
         {
             throw new ApfloatInternalException("Not enough memory available to fit one row or column of matrix to memory; n1=" + n1 + ", n2=" + n2 + ", available=" + maxBlockSize, "twoPass.memory", n1, n2, maxBlockSize);
         }
 
-        b = maxBlockSize / n2;
-
-        for (int i = 0; i < n1; i += b)
+        // Read the data in b x n2 blocks
+        transformBlocks(n1, n2, maxBlockSize, (i, b) -> getRows(dataStorage, i, b, n2), (arrayAccess, i, b) ->
         {
-            // Read the data in b x n2 blocks
-            try (ArrayAccess arrayAccess = getRows(dataStorage, i, b, n2))
-            {
-                preTransform(arrayAccess);
-
-                // Do b transforms of size n2
-                transformRows(arrayAccess, n2, b, true, modulus);
-
-                // Multiply each matrix element by w^(i*j) / n
-                multiplyElements(arrayAccess, i, 0, b, n2, length, totalTransformLength, true, modulus);
-
-                postTransform(arrayAccess);
-            }
-        }
+            // Do b transforms of size n2
+            transformRows(arrayAccess, n2, b, true, modulus);
 
-        b = maxBlockSize / n1;
+            // Multiply each matrix element by w^(i*j) / n
+            multiplyElements(arrayAccess, i, 0, b, n2, length, totalTransformLength, true, modulus);
+        });
 
-        for (int i = 0; i < n2; i += b)
+        // Read the data in n1 x b blocks, transposed
+        transformBlocks(n2, n1, maxBlockSize, (i, b) -> getColumns(dataStorage, i, b, n1), (arrayAccess, i, b) ->
         {
-            // Read the data in n1 x b blocks, transposed
-            try (ArrayAccess arrayAccess = getColumns(dataStorage, i, b, n1))
-            {
-                preTransform(arrayAccess);
-
-                // Do b transforms of size n1
-                transformColumns(arrayAccess, n1, b, true, modulus);
-
-                postTransform(arrayAccess);
-            }
-        }
+            // Do b transforms of size n1
+            transformColumns(arrayAccess, n1, b, true, modulus);
+        });
     }
 
     /**
@@ -234,7 +221,7 @@ public class TwoPassFNTStrategy
 
     protected ArrayAccess getRows(DataStorage dataStorage, int startRow, int rows, int columns)
     {
-        return dataStorage.getArray(DataStorage.READ_WRITE, startRow * columns, rows * columns);
+        return dataStorage.getArray(DataStorage.READ_WRITE, (long) startRow * columns, rows * columns);
     }
 
     /**
@@ -296,6 +283,139 @@ public class TwoPassFNTStrategy
         super.stepStrategy.transformRows(arrayAccess, length, count, isInverse, false, modulus);
     }
 
+    private void transformBlocks(int count, int size, int maxBlockSize, BlockReader reader, BlockTransform transform)
+    {
+        int b = maxBlockSize / size,
+            bufferCount = Math.min(ApfloatContext.getContext().getIoBufferCount(), b);
+
+        if (bufferCount > 1 && b < count)
+        {
+            // Split the memory between the buffers
+            transformBlocksOverlapped(count, Util.round2down(b / bufferCount), bufferCount, reader, transform);
+        }
+        else
+        {
+            for (int i = 0; i < count; i += b)
+            {
+                try (ArrayAccess arrayAccess = reader.read(i, b))
+                {
+                    preTransform(arrayAccess);
+
+                    transform.transform(arrayAccess, i, b);
+
+                    postTransform(arrayAccess);
+                }
+            }
+        }
+    }
+
+    private void transformBlocksOverlapped(int count, int b, int bufferCount, BlockReader reader, BlockTransform transform)
+    {
+        // Each I/O task first writes the previously transformed block and then reads the next block, so the number of blocks in memory stays at bufferCount
+        // The I/O tasks are run in order, and each task completes the task before it, so the pending tasks are also the blocks in the order they are read
+        Queue<FutureTask<ArrayAccess>> pendingTasks = new ArrayDeque<>();
+        FutureTask<ArrayAccess> previousTask = null;
+        try
+        {
+            ArrayAccess arrayAccess = reader.read(0, b),
+                        previousArrayAccess = null;
+            for (int i = b; i < count && i < (bufferCount - 1) * b; i += b)
+            {
+                previousTask = submitIO(previousTask, null, reader, i, b);
+                pendingTasks.add(previousTask);
+            }
+            for (int i = 0; i < count; i += b)
+            {
+                if (i > 0)
+                {
+                    arrayAccess = complete(pendingTasks.remove());
+                }
+
+                int next = i + (bufferCount - 1) * b;
+                previousTask = submitIO(previousTask, previousArrayAccess, (next < count ? reader : null), next, b);
+                pendingTasks.add(previousTask);
+
+                preTransform(arrayAccess);
+
+                transform.transform(arrayAccess, i, b);
+
+                postTransform(arrayAccess);
+
+                previousArrayAccess = arrayAccess;
+            }
+            while (!pendingTasks.isEmpty())
+            {
+                complete(pendingTasks.remove());
+            }
+            previousArrayAccess.close();
+        }
+        finally
+        {
+            // In case of failure, do not start any more I/O
+            pendingTasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private static FutureTask<ArrayAccess> submitIO(FutureTask<ArrayAccess> previousTask, ArrayAccess writeArrayAccess, BlockReader reader, int start, int count)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        FutureTask<ArrayAccess> task = new ParallelRunner.NotifyingFutureTask<ArrayAccess>(() ->
+        {
+            // The task may be run in an executor thread so make sure the same context is used
+            ApfloatContext threadCtx = ApfloatContext.getThreadContext();
+            ApfloatContext.setThreadContext(ctx);
+            try
+            {
+                if (previousTask != null)
+                {
+                    complete(previousTask);
+                }
+                if (writeArrayAccess != null)
+                {
+                    writeArrayAccess.close();
+                }
+                return (reader == null ? null : reader.read(start, count));
+            }
+            finally
+            {
+                if (threadCtx != null)
+                {
+                    ApfloatContext.setThreadContext(threadCtx);
+                }
+                else
+                {
+                    ApfloatContext.removeThreadContext();
+                }
+            }
+        });
+        ctx.getExecutorService().execute(task);
+        return task;
+    }
+
+    private static <T> T complete(FutureTask<T> task)
+        throws ApfloatRuntimeException
+    {
+        // Run the task in the current thread if no executor thread has started it yet, otherwise wait for it
+        task.run();
+        ApfloatContext.getContext().wait(task);
+        try
+        {
+            return task.get();
+        }
+        catch (InterruptedException ie)
+        {
+            throw new ApfloatInterruptedException("Waiting for dispatched task to complete was interrupted", ie, "task.interrupted");
+        }
+        catch (ExecutionException ee)
+        {
+            if (ee.getCause() instanceof ApfloatRuntimeException)
+            {
+                throw (ApfloatRuntimeException) ee.getCause();
+            }
+            throw new ApfloatRuntimeException("Task execution failed", ee, "task.error");
+        }
+    }
+
     private int getMaxMemoryBlockSize(long length)
     {
         ApfloatContext ctx = ApfloatContext.getContext();
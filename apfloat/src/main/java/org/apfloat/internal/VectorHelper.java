@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+/**
+ * Helper for loading the implementations that use the vector API of the JDK.<p>
+ *
+ * The implementations are in the Java 17 part of the multi-release jar, and
+ * they can only be loaded if the <code>jdk.incubator.vector</code> module is
+ * present at runtime. The class for an interface <code>XxxVectorMath</code>
+ * is named <code>XxxVectorMathImpl</code>.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class VectorHelper
+{
+    private VectorHelper()
+    {
+    }
+
+    /**
+     * Get the vectorized implementation of an interface.
+     *
+     * @param <T> The type of the implementation.
+     * @param type The interface.
+     *
+     * @return The implementation, or <code>null</code> if it is not available.
+     */
+
+    public static <T> T getInstance(Class<T> type)
+    {
+        try
+        {
+            Class<?> implementationClass = Class.forName(type.getName() + "Impl");
+            return type.cast(implementationClass.getDeclaredConstructor().newInstance());
+        }
+        catch (ReflectiveOperationException | LinkageError | SecurityException e)
+        {
+            // Not Java 17 or later, the vector module is not present, or there is no implementation for the element type
+            return null;
+        }
+    }
+}
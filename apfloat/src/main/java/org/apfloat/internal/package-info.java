@@ -115,7 +115,8 @@ point to the <code>int</code> version, but all four versions have similar classe
 
 <ul>
   <li>Depending on the size, numbers can be stored in memory
-      ({@link org.apfloat.internal.IntMemoryDataStorage}) or on disk
+      ({@link org.apfloat.internal.IntMemoryDataStorage}), in off-heap memory if too big
+      for an array ({@link org.apfloat.internal.IntOffHeapDataStorage}) or on disk
       ({@link org.apfloat.internal.IntDiskDataStorage}).</li>
   <li>Multiplication can be done in an optimized way if one multiplicand
       has size 1 ({@link org.apfloat.internal.IntShortConvolutionStrategy}),
@@ -25,14 +25,18 @@ package org.apfloat.spi;
 
 import java.io.PushbackReader;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.ReadableByteChannel;
 
+import org.apfloat.Apfloat;
 import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.internal.BinaryFormat;
 
 /**
  * An ApfloatBuilder contains factory methods to create
  * new instances of {@link ApfloatImpl} implementations.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -120,4 +124,63 @@ public interface ApfloatBuilder
 
     public ApfloatImpl createApfloat(PushbackReader in, long precision, int radix, boolean isInteger, long initialSize)
         throws IOException, NumberFormatException, ApfloatRuntimeException;
+
+    /**
+     * Create a new integer <code>ApfloatImpl</code> instance from the binary presentation of its magnitude.
+     * The radix must be a power of two so that the bits can be directly converted to the digits of the radix.<p>
+     *
+     * The default implementation creates the number via its string presentation,
+     * which is simple but has <i>O(n<sup>2</sup>)</i> complexity.
+     *
+     * @param signum The sign of the number, -1, 0 or 1.
+     * @param magnitude The absolute value of the number as a big-endian byte array, like in <code>BigInteger.toByteArray()</code>.
+     * @param precision The precision of the number (in digits of the radix).
+     * @param radix The radix in which the number is created. Must be a power of two.
+     *
+     * @return A new <code>ApfloatImpl</code>.
+     *
+     * @exception NumberFormatException If the radix is not valid.
+     *
+     * @since 1.17.0
+     */
+
+    public default ApfloatImpl createApfloat(int signum, byte[] magnitude, long precision, int radix)
+        throws NumberFormatException, ApfloatRuntimeException
+    {
+        if (Integer.bitCount(radix) != 1)
+        {
+            throw new NumberFormatException("Invalid radix " + radix + "; radix must be a power of two");
+        }
+        BigInteger value = (signum == 0 ? BigInteger.ZERO : new BigInteger(signum, magnitude));
+        if (value.signum() == 0)
+        {
+            return createApfloat(0, Apfloat.INFINITE, radix);
+        }
+
+        return createApfloat(value.toString(radix), precision, radix, true);
+    }
+
+    /**
+     * Create a new <code>ApfloatImpl</code> instance reading from a channel in the
+     * binary format written by {@link ApfloatImpl#writeTo(java.nio.channels.WritableByteChannel)}.
+     * The radix and precision of the number are read from the channel.<p>
+     *
+     * The default implementation reads the digits through the string presentation
+     * of the number, so it works for any implementation but is relatively slow.
+     *
+     * @param in The channel to read from.
+     *
+     * @return A new <code>ApfloatImpl</code>.
+     *
+     * @exception IOException If an I/O error occurs accessing the channel.
+     * @exception NumberFormatException If the data is not a valid number.
+     *
+     * @since 1.17.0
+     */
+
+    public default ApfloatImpl createApfloat(ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        return BinaryFormat.createApfloat(this, in);
+    }
 }
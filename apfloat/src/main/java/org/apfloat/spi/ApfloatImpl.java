@@ -27,8 +27,14 @@ import java.io.Serializable;
 import java.io.Reader;
 import java.io.Writer;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.internal.BinaryFormat;
 
 /**
  * Interface for apfloat implementations. An <code>ApfloatImpl</code> implements all of the
@@ -37,7 +43,7 @@ import org.apfloat.ApfloatRuntimeException;
  * A class implementing <code>ApfloatImpl</code> is not required to accept any other <code>ApfloatImpl</code>
  * class as the argument than the same implementing class.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -78,6 +84,52 @@ public interface ApfloatImpl
     public ApfloatImpl multiply(ApfloatImpl x)
         throws ApfloatRuntimeException;
 
+    /**
+     * Subtract the product of this object and an <code>ApfloatImpl</code> from one,
+     * when the product is known to be close to one. This is the case e.g. in
+     * Newton's iteration for the inverse root, and then the known most significant
+     * part of the product does not need to be calculated.<p>
+     *
+     * If the product does not actually match one to the specified number of
+     * digits, the result is still calculated correctly, but possibly slower.<p>
+     *
+     * The default implementation calculates the full product and subtracts it from one.
+     *
+     * @param x The number to be multiplied by this <code>ApfloatImpl</code>.
+     * @param matchingPrecision Number of digits to which <code>this * x</code> is known to be equal to one.
+     *
+     * @return <code>1 - this * x</code>.
+     *
+     * @since 1.17.0
+     */
+
+    public default ApfloatImpl oneMinusMultiply(ApfloatImpl x, long matchingPrecision)
+        throws ApfloatRuntimeException
+    {
+        ApfloatBuilder apfloatBuilder = ApfloatContext.getContext().getBuilderFactory().getApfloatBuilder();
+        ApfloatImpl one = apfloatBuilder.createApfloat(1, Apfloat.INFINITE, radix()),
+                    product = multiply(x);
+        return (product.signum() == 0 ? one : one.addOrSubtract(product, true));
+    }
+
+    /**
+     * Prepare this object for being multiplied repeatedly.
+     * The implementation may e.g. cache intermediate data
+     * related to this number in subsequent multiplications.<p>
+     *
+     * The default implementation just returns this object.
+     *
+     * @return An <code>ApfloatImpl</code> with the same value as this object.
+     *
+     * @since 1.17.0
+     */
+
+    public default ApfloatImpl prepareMultiplicand()
+        throws ApfloatRuntimeException
+    {
+        return this;
+    }
+
     /**
      * Returns if this <code>ApfloatImpl</code> is "short". Typically <code>ApfloatImpl</code>
      * is "short" if its mantissa fits in one machine word. If the apfloat is "short",
@@ -246,6 +298,42 @@ public interface ApfloatImpl
 
     public long longValue();
 
+    /**
+     * Returns the binary presentation of the absolute value of the integer part of this number.
+     * The fractional part and the sign are ignored. The radix of this number must be a power of two,
+     * so that the digits can be directly converted to bits.<p>
+     *
+     * The default implementation converts the integer part via its string presentation,
+     * which is simple but has <i>O(n<sup>2</sup>)</i> complexity.
+     *
+     * @return The magnitude of the integer part of this number as a big-endian byte array, like with <code>BigInteger.toByteArray()</code>. Zero is represented by an array of length zero.
+     *
+     * @exception UnsupportedOperationException If the radix of this number is not a power of two.
+     * @exception IllegalArgumentException If the number is too big to fit in a byte array.
+     *
+     * @since 1.17.0
+     */
+
+    public default byte[] toByteArray()
+        throws UnsupportedOperationException, IllegalArgumentException, ApfloatRuntimeException
+    {
+        int radix = radix();
+        if (Integer.bitCount(radix) != 1)
+        {
+            throw new UnsupportedOperationException("Radix " + radix + " is not a power of two");
+        }
+        ApfloatImpl integerPart = absFloor();
+        if (integerPart.signum() == 0)
+        {
+            return new byte[0];
+        }
+
+        byte[] bytes = new BigInteger(integerPart.toString(true), radix).abs().toByteArray();
+
+        // Remove the sign bit byte, the result is only the magnitude
+        return (bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes);
+    }
+
     /**
      * Tests if this number is equal to 1.
      *
@@ -329,4 +417,26 @@ public interface ApfloatImpl
 
     public void writeTo(Writer out, boolean pretty)
         throws IOException, ApfloatRuntimeException;
+
+    /**
+     * Write this <code>ApfloatImpl</code> to a channel in a binary format.
+     * The number can be read back with {@link ApfloatBuilder#createApfloat(java.nio.channels.ReadableByteChannel)}.<p>
+     *
+     * The default implementation writes the digits through the string presentation
+     * of the number, so it works for any implementation but is relatively slow.
+     *
+     * @param out The channel to write to.
+     *
+     * @exception IOException In case of I/O error writing to the channel.
+     *
+     * @see org.apfloat.Apfloat#writeTo(WritableByteChannel)
+     *
+     * @since 1.17.0
+     */
+
+    public default void writeTo(WritableByteChannel out)
+        throws IOException, ApfloatRuntimeException
+    {
+        BinaryFormat.writeTo(this, out);
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -36,14 +36,20 @@ import org.apfloat.ApfloatRuntimeException;
  *   <li><a href="https://www.apfloat.org/ntt.html" target="_blank">Number-Theoretic Transform (NTT)</a> based convolution, with the <a href="https://www.apfloat.org/crt.html" target="_blank">Chinese Remainder Theorem</a> used</li>
  * </ul>
  *
- * @version 1.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
 public interface ConvolutionStrategy
 {
     /**
-     * Convolutes the two sets of data.
+     * Convolutes the two sets of data.<p>
+     *
+     * If <code>resultSize</code> is less than the full size of the result,
+     * only the most significant elements of the result are needed. The
+     * implementation may then leave out the partial products that only
+     * affect the elements below them, so the last elements of the
+     * result may be missing a carry from the omitted part.
      *
      * @param x First data set.
      * @param y Second data set.
@@ -54,4 +60,33 @@ public interface ConvolutionStrategy
 
     public DataStorage convolute(DataStorage x, DataStorage y, long resultSize)
         throws ApfloatRuntimeException;
+
+    /**
+     * Convolutes the two sets of data, calculating only a middle part of the result.<p>
+     *
+     * The most significant <code>offset</code> elements of the full result are not
+     * calculated, and any carry from the calculated part to them is discarded.
+     * This is useful e.g. in Newton's iteration, where the most significant part
+     * of a product is already known. As with {@link #convolute(DataStorage,DataStorage,long)},
+     * the last elements of the result may be missing a carry from the omitted
+     * least significant part.<p>
+     *
+     * The default implementation calls {@link #convolute(DataStorage,DataStorage,long)}
+     * and returns the requested part of its result.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     * @param offset Number of most significant elements of the full result that are not needed.
+     * @param resultSize Number of elements needed in the result data after <code>offset</code>.
+     *
+     * @return The convolved data, of size <code>resultSize</code>.
+     *
+     * @since 1.17.0
+     */
+
+    public default DataStorage convoluteMiddle(DataStorage x, DataStorage y, long offset, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        return convolute(x, y, offset + resultSize).subsequence(offset, resultSize);
+    }
 }
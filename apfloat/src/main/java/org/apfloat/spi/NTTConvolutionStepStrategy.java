@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,14 +23,19 @@
  */
 package org.apfloat.spi;
 
+import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.internal.DoubleModConstants;
+import org.apfloat.internal.FloatModConstants;
+import org.apfloat.internal.IntModConstants;
+import org.apfloat.internal.LongModConstants;
 
 /**
  * Steps for a three-NTT convolution. This includes element-by-element
  * multiplication and squaring of the transformed data.
  *
  * @since 1.7.0
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -64,4 +69,57 @@ public interface NTTConvolutionStepStrategy
 
     public void squareInPlace(DataStorage sourceAndDestination, int modulus)
         throws ApfloatRuntimeException;
+
+    /**
+     * Linear subtraction in the number theoretic domain.
+     * The operation is <code>sourceAndDestination[i] -= source[i] (mod m)</code>.<p>
+     *
+     * This is used for correcting the elements of a cyclic convolution that
+     * the wrapped around part of the result was added to.<p>
+     *
+     * The default implementation subtracts the elements one by one with
+     * data storage iterators, using the moduli of the element type of the
+     * current context's {@link BuilderFactory}.
+     *
+     * @param sourceAndDestination The first source data storage, which is also the destination.
+     * @param source The second source data storage.
+     * @param modulus Which modulus to use (0, 1, 2)
+     *
+     * @since 1.17.0
+     */
+
+    public default void subtractInPlace(DataStorage sourceAndDestination, DataStorage source, int modulus)
+        throws ApfloatRuntimeException
+    {
+        Class<?> elementType = ApfloatContext.getContext().getBuilderFactory().getElementType();
+        long size = sourceAndDestination.getSize();
+        DataStorage.Iterator dest = sourceAndDestination.iterator(DataStorage.READ_WRITE, 0, size),
+                             src = source.iterator(DataStorage.READ, 0, size);
+
+        for (; size > 0; size--)
+        {
+            if (elementType == Integer.TYPE)
+            {
+                int r = dest.getInt() - src.getInt();
+                dest.setInt(r < 0 ? r + IntModConstants.MODULUS[modulus] : r);
+            }
+            else if (elementType == Long.TYPE)
+            {
+                long r = dest.getLong() - src.getLong();
+                dest.setLong(r < 0 ? r + LongModConstants.MODULUS[modulus] : r);
+            }
+            else if (elementType == Float.TYPE)
+            {
+                float r = dest.getFloat() - src.getFloat();
+                dest.setFloat(r < 0 ? r + FloatModConstants.MODULUS[modulus] : r);
+            }
+            else
+            {
+                double r = dest.getDouble() - src.getDouble();
+                dest.setDouble(r < 0 ? r + DoubleModConstants.MODULUS[modulus] : r);
+            }
+            dest.next();
+            src.next();
+        }
+    }
 }
@@ -0,0 +1,390 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import static org.apfloat.internal.IntModConstants.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized transform loops for the <code>int</code> type.<p>
+ *
+ * The modular multiplication uses a similar algorithm as {@link IntElementaryModMath}:
+ * the approximate quotient is calculated with <code>double</code>s and the remainder
+ * with the lowest 32 bits of the product. The quotient is rounded to nearest with
+ * a magic constant, as the vector conversion from <code>double</code> to integer
+ * types is slow.<p>
+ *
+ * The transform levels are calculated in the same way as in {@link LongVectorMathImpl}.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class IntVectorMathImpl
+    implements IntVectorMath
+{
+    /**
+     * Default constructor.
+     *
+     * @exception UnsupportedOperationException If the platform does not support int vectors efficiently.
+     */
+
+    public IntVectorMathImpl()
+        throws UnsupportedOperationException
+    {
+        if (LANES < 2 || LANES > 8)
+        {
+            throw new UnsupportedOperationException("No vector support");
+        }
+    }
+
+    @Override
+    public void tableFNT(int[] data, int offset, int length, int[] wTable, int modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+
+        if (length < 8 * LANES)
+        {
+            for (int mmax = length >> 1, r = 1; mmax > 0; mmax >>= 1, r <<= 1)
+            {
+                scalarForwardLevel(data, offset, length, mmax, wTable, r, modulus, inverseModulus);
+            }
+            return;
+        }
+
+        int[] levelWTable = getLevelWTable(wTable, length);
+        int levelOffset = 0;
+        for (int mmax = length >> 1; mmax >= LANES; mmax >>= 1)
+        {
+            forwardLevel(data, offset, length, mmax, levelWTable, levelOffset, modulus, inverseModulus);
+            levelOffset += mmax;
+        }
+        for (int mmax = LANES >> 1; mmax > 0; mmax >>= 1)
+        {
+            switch (mmax)
+            {
+                case 1:
+                    forwardSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_1, UPPER_1, modulus, inverseModulus);
+                    break;
+                case 2:
+                    forwardSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_2, UPPER_2, modulus, inverseModulus);
+                    break;
+                default:
+                    forwardSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_4, UPPER_4, modulus, inverseModulus);
+            }
+            levelOffset += LANES;
+        }
+    }
+
+    @Override
+    public void inverseTableFNT(int[] data, int offset, int length, int[] wTable, int modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+
+        if (length < 8 * LANES)
+        {
+            for (int mmax = 1, r = length >> 1; mmax < length; mmax <<= 1, r >>= 1)
+            {
+                scalarInverseLevel(data, offset, length, mmax, wTable, r, modulus, inverseModulus);
+            }
+            return;
+        }
+
+        int[] levelWTable = getLevelWTable(wTable, length);
+        int levelOffset = levelWTable.length;
+        for (int mmax = 1; mmax < LANES; mmax <<= 1)
+        {
+            levelOffset -= LANES;
+            switch (mmax)
+            {
+                case 1:
+                    inverseSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_1, UPPER_1, modulus, inverseModulus);
+                    break;
+                case 2:
+                    inverseSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_2, UPPER_2, modulus, inverseModulus);
+                    break;
+                default:
+                    inverseSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_4, UPPER_4, modulus, inverseModulus);
+            }
+        }
+        for (int mmax = LANES; mmax < length; mmax <<= 1)
+        {
+            levelOffset -= mmax;
+            inverseLevel(data, offset, length, mmax, levelWTable, levelOffset, modulus, inverseModulus);
+        }
+    }
+
+    @Override
+    public void multiplyGeometric(int[] data, int offset, int length, int factor, int ratio, int modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+
+        // The factors are generated to a buffer in chunks, the first vector of the buffer is the last vector of the previous chunk
+        int chunkSize = Math.max(LANES, Math.min(length + LANES - 1 & -LANES, GEOMETRIC_CHUNK_SIZE));
+        int[] factors = new int[LANES + chunkSize];
+        int vectorRatio = 1;
+        for (int i = 0; i < LANES; i++)
+        {
+            factors[LANES + i] = modMultiply(factor, vectorRatio, modulus, inverseModulus);
+            vectorRatio = modMultiply(vectorRatio, ratio, modulus, inverseModulus);
+        }
+        IntVector r = IntVector.broadcast(SPECIES, vectorRatio);
+
+        for (int i = 0; i < length; i += chunkSize)
+        {
+            if (i > 0)
+            {
+                System.arraycopy(factors, chunkSize, factors, 0, LANES);
+            }
+            generateFactors(factors, (i == 0 ? LANES + LANES : LANES), LANES + chunkSize, r, modulus, inverseModulus);
+            multiply(data, offset + i, factors, LANES, Math.min(chunkSize, length - i), modulus);
+        }
+    }
+
+    @Override
+    public void multiply(int[] x, int xOffset, int[] y, int yOffset, int length, int modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+
+        int i = 0;
+        for (; i <= length - LANES; i += LANES)
+        {
+            modMultiply(IntVector.fromArray(SPECIES, x, xOffset + i), IntVector.fromArray(SPECIES, y, yOffset + i), modulus, inverseModulus).intoArray(x, xOffset + i);
+        }
+        for (; i < length; i++)
+        {
+            x[xOffset + i] = modMultiply(x[xOffset + i], y[yOffset + i], modulus, inverseModulus);
+        }
+    }
+
+    private static void generateFactors(int[] factors, int from, int to, IntVector r, int modulus, double inverseModulus)
+    {
+        for (int i = from; i < to; i += LANES)
+        {
+            modMultiply(IntVector.fromArray(SPECIES, factors, i - LANES), r, modulus, inverseModulus).intoArray(factors, i);
+        }
+    }
+
+    // The levels are in separate methods and the modular arithmetic is written out, so that the compiler does not need to inline any more methods after the driver has grown large
+    private static void forwardLevel(int[] data, int offset, int length, int mmax, int[] levelWTable, int levelOffset, int modulus, double inverseModulus)
+    {
+        for (int i = offset; i < offset + length; i += mmax << 1)
+        {
+            for (int m = 0; m < mmax; m += LANES)
+            {
+                IntVector a = IntVector.fromArray(SPECIES, data, i + m),
+                          b = IntVector.fromArray(SPECIES, data, i + m + mmax),
+                          w = IntVector.fromArray(SPECIES, levelWTable, levelOffset + m),
+                          sum = a.sub(b.neg().add(modulus)),
+                          difference = a.sub(b);
+                sum.add(modulus, sum.compare(VectorOperators.LT, 0)).intoArray(data, i + m);
+                difference = difference.add(modulus, difference.compare(VectorOperators.LT, 0));
+                IntVector q = (IntVector) ((DoubleVector) w.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul((DoubleVector) difference.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul(inverseModulus).add(ROUNDING_CONSTANT).reinterpretAsLongs().convertShape(VectorOperators.L2I, SPECIES, 0),
+                          r = w.mul(difference).sub(q.mul(modulus));
+                r.add(modulus, r.compare(VectorOperators.LT, 0)).intoArray(data, i + m + mmax);
+            }
+        }
+    }
+
+    // Each vector contains whole blocks: the lower half of each block is the sum and the upper half is the multiplied difference of the element and its pair
+    private static void forwardSmallLevel(int[] data, int offset, int length, int[] levelWTable, int levelOffset, VectorShuffle<Integer> pairs, VectorMask<Integer> upper, int modulus, double inverseModulus)
+    {
+        IntVector w = IntVector.fromArray(SPECIES, levelWTable, levelOffset);
+        for (int i = offset; i < offset + length; i += LANES)
+        {
+            IntVector x = IntVector.fromArray(SPECIES, data, i),
+                      y = x.rearrange(pairs),
+                      sum = x.sub(y.neg().add(modulus)),
+                      difference = y.sub(x);
+            sum = sum.add(modulus, sum.compare(VectorOperators.LT, 0));
+            difference = difference.add(modulus, difference.compare(VectorOperators.LT, 0));
+            IntVector q = (IntVector) ((DoubleVector) w.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul((DoubleVector) difference.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul(inverseModulus).add(ROUNDING_CONSTANT).reinterpretAsLongs().convertShape(VectorOperators.L2I, SPECIES, 0),
+                      r = w.mul(difference).sub(q.mul(modulus));
+            sum.blend(r.add(modulus, r.compare(VectorOperators.LT, 0)), upper).intoArray(data, i);
+        }
+    }
+
+    private static void inverseLevel(int[] data, int offset, int length, int mmax, int[] levelWTable, int levelOffset, int modulus, double inverseModulus)
+    {
+        for (int i = offset; i < offset + length; i += mmax << 1)
+        {
+            for (int m = 0; m < mmax; m += LANES)
+            {
+                IntVector a = IntVector.fromArray(SPECIES, data, i + m),
+                          b = IntVector.fromArray(SPECIES, data, i + m + mmax),
+                          w = IntVector.fromArray(SPECIES, levelWTable, levelOffset + m);
+                IntVector q = (IntVector) ((DoubleVector) w.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul((DoubleVector) b.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul(inverseModulus).add(ROUNDING_CONSTANT).reinterpretAsLongs().convertShape(VectorOperators.L2I, SPECIES, 0),
+                          r = w.mul(b).sub(q.mul(modulus));
+                b = r.add(modulus, r.compare(VectorOperators.LT, 0));
+                IntVector sum = a.sub(b.neg().add(modulus)),
+                          difference = a.sub(b);
+                difference.add(modulus, difference.compare(VectorOperators.LT, 0)).intoArray(data, i + m + mmax);
+                sum.add(modulus, sum.compare(VectorOperators.LT, 0)).intoArray(data, i + m);
+            }
+        }
+    }
+
+    // The upper half of each block is first multiplied, then the lower half is the sum and the upper half is the difference of the element and its pair
+    private static void inverseSmallLevel(int[] data, int offset, int length, int[] levelWTable, int levelOffset, VectorShuffle<Integer> pairs, VectorMask<Integer> upper, int modulus, double inverseModulus)
+    {
+        IntVector w = IntVector.fromArray(SPECIES, levelWTable, levelOffset);
+        for (int i = offset; i < offset + length; i += LANES)
+        {
+            IntVector x = IntVector.fromArray(SPECIES, data, i);
+            IntVector q = (IntVector) ((DoubleVector) w.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul((DoubleVector) x.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0)).mul(inverseModulus).add(ROUNDING_CONSTANT).reinterpretAsLongs().convertShape(VectorOperators.L2I, SPECIES, 0),
+                      r = w.mul(x).sub(q.mul(modulus));
+            x = r.add(modulus, r.compare(VectorOperators.LT, 0));
+            IntVector y = x.rearrange(pairs),
+                      sum = x.sub(y.neg().add(modulus)),
+                      difference = y.sub(x);
+            sum.add(modulus, sum.compare(VectorOperators.LT, 0)).blend(difference.add(modulus, difference.compare(VectorOperators.LT, 0)), upper).intoArray(data, i);
+        }
+    }
+
+    private static void scalarForwardLevel(int[] data, int offset, int length, int mmax, int[] wTable, int r, int modulus, double inverseModulus)
+    {
+        for (int m = 0, t = 0; m < mmax; m++, t += r)
+        {
+            for (int i = offset + m; i < offset + length; i += mmax << 1)
+            {
+                int j = i + mmax;
+                int a = data[i];
+                int b = data[j];
+                data[i] = modAdd(a, b, modulus);
+                data[j] = modMultiply(wTable[t], modSubtract(a, b, modulus), modulus, inverseModulus);
+            }
+        }
+    }
+
+    private static void scalarInverseLevel(int[] data, int offset, int length, int mmax, int[] wTable, int r, int modulus, double inverseModulus)
+    {
+        for (int m = 0, t = 0; m < mmax; m++, t += r)
+        {
+            for (int i = offset + m; i < offset + length; i += mmax << 1)
+            {
+                int j = i + mmax;
+                int a = data[i];
+                int b = modMultiply(wTable[t], data[j], modulus, inverseModulus);
+                data[j] = modSubtract(a, b, modulus);
+                data[i] = modAdd(a, b, modulus);
+            }
+        }
+    }
+
+    // Powers of w used in each transform level, largest level first; the levels smaller than the vector length have the powers in the upper half of each block in one vector, and ones in the lower half
+    private static int[] getLevelWTable(int[] wTable, int length)
+    {
+        int[] levelWTable = LEVEL_W_TABLES.get(wTable);
+        if (levelWTable == null)
+        {
+            int size = 0;
+            for (int mmax = length >> 1; mmax > 0; mmax >>= 1)
+            {
+                size += Math.max(mmax, LANES);
+            }
+            levelWTable = new int[size];
+            int levelOffset = 0;
+            for (int mmax = length >> 1, r = 1; mmax > 0; mmax >>= 1, r <<= 1)
+            {
+                if (mmax >= LANES)
+                {
+                    for (int m = 0; m < mmax; m++)
+                    {
+                        levelWTable[levelOffset + m] = wTable[m * r];
+                    }
+                }
+                else
+                {
+                    for (int k = 0; k < LANES; k++)
+                    {
+                        levelWTable[levelOffset + k] = ((k & mmax) == 0 ? 1 : wTable[(k & (mmax - 1)) * r]);
+                    }
+                }
+                levelOffset += Math.max(mmax, LANES);
+            }
+            LEVEL_W_TABLES.put(wTable, levelWTable);
+        }
+        return levelWTable;
+    }
+
+    // The quotient rounded to nearest is off by at most one, so the remainder can be calculated with the lowest 32 bits of the products
+    private static IntVector modMultiply(IntVector a, IntVector b, int modulus, double inverseModulus)
+    {
+        DoubleVector da = (DoubleVector) a.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0),
+                     db = (DoubleVector) b.convertShape(VectorOperators.I2D, DOUBLE_SPECIES, 0);
+        IntVector q = (IntVector) da.mul(db).mul(inverseModulus).add(ROUNDING_CONSTANT).reinterpretAsLongs().convertShape(VectorOperators.L2I, SPECIES, 0),
+                  r = a.mul(b).sub(q.mul(modulus));
+
+        return r.add(modulus, r.compare(VectorOperators.LT, 0));
+    }
+
+    private static int modMultiply(int a, int b, int modulus, double inverseModulus)
+    {
+        long r = (long) a * b - (long) ((double) a * (double) b * inverseModulus) * modulus;
+
+        return (int) (r < 0 ? r + modulus : r >= modulus ? r - modulus : r);
+    }
+
+    private static int modAdd(int a, int b, int modulus)
+    {
+        int r = a + b - modulus;
+
+        return (r < 0 ? r + modulus : r);
+    }
+
+    private static int modSubtract(int a, int b, int modulus)
+    {
+        int r = a - b;
+
+        return (r < 0 ? r + modulus : r);
+    }
+
+    // The ints are processed with a species that has the same number of lanes as the preferred double species
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> SPECIES = VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLE_SPECIES.vectorBitSize() / 2));
+    private static final int LANES = SPECIES.length();
+    // Shuffles that swap each element with its pair, and masks for the upper halves of the blocks, for the levels smaller than the vector length
+    private static final VectorShuffle<Integer> PAIRS_1 = VectorShuffle.fromOp(SPECIES, k -> k ^ 1),
+                                                PAIRS_2 = (LANES > 2 ? VectorShuffle.fromOp(SPECIES, k -> k ^ 2) : null),
+                                                PAIRS_4 = (LANES > 4 ? VectorShuffle.fromOp(SPECIES, k -> k ^ 4) : null);
+    private static final VectorMask<Integer> UPPER_1 = VectorMask.fromLong(SPECIES, 0xAAAAAAAAAAAAAAAAL),
+                                             UPPER_2 = VectorMask.fromLong(SPECIES, 0xCCCCCCCCCCCCCCCCL),
+                                             UPPER_4 = VectorMask.fromLong(SPECIES, 0xF0F0F0F0F0F0F0F0L);
+    private static final double ROUNDING_CONSTANT = 0x1.8p52;
+    private static final int GEOMETRIC_CHUNK_SIZE = 1024;
+
+    private static final Map<int[], int[]> LEVEL_W_TABLES = Collections.synchronizedMap(new WeakHashMap<>());
+}
@@ -0,0 +1,422 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import static org.apfloat.internal.LongModConstants.*;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized transform loops for the <code>long</code> type.<p>
+ *
+ * The modular multiplication uses the same algorithm as the Java 8 version of
+ * {@link LongElementaryModMath}: the approximate quotient is calculated with
+ * <code>double</code>s and the remainder with the lowest 64 bits of the product.
+ * Unlike {@link Math#multiplyHigh(long, long)}, all of the operations are
+ * available as lanewise vector operations.<p>
+ *
+ * The butterflies of the transform levels where the distance of the elements
+ * is at least the vector length are calculated between two vectors, the rest
+ * within one vector by permuting the lanes. For each table of powers of the root
+ * of unity, the powers used in each level are copied to a contiguous table.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class LongVectorMathImpl
+    implements LongVectorMath
+{
+    /**
+     * Default constructor.
+     *
+     * @exception UnsupportedOperationException If the platform does not support long vectors efficiently.
+     */
+
+    public LongVectorMathImpl()
+        throws UnsupportedOperationException
+    {
+        if (SPECIES.length() < 2)
+        {
+            throw new UnsupportedOperationException("No vector support");
+        }
+    }
+
+    @Override
+    public void tableFNT(long[] data, int offset, int length, long[] wTable, long modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+        long fixedPointInverseModulus = getFixedPointInverseModulus(modulus);
+
+        if (length < 8 * LANES)
+        {
+            for (int mmax = length >> 1, r = 1; mmax > 0; mmax >>= 1, r <<= 1)
+            {
+                scalarForwardLevel(data, offset, length, mmax, wTable, r, modulus, fixedPointInverseModulus);
+            }
+            return;
+        }
+
+        long[] levelWTable = getLevelWTable(wTable, length);
+        int levelOffset = 0;
+        for (int mmax = length >> 1; mmax >= LANES; mmax >>= 1)
+        {
+            forwardLevel(data, offset, length, mmax, levelWTable, levelOffset, modulus, inverseModulus);
+            levelOffset += mmax;
+        }
+        for (int mmax = LANES >> 1; mmax > 0; mmax >>= 1)
+        {
+            switch (mmax)
+            {
+                case 1:
+                    forwardSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_1, UPPER_1, modulus, inverseModulus);
+                    break;
+                case 2:
+                    forwardSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_2, UPPER_2, modulus, inverseModulus);
+                    break;
+                default:
+                    forwardSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_4, UPPER_4, modulus, inverseModulus);
+            }
+            levelOffset += LANES;
+        }
+    }
+
+    @Override
+    public void inverseTableFNT(long[] data, int offset, int length, long[] wTable, long modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+        long fixedPointInverseModulus = getFixedPointInverseModulus(modulus);
+
+        if (length < 8 * LANES)
+        {
+            for (int mmax = 1, r = length >> 1; mmax < length; mmax <<= 1, r >>= 1)
+            {
+                scalarInverseLevel(data, offset, length, mmax, wTable, r, modulus, fixedPointInverseModulus);
+            }
+            return;
+        }
+
+        long[] levelWTable = getLevelWTable(wTable, length);
+        int levelOffset = levelWTable.length;
+        for (int mmax = 1; mmax < LANES; mmax <<= 1)
+        {
+            levelOffset -= LANES;
+            switch (mmax)
+            {
+                case 1:
+                    inverseSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_1, UPPER_1, modulus, inverseModulus);
+                    break;
+                case 2:
+                    inverseSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_2, UPPER_2, modulus, inverseModulus);
+                    break;
+                default:
+                    inverseSmallLevel(data, offset, length, levelWTable, levelOffset, PAIRS_4, UPPER_4, modulus, inverseModulus);
+            }
+        }
+        for (int mmax = LANES; mmax < length; mmax <<= 1)
+        {
+            levelOffset -= mmax;
+            inverseLevel(data, offset, length, mmax, levelWTable, levelOffset, modulus, inverseModulus);
+        }
+    }
+
+    @Override
+    public void multiplyGeometric(long[] data, int offset, int length, long factor, long ratio, long modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+        long fixedPointInverseModulus = getFixedPointInverseModulus(modulus);
+
+        // The factors are generated to a buffer in chunks, the first vector of the buffer is the last vector of the previous chunk
+        int chunkSize = Math.max(LANES, Math.min(length + LANES - 1 & -LANES, GEOMETRIC_CHUNK_SIZE));
+        long[] factors = new long[LANES + chunkSize];
+        long vectorRatio = 1;
+        for (int i = 0; i < LANES; i++)
+        {
+            factors[LANES + i] = modMultiply(factor, vectorRatio, modulus, fixedPointInverseModulus);
+            vectorRatio = modMultiply(vectorRatio, ratio, modulus, fixedPointInverseModulus);
+        }
+        LongVector r = LongVector.broadcast(SPECIES, vectorRatio);
+
+        for (int i = 0; i < length; i += chunkSize)
+        {
+            if (i > 0)
+            {
+                System.arraycopy(factors, chunkSize, factors, 0, LANES);
+            }
+            generateFactors(factors, (i == 0 ? LANES + LANES : LANES), LANES + chunkSize, r, modulus, inverseModulus);
+            multiply(data, offset + i, factors, LANES, Math.min(chunkSize, length - i), modulus);
+        }
+    }
+
+    @Override
+    public void multiply(long[] x, int xOffset, long[] y, int yOffset, int length, long modulus)
+    {
+        double inverseModulus = 1.0 / modulus;
+        long fixedPointInverseModulus = getFixedPointInverseModulus(modulus);
+
+        int i = 0;
+        for (; i <= length - LANES; i += LANES)
+        {
+            modMultiply(LongVector.fromArray(SPECIES, x, xOffset + i), LongVector.fromArray(SPECIES, y, yOffset + i), modulus, inverseModulus).intoArray(x, xOffset + i);
+        }
+        for (; i < length; i++)
+        {
+            x[xOffset + i] = modMultiply(x[xOffset + i], y[yOffset + i], modulus, fixedPointInverseModulus);
+        }
+    }
+
+    private static void generateFactors(long[] factors, int from, int to, LongVector r, long modulus, double inverseModulus)
+    {
+        for (int i = from; i < to; i += LANES)
+        {
+            modMultiply(LongVector.fromArray(SPECIES, factors, i - LANES), r, modulus, inverseModulus).intoArray(factors, i);
+        }
+    }
+
+    // The levels are in separate methods so that the compiler can inline all vector operations
+    private static void forwardLevel(long[] data, int offset, int length, int mmax, long[] levelWTable, int levelOffset, long modulus, double inverseModulus)
+    {
+        for (int i = offset; i < offset + length; i += mmax << 1)
+        {
+            for (int m = 0; m < mmax; m += LANES)
+            {
+                LongVector a = LongVector.fromArray(SPECIES, data, i + m),
+                           b = LongVector.fromArray(SPECIES, data, i + m + mmax),
+                           w = LongVector.fromArray(SPECIES, levelWTable, levelOffset + m);
+                modAdd(a, b, modulus).intoArray(data, i + m);
+                modMultiply(w, modSubtract(a, b, modulus), modulus, inverseModulus).intoArray(data, i + m + mmax);
+            }
+        }
+    }
+
+    // Each vector contains whole blocks: the lower half of each block is the sum and the upper half is the multiplied difference of the element and its pair
+    private static void forwardSmallLevel(long[] data, int offset, int length, long[] levelWTable, int levelOffset, VectorShuffle<Long> pairs, VectorMask<Long> upper, long modulus, double inverseModulus)
+    {
+        LongVector w = LongVector.fromArray(SPECIES, levelWTable, levelOffset);
+        for (int i = offset; i < offset + length; i += LANES)
+        {
+            LongVector x = LongVector.fromArray(SPECIES, data, i),
+                       y = x.rearrange(pairs);
+            modAdd(x, y, modulus).blend(modMultiply(w, modSubtract(y, x, modulus), modulus, inverseModulus), upper).intoArray(data, i);
+        }
+    }
+
+    // The modular addition and subtraction are written out, as the compiler does not inline any more methods after the large multiplication
+    private static void inverseLevel(long[] data, int offset, int length, int mmax, long[] levelWTable, int levelOffset, long modulus, double inverseModulus)
+    {
+        for (int i = offset; i < offset + length; i += mmax << 1)
+        {
+            for (int m = 0; m < mmax; m += LANES)
+            {
+                LongVector a = LongVector.fromArray(SPECIES, data, i + m),
+                           w = LongVector.fromArray(SPECIES, levelWTable, levelOffset + m),
+                           b = modMultiply(w, LongVector.fromArray(SPECIES, data, i + m + mmax), modulus, inverseModulus);
+                LongVector sum = a.add(b),
+                           difference = a.sub(b);
+                difference.add(modulus, difference.compare(VectorOperators.LT, 0)).intoArray(data, i + m + mmax);
+                sum.sub(modulus, sum.compare(VectorOperators.GE, modulus)).intoArray(data, i + m);
+            }
+        }
+    }
+
+    // The upper half of each block is first multiplied, then the lower half is the sum and the upper half is the difference of the element and its pair
+    private static void inverseSmallLevel(long[] data, int offset, int length, long[] levelWTable, int levelOffset, VectorShuffle<Long> pairs, VectorMask<Long> upper, long modulus, double inverseModulus)
+    {
+        LongVector w = LongVector.fromArray(SPECIES, levelWTable, levelOffset);
+        for (int i = offset; i < offset + length; i += LANES)
+        {
+            LongVector x = modMultiply(w, LongVector.fromArray(SPECIES, data, i), modulus, inverseModulus),
+                       y = x.rearrange(pairs);
+            LongVector sum = x.add(y),
+                       difference = y.sub(x);
+            sum.sub(modulus, sum.compare(VectorOperators.GE, modulus)).blend(difference.add(modulus, difference.compare(VectorOperators.LT, 0)), upper).intoArray(data, i);
+        }
+    }
+
+    private static void scalarForwardLevel(long[] data, int offset, int length, int mmax, long[] wTable, int r, long modulus, long inverseModulus)
+    {
+        for (int m = 0, t = 0; m < mmax; m++, t += r)
+        {
+            for (int i = offset + m; i < offset + length; i += mmax << 1)
+            {
+                int j = i + mmax;
+                long a = data[i];
+                long b = data[j];
+                data[i] = modAdd(a, b, modulus);
+                data[j] = modMultiply(wTable[t], modSubtract(a, b, modulus), modulus, inverseModulus);
+            }
+        }
+    }
+
+    private static void scalarInverseLevel(long[] data, int offset, int length, int mmax, long[] wTable, int r, long modulus, long inverseModulus)
+    {
+        for (int m = 0, t = 0; m < mmax; m++, t += r)
+        {
+            for (int i = offset + m; i < offset + length; i += mmax << 1)
+            {
+                int j = i + mmax;
+                long a = data[i];
+                long b = modMultiply(wTable[t], data[j], modulus, inverseModulus);
+                data[j] = modSubtract(a, b, modulus);
+                data[i] = modAdd(a, b, modulus);
+            }
+        }
+    }
+
+    // Powers of w used in each transform level, largest level first; the levels smaller than the vector length have the powers in the upper half of each block in one vector, and ones in the lower half
+    private static long[] getLevelWTable(long[] wTable, int length)
+    {
+        long[] levelWTable = LEVEL_W_TABLES.get(wTable);
+        if (levelWTable == null)
+        {
+            int size = 0;
+            for (int mmax = length >> 1; mmax > 0; mmax >>= 1)
+            {
+                size += Math.max(mmax, LANES);
+            }
+            levelWTable = new long[size];
+            int levelOffset = 0;
+            for (int mmax = length >> 1, r = 1; mmax > 0; mmax >>= 1, r <<= 1)
+            {
+                if (mmax >= LANES)
+                {
+                    for (int m = 0; m < mmax; m++)
+                    {
+                        levelWTable[levelOffset + m] = wTable[m * r];
+                    }
+                }
+                else
+                {
+                    for (int k = 0; k < LANES; k++)
+                    {
+                        levelWTable[levelOffset + k] = ((k & mmax) == 0 ? 1 : wTable[(k & (mmax - 1)) * r]);
+                    }
+                }
+                levelOffset += Math.max(mmax, LANES);
+            }
+            LEVEL_W_TABLES.put(wTable, levelWTable);
+        }
+        return levelWTable;
+    }
+
+    private static long getFixedPointInverseModulus(long modulus)
+    {
+        for (int i = 0; i < MODULUS.length; i++)
+        {
+            if (modulus == MODULUS[i])
+            {
+                return INVERSE_MODULUS[i];
+            }
+        }
+        throw new IllegalArgumentException("Unsupported modulus " + modulus);
+    }
+
+    // The double to long conversions are done with bit operations as they are much faster than the vector conversion; the operations are all in one method to limit the inlining depth
+    private static LongVector modMultiply(LongVector a, LongVector b, long modulus, double inverseModulus)
+    {
+        DoubleVector da = (DoubleVector) a.convert(VectorOperators.L2D, 0),
+                     db = (DoubleVector) b.convert(VectorOperators.L2D, 0);
+
+        // Same as casting the non-negative approximate quotient to long
+        LongVector bits = da.mul(db).mul(inverseModulus).reinterpretAsLongs(),
+                   exponent = bits.lanewise(VectorOperators.LSHR, 52).sub(1075),
+                   q = bits.and(0xFFFFFFFFFFFFFL).or(0x10000000000000L).lanewise(VectorOperators.LSHL, exponent.max(0)).lanewise(VectorOperators.LSHR, exponent.neg().max(0).min(63)),
+                   r = a.mul(b).sub(q.mul(modulus));
+
+        // Round the small second quotient to nearest, which is fine as the result is corrected to the range from zero to the modulus in the end
+        q = ((DoubleVector) r.convert(VectorOperators.L2D, 0)).mul(inverseModulus).add(ROUNDING_CONSTANT).reinterpretAsLongs().sub(ROUNDING_CONSTANT_BITS);
+        r = r.sub(q.mul(modulus));
+
+        r = r.sub(modulus, r.compare(VectorOperators.GE, modulus));
+        return r.add(modulus, r.compare(VectorOperators.LT, 0));
+    }
+
+    private static LongVector modAdd(LongVector a, LongVector b, long modulus)
+    {
+        LongVector r = a.add(b);
+
+        return r.sub(modulus, r.compare(VectorOperators.GE, modulus));
+    }
+
+    private static LongVector modSubtract(LongVector a, LongVector b, long modulus)
+    {
+        LongVector r = a.sub(b);
+
+        return r.add(modulus, r.compare(VectorOperators.LT, 0));
+    }
+
+    // Same algorithm as in the Java 9 version of LongElementaryModMath
+    private static long modMultiply(long a, long b, long modulus, long inverseModulus)
+    {
+        long tl = a * b,
+             th = Math.multiplyHigh(a, b) << 9 | tl >>> 55;
+        long r1 = tl - Math.multiplyHigh(th, inverseModulus) * modulus,
+             r2 = r1 - modulus;
+
+        return (r2 < 0 ? r1 : r2);
+    }
+
+    private static long modAdd(long a, long b, long modulus)
+    {
+        long r = a + b;
+
+        return (r >= modulus ? r - modulus : r);
+    }
+
+    private static long modSubtract(long a, long b, long modulus)
+    {
+        long r = a - b;
+
+        return (r < 0 ? r + modulus : r);
+    }
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final long[] INVERSE_MODULUS = { BigInteger.ONE.shiftLeft(119).divide(BigInteger.valueOf(MODULUS[0])).longValueExact(),
+                                                    BigInteger.ONE.shiftLeft(119).divide(BigInteger.valueOf(MODULUS[1])).longValueExact(),
+                                                    BigInteger.ONE.shiftLeft(119).divide(BigInteger.valueOf(MODULUS[2])).longValueExact() };
+    // Shuffles that swap each element with its pair, and masks for the upper halves of the blocks, for the levels smaller than the vector length
+    private static final VectorShuffle<Long> PAIRS_1 = VectorShuffle.fromOp(SPECIES, k -> k ^ 1),
+                                             PAIRS_2 = (LANES > 2 ? VectorShuffle.fromOp(SPECIES, k -> k ^ 2) : null),
+                                             PAIRS_4 = (LANES > 4 ? VectorShuffle.fromOp(SPECIES, k -> k ^ 4) : null);
+    private static final VectorMask<Long> UPPER_1 = VectorMask.fromLong(SPECIES, 0xAAAAAAAAAAAAAAAAL),
+                                          UPPER_2 = VectorMask.fromLong(SPECIES, 0xCCCCCCCCCCCCCCCCL),
+                                          UPPER_4 = VectorMask.fromLong(SPECIES, 0xF0F0F0F0F0F0F0F0L);
+    private static final double ROUNDING_CONSTANT = 0x1.8p52;
+    private static final long ROUNDING_CONSTANT_BITS = Double.doubleToRawLongBits(ROUNDING_CONSTANT);
+    private static final int GEOMETRIC_CHUNK_SIZE = 1024;
+
+    private static final Map<long[], long[]> LEVEL_W_TABLES = Collections.synchronizedMap(new WeakHashMap<>());
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+
+import sun.misc.Unsafe;
+
+/**
+ * Releases the mapping of a memory-mapped buffer before it is garbage collected.
+ * Implementation for Java 9 and later, using <code>Unsafe.invokeCleaner</code>.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+class MappedBufferUnmapper
+{
+    private MappedBufferUnmapper()
+    {
+    }
+
+    /**
+     * Unmap the buffer. The buffer must not be accessed any more after this.
+     * If unmapping is not possible, the mapping is released only when the
+     * buffer is garbage collected.
+     *
+     * @param buffer The buffer to unmap.
+     */
+
+    public static void unmap(MappedByteBuffer buffer)
+    {
+        if (MappedBufferUnmapper.unsafe == null)
+        {
+            return;
+        }
+        try
+        {
+            MappedBufferUnmapper.unsafe.invokeCleaner(buffer);
+        }
+        catch (RuntimeException re)
+        {
+            // Ignore, the mapping is released when the buffer is garbage collected
+        }
+    }
+
+    private static Unsafe unsafe;
+
+    static
+    {
+        try
+        {
+            Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            MappedBufferUnmapper.unsafe = (Unsafe) theUnsafe.get(null);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            MappedBufferUnmapper.unsafe = null;
+        }
+    }
+}
@@ -25,6 +25,7 @@ package org.apfloat.internal;
 
 import java.io.PushbackReader;
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
 
 import org.apfloat.ApfloatRuntimeException;
 import org.apfloat.spi.ApfloatBuilder;
@@ -34,7 +35,7 @@ import org.apfloat.spi.ApfloatImpl;
  * Builder class for building {@link ApfloatImpl} implementations with the
  * <code>rawtype</code> data element type.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -83,4 +84,18 @@ public class RawtypeApfloatBuilder
     {
         return new RawtypeApfloatImpl(in, precision, radix, isInteger, initialSize);
     }
+
+    @Override
+    public ApfloatImpl createApfloat(int signum, byte[] magnitude, long precision, int radix)
+        throws NumberFormatException, ApfloatRuntimeException
+    {
+        return new RawtypeApfloatImpl(signum, magnitude, precision, radix);
+    }
+
+    @Override
+    public ApfloatImpl createApfloat(ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        return new RawtypeApfloatImpl(in);
+    }
 }
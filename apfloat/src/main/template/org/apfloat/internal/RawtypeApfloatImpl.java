@@ -23,6 +23,7 @@
  */
 package org.apfloat.internal;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.PushbackReader;
@@ -30,6 +31,10 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -69,7 +74,7 @@ import static org.apfloat.internal.RawtypeRadixConstants.*;
  * This implementation doesn't necessarily store any extra digits for added
  * precision, so the last digit of any operation may be inaccurate.
  *
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -547,6 +552,343 @@ public class RawtypeApfloatImpl
         this.dataStorage.setReadOnly();
     }
 
+    /**
+     * Create a new integer <code>RawtypeApfloatImpl</code> instance from the binary presentation of its magnitude.
+     * The bits are converted directly to the words of the radix, without any intermediate text presentation.
+     *
+     * @param signum The sign of the number, -1, 0 or 1.
+     * @param magnitude The absolute value of the number as a big-endian byte array.
+     * @param precision The precision of the number (in digits of the radix).
+     * @param radix The radix in which the number is created. Must be a power of two.
+     *
+     * @exception NumberFormatException If the radix is not valid.
+     *
+     * @since 1.17.0
+     */
+
+    public RawtypeApfloatImpl(int signum, byte[] magnitude, long precision, int radix)
+        throws NumberFormatException, ApfloatRuntimeException
+    {
+        super(checkBinaryRadix(radix));
+
+        assert (signum == 0 || signum == -1 || signum == 1);
+        assert (precision > 0);
+
+        this.radix = radix;
+
+        // Skip leading zero bytes
+        int start = 0;
+        while (start < magnitude.length && magnitude[start] == 0)
+        {
+            start++;
+        }
+
+        if (signum == 0 || start == magnitude.length)
+        {
+            this.sign = 0;
+            this.precision = Apfloat.INFINITE;
+            this.exponent = 0;
+            this.dataStorage = null;
+            this.isOne = 0;
+
+            return;
+        }
+
+        this.sign = signum;
+        this.precision = precision;
+        this.isOne = (signum == 1 && start == magnitude.length - 1 && magnitude[start] == 1 ? 1 : 0);
+
+        // Number of bits in a digit and in a word; the radix is a power of two so the words are just groups of bits
+        int digitBits = Integer.numberOfTrailingZeros(radix),
+            wordBits = BASE_DIGITS[radix] * digitBits,
+            firstByteBits = 32 - Integer.numberOfLeadingZeros(magnitude[start] & 0xFF);
+        long bits = (long) (magnitude.length - start - 1) * 8 + firstByteBits,
+             size = (bits + wordBits - 1) / wordBits;
+        int firstWordBits = (int) (bits - (size - 1) * wordBits);
+
+        this.exponent = size;
+        this.initialDigits = (firstWordBits + digitBits - 1) / digitBits;
+
+        // Check if precision in rawtypes is less than size; truncate size if so
+        size = Math.min(size, getBasePrecision(precision, this.initialDigits));
+
+        // Remove trailing zero words; they are the words below the lowest set bit
+        int end = magnitude.length - 1;
+        while (magnitude[end] == 0)
+        {
+            end--;
+        }
+        long lowestSetBit = (long) (magnitude.length - 1 - end) * 8 + Integer.numberOfTrailingZeros(magnitude[end]);
+        size = Math.min(size, this.exponent - lowestSetBit / wordBits);
+
+        this.dataStorage = createDataStorage(size);
+        this.dataStorage.setSize(size);
+
+        long nonZeroSize = 0;
+        try (DataStorage.Iterator iterator = this.dataStorage.iterator(DataStorage.WRITE, 0, size))
+        {
+            // Bits are collected from the bytes to the accumulator and then extracted as full words
+            long accumulator = magnitude[start] & 0xFF;
+            int accumulatorBits = firstByteBits,
+                position = start + 1;
+            for (long i = 0, wordSize = firstWordBits; i < size; i++, wordSize = wordBits)
+            {
+                while (accumulatorBits < wordSize)
+                {
+                    accumulator = (accumulator << 8) | (position < magnitude.length ? magnitude[position] & 0xFF : 0);
+                    accumulatorBits += 8;
+                    position++;
+                }
+                accumulatorBits -= wordSize;
+                long word = accumulator >>> accumulatorBits;
+                accumulator &= (1L << accumulatorBits) - 1;
+                iterator.setRawtype((rawtype) word);
+                iterator.next();
+                nonZeroSize = (word == 0 ? nonZeroSize : i + 1);
+            }
+        }
+
+        // The precision may have truncated the data so that it ends with zero words
+        if (nonZeroSize < size)
+        {
+            this.dataStorage.setSize(nonZeroSize);
+        }
+
+        this.dataStorage.setReadOnly();
+    }
+
+    /**
+     * Create a new <code>RawtypeApfloatImpl</code> instance reading from a channel.
+     * The number must have been written with {@link #writeTo(WritableByteChannel)}.
+     * If the number was written with a different element type, the digits are
+     * regrouped to the words of this element type.<p>
+     *
+     * If the channel is a <code>FileChannel</code> and the number is bigger than
+     * the memory threshold of the current {@link ApfloatContext}, the data is not
+     * copied but it is read directly from the file when needed. In this case the
+     * channel must not be closed and the file must not be modified while the number
+     * is in use.
+     *
+     * @param in The channel to read from.
+     *
+     * @exception IOException If an I/O error occurs accessing the channel.
+     * @exception NumberFormatException If the data is not a valid number.
+     *
+     * @since 1.17.0
+     */
+
+    public RawtypeApfloatImpl(ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        this(BinaryFormat.readHeader(in), in);
+    }
+
+    private RawtypeApfloatImpl(BinaryFormat.Header header, ReadableByteChannel in)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        super(header.getRadix());
+
+        this.radix = header.getRadix();
+        this.sign = header.getSign();
+        this.precision = header.getPrecision();
+
+        if (this.sign == 0)
+        {
+            this.exponent = 0;
+            this.dataStorage = null;
+
+            return;
+        }
+
+        if (header.getElementType() == RawType.TYPE)
+        {
+            this.exponent = header.getExponent();
+            this.dataStorage = readData(in, header.getSize());
+        }
+        else
+        {
+            readConvertedData(in, header);
+        }
+
+        // The data must not have leading or trailing zeros
+        long size = this.dataStorage.getSize();
+        if (getWord(0) == 0 || getWord(size - 1) == 0)
+        {
+            throw new NumberFormatException("Invalid data");
+        }
+
+        this.dataStorage.setReadOnly();
+    }
+
+    private static DataStorage readData(ReadableByteChannel in, long size)
+        throws IOException, ApfloatRuntimeException
+    {
+        long byteSize = size * RawType.BYTES;
+
+        if (in instanceof FileChannel)
+        {
+            FileChannel fileChannel = (FileChannel) in;
+            long position = fileChannel.position();
+            if (fileChannel.size() - position < byteSize)
+            {
+                throw new EOFException("Unexpected end of data");
+            }
+
+            ApfloatContext ctx = ApfloatContext.getContext();
+            if (byteSize > ctx.getMemoryThreshold() && position % RawType.BYTES == 0)
+            {
+                // Use the data directly from the file, without copying it
+                fileChannel.position(position + byteSize);
+                return new RawtypeDiskDataStorage(fileChannel).subsequence(position / RawType.BYTES, size);
+            }
+        }
+
+        DataStorage dataStorage = createDataStorage(size);
+        dataStorage.setSize(size);
+
+        if (in instanceof FileChannel && dataStorage instanceof DiskDataStorage)
+        {
+            // Direct transfer between the files
+            ((DiskDataStorage) dataStorage).transferFrom(in, 0, byteSize);
+            return dataStorage;
+        }
+
+        int blockSize = getBlockSize();
+        ByteBuffer buffer = ByteBuffer.allocate(blockSize * RawType.BYTES);
+        for (long offset = 0; offset < size; offset += blockSize)
+        {
+            int length = (int) Math.min(blockSize, size - offset);
+            buffer.clear();
+            buffer.limit(length * RawType.BYTES);
+            BinaryFormat.readFully(in, buffer);
+            buffer.flip();
+            try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.WRITE, offset, length))
+            {
+                buffer.asRawtypeBuffer().get(arrayAccess.getRawtypeData(), arrayAccess.getOffset(), length);
+            }
+        }
+
+        return dataStorage;
+    }
+
+    // Regroups the digits of the words of a different element type to the words of this element type
+    private void readConvertedData(ReadableByteChannel in, BinaryFormat.Header header)
+        throws IOException, NumberFormatException, ApfloatRuntimeException
+    {
+        Class<?> elementType = header.getElementType();
+        int radix = this.radix,
+            fromBaseDigits = BinaryFormat.getBaseDigits(elementType, radix),
+            toBaseDigits = BASE_DIGITS[radix],
+            elementSize = BinaryFormat.getElementSize(elementType),
+            blockSize = Math.max(1, getBlockSize() * RawType.BYTES / elementSize);
+        long fromSize = header.getSize(),
+             fromBase = 1;
+        for (int i = 0; i < fromBaseDigits; i++)
+        {
+            fromBase *= radix;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(blockSize * elementSize);
+        buffer.limit(0);
+
+        int[] digits = new int[fromBaseDigits];
+        int leadingZeros = 0,               // Leading zero digits to skip from the first word
+            digitsInWord = 0;
+        long size = 0,
+             word = 0,
+             nonZeroSize = 0,
+             position = 0;
+        DataStorage.Iterator iterator = null;
+
+        try
+        {
+            for (long i = 0; i < fromSize; i++)
+            {
+                if (!buffer.hasRemaining())
+                {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(blockSize, fromSize - i) * elementSize);
+                    BinaryFormat.readFully(in, buffer);
+                    buffer.flip();
+                }
+
+                long fromWord = BinaryFormat.getWord(buffer, elementType);
+                if (fromWord < 0 || fromWord >= fromBase || i == 0 && fromWord == 0)
+                {
+                    throw new NumberFormatException("Invalid data");
+                }
+                for (int j = fromBaseDigits; --j >= 0; )
+                {
+                    digits[j] = (int) (fromWord % radix);
+                    fromWord /= radix;
+                }
+
+                if (i == 0)
+                {
+                    while (digits[leadingZeros] == 0)
+                    {
+                        leadingZeros++;
+                    }
+
+                    // Exponent in the words of this element type, and the number of zero digits needed to pad the first word
+                    long scale = header.getExponent() * fromBaseDigits - leadingZeros;
+                    this.exponent = Math.floorDiv(scale + toBaseDigits - 1, toBaseDigits);
+                    if (Math.abs(this.exponent) > MAX_EXPONENT[radix])
+                    {
+                        throw new NumberFormatException("Exponent overflow");
+                    }
+                    digitsInWord = (int) (this.exponent * toBaseDigits - scale);
+                    size = (digitsInWord + fromSize * fromBaseDigits - leadingZeros + toBaseDigits - 1) / toBaseDigits;
+
+                    this.dataStorage = createDataStorage(size);
+                    this.dataStorage.setSize(size);
+                    iterator = this.dataStorage.iterator(DataStorage.WRITE, 0, size);
+                }
+
+                for (int j = (i == 0 ? leadingZeros : 0); j < fromBaseDigits; j++)
+                {
+                    word = word * radix + digits[j];
+                    if (++digitsInWord == toBaseDigits)
+                    {
+                        iterator.setRawtype((rawtype) word);
+                        iterator.next();
+                        position++;
+                        nonZeroSize = (word == 0 ? nonZeroSize : position);
+                        word = 0;
+                        digitsInWord = 0;
+                    }
+                }
+            }
+
+            if (digitsInWord > 0)
+            {
+                // Pad the last word with trailing zeros
+                for (; digitsInWord < toBaseDigits; digitsInWord++)
+                {
+                    word *= radix;
+                }
+                iterator.setRawtype((rawtype) word);
+                iterator.next();
+                position++;
+                nonZeroSize = (word == 0 ? nonZeroSize : position);
+            }
+        }
+        finally
+        {
+            if (iterator != null)
+            {
+                iterator.close();
+            }
+        }
+
+        assert (position == size);
+
+        if (nonZeroSize < size)
+        {
+            this.dataStorage.setSize(nonZeroSize);
+        }
+    }
+
     private static long readExponent(PushbackReader in)
         throws IOException, NumberFormatException
     {
@@ -1464,6 +1806,150 @@ public class RawtypeApfloatImpl
         return new RawtypeApfloatImpl(sign, precision, exponent, dataStorage, this.radix);
     }
 
+    @Override
+    public ApfloatImpl oneMinusMultiply(ApfloatImpl x, long matchingPrecision)
+        throws ApfloatRuntimeException
+    {
+        if (!(x instanceof RawtypeApfloatImpl))
+        {
+            throw new ImplementationMismatchException("Wrong operand type: " + x.getClass().getName(), "type.mismatch", x.getClass().getName());
+        }
+
+        RawtypeApfloatImpl that = (RawtypeApfloatImpl) x;
+
+        if (this.radix != that.radix)
+        {
+            throw new RadixMismatchException("Cannot use numbers with different radixes: " + this.radix + " and " + that.radix, "radix.mismatch", this.radix, that.radix);
+        }
+
+        long precision = Math.min(this.precision, that.precision),
+             exponent = this.exponent + that.exponent,
+             matchingSize = matchingPrecision / BASE_DIGITS[this.radix] - 2;       // Words after the one that are all zero or all base - 1, leaving two words to check it
+
+        if (this.sign * that.sign <= 0 || precision == Apfloat.INFINITE || exponent < 1 || matchingSize < 0)
+        {
+            return ApfloatImpl.super.oneMinusMultiply(x, matchingPrecision);
+        }
+
+        long basePrecision = getBasePrecision(precision, 0),                // Round up
+             thisSize = getSize(),
+             thatSize = that.getSize(),
+             size = Math.min(basePrecision + 1, thisSize + thatSize),      // Reserve one extra word for carry
+             thisDataSize = Math.min(thisSize, basePrecision),
+             thatDataSize = Math.min(thatSize, basePrecision),
+             offset = exponent + matchingSize,                              // Position of the first word of the product that is not known
+             resultSize = size - offset;
+
+        if (resultSize <= 2)
+        {
+            // All significant words of the product are known
+            return ApfloatImpl.super.oneMinusMultiply(x, matchingPrecision);
+        }
+
+        DataStorage thisDataStorage = this.dataStorage.subsequence(0, thisDataSize),
+                    thatDataStorage = (this.dataStorage == that.dataStorage ?
+                                       thisDataStorage :
+                                       that.dataStorage.subsequence(0, thatDataSize));
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ConvolutionBuilder convolutionBuilder = ctx.getBuilderFactory().getConvolutionBuilder();
+        ConvolutionStrategy convolutionStrategy = convolutionBuilder.createConvolution(this.radix, thisDataSize, thatDataSize, size);
+
+        DataStorage dataStorage = convolutionStrategy.convoluteMiddle(thisDataStorage, thatDataStorage, offset, resultSize);
+
+        // The product is 1 + d, and the part below the known words is d or 1 - |d| depending on the sign of d
+        rawtype word0,
+                word1,
+                maxWord = BASE[this.radix] - (rawtype) 1;
+        try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.READ, 0, 2))
+        {
+            word0 = arrayAccess.getRawtypeData()[arrayAccess.getOffset()];
+            word1 = arrayAccess.getRawtypeData()[arrayAccess.getOffset() + 1];
+        }
+
+        int sign;
+        if (word0 == 0 && word1 == 0)
+        {
+            // Product is at least one
+            sign = -1;
+        }
+        else if (word0 == maxWord && word1 == maxWord)
+        {
+            // Product is less than one, so the result is the complement of the calculated part
+            sign = 1;
+
+            DataStorage complementDataStorage = createDataStorage(resultSize);
+            complementDataStorage.setSize(resultSize);
+
+            AdditionBuilder<RawType> additionBuilder = ctx.getBuilderFactory().getAdditionBuilder(RawType.TYPE);
+            AdditionStrategy<RawType> additionStrategy = additionBuilder.createAddition(this.radix);
+
+            DataStorage.Iterator src = dataStorage.iterator(DataStorage.READ, resultSize, 0),
+                                 dst = complementDataStorage.iterator(DataStorage.WRITE, resultSize, 0);
+
+            additionStrategy.subtract(null, src, (rawtype) 0, dst, resultSize);
+
+            dataStorage = complementDataStorage;
+        }
+        else
+        {
+            // The product did not match one as expected
+            return ApfloatImpl.super.oneMinusMultiply(x, matchingPrecision);
+        }
+
+        long leadingZeros = getLeadingZeros(dataStorage, 0);
+
+        if (leadingZeros == resultSize)
+        {
+            // Product is exactly one
+            return zero();
+        }
+
+        exponent -= offset + leadingZeros;
+
+        if (exponent < -MAX_EXPONENT[this.radix])
+        {
+            // Underflow
+            return zero();
+        }
+
+        size = resultSize - leadingZeros;
+        dataStorage = dataStorage.subsequence(leadingZeros, size);
+
+        // The least significant digit is the same as in the product, so the number of significant digits decreases with the scale
+        long productScale = (sign < 0 ? 1 : 0),
+             scale = (exponent - 1) * BASE_DIGITS[this.radix] + getInitialDigits(dataStorage);
+        precision -= productScale - scale;
+
+        if (precision <= 0)
+        {
+            // All significant digits were lost
+            return zero();
+        }
+
+        size = Math.min(size, getBasePrecision(precision, getInitialDigits(dataStorage)));
+        size -= getTrailingZeros(dataStorage, size);
+
+        dataStorage = dataStorage.subsequence(0, size);
+
+        dataStorage.setReadOnly();
+
+        return new RawtypeApfloatImpl(sign, precision, exponent, dataStorage, this.radix);
+    }
+
+    @Override
+    public ApfloatImpl prepareMultiplicand()
+        throws ApfloatRuntimeException
+    {
+        if (this.sign != 0)
+        {
+            // The NTT convolution will cache the transforms of the data
+            TransformCache.register(this.dataStorage);
+        }
+
+        return this;
+    }
+
     @Override
     public boolean isShort()
         throws ApfloatRuntimeException
@@ -2079,6 +2565,63 @@ public class RawtypeApfloatImpl
         }
     }
 
+    @Override
+    public byte[] toByteArray()
+        throws UnsupportedOperationException, IllegalArgumentException, ApfloatRuntimeException
+    {
+        if (!isPowerOfTwo(this.radix))
+        {
+            throw new UnsupportedOperationException("Radix " + this.radix + " is not a power of two");
+        }
+        if (this.sign == 0 || this.exponent <= 0)
+        {
+            return new byte[0];
+        }
+
+        int wordBits = BASE_DIGITS[this.radix] * Integer.numberOfTrailingZeros(this.radix),
+            firstWordBits = 64 - Long.numberOfLeadingZeros((long) getMostSignificantWord());
+        long byteCount = ((this.exponent - 1) * wordBits + firstWordBits + 7) >> 3;
+
+        if (byteCount > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Maximum array size exceeded");
+        }
+
+        byte[] bytes = new byte[(int) byteCount];
+
+        // Number of words in integer part of the number; the rest of the integer part is zeros
+        long size = Math.min(this.exponent, getSize());
+
+        try (DataStorage.Iterator iterator = this.dataStorage.iterator(DataStorage.READ, size, 0))
+        {
+            // Words are collected to the accumulator from the least significant end and then extracted as bytes
+            long accumulator = 0;
+            int accumulatorBits = 0,
+                position = bytes.length;
+            for (long i = this.exponent - 1; i >= 0; i--)
+            {
+                if (i < size)
+                {
+                    accumulator |= (long) iterator.getRawtype() << accumulatorBits;
+                    iterator.next();
+                }
+                accumulatorBits += wordBits;
+                while (accumulatorBits >= 8 && position > 0)
+                {
+                    bytes[--position] = (byte) accumulator;
+                    accumulator >>>= 8;
+                    accumulatorBits -= 8;
+                }
+            }
+            if (position > 0)
+            {
+                bytes[--position] = (byte) accumulator;
+            }
+        }
+
+        return bytes;
+    }
+
     @Override
     public boolean isOne()
         throws ApfloatRuntimeException
@@ -2858,6 +3401,61 @@ public class RawtypeApfloatImpl
         writeZeros(out, integerDigits - digitsWritten.get());   // If format is xxxx0000
     }
 
+    /**
+     * Write this number to a channel in a compact binary format.
+     * The data is written as is, so if it is stored on disk and the channel is
+     * a <code>FileChannel</code>, the data is transferred directly between the files.
+     *
+     * @param out The channel to write to.
+     *
+     * @exception IOException If an I/O error occurs accessing the channel.
+     *
+     * @since 1.17.0
+     */
+
+    @Override
+    public void writeTo(WritableByteChannel out)
+        throws IOException, ApfloatRuntimeException
+    {
+        long size = 0;
+        if (this.sign != 0)
+        {
+            // If the precision was reduced, the data may end with zeros
+            size = getSize();
+            while (getWord(size - 1) == 0)
+            {
+                size--;
+            }
+        }
+
+        BinaryFormat.writeHeader(out, new BinaryFormat.Header(RawType.TYPE, this.radix, this.sign, this.exponent, this.precision, size));
+
+        if (size == 0)
+        {
+            return;
+        }
+
+        if (this.dataStorage instanceof DiskDataStorage)
+        {
+            ((DiskDataStorage) this.dataStorage).writeTo(out, 0, size);
+            return;
+        }
+
+        int blockSize = getBlockSize();
+        ByteBuffer buffer = ByteBuffer.allocate(blockSize * RawType.BYTES);
+        for (long offset = 0; offset < size; offset += blockSize)
+        {
+            int length = (int) Math.min(blockSize, size - offset);
+            buffer.clear();
+            try (ArrayAccess arrayAccess = this.dataStorage.getArray(DataStorage.READ, offset, length))
+            {
+                buffer.asRawtypeBuffer().put(arrayAccess.getRawtypeData(), arrayAccess.getOffset(), length);
+            }
+            buffer.limit(length * RawType.BYTES);
+            BinaryFormat.writeFully(out, buffer);
+        }
+    }
+
     private void formatWord(char[] buffer, rawtype word)
     {
         int position = BASE_DIGITS[this.radix];
@@ -2899,6 +3497,22 @@ public class RawtypeApfloatImpl
         return radix;
     }
 
+    private static int checkBinaryRadix(int radix)
+        throws NumberFormatException
+    {
+        if (!isPowerOfTwo(checkRadix(radix)))
+        {
+            throw new NumberFormatException("Invalid radix " + radix + "; radix must be a power of two");
+        }
+
+        return radix;
+    }
+
+    private static boolean isPowerOfTwo(int radix)
+    {
+        return ((radix & (radix - 1)) == 0);
+    }
+
     // Get the most significant word of this number
     private rawtype getMostSignificantWord()
         throws ApfloatRuntimeException
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -39,7 +39,7 @@ import org.apfloat.spi.ExecutionBuilder;
  * Factory class for getting instances of the various builder classes needed
  * to build an <code>ApfloatImpl</code> with the <code>rawtype</code> data element type.
  *
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -138,6 +138,7 @@ public class RawtypeBuilderFactory
     public void shutdown()
         throws ApfloatRuntimeException
     {
+        TransformCache.clear();
         DiskDataStorage.cleanUp();
     }
 
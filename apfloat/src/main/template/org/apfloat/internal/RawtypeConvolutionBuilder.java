@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,6 +23,7 @@
  */
 package org.apfloat.internal;
 
+import org.apfloat.ApfloatContext;
 import org.apfloat.spi.ConvolutionStrategy;
 import org.apfloat.spi.NTTStrategy;
 import static org.apfloat.internal.RawtypeConstants.*;
@@ -30,12 +31,21 @@ import static org.apfloat.internal.RawtypeConstants.*;
 /**
  * Creates convolutions of suitable type for the <code>rawtype</code> type.<p>
  *
+ * The cutoff points and cost factors can be tuned for the host with the
+ * {@link ApfloatContext#KARATSUBA_CUTOFF_POINT}, {@link ApfloatContext#KARATSUBA_COST_FACTOR},
+ * {@link ApfloatContext#TOOM3_CUTOFF_POINT}, {@link ApfloatContext#TOOM3_COST_FACTOR},
+ * {@link ApfloatContext#TOOM4_CUTOFF_POINT}, {@link ApfloatContext#TOOM4_COST_FACTOR}
+ * and {@link ApfloatContext#NTT_COST_FACTOR} properties. If they are not set,
+ * the constants of the <code>rawtype</code> type are used.<p>
+ *
  * @see RawtypeShortConvolutionStrategy
  * @see RawtypeMediumConvolutionStrategy
  * @see RawtypeKaratsubaConvolutionStrategy
+ * @see RawtypeToom3ConvolutionStrategy
+ * @see RawtypeToom4ConvolutionStrategy
  * @see ThreeNTTConvolutionStrategy
  *
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -53,19 +63,43 @@ public class RawtypeConvolutionBuilder
     @Override
     protected int getKaratsubaCutoffPoint()
     {
-        return RawtypeKaratsubaConvolutionStrategy.CUTOFF_POINT;
+        return PropertyHelper.getInt(ApfloatContext.KARATSUBA_CUTOFF_POINT, RawtypeKaratsubaConvolutionStrategy.CUTOFF_POINT);
     }
 
     @Override
     protected float getKaratsubaCostFactor()
     {
-        return KARATSUBA_COST_FACTOR;
+        return PropertyHelper.getFloat(ApfloatContext.KARATSUBA_COST_FACTOR, KARATSUBA_COST_FACTOR);
+    }
+
+    @Override
+    protected int getToom3CutoffPoint()
+    {
+        return PropertyHelper.getInt(ApfloatContext.TOOM3_CUTOFF_POINT, RawtypeToom3ConvolutionStrategy.CUTOFF_POINT);
+    }
+
+    @Override
+    protected float getToom3CostFactor()
+    {
+        return PropertyHelper.getFloat(ApfloatContext.TOOM3_COST_FACTOR, TOOM3_COST_FACTOR);
+    }
+
+    @Override
+    protected int getToom4CutoffPoint()
+    {
+        return PropertyHelper.getInt(ApfloatContext.TOOM4_CUTOFF_POINT, RawtypeToom4ConvolutionStrategy.CUTOFF_POINT);
+    }
+
+    @Override
+    protected float getToom4CostFactor()
+    {
+        return PropertyHelper.getFloat(ApfloatContext.TOOM4_COST_FACTOR, TOOM4_COST_FACTOR);
     }
 
     @Override
     protected float getNTTCostFactor()
     {
-        return NTT_COST_FACTOR;
+        return PropertyHelper.getFloat(ApfloatContext.NTT_COST_FACTOR, NTT_COST_FACTOR);
     }
 
     @Override
@@ -86,6 +120,18 @@ public class RawtypeConvolutionBuilder
         return new RawtypeKaratsubaConvolutionStrategy(radix);
     }
 
+    @Override
+    protected ConvolutionStrategy createToom3ConvolutionStrategy(int radix)
+    {
+        return new RawtypeToom3ConvolutionStrategy(radix);
+    }
+
+    @Override
+    protected ConvolutionStrategy createToom4ConvolutionStrategy(int radix)
+    {
+        return new RawtypeToom4ConvolutionStrategy(radix);
+    }
+
     @Override
     protected ConvolutionStrategy createThreeNTTConvolutionStrategy(int radix, NTTStrategy nttStrategy)
     {
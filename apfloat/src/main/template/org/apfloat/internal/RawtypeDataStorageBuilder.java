@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,12 +28,20 @@ import org.apfloat.ApfloatRuntimeException;
 import org.apfloat.spi.DataStorage;
 
 /**
- * Default data storage creation strategy for the <code>rawtype</code> data type.
+ * Default data storage creation strategy for the <code>rawtype</code> data type.<p>
+ *
+ * Data that fits in memory but not in a Java array is stored in off-heap
+ * memory data storages.<p>
+ *
+ * If the {@link ApfloatContext#FILE_MEMORY_MAPPED} property is set to <code>true</code>
+ * then memory-mapped disk data storages are created instead of normal disk data storages.
  *
  * @see RawtypeMemoryDataStorage
+ * @see RawtypeOffHeapDataStorage
  * @see RawtypeDiskDataStorage
+ * @see RawtypeMappedDiskDataStorage
  *
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -61,6 +69,20 @@ public class RawtypeDataStorageBuilder
         return new RawtypeMemoryDataStorage();
     }
 
+    @Override
+    protected long getMaxOffHeapSize()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        return Math.min(ctx.getMaxMemoryBlockSize(), getMaxDirectMemorySize());
+    }
+
+    @Override
+    protected DataStorage createOffHeapDataStorage()
+        throws ApfloatRuntimeException
+    {
+        return new RawtypeOffHeapDataStorage();
+    }
+
     @Override
     protected DataStorage createNonCachedDataStorage()
         throws ApfloatRuntimeException
@@ -70,6 +92,10 @@ public class RawtypeDataStorageBuilder
         {
             throw new BackingStorageException("Not allowed to use file storage", "file.allow");
         }
+        if (Boolean.parseBoolean(ctx.getProperty(ApfloatContext.FILE_MEMORY_MAPPED)))
+        {
+            return new RawtypeMappedDiskDataStorage();
+        }
         return new RawtypeDiskDataStorage();
     }
 
@@ -77,6 +103,6 @@ public class RawtypeDataStorageBuilder
     protected boolean isCached(DataStorage dataStorage)
         throws ApfloatRuntimeException
     {
-        return (dataStorage instanceof RawtypeMemoryDataStorage);
+        return (dataStorage instanceof RawtypeMemoryDataStorage || dataStorage instanceof RawtypeOffHeapDataStorage);
     }
 }
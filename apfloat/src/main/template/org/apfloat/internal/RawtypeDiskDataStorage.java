@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -25,6 +25,7 @@ package org.apfloat.internal;
 
 import java.nio.ByteBuffer;
 import java.nio.RawtypeBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
@@ -35,7 +36,7 @@ import org.apfloat.spi.ArrayAccess;
 /**
  * Disk-based data storage for the <code>rawtype</code> element type.
  *
- * @version 1.8.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -51,6 +52,21 @@ public class RawtypeDiskDataStorage
     {
     }
 
+    /**
+     * Constructor for accessing existing data in a file.
+     *
+     * @param fileChannel The channel of the file.
+     *
+     * @see DiskDataStorage#DiskDataStorage(FileChannel)
+     *
+     * @since 1.17.0
+     */
+
+    public RawtypeDiskDataStorage(FileChannel fileChannel)
+    {
+        super(fileChannel);
+    }
+
     /**
      * Subsequence constructor.
      *
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,6 +23,9 @@
  */
 package org.apfloat.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
 import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
 import org.apfloat.spi.DataStorageBuilder;
@@ -40,7 +43,7 @@ import org.apfloat.spi.DataStorage;
  * are faster.
  *
  * @since 1.4
- * @version 1.4
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -52,13 +55,15 @@ public class RawtypeKaratsubaConvolutionStrategy
      *
      * Convolutions where the shorter number is at most this long
      * are calculated using the basic O(n<sup>2</sup>) algorithm
-     * i.e. <code>super.convolute()</code>.
+     * i.e. <code>super.convolute()</code>. Can be overridden with the
+     * {@link ApfloatContext#KARATSUBA_CUTOFF_POINT} property.
      */
 
     public static final int CUTOFF_POINT = 15;
 
     /**
      * Creates a convolution strategy using the specified radix.
+     * The cut-off point is read from the {@link ApfloatContext} at this time.
      *
      * @param radix The radix that will be used.
      */
@@ -66,18 +71,25 @@ public class RawtypeKaratsubaConvolutionStrategy
     public RawtypeKaratsubaConvolutionStrategy(int radix)
     {
         super(radix);
+        this.cutoffPoint = getCutoffPoint();
     }
 
     @Override
     public DataStorage convolute(DataStorage x, DataStorage y, long resultSize)
         throws ApfloatRuntimeException
     {
-        if (Math.min(x.getSize(), y.getSize()) <= CUTOFF_POINT)
+        if (Math.min(x.getSize(), y.getSize()) <= this.cutoffPoint)
         {
             // The numbers are too short for Karatsuba to have any advantage, fall back to O(n^2) algorithm
             return super.convolute(x, y, resultSize);
         }
 
+        if (resultSize + SHORT_PRODUCT_GUARD + 1 < x.getSize() + y.getSize())
+        {
+            // Only the most significant words are needed, so leave out the partial products that only affect the rest, like the carry-CRT does
+            return shortConvolute(x, y, resultSize + SHORT_PRODUCT_GUARD).subsequence(0, resultSize);
+        }
+
         DataStorage shortStorage, longStorage;
 
         if (x.getSize() > y.getSize())
@@ -201,6 +213,103 @@ public class RawtypeKaratsubaConvolutionStrategy
         return resultStorage;
     }
 
+    /**
+     * Calculates the high short product of the two sets of data.
+     * The operands are split so that the most significant parts are
+     * multiplied with the full Karatsuba algorithm, and the two remaining
+     * products of the most significant part of one operand and the least
+     * significant part of the other are calculated recursively as short
+     * products. The split point is at about 70% of the needed part, which
+     * is close to the optimum found by Mulders for the Karatsuba algorithm.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     * @param n Number of the most significant elements of the convolution, before carries, that are needed.
+     *
+     * @return The most significant part of the convolved data.
+     *
+     * @since 1.17.0
+     */
+
+    @Override
+    protected DataStorage shortConvolute(DataStorage x, DataStorage y, long n)
+        throws ApfloatRuntimeException
+    {
+        long xSize = x.getSize(),
+             ySize = y.getSize();
+
+        if (n >= xSize + ySize - 1)
+        {
+            // All partial products are needed anyway
+            return convolute(x, y, xSize + ySize);
+        }
+        else if (Math.min(xSize, ySize) <= this.cutoffPoint)
+        {
+            return super.shortConvolute(x, y, n);
+        }
+
+        long splitSize = (n * 7 + 9) / 10,         // Round up, so twice the split size is at least n
+             x1size = Math.min(xSize, splitSize),
+             y1size = Math.min(ySize, splitSize);
+
+        // The most significant parts are multiplied fully; the rest of the needed partial products have i < splitSize and j >= splitSize or vice versa
+        DataStorage a = convolute(x.subsequence(0, x1size), y.subsequence(0, y1size), x1size + y1size),
+                    b = (xSize > splitSize && n > splitSize ? shortConvolute(x.subsequence(splitSize, xSize - splitSize), y.subsequence(0, Math.min(ySize, n - splitSize)), n - splitSize) : null),
+                    c = (ySize > splitSize && n > splitSize ? shortConvolute(x.subsequence(0, Math.min(xSize, n - splitSize)), y.subsequence(splitSize, ySize - splitSize), n - splitSize) : null);
+
+        long aSize = a.getSize(),
+             bSize = (b == null ? 0 : b.getSize()),
+             cSize = (c == null ? 0 : c.getSize()),
+             size = Math.max(aSize, splitSize + Math.max(bSize, cSize));
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        DataStorageBuilder dataStorageBuilder = ctx.getBuilderFactory().getDataStorageBuilder();
+        DataStorage resultStorage = dataStorageBuilder.createDataStorage(size * RawType.BYTES);
+        resultStorage.setSize(size);
+
+        // Copy a to the result, padded with zeros, then add b and c to it at the split point
+        DataStorage.Iterator src = a.iterator(DataStorage.READ, aSize, 0),
+                             dst = resultStorage.iterator(DataStorage.WRITE, size, 0);
+        baseAdd(null, null, (rawtype) 0, dst, size - aSize);
+        baseAdd(src, null, (rawtype) 0, dst, aSize);
+
+        addShifted(resultStorage, b, splitSize);
+        addShifted(resultStorage, c, splitSize);
+
+        return resultStorage;
+    }
+
+    // x1 += x2 * base^(x1size - x2size - offset)
+    private void addShifted(DataStorage x1, DataStorage x2, long offset)
+    {
+        if (x2 != null)
+        {
+            long x2size = x2.getSize();
+
+            DataStorage.Iterator src1 = x1.iterator(DataStorage.READ_WRITE, offset + x2size, 0),
+                                 src2 = x2.iterator(DataStorage.READ, x2size, 0),
+                                 dst = src1;
+
+            rawtype carry = 0;
+            carry = baseAdd(src1, src2, carry, dst, x2size);
+            carry = baseAdd(src1, null, carry, dst, offset);
+
+            assert (carry == 0);
+        }
+    }
+
+    private static int getCutoffPoint()
+    {
+        return PropertyHelper.getInt(ApfloatContext.KARATSUBA_CUTOFF_POINT, CUTOFF_POINT);
+    }
+
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        this.cutoffPoint = getCutoffPoint();
+    }
+
     // Return x1 + x2
     private DataStorage add(DataStorage x1, DataStorage x2)
     {
@@ -263,4 +372,6 @@ public class RawtypeKaratsubaConvolutionStrategy
     }
 
     private static final long serialVersionUID = ${org.apfloat.internal.RawtypeKaratsubaConvolutionStrategy.serialVersionUID};
+
+    private transient int cutoffPoint;
 }
@@ -0,0 +1,302 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.nio.RawtypeBuffer;
+
+import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.DataStorage;
+import org.apfloat.spi.ArrayAccess;
+
+/**
+ * Disk-based data storage for the <code>rawtype</code> element type,
+ * that accesses the file through memory-mapped buffers.<p>
+ *
+ * Iterators access the data directly in the mapped buffers, and array
+ * accesses copy the data directly between the mapped buffers and the arrays,
+ * without any intermediate buffers. The data is not accessed with I/O calls
+ * and no locking is used, so multiple threads can access different parts
+ * of the same data storage concurrently.<p>
+ *
+ * The file format is the same as with {@link RawtypeDiskDataStorage}.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeMappedDiskDataStorage
+    extends RawtypeDiskDataStorage
+{
+    /**
+     * Default constructor.
+     */
+
+    public RawtypeMappedDiskDataStorage()
+        throws ApfloatRuntimeException
+    {
+    }
+
+    /**
+     * Subsequence constructor.
+     *
+     * @param rawtypeMappedDiskDataStorage The originating data storage.
+     * @param offset The subsequence starting position.
+     * @param length The subsequence length.
+     */
+
+    protected RawtypeMappedDiskDataStorage(RawtypeMappedDiskDataStorage rawtypeMappedDiskDataStorage, long offset, long length)
+    {
+        super(rawtypeMappedDiskDataStorage, offset, length);
+    }
+
+    @Override
+    protected DataStorage implSubsequence(long offset, long length)
+        throws ApfloatRuntimeException
+    {
+        return new RawtypeMappedDiskDataStorage(this, offset + getOffset(), length);
+    }
+
+    private class MappedArrayAccess
+        extends RawtypeMemoryArrayAccess
+    {
+        // fileOffset is absolute position in file
+        public MappedArrayAccess(int mode, long fileOffset, int length)
+            throws ApfloatRuntimeException
+        {
+            super(new rawtype[length], 0, length);
+            this.mode = mode;
+            this.fileOffset = fileOffset;
+
+            if ((mode & READ) != 0)
+            {
+                rawtype[] array = getRawtypeData();
+                for (int position = 0, count; position < length; position += count)
+                {
+                    count = getMappedLength(fileOffset + position, length - position);
+                    getMappedRawtypeBuffer(fileOffset + position, count).get(array, position, count);
+                }
+            }
+        }
+
+        @Override
+        public void close()
+            throws ApfloatRuntimeException
+        {
+            if ((this.mode & WRITE) != 0 && getData() != null)
+            {
+                rawtype[] array = getRawtypeData();
+                for (int position = 0, count; position < array.length; position += count)
+                {
+                    count = getMappedLength(this.fileOffset + position, array.length - position);
+                    getMappedRawtypeBuffer(this.fileOffset + position, count).put(array, position, count);
+                }
+            }
+
+            super.close();
+        }
+
+        private static final long serialVersionUID = ${org.apfloat.internal.RawtypeMappedDiskDataStorage$MappedArrayAccess.serialVersionUID};
+
+        private int mode;
+        private long fileOffset;
+    }
+
+    @Override
+    protected ArrayAccess implGetArray(int mode, long offset, int length)
+        throws ApfloatRuntimeException
+    {
+        return new MappedArrayAccess(mode, getOffset() + offset, length);
+    }
+
+    @Override
+    protected ArrayAccess implGetArray(int mode, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        return readArray(mode, startColumn, columns, rows);
+    }
+
+    @Override
+    protected ArrayAccess implGetTransposedArray(int mode, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        return readTransposedArray(mode, startColumn, columns, rows);
+    }
+
+    @Override
+    protected void setArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        writeArray(arrayAccess, startColumn, columns, rows);
+    }
+
+    @Override
+    protected void setTransposedArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        writeTransposedArray(arrayAccess, startColumn, columns, rows);
+    }
+
+    private class MappedIterator
+        extends AbstractIterator
+    {
+        public MappedIterator(int mode, long startPosition, long endPosition)
+            throws IllegalArgumentException, IllegalStateException, ApfloatRuntimeException
+        {
+            super(mode, startPosition, endPosition);
+            this.buffer = null;
+            this.remaining = 0;
+        }
+
+        @Override
+        public void next()
+            throws IllegalStateException, ApfloatRuntimeException
+        {
+            checkLength();
+
+            checkAvailable();
+
+            assert (this.remaining > 0);
+
+            this.offset += getIncrement();
+            this.remaining--;
+
+            if (this.remaining == 0)
+            {
+                close();
+            }
+
+            super.next();
+        }
+
+        @Override
+        public rawtype getRawtype()
+            throws IllegalStateException, ApfloatRuntimeException
+        {
+            checkGet();
+            checkAvailable();
+            return this.buffer.get(this.offset);
+        }
+
+        @Override
+        public void setRawtype(rawtype value)
+            throws IllegalStateException, ApfloatRuntimeException
+        {
+            checkSet();
+            checkAvailable();
+            this.buffer.put(this.offset, value);
+        }
+
+        @Override
+        public <T> T get(Class<T> type)
+            throws UnsupportedOperationException, IllegalStateException
+        {
+            if (!(type.equals(RawType.TYPE)))
+            {
+                throw new UnsupportedOperationException("Unsupported data type " + type.getCanonicalName() + ", the only supported type is rawtype");
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) (RawType) getRawtype();
+            return value;
+        }
+
+        @Override
+        public <T> void set(Class<T> type, T value)
+            throws UnsupportedOperationException, IllegalArgumentException, IllegalStateException
+        {
+            if (!(type.equals(RawType.TYPE)))
+            {
+                throw new UnsupportedOperationException("Unsupported data type " + type.getCanonicalName() + ", the only supported type is rawtype");
+            }
+            if (!(value instanceof RawType))
+            {
+                throw new IllegalArgumentException("Unsupported value type " + value.getClass().getCanonicalName() + ", the only supported type is RawType");
+            }
+            setRawtype((RawType) value);
+        }
+
+        /**
+         * Closes the iterator. This needs to be called only if the
+         * iterator is not iterated to the end.
+         */
+
+        @Override
+        public void close()
+            throws ApfloatRuntimeException
+        {
+            this.buffer = null;
+        }
+
+        private void checkAvailable()
+            throws ApfloatRuntimeException
+        {
+            if (this.buffer == null)
+            {
+                // The data is accessed in place so the block can be large, up to the next mapping boundary
+                boolean isForward = (getIncrement() > 0);
+                long fileOffset = getOffset() + getPosition();
+                int length = (int) Math.min(getLength(), isForward ? MAX_MAPPED_LENGTH - fileOffset % MAX_MAPPED_LENGTH : fileOffset % MAX_MAPPED_LENGTH + 1);
+                long offset = (isForward ? getPosition() : getPosition() - length + 1);
+
+                this.buffer = getMappedRawtypeBuffer(getOffset() + offset, length);
+                this.offset = (isForward ? 0 : length - 1);
+                this.remaining = length;
+            }
+        }
+
+        private static final long serialVersionUID = ${org.apfloat.internal.RawtypeMappedDiskDataStorage$MappedIterator.serialVersionUID};
+
+        private transient RawtypeBuffer buffer;
+        private int offset,
+                    remaining;
+    }
+
+    @Override
+    public Iterator iterator(int mode, long startPosition, long endPosition)
+        throws IllegalArgumentException, IllegalStateException, ApfloatRuntimeException
+    {
+        if ((mode & READ_WRITE) == 0)
+        {
+            throw new IllegalArgumentException("Illegal mode: " + mode);
+        }
+        return new MappedIterator(mode, startPosition, endPosition);
+    }
+
+    // Number of elements that can be accessed at fileOffset without crossing a mapping boundary
+    private static int getMappedLength(long fileOffset, int length)
+    {
+        return (int) Math.min(length, MAX_MAPPED_LENGTH - fileOffset % MAX_MAPPED_LENGTH);
+    }
+
+    // fileOffset is absolute position in file
+    private RawtypeBuffer getMappedRawtypeBuffer(long fileOffset, int length)
+        throws ApfloatRuntimeException
+    {
+        return getMappedBuffer(fileOffset * RawType.BYTES, length * RawType.BYTES).asRawtypeBuffer();
+    }
+
+    private static final int MAX_MAPPED_LENGTH = (1 << 28) / RawType.BYTES;    // Maximum number of elements mapped at a time; the mapped file segments are a multiple of this
+
+    private static final long serialVersionUID = ${org.apfloat.internal.RawtypeMappedDiskDataStorage.serialVersionUID};
+}
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2024 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,6 +23,9 @@
  */
 package org.apfloat.internal;
 
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
 import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
 import org.apfloat.spi.MatrixStrategy;
@@ -31,54 +34,33 @@ import org.apfloat.spi.Util;
 
 /**
  * Optimized matrix transposition methods for the <code>rawtype</code> type.
- * The matrix transposition algorithm isn't parallelized.<p>
- *
- * While the matrix transposition algorithm could easily be parallelized,
- * on an SMP machine it does not make any sense. If the matrix doesn't fit
- * in any processor specific cache then the memory (or higher level
- * shared cache) bandwidth becomes a bottleneck in the algorithm. Matrix
- * transposition is in principle a very simple algorithm - it doesn't do
- * anything else than move data from one place to another. If shared memory
- * is the bottleneck, then the algorithm isn't any faster if the data is being
- * moved around by one thread or by multiple threads in parallel.<p>
+ * Matrices that do not fit in the L2 cache are transposed in parallel.<p>
  *
- * If the data fits in a processor specific cache, then the algorithm could
- * theoretically be made faster with parallelization. To make the parallelization
- * effective however, the data would have to be set up in some kind of a NUMA
- * way. For example, each processor core would hold an equal section of
- * the data in the processor cache. Then the algorithm could be made faster
- * as each processor core could quickly transpose blocks of data that are in the
- * processor cache, and then exchange blocks with other processor cores via the
- * slower higher level shared cache or main memory.<p>
+ * Matrix transposition is in principle a very simple algorithm - it doesn't do
+ * anything else than move data from one place to another. If the matrix doesn't
+ * fit in any processor specific cache then the algorithm is bound by the memory
+ * (or higher level shared cache) bandwidth. On a machine with many processor
+ * cores, a single core can't use all of the available memory bandwidth, so
+ * the transposition is split to multiple threads.<p>
  *
- * This approach doesn't work well in practice however, at least not in a Java
- * program. The reason is that there are no guarantees where the data is when
- * the algorithm starts (in which processor core caches), and further there are
- * no guarantees of any processor affinity for the threads that are executing
- * in parallel. Different processor cores could be executing the transposition
- * of different sections of the data at any moment, depending on how the
- * operating system (and the JVM) schedule thread execution. And more often
- * than not, the operating system isn't smart enough to apply any such processor
- * affinity for the threads.<p>
+ * The matrix is transposed in blocks of size that fits in the L1 cache or in
+ * blocks of the size of the cache burst. One block row is the unit of work of
+ * a thread: it transposes the block on the diagonal and swaps the other blocks
+ * of the row with the corresponding blocks of the column. So different threads
+ * never access the same blocks. The block rows are started in order, from the
+ * longest to the shortest, to balance the load. Similarly, when the rows of
+ * the matrix are permuted, each cycle of the permutation is moved by one thread.<p>
  *
- * An additional problem for any NUMA based attempt is that the data array would
- * have to be aligned on a cache line (e.g. 64 or 128 bytes), to prevent
- * cache contention at the edges of each data section. But a JVM makes no such
- * guarantees about memory alignment. And since pointers do not exist in Java,
- * manually aligning memory addresses isn't possible.<p>
- *
- * Considering all of the above, the parallel algorithm doesn't in practice work
- * any faster than the single-thread algorithm, as the algorithm is bound by the
- * memory bandwidth (or shared cache bandwidth). In some cases parallelization
- * can even make the execution slower due to increased cache contention.
+ * Matrices that fit in the L2 cache are transposed in the calling thread,
+ * as the parallelization overhead would be larger than the benefit.
  *
  * @since 1.7.0
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
 public class RawtypeMatrixStrategy
-    implements MatrixStrategy
+    implements MatrixStrategy, Parallelizable
 {
     /**
      * Default constructor.
@@ -336,14 +318,45 @@ public class RawtypeMatrixStrategy
 
             transposeBlock(data, offset, n2, n1);
         }
-        else if (n1 * n2 <= cacheThreshold)
+        else
         {
-            // Whole matrix fits in L2 cache (but not in L1 cache)
+            // Whole matrix fits in L2 cache (but not in L1 cache): transpose in cache burst size blocks
             // Sometimes the first algorithm (the block above) is faster, if your L2 cache is very fast
+            // Whole matrix doesn't fit in L2 cache: transpose in L1 cache size blocks, in parallel
+            // This algorithm works fastest if L1 cache size is set correctly
+
+            boolean isL2Cached = (n1 * n2 <= cacheThreshold);
+            int b = (isL2Cached ? cacheBurstBlockSize : cacheBlockSize);
+
+            ParallelRunnable parallelRunnable = new ParallelRunnable(n1 / b)
+            {
+                @Override
+                public Runnable getRunnable(int startBlockRow, int blockRows)
+                {
+                    return () -> transposeBlockRows(data, offset, n1, n2, b, startBlockRow, blockRows, isL2Cached);
+                }
+
+                @Override
+                protected long getPreferredBatchSize()
+                {
+                    return 1;   // The block rows have different lengths
+                }
+            };
+
+            run(parallelRunnable, isL2Cached);
+        }
+    }
 
-            int b = cacheBurstBlockSize;
+    // Transpose the specified block rows of a square n1 x n1 block of n1 x n2 matrix in b x b blocks
+    // Block row i swaps the blocks (i, j) and (j, i) for j > i, so different block rows can be transposed in parallel
+    private static void transposeBlockRows(rawtype[] data, int offset, int n1, int n2, int b, int startBlockRow, int blockRows, boolean isL2Cached)
+    {
+        int startI = startBlockRow * b,
+            endI = startI + blockRows * b;
 
-            for (int i = 0, position1 = offset; i < n1; i += b, position1 += b * n2)
+        if (isL2Cached)
+        {
+            for (int i = startI, position1 = offset + i * n2; i < endI; i += b, position1 += b * n2)
             {
                 transposeBlock(data, position1 + i, n2, b);
 
@@ -355,15 +368,10 @@ public class RawtypeMatrixStrategy
         }
         else
         {
-            // Whole matrix doesn't fit in L2 cache
-            // This algorithm works fastest if L1 cache size is set correctly
-
-            int b = cacheBlockSize;
-
             rawtype[] tmp1 = new rawtype[b * b],
                       tmp2 = new rawtype[b * b];
 
-            for (int i = 0, position1 = offset; i < n1; i += b, position1 += b * n2)
+            for (int i = startI, position1 = offset + i * n2; i < endI; i += b, position1 += b * n2)
             {
                 moveBlock(data, position1 + i, n2, tmp1, 0, b, b);
                 transposeBlock(tmp1, 0, b, b);
@@ -392,82 +400,96 @@ public class RawtypeMatrixStrategy
             return;
         }
 
-        int twicen1 = 2 * n1;
-        int halfn2 = n2 / 2;
-        rawtype[] tmp = new rawtype[halfn2];
-        boolean[] isRowDone = new boolean[twicen1];
+        permute(data, offset, 2 * n1, n2 / 2, m -> (m < n1 ? 2 * m : 2 * (m - n1) + 1), n1 * n2);
+    }
 
-        int j = 1;
-        do
+    // Permute the rows of matrix to correct order, to make the n1 x n2 matrix twice as wide (n1/2 x 2*n2)
+    private static void permuteToDoubleWidth(rawtype[] data, int offset, int n1, int n2)
+    {
+        if (n1 < 4)
         {
-            int o = j,
-                m = j;
-
-            System.arraycopy(data, offset + halfn2 * m, tmp, 0, halfn2);
+            return;
+        }
 
-            isRowDone[m] = true;
+        int halfn1 = n1 / 2;
+        permute(data, offset, n1, n2, m -> ((m & 1) != 0 ? m / 2 + halfn1 : m / 2), n1 * n2);
+    }
 
-            m = (m < n1 ? 2 * m : 2 * (m - n1) + 1);
+    // Permute the rows of a matrix so that row next(m) is moved to row m, the first and last row stay in place
+    private static void permute(rawtype[] data, int offset, int rows, int width, IntUnaryOperator next, int size)
+    {
+        // Find the first row of each cycle of the permutation
+        int[] cycleStarts = new int[rows];
+        boolean[] isRowDone = new boolean[rows];
+        int cycles = 0;
 
-            while (m != j)
+        for (int j = 1; j < rows - 1; j++)
+        {
+            if (!isRowDone[j])
             {
-                isRowDone[m] = true;
+                cycleStarts[cycles++] = j;
 
-                System.arraycopy(data, offset + halfn2 * m, data, offset + halfn2 * o, halfn2);
-
-                o = m;
-                m = (m < n1 ? 2 * m : 2 * (m - n1) + 1);
+                int m = j;
+                do
+                {
+                    isRowDone[m] = true;
+                    m = next.applyAsInt(m);
+                } while (m != j);
             }
+        }
 
-            System.arraycopy(tmp, 0, data, offset + halfn2 * o, halfn2);
+        int[] starts = Arrays.copyOf(cycleStarts, cycles);
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        boolean isL2Cached = (size <= Util.round2down(ctx.getCacheL2Size() / 8));
 
-            while (isRowDone[j])
+        ParallelRunnable parallelRunnable = new ParallelRunnable(cycles)
+        {
+            @Override
+            public Runnable getRunnable(int startCycle, int count)
             {
-                j++;
+                return () -> permuteCycles(data, offset, width, next, starts, startCycle, count);
             }
-        } while (j < twicen1 - 1);
+        };
+
+        run(parallelRunnable, isL2Cached);
     }
 
-    // Permute the rows of matrix to correct order, to make the n1 x n2 matrix twice as wide (n1/2 x 2*n2)
-    private static void permuteToDoubleWidth(rawtype[] data, int offset, int n1, int n2)
+    // Move the rows of the specified cycles of the permutation
+    private static void permuteCycles(rawtype[] data, int offset, int width, IntUnaryOperator next, int[] cycleStarts, int startCycle, int cycles)
     {
-        if (n1 < 4)
-        {
-            return;
-        }
+        rawtype[] tmp = new rawtype[width];
 
-        int halfn1 = n1 / 2;
-        rawtype[] tmp = new rawtype[n2];
-        boolean[] isRowDone = new boolean[n1];
-
-        int j = 1;
-        do
+        for (int i = startCycle; i < startCycle + cycles; i++)
         {
-            int o = j,
-                m = j;
-
-            System.arraycopy(data, offset + n2 * m, tmp, 0, n2);
-
-            isRowDone[m] = true;
+            int j = cycleStarts[i],
+                o = j,
+                m = next.applyAsInt(j);
 
-            m = ((m & 1) != 0 ? m / 2 + halfn1 : m / 2);
+            System.arraycopy(data, offset + width * j, tmp, 0, width);
 
             while (m != j)
             {
-                isRowDone[m] = true;
-
-                System.arraycopy(data, offset + n2 * m, data, offset + n2 * o, n2);
+                System.arraycopy(data, offset + width * m, data, offset + width * o, width);
 
                 o = m;
-                m = ((m & 1) != 0 ? m / 2 + halfn1 : m / 2);
+                m = next.applyAsInt(m);
             }
 
-            System.arraycopy(tmp, 0, data, offset + n2 * o, n2);
+            System.arraycopy(tmp, 0, data, offset + width * o, width);
+        }
+    }
 
-            while (isRowDone[j])
-            {
-                j++;
-            }
-        } while (j < n1 - 1);
+    // Run in the calling thread if the data fits in the L2 cache, otherwise in parallel
+    private static void run(ParallelRunnable parallelRunnable, boolean isL2Cached)
+    {
+        if (isL2Cached)
+        {
+            parallelRunnable.run();
+        }
+        else
+        {
+            ParallelRunner.runParallel(parallelRunnable);
+        }
     }
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2024 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -33,7 +33,7 @@ import org.apfloat.spi.DataStorage;
  * Medium-length convolution strategy.
  * Performs a simple O(n<sup>2</sup>) multiplication when the size of one operand is relatively short.
  *
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -42,7 +42,8 @@ public class RawtypeMediumConvolutionStrategy
     implements ConvolutionStrategy
 {
     // Implementation notes:
-    // - Assumes that the operands have been already truncated to match resultSize (the resultSize argument is ignored)
+    // - Assumes that the operands have been already truncated to match resultSize
+    // - If resultSize is clearly less than the full result size, only the partial products that affect the result are calculated
     // - This class probably shouldn't be converted to a single class using generics because there is some performance impact
 
     /**
@@ -60,6 +61,12 @@ public class RawtypeMediumConvolutionStrategy
     public DataStorage convolute(DataStorage x, DataStorage y, long resultSize)
         throws ApfloatRuntimeException
     {
+        if (resultSize + SHORT_PRODUCT_GUARD + 1 < x.getSize() + y.getSize())
+        {
+            // Only the most significant words are needed, so leave out the partial products that only affect the rest, like the carry-CRT does
+            return shortConvolute(x, y, resultSize + SHORT_PRODUCT_GUARD).subsequence(0, resultSize);
+        }
+
         DataStorage shortStorage, longStorage;
 
         if (x.getSize() > y.getSize())
@@ -148,5 +155,81 @@ public class RawtypeMediumConvolutionStrategy
         return resultStorage;
     }
 
+    /**
+     * Calculates the high short product of the two sets of data.
+     * At least all the partial products <code>x[i] * y[j]</code> where
+     * <code>i + j &lt; n</code> are added together, and the rest may be
+     * omitted. The product <code>x[i] * y[j]</code> is added to the result
+     * data as if the full convolution was calculated, so it affects the result
+     * elements up to and including <code>i + j + 1</code>. The result has at
+     * least <code>n + 1</code> elements, and all result elements that any of
+     * the calculated partial products can affect.
+     *
+     * @param x First data set.
+     * @param y Second data set.
+     * @param n Number of the most significant elements of the convolution, before carries, that are needed.
+     *
+     * @return The most significant part of the convolved data.
+     *
+     * @since 1.17.0
+     */
+
+    protected DataStorage shortConvolute(DataStorage x, DataStorage y, long n)
+        throws ApfloatRuntimeException
+    {
+        DataStorage shortStorage, longStorage;
+
+        if (x.getSize() > y.getSize())
+        {
+            shortStorage = y;
+            longStorage = x;
+        }
+        else
+        {
+            shortStorage = x;
+            longStorage = y;
+        }
+
+        long shortSize = shortStorage.getSize(),
+             longSize = longStorage.getSize();
+
+        n = Math.min(n, shortSize + longSize - 1);
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        DataStorageBuilder dataStorageBuilder = ctx.getBuilderFactory().getDataStorageBuilder();
+        DataStorage resultStorage = dataStorageBuilder.createDataStorage((n + 1) * RawType.BYTES);
+        resultStorage.setSize(n + 1);
+
+        // Multiply by one word of the shorter number at a time, starting from the least significant word that is needed,
+        // so the first row sets all the words after it and each following row sets one more word at the top
+        long rows = Math.min(shortSize, n);
+        DataStorage.Iterator factors = shortStorage.iterator(DataStorage.READ, rows, 0);
+
+        for (long i = rows - 1; i >= 0; i--)
+        {
+            long rowSize = Math.min(longSize, n - i);
+            boolean isFirst = (i == rows - 1);
+
+            DataStorage.Iterator src = longStorage.iterator(DataStorage.READ, rowSize, 0),
+                                 dst = resultStorage.iterator(isFirst ? DataStorage.WRITE : DataStorage.READ_WRITE, i + 1 + rowSize, i);
+
+            rawtype factor = factors.getRawtype(),
+                    carry = baseMultiplyAdd(src, isFirst ? null : dst, factor, 0, dst, rowSize);
+
+            dst.setRawtype(carry);
+
+            dst.next();
+            factors.next();
+        }
+
+        return resultStorage;
+    }
+
+    /**
+     * Number of extra convolution elements calculated in a high short product, below the needed result.
+     */
+
+    static final int SHORT_PRODUCT_GUARD = 2;
+
     private static final long serialVersionUID = ${org.apfloat.internal.RawtypeMediumConvolutionStrategy.serialVersionUID};
 }
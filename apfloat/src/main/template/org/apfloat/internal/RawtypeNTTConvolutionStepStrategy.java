@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,7 +23,9 @@
  */
 package org.apfloat.internal;
 
+import org.apfloat.ApfloatContext;
 import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.ArrayAccess;
 import org.apfloat.spi.NTTConvolutionStepStrategy;
 import org.apfloat.spi.DataStorage;
 import static org.apfloat.internal.RawtypeModConstants.*;
@@ -31,15 +33,18 @@ import static org.apfloat.internal.RawtypeModConstants.*;
 /**
  * Steps of a three-NTT convolution for the <code>rawtype</code> type.
  * This class implements the details of the element-by-element multiplication
- * and element-by-element squaring of the transformed elements.<p>
+ * and element-by-element squaring of the transformed elements, and the
+ * element-by-element subtraction used for correcting a wrapped around result.<p>
  *
  * The in-place multiplication and squaring of the data elements is done
- * using a parallel algorithm, if the data fits in memory.<p>
+ * using a parallel algorithm, if the data fits in memory. If the data fits
+ * in memory and the vectorized implementation of {@link RawtypeVectorMath}
+ * is available, it is used.<p>
  *
  * All access to this class must be externally synchronized.
  *
  * @since 1.7.0
- * @version 1.9.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -62,6 +67,22 @@ public class RawtypeNTTConvolutionStepStrategy
         @Override
         public void run()
         {
+            if (VECTOR_MATH != null && this.sourceAndDestination.isCached() && this.source.isCached())
+            {
+                // Multiply the data in blocks that are accessed as arrays
+                int blockSize = getBlockSize();
+                for (long position = this.offset, end = this.offset + this.length; position < end; position += blockSize)
+                {
+                    int length = (int) Math.min(blockSize, end - position);
+                    try (ArrayAccess dest = this.sourceAndDestination.getArray(DataStorage.READ_WRITE, position, length);
+                         ArrayAccess src = this.source.getArray(DataStorage.READ, position, length))
+                    {
+                        VECTOR_MATH.multiply(dest.getRawtypeData(), dest.getOffset(), src.getRawtypeData(), src.getOffset(), length, getModulus());
+                    }
+                }
+                return;
+            }
+
             DataStorage.Iterator dest = this.sourceAndDestination.iterator(DataStorage.READ_WRITE, this.offset, this.offset + this.length),
                                  src = this.source.iterator(DataStorage.READ, this.offset, this.offset + this.length);
 
@@ -95,6 +116,22 @@ public class RawtypeNTTConvolutionStepStrategy
         @Override
         public void run()
         {
+            if (VECTOR_MATH != null && this.sourceAndDestination.isCached())
+            {
+                int blockSize = getBlockSize();
+                for (long position = this.offset, end = this.offset + this.length; position < end; position += blockSize)
+                {
+                    int length = (int) Math.min(blockSize, end - position);
+                    try (ArrayAccess arrayAccess = this.sourceAndDestination.getArray(DataStorage.READ_WRITE, position, length))
+                    {
+                        rawtype[] data = arrayAccess.getRawtypeData();
+                        int offset = arrayAccess.getOffset();
+                        VECTOR_MATH.multiply(data, offset, data, offset, length, getModulus());
+                    }
+                }
+                return;
+            }
+
             DataStorage.Iterator iterator = this.sourceAndDestination.iterator(DataStorage.READ_WRITE, this.offset, this.offset + this.length);
 
             while (this.length > 0)
@@ -160,6 +197,30 @@ public class RawtypeNTTConvolutionStepStrategy
         }
     }
 
+    @Override
+    public void subtractInPlace(DataStorage sourceAndDestination, DataStorage source, int modulus)
+        throws ApfloatRuntimeException
+    {
+        assert (sourceAndDestination != source);
+
+        long size = sourceAndDestination.getSize();
+
+        setModulus(MODULUS[modulus]);
+
+        // The data is only a small part of the transform so it's not worth parallelizing
+        DataStorage.Iterator dest = sourceAndDestination.iterator(DataStorage.READ_WRITE, 0, size),
+                             src = source.iterator(DataStorage.READ, 0, size);
+
+        while (size > 0)
+        {
+            dest.setRawtype(modSubtract(dest.getRawtype(), src.getRawtype()));
+
+            dest.next();
+            src.next();
+            size--;
+        }
+    }
+
     /**
      * Create a ParallelRunnable for multiplying the elements in-place.
      *
@@ -212,4 +273,13 @@ public class RawtypeNTTConvolutionStepStrategy
         };
         return parallelRunnable;
     }
+
+    // Gets I/O block size in rawtypes
+    private static int getBlockSize()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        return ctx.getBlockSize() / RawType.BYTES;
+    }
+
+    private static final RawtypeVectorMath VECTOR_MATH = RawtypeVectorMath.INSTANCE;
 }
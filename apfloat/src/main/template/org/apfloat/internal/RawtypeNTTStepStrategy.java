@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -35,7 +35,7 @@ import static org.apfloat.internal.RawtypeModConstants.*;
  * All access to this class must be externally synchronized.
  *
  * @since 1.7.0
- * @version 1.9.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -109,12 +109,20 @@ public class RawtypeNTTStepStrategy
 
             for (int i = 0; i < this.rows; i++)
             {
-                rawtype factor = rowStartFactor;
-
-                for (int j = 0; j < this.columns; j++, position++)
+                if (VECTOR_MATH != null)
                 {
-                    data[position] = modMultiply(data[position], factor);
-                    factor = modMultiply(factor, rowFactor);
+                    VECTOR_MATH.multiplyGeometric(data, position, this.columns, rowStartFactor, rowFactor, getModulus());
+                    position += this.columns;
+                }
+                else
+                {
+                    rawtype factor = rowStartFactor;
+
+                    for (int j = 0; j < this.columns; j++, position++)
+                    {
+                        data[position] = modMultiply(data[position], factor);
+                        factor = modMultiply(factor, rowFactor);
+                    }
                 }
 
                 rowFactor = modMultiply(rowFactor, this.w);
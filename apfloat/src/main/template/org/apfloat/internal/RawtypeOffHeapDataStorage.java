@@ -0,0 +1,720 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2024 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.RawtypeBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.DataStorage;
+import org.apfloat.spi.ArrayAccess;
+import org.apfloat.spi.MatrixStrategy;
+
+/**
+ * Off-heap memory based data storage implementation for the <code>rawtype</code>
+ * element type.<p>
+ *
+ * The data is stored outside the Java heap in direct buffers of at most 1 GB each,
+ * and it is indexed with a <code>long</code>, so unlike {@link RawtypeMemoryDataStorage}
+ * the size is not limited by the maximum size of a Java array. The memory is released
+ * when the data storage is garbage collected.<p>
+ *
+ * Iterators access the data directly in the buffers. Array accesses copy the
+ * data between the buffers and an array, so unlike with {@link RawtypeMemoryDataStorage}
+ * the data is only updated when the array access is closed. Also the data can
+ * be accessed as blocks of a matrix, in the same way as with disk data storages.
+ *
+ * @see DataStorage#getArray(int,int,int,int)
+ * @see DataStorage#getTransposedArray(int,int,int,int)
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeOffHeapDataStorage
+    extends DataStorage
+{
+    // The segments are shared by subsequences, like the array of a memory data storage
+    private static class Segments
+        implements Serializable
+    {
+        public Segments(long size, int segmentBits)
+        {
+            this.size = size;
+            this.segmentBits = segmentBits;
+            this.isBigEndian = (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+            init(null);
+        }
+
+        // Copies the data from the old segments; full segments of the same size are shared, as the old segments are not used after this
+        public Segments(long size, Segments segments)
+        {
+            this.size = size;
+            this.segmentBits = segments.segmentBits;
+            this.isBigEndian = segments.isBigEndian;
+            init(segments);
+        }
+
+        public long getSize()
+        {
+            return this.size;
+        }
+
+        // Buffer of the whole segment where the position is
+        public RawtypeBuffer getSegment(long position)
+        {
+            return this.data[(int) (position >>> this.segmentBits)];
+        }
+
+        // Index of the position within its segment
+        public int getIndex(long position)
+        {
+            return (int) position & ((1 << this.segmentBits) - 1);
+        }
+
+        public int getSegmentLength()
+        {
+            return 1 << this.segmentBits;
+        }
+
+        public void get(long position, rawtype[] array, int offset, int length)
+        {
+            while (length > 0)
+            {
+                int index = getIndex(position),
+                    count = Math.min(length, getSegmentLength() - index);
+                RawtypeBuffer buffer = getSegment(position).duplicate();
+                buffer.position(index);
+                buffer.get(array, offset, count);
+
+                position += count;
+                offset += count;
+                length -= count;
+            }
+        }
+
+        public void put(long position, rawtype[] array, int offset, int length)
+        {
+            while (length > 0)
+            {
+                int index = getIndex(position),
+                    count = Math.min(length, getSegmentLength() - index);
+                RawtypeBuffer buffer = getSegment(position).duplicate();
+                buffer.position(index);
+                buffer.put(array, offset, count);
+
+                position += count;
+                offset += count;
+                length -= count;
+            }
+        }
+
+        private void init(Segments segments)
+        {
+            long segmentLength = getSegmentLength();
+            int count = (int) ((this.size + segmentLength - 1) >> this.segmentBits);
+            ByteOrder byteOrder = (this.isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+            this.buffers = new ByteBuffer[count];
+            this.data = new RawtypeBuffer[count];
+            for (int i = 0; i < count; i++)
+            {
+                int length = (int) Math.min(segmentLength, this.size - i * segmentLength);
+                if (segments != null && i < segments.buffers.length && segments.data[i].capacity() == length)
+                {
+                    this.buffers[i] = segments.buffers[i];
+                    this.data[i] = segments.data[i];
+                    continue;
+                }
+
+                this.buffers[i] = ByteBuffer.allocateDirect(length * RawType.BYTES).order(byteOrder);
+                this.data[i] = this.buffers[i].asRawtypeBuffer();
+                if (segments != null && i < segments.buffers.length)
+                {
+                    ByteBuffer source = segments.buffers[i].duplicate();
+                    source.limit(Math.min(source.capacity(), this.buffers[i].capacity()));
+                    this.buffers[i].duplicate().put(source);
+                }
+            }
+        }
+
+        // Writes the buffer contents to the serialization stream
+        private void writeObject(ObjectOutputStream out)
+            throws IOException
+        {
+            out.defaultWriteObject();
+
+            WritableByteChannel channel = Channels.newChannel(out);
+            for (ByteBuffer buffer : this.buffers)
+            {
+                buffer = buffer.duplicate();
+                while (buffer.hasRemaining())
+                {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        // Reads the buffer contents from the serialization stream, in the same byte order as they were written
+        private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException
+        {
+            in.defaultReadObject();
+
+            init(null);
+
+            ReadableByteChannel channel = Channels.newChannel(in);
+            for (ByteBuffer buffer : this.buffers)
+            {
+                buffer = buffer.duplicate();
+                while (buffer.hasRemaining())
+                {
+                    if (channel.read(buffer) < 0)
+                    {
+                        throw new EOFException();
+                    }
+                }
+            }
+        }
+
+        private static final long serialVersionUID = ${org.apfloat.internal.RawtypeOffHeapDataStorage$Segments.serialVersionUID};
+
+        private long size;
+        private int segmentBits;
+        private boolean isBigEndian;
+        private transient ByteBuffer[] buffers;
+        private transient RawtypeBuffer[] data;
+    }
+
+    /**
+     * Default constructor.
+     */
+
+    public RawtypeOffHeapDataStorage()
+    {
+        this(SEGMENT_BITS);
+    }
+
+    // For testing the segment boundaries with small data
+    RawtypeOffHeapDataStorage(int segmentBits)
+    {
+        this.segments = new Segments(0, segmentBits);
+    }
+
+    /**
+     * Subsequence constructor.
+     *
+     * @param rawtypeOffHeapDataStorage The originating data storage.
+     * @param offset The subsequence starting position.
+     * @param length The subsequence length.
+     */
+
+    protected RawtypeOffHeapDataStorage(RawtypeOffHeapDataStorage rawtypeOffHeapDataStorage, long offset, long length)
+    {
+        super(rawtypeOffHeapDataStorage, offset, length);
+        this.segments = rawtypeOffHeapDataStorage.segments;
+    }
+
+    @Override
+    public boolean isCached()
+    {
+        return true;
+    }
+
+    @Override
+    protected DataStorage implSubsequence(long offset, long length)
+        throws ApfloatRuntimeException
+    {
+        return new RawtypeOffHeapDataStorage(this, offset + getOffset(), length);
+    }
+
+    @Override
+    protected void implCopyFrom(DataStorage dataStorage, long size)
+        throws ApfloatRuntimeException
+    {
+        assert (size > 0);
+        assert (!isReadOnly());
+        assert (!isSubsequenced());
+
+        if (dataStorage == this)
+        {
+            setSize(size);
+            return;
+        }
+
+        Segments segments = new Segments(size, this.segments.segmentBits);
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        long readSize = Math.min(size, dataStorage.getSize()),
+             position = 0;
+        int bufferSize = ctx.getBlockSize() / RawType.BYTES;
+
+        while (readSize > 0)
+        {
+            int length = (int) Math.min(bufferSize, readSize);
+
+            try (ArrayAccess arrayAccess = dataStorage.getArray(READ, position, length))
+            {
+                segments.put(position, arrayAccess.getRawtypeData(), arrayAccess.getOffset(), length);
+            }
+
+            readSize -= length;
+            position += length;
+        }
+
+        this.segments = segments;
+    }
+
+    @Override
+    protected long implGetSize()
+    {
+        return this.segments.getSize();
+    }
+
+    @Override
+    protected void implSetSize(long size)
+        throws ApfloatRuntimeException
+    {
+        assert (size > 0);
+        assert (!isReadOnly());
+        assert (!isSubsequenced());
+
+        if (size == this.segments.getSize())
+        {
+            return;
+        }
+
+        this.segments = new Segments(size, this.segments);
+    }
+
+    private class OffHeapArrayAccess
+        extends RawtypeMemoryArrayAccess
+    {
+        // position is absolute position in the segments
+        public OffHeapArrayAccess(int mode, long position, int length)
+        {
+            super(new rawtype[length], 0, length);
+            this.mode = mode;
+            this.position = position;
+
+            if ((mode & READ) != 0)
+            {
+                RawtypeOffHeapDataStorage.this.segments.get(position, getRawtypeData(), 0, length);
+            }
+        }
+
+        @Override
+        public void close()
+            throws ApfloatRuntimeException
+        {
+            if ((this.mode & WRITE) != 0 && getData() != null)
+            {
+                RawtypeOffHeapDataStorage.this.segments.put(this.position, getRawtypeData(), 0, getLength());
+            }
+            super.close();
+        }
+
+        private static final long serialVersionUID = ${org.apfloat.internal.RawtypeOffHeapDataStorage$OffHeapArrayAccess.serialVersionUID};
+
+        private int mode;
+        private long position;
+    }
+
+    @Override
+    protected ArrayAccess implGetArray(int mode, long offset, int length)
+        throws ApfloatRuntimeException
+    {
+        return new OffHeapArrayAccess(mode, getOffset() + offset, length);
+    }
+
+    private class MatrixArrayAccess
+        extends RawtypeMemoryArrayAccess
+    {
+        public MatrixArrayAccess(int mode, int startColumn, int columns, int rows, boolean isTransposed)
+        {
+            super(new rawtype[columns * rows], 0, columns * rows);
+            this.mode = mode;
+            this.startColumn = startColumn;
+            this.columns = columns;
+            this.rows = rows;
+            this.isTransposed = isTransposed;
+        }
+
+        @Override
+        public void close()
+            throws ApfloatRuntimeException
+        {
+            if ((this.mode & WRITE) != 0 && getData() != null)
+            {
+                if (this.isTransposed)
+                {
+                    writeTransposedArray(this, this.startColumn, this.columns, this.rows);
+                }
+                else
+                {
+                    writeArray(this, this.startColumn, this.columns, this.rows);
+                }
+            }
+            super.close();
+        }
+
+        private static final long serialVersionUID = ${org.apfloat.internal.RawtypeOffHeapDataStorage$MatrixArrayAccess.serialVersionUID};
+
+        private int mode,
+                    startColumn,
+                    columns,
+                    rows;
+        private boolean isTransposed;
+    }
+
+    @Override
+    protected ArrayAccess implGetArray(int mode, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        long width = checkMatrix(startColumn, columns, rows);
+
+        MatrixArrayAccess arrayAccess = new MatrixArrayAccess(mode, startColumn, columns, rows, false);
+
+        if ((mode & READ) != 0)
+        {
+            rawtype[] data = arrayAccess.getRawtypeData();
+            long readPosition = getOffset() + startColumn;
+            int writePosition = 0;
+            for (int i = 0; i < rows; i++)
+            {
+                this.segments.get(readPosition, data, writePosition, columns);
+
+                readPosition += width;
+                writePosition += columns;
+            }
+        }
+
+        return arrayAccess;
+    }
+
+    @Override
+    protected ArrayAccess implGetTransposedArray(int mode, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        long width = checkMatrix(startColumn, columns, rows);
+
+        MatrixArrayAccess arrayAccess = new MatrixArrayAccess(mode, startColumn, columns, rows, true);
+
+        if ((mode & READ) != 0)
+        {
+            // Read the data in b x b blocks and transpose them, in the same way as a disk data storage
+            rawtype[] data = arrayAccess.getRawtypeData();
+            int blockSize = columns * rows,
+                b = Math.min(columns, rows);
+            MatrixStrategy matrixStrategy = getMatrixStrategy();
+
+            if (columns < rows)
+            {
+                // Taller than wide section
+                long readPosition = getOffset() + startColumn;
+                for (int i = 0; i < rows; i += b)
+                {
+                    int writePosition = i;
+
+                    for (int j = 0; j < b; j++)
+                    {
+                        this.segments.get(readPosition, data, writePosition, b);
+
+                        readPosition += width;
+                        writePosition += rows;
+                    }
+
+                    // Transpose the b x b block
+
+                    ArrayAccess subArrayAccess = arrayAccess.subsequence(i, blockSize - i);
+                    matrixStrategy.transposeSquare(subArrayAccess, b, rows);
+                }
+            }
+            else
+            {
+                // Wider than tall section
+                for (int i = 0; i < b; i++)
+                {
+                    long readPosition = getOffset() + startColumn + i * width;
+                    int writePosition = i * b;
+
+                    for (int j = 0; j < columns; j += b)
+                    {
+                        this.segments.get(readPosition, data, writePosition, b);
+
+                        readPosition += b;
+                        writePosition += b * b;
+                    }
+                }
+
+                for (int i = 0; i < blockSize; i += b * b)
+                {
+                    // Transpose the b x b block
+
+                    ArrayAccess subArrayAccess = arrayAccess.subsequence(i, blockSize - i);
+                    matrixStrategy.transposeSquare(subArrayAccess, b, b);
+                }
+            }
+        }
+
+        return arrayAccess;
+    }
+
+    private void writeArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        long width = getSize() / rows;
+
+        rawtype[] data = arrayAccess.getRawtypeData();
+        int readPosition = 0;
+        long writePosition = getOffset() + startColumn;
+        for (int i = 0; i < rows; i++)
+        {
+            this.segments.put(writePosition, data, readPosition, columns);
+
+            readPosition += columns;
+            writePosition += width;
+        }
+    }
+
+    private void writeTransposedArray(ArrayAccess arrayAccess, int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        long width = getSize() / rows;
+
+        rawtype[] data = arrayAccess.getRawtypeData();
+        int blockSize = columns * rows,
+            b = Math.min(columns, rows);
+        MatrixStrategy matrixStrategy = getMatrixStrategy();
+
+        if (columns < rows)
+        {
+            // Taller than wide section
+            long writePosition = getOffset() + startColumn;
+            for (int i = 0; i < rows; i += b)
+            {
+                int readPosition = i;
+
+                // Transpose the b x b block
+
+                ArrayAccess subArrayAccess = arrayAccess.subsequence(i, blockSize - i);
+                matrixStrategy.transposeSquare(subArrayAccess, b, rows);
+
+                for (int j = 0; j < b; j++)
+                {
+                    this.segments.put(writePosition, data, readPosition, b);
+
+                    readPosition += rows;
+                    writePosition += width;
+                }
+            }
+        }
+        else
+        {
+            // Wider than tall section
+            for (int i = 0; i < blockSize; i += b * b)
+            {
+                // Transpose the b x b block
+
+                ArrayAccess subArrayAccess = arrayAccess.subsequence(i, blockSize - i);
+                matrixStrategy.transposeSquare(subArrayAccess, b, b);
+            }
+
+            for (int i = 0; i < b; i++)
+            {
+                long writePosition = getOffset() + startColumn + i * width;
+                int readPosition = i * b;
+
+                for (int j = 0; j < columns; j += b)
+                {
+                    this.segments.put(writePosition, data, readPosition, b);
+
+                    readPosition += b * b;
+                    writePosition += b;
+                }
+            }
+        }
+    }
+
+    // Returns the width of the matrix
+    private long checkMatrix(int startColumn, int columns, int rows)
+        throws ApfloatRuntimeException
+    {
+        long width = getSize() / rows;
+
+        if (columns != (columns & -columns) || rows != (rows & -rows) || startColumn + columns > width)
+        {
+            throw new ApfloatInternalException("Invalid size", "size.error");
+        }
+
+        return width;
+    }
+
+    private static MatrixStrategy getMatrixStrategy()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        return ctx.getBuilderFactory().getMatrixBuilder().createMatrix();
+    }
+
+    private class OffHeapIterator
+        extends AbstractIterator
+    {
+        public OffHeapIterator(int mode, long startPosition, long endPosition)
+            throws IllegalArgumentException, IllegalStateException, ApfloatRuntimeException
+        {
+            super(mode, startPosition, endPosition);
+            this.buffer = null;
+            this.remaining = 0;
+        }
+
+        @Override
+        public void next()
+            throws IllegalStateException, ApfloatRuntimeException
+        {
+            checkLength();
+
+            checkAvailable();
+
+            assert (this.remaining > 0);
+
+            this.index += getIncrement();
+            this.remaining--;
+
+            if (this.remaining == 0)
+            {
+                close();
+            }
+
+            super.next();
+        }
+
+        @Override
+        public rawtype getRawtype()
+            throws IllegalStateException, ApfloatRuntimeException
+        {
+            checkGet();
+            checkAvailable();
+            return this.buffer.get(this.index);
+        }
+
+        @Override
+        public void setRawtype(rawtype value)
+            throws IllegalStateException, ApfloatRuntimeException
+        {
+            checkSet();
+            checkAvailable();
+            this.buffer.put(this.index, value);
+        }
+
+        @Override
+        public <T> T get(Class<T> type)
+            throws UnsupportedOperationException, IllegalStateException
+        {
+            if (!(type.equals(RawType.TYPE)))
+            {
+                throw new UnsupportedOperationException("Unsupported data type " + type.getCanonicalName() + ", the only supported type is rawtype");
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) (RawType) getRawtype();
+            return value;
+        }
+
+        @Override
+        public <T> void set(Class<T> type, T value)
+            throws UnsupportedOperationException, IllegalArgumentException, IllegalStateException
+        {
+            if (!(type.equals(RawType.TYPE)))
+            {
+                throw new UnsupportedOperationException("Unsupported data type " + type.getCanonicalName() + ", the only supported type is rawtype");
+            }
+            if (!(value instanceof RawType))
+            {
+                throw new IllegalArgumentException("Unsupported value type " + value.getClass().getCanonicalName() + ", the only supported type is RawType");
+            }
+            setRawtype((RawType) value);
+        }
+
+        /**
+         * Closes the iterator. This needs to be called only if the
+         * iterator is not iterated to the end.
+         */
+
+        @Override
+        public void close()
+            throws ApfloatRuntimeException
+        {
+            this.buffer = null;
+        }
+
+        private void checkAvailable()
+            throws ApfloatRuntimeException
+        {
+            if (this.buffer == null)
+            {
+                // Access the segment where the current position is, up to its start or end
+                Segments segments = RawtypeOffHeapDataStorage.this.segments;
+                long position = getOffset() + getPosition();
+                int index = segments.getIndex(position);
+
+                this.buffer = segments.getSegment(position);
+                this.index = index;
+                this.remaining = (int) Math.min(getLength(), getIncrement() > 0 ? segments.getSegmentLength() - index : index + 1);
+            }
+        }
+
+        private static final long serialVersionUID = ${org.apfloat.internal.RawtypeOffHeapDataStorage$OffHeapIterator.serialVersionUID};
+
+        private transient RawtypeBuffer buffer;
+        private int index,
+                    remaining;
+    }
+
+    @Override
+    public Iterator iterator(int mode, long startPosition, long endPosition)
+        throws IllegalArgumentException, IllegalStateException, ApfloatRuntimeException
+    {
+        if ((mode & READ_WRITE) == 0)
+        {
+            throw new IllegalArgumentException("Illegal mode: " + mode);
+        }
+        return new OffHeapIterator(mode, startPosition, endPosition);
+    }
+
+    private static final int SEGMENT_BITS = 30 - Integer.numberOfTrailingZeros(RawType.BYTES);  // Segments are 1 GB
+
+    private static final long serialVersionUID = ${org.apfloat.internal.RawtypeOffHeapDataStorage.serialVersionUID};
+
+    private Segments segments;
+}
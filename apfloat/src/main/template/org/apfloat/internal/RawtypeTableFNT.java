@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,10 +30,12 @@ import org.apfloat.spi.ArrayAccess;
  * Fast Number Theoretic Transform that uses lookup tables
  * for powers of n:th root of unity and permutation indexes.<p>
  *
+ * If available, the vectorized implementation of {@link RawtypeVectorMath} is used.<p>
+ *
  * All access to this class must be externally synchronized.
  *
  * @since 1.7.0
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -74,39 +76,46 @@ public class RawtypeTableFNT
             return;
         }
 
-        r = 1;
-        mmax = nn >> 1;
-        while (mmax > 0)
+        if (VECTOR_MATH != null)
         {
-            istep = mmax << 1;
-
-            // Optimize first step when wr = 1
-
-            for (int i = offset; i < offset + nn; i += istep)
+            VECTOR_MATH.tableFNT(data, offset, nn, wTable, getModulus());
+        }
+        else
+        {
+            r = 1;
+            mmax = nn >> 1;
+            while (mmax > 0)
             {
-                int j = i + mmax;
-                rawtype a = data[i];
-                rawtype b = data[j];
-                data[i] = modAdd(a, b);
-                data[j] = modSubtract(a, b);
-            }
+                istep = mmax << 1;
 
-            int t = r;
+                // Optimize first step when wr = 1
 
-            for (int m = 1; m < mmax; m++)
-            {
-                for (int i = offset + m; i < offset + nn; i += istep)
+                for (int i = offset; i < offset + nn; i += istep)
                 {
                     int j = i + mmax;
                     rawtype a = data[i];
                     rawtype b = data[j];
                     data[i] = modAdd(a, b);
-                    data[j] = modMultiply(wTable[t], modSubtract(a, b));
+                    data[j] = modSubtract(a, b);
+                }
+
+                int t = r;
+
+                for (int m = 1; m < mmax; m++)
+                {
+                    for (int i = offset + m; i < offset + nn; i += istep)
+                    {
+                        int j = i + mmax;
+                        rawtype a = data[i];
+                        rawtype b = data[j];
+                        data[i] = modAdd(a, b);
+                        data[j] = modMultiply(wTable[t], modSubtract(a, b));
+                    }
+                    t += r;
                 }
-                t += r;
+                r <<= 1;
+                mmax >>= 1;
             }
-            r <<= 1;
-            mmax >>= 1;
         }
 
         if (permutationTable != null)
@@ -146,37 +155,46 @@ public class RawtypeTableFNT
             RawtypeScramble.scramble(data, offset, permutationTable);
         }
 
-        r = nn;
-        mmax = 1;
-        while (nn > mmax)
+        if (VECTOR_MATH != null)
         {
-            istep = mmax << 1;
-            r >>= 1;
-
-            // Optimize first step when w = 1
-
-            for (int i = offset; i < offset + nn; i += istep)
+            VECTOR_MATH.inverseTableFNT(data, offset, nn, wTable, getModulus());
+        }
+        else
+        {
+            r = nn;
+            mmax = 1;
+            while (nn > mmax)
             {
-                int j = i + mmax;
-                rawtype wTemp = data[j];
-                data[j] = modSubtract(data[i], wTemp);
-                data[i] = modAdd(data[i], wTemp);
-            }
+                istep = mmax << 1;
+                r >>= 1;
 
-            int t = r;
+                // Optimize first step when w = 1
 
-            for (int m = 1; m < mmax; m++)
-            {
-                for (int i = offset + m; i < offset + nn; i += istep)
+                for (int i = offset; i < offset + nn; i += istep)
                 {
                     int j = i + mmax;
-                    rawtype wTemp = modMultiply(wTable[t], data[j]);
+                    rawtype wTemp = data[j];
                     data[j] = modSubtract(data[i], wTemp);
                     data[i] = modAdd(data[i], wTemp);
                 }
-                t += r;
+
+                int t = r;
+
+                for (int m = 1; m < mmax; m++)
+                {
+                    for (int i = offset + m; i < offset + nn; i += istep)
+                    {
+                        int j = i + mmax;
+                        rawtype wTemp = modMultiply(wTable[t], data[j]);
+                        data[j] = modSubtract(data[i], wTemp);
+                        data[i] = modAdd(data[i], wTemp);
+                    }
+                    t += r;
+                }
+                mmax = istep;
             }
-            mmax = istep;
         }
     }
+
+    static final RawtypeVectorMath VECTOR_MATH = RawtypeVectorMath.INSTANCE;
 }
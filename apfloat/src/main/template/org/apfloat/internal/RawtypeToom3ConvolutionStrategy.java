@@ -0,0 +1,359 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.DataStorageBuilder;
+import org.apfloat.spi.DataStorage;
+
+/**
+ * Convolution strategy using the Toom-Cook 3-way algorithm.
+ * The complexity of the algorithm is O(n<sup>log(5)/log(3)</sup>) as
+ * the operands are split to three and multiplied using five multiplications
+ * of one third of the size. The five products are the values of the product
+ * polynomial at the points 0, 1, 2, 3 and infinity, from which the coefficients
+ * are interpolated. As all the evaluation points are non-negative, all the
+ * intermediate values of the evaluation and the interpolation are non-negative
+ * too, so no signs need to be handled. This splitting is done recursively
+ * until some cut-off point where the Karatsuba algorithm is applied. Numbers
+ * that are too different in size to be split to three are also multiplied
+ * with the Karatsuba algorithm, which in turn uses this algorithm for the
+ * sub-convolutions.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeToom3ConvolutionStrategy
+    extends RawtypeKaratsubaConvolutionStrategy
+{
+    /**
+     * Cut-off point for Toom-3 / Karatsuba convolution.<p>
+     *
+     * Convolutions where the shorter number is at most this long
+     * are calculated using the Karatsuba algorithm
+     * i.e. <code>super.convolute()</code>. Can be overridden with the
+     * {@link ApfloatContext#TOOM3_CUTOFF_POINT} property.
+     */
+
+    public static final int CUTOFF_POINT = 450;
+
+    /**
+     * Creates a convolution strategy using the specified radix.
+     * The cut-off point is read from the {@link ApfloatContext} at this time.
+     *
+     * @param radix The radix that will be used.
+     */
+
+    public RawtypeToom3ConvolutionStrategy(int radix)
+    {
+        super(radix);
+        this.cutoffPoint = getCutoffPoint();
+    }
+
+    @Override
+    public DataStorage convolute(DataStorage x, DataStorage y, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        if (!isToomCook(x, y, resultSize, 3, this.cutoffPoint))
+        {
+            return super.convolute(x, y, resultSize);
+        }
+
+        return toomCook(x, y, 3);
+    }
+
+    // Whether the numbers can be split to the number of parts and are long enough for it to have any advantage
+    boolean isToomCook(DataStorage x, DataStorage y, long resultSize, int parts, int cutoffPoint)
+    {
+        long xSize = x.getSize(),
+             ySize = y.getSize(),
+             shortSize = Math.min(xSize, ySize),
+             partSize = (Math.max(xSize, ySize) + parts - 1) / parts;
+
+        // If only the most significant words are needed, Karatsuba calculates a short product
+        // The most significant part of the shorter number must not be empty
+        return shortSize > cutoffPoint &&
+               resultSize + SHORT_PRODUCT_GUARD + 1 >= xSize + ySize &&
+               shortSize > (parts - 1) * partSize;
+    }
+
+    // Full convolution with the Toom-Cook algorithm, splitting the numbers to the specified number of parts
+    DataStorage toomCook(DataStorage x, DataStorage y, int parts)
+        throws ApfloatRuntimeException
+    {
+        long xSize = x.getSize(),
+             ySize = y.getSize(),
+             size = xSize + ySize,
+             partSize = (Math.max(xSize, ySize) + parts - 1) / parts,
+             valueSize = 2 * partSize + 2;      // Enough for the product values at all the points and all the coefficients
+        int degree = 2 * parts - 2,
+            points = degree - 1;                // Number of evaluation points 1, 2, 3, ... in addition to 0 and infinity
+
+        // Calculate the values at 0 and infinity, which are the lowest and highest coefficients of the product
+        DataStorage xTop = part(x, parts, partSize, parts - 1),
+                    yTop = part(y, parts, partSize, parts - 1),
+                    c0 = convolute(part(x, parts, partSize, 0), part(y, parts, partSize, 0), 2 * partSize),
+                    cTop = convolute(xTop, yTop, xTop.getSize() + yTop.getSize());
+
+        // Calculate the values at the points 1, 2, 3, ... recursively, leave out the known lowest and highest terms and divide by the point
+        // so that what remains is the polynomial d(t) = c1 + c2 * t + ... with the other coefficients, at the same points
+        DataStorage[] d = new DataStorage[points];
+        for (int i = 0; i < points; i++)
+        {
+            rawtype point = (rawtype) (i + 1);
+            DataStorage a = evaluate(x, parts, partSize, point),
+                        b = (x == y ? a : evaluate(y, parts, partSize, point)),
+                        value = convolute(a, b, valueSize);
+
+            subtract(value, c0);
+            subtract(value, multiply(cTop, (rawtype) pow(i + 1, degree), cTop.getSize() + 1));
+            d[i] = divide(value, point);
+        }
+
+        // Calculate the divided differences of Newton's interpolation formula in place
+        // They are all non-negative, as the points are positive and the polynomial has non-negative coefficients
+        for (int j = 1; j < points; j++)
+        {
+            for (int i = points - 1; i >= j; i--)
+            {
+                subtract(d[i], d[i - 1]);
+                d[i] = (j == 1 ? d[i] : divide(d[i], (rawtype) j));
+            }
+        }
+
+        // Convert from Newton's form to the coefficients with Horner's rule, d(t) = d[0] + (t - 1) * (d[1] + (t - 2) * (d[2] + ...))
+        // Also the intermediate polynomials have only non-negative coefficients, so no subtraction underflows
+        for (int i = points - 2; i >= 0; i--)
+        {
+            for (int j = i; j < points - 1; j++)
+            {
+                subtract(d[j], multiply(d[j + 1], (rawtype) (i + 1), valueSize));
+            }
+        }
+
+        // Add the coefficients together, each shifted by its power of the part size
+        DataStorage resultStorage = pad(c0, size);
+        for (int i = 0; i < points; i++)
+        {
+            addShifted(resultStorage, d[i], (i + 1) * partSize);
+        }
+        addShifted(resultStorage, cTop, degree * partSize);
+
+        return resultStorage;
+    }
+
+    // Part i of x, with part 0 the least significant
+    private static DataStorage part(DataStorage x, int parts, long partSize, int i)
+    {
+        long size = x.getSize();
+        return (i == parts - 1 ? x.subsequence(0, size - i * partSize) : x.subsequence(size - (i + 1) * partSize, partSize));
+    }
+
+    // Value of x at the point, using Horner's rule on the parts
+    private DataStorage evaluate(DataStorage x, int parts, long partSize, rawtype point)
+    {
+        long size = partSize + 1;
+        DataStorage value = pad(part(x, parts, partSize, parts - 1), size);
+
+        for (int i = parts - 2; i >= 0; i--)
+        {
+            DataStorage part = part(x, parts, partSize, i),
+                        resultStorage = createDataStorage(size);
+            DataStorage.Iterator src1 = value.iterator(DataStorage.READ, size, 0),
+                                 src2 = part.iterator(DataStorage.READ, partSize, 0),
+                                 dst = resultStorage.iterator(DataStorage.WRITE, size, 0);
+
+            rawtype carry = baseMultiplyAdd(src1, src2, point, (rawtype) 0, dst, partSize);
+            carry = baseMultiplyAdd(src1, null, point, carry, dst, 1);
+
+            assert (carry == 0);
+
+            value = resultStorage;
+        }
+
+        return value;
+    }
+
+    // Return x padded with zeros at the most significant end to the size
+    private DataStorage pad(DataStorage x, long size)
+    {
+        long xSize = x.getSize();
+
+        assert (xSize <= size);
+
+        DataStorage resultStorage = createDataStorage(size);
+
+        DataStorage.Iterator src = x.iterator(DataStorage.READ, xSize, 0),
+                             dst = resultStorage.iterator(DataStorage.WRITE, size, 0);
+
+        baseAdd(src, null, (rawtype) 0, dst, xSize);
+        baseAdd(null, null, (rawtype) 0, dst, size - xSize);
+
+        return resultStorage;
+    }
+
+    // Return x * factor with the size, the product must fit in it
+    private DataStorage multiply(DataStorage x, rawtype factor, long size)
+    {
+        long xSize = Math.min(x.getSize(), size);
+
+        assert (isZero(x, x.getSize() - xSize));
+
+        DataStorage resultStorage = createDataStorage(size);
+
+        DataStorage.Iterator src = x.iterator(DataStorage.READ, x.getSize(), 0),
+                             dst = resultStorage.iterator(DataStorage.WRITE, size, 0);
+
+        rawtype carry = baseMultiplyAdd(src, null, factor, (rawtype) 0, dst, xSize);
+        carry = baseAdd(null, null, carry, dst, size - xSize);
+
+        assert (carry == 0);
+
+        return resultStorage;
+    }
+
+    // Return x / divisor, the division must be exact
+    private DataStorage divide(DataStorage x, rawtype divisor)
+    {
+        long size = x.getSize();
+
+        DataStorage resultStorage = createDataStorage(size);
+
+        DataStorage.Iterator src = x.iterator(DataStorage.READ, 0, size),
+                             dst = resultStorage.iterator(DataStorage.WRITE, 0, size);
+
+        rawtype remainder = baseDivide(src, divisor, (rawtype) 0, dst, size);
+
+        assert (remainder == 0);
+
+        return resultStorage;
+    }
+
+    // x1 -= x2, the result must not be negative
+    private void subtract(DataStorage x1, DataStorage x2)
+    {
+        long x1size = x1.getSize(),
+             x2size = Math.min(x2.getSize(), x1size);
+
+        assert (isZero(x2, x2.getSize() - x2size));
+
+        DataStorage.Iterator src1 = x1.iterator(DataStorage.READ_WRITE, x1size, 0),
+                             src2 = x2.iterator(DataStorage.READ, x2.getSize(), 0),
+                             dst = src1;
+
+        rawtype carry = 0;
+        carry = baseSubtract(src1, src2, carry, dst, x2size);
+        carry = baseSubtract(src1, null, carry, dst, x1size - x2size);
+
+        assert (carry == 0);
+    }
+
+    // x1 += x2 * base^shift, the sum must fit in x1
+    private void addShifted(DataStorage x1, DataStorage x2, long shift)
+    {
+        long x1size = x1.getSize() - shift,
+             x2size = Math.min(x2.getSize(), x1size);
+
+        assert (isZero(x2, x2.getSize() - x2size));
+
+        DataStorage.Iterator src1 = x1.iterator(DataStorage.READ_WRITE, x1size, 0),
+                             src2 = x2.iterator(DataStorage.READ, x2.getSize(), 0),
+                             dst = src1;
+
+        rawtype carry = 0;
+        carry = baseAdd(src1, src2, carry, dst, x2size);
+
+        // Propagate the carry only as far as needed
+        long i;
+        for (i = x1size - x2size; i > 0 && carry != 0; i--)
+        {
+            carry = baseAdd(src1, null, carry, dst, 1);
+        }
+        if (i > 0)
+        {
+            src1.close();
+        }
+
+        assert (carry == 0);
+    }
+
+    // Whether the most significant words of x are zero
+    private static boolean isZero(DataStorage x, long size)
+    {
+        DataStorage.Iterator i = x.iterator(DataStorage.READ, 0, size);
+
+        for (long j = 0; j < size; j++)
+        {
+            if (i.getRawtype() != 0)
+            {
+                return false;
+            }
+            i.next();
+        }
+
+        return true;
+    }
+
+    private static DataStorage createDataStorage(long size)
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        DataStorageBuilder dataStorageBuilder = ctx.getBuilderFactory().getDataStorageBuilder();
+        DataStorage dataStorage = dataStorageBuilder.createDataStorage(size * RawType.BYTES);
+        dataStorage.setSize(size);
+
+        return dataStorage;
+    }
+
+    private static long pow(long x, int n)
+    {
+        long result = 1;
+        for (int i = 0; i < n; i++)
+        {
+            result *= x;
+        }
+        return result;
+    }
+
+    private static int getCutoffPoint()
+    {
+        return PropertyHelper.getInt(ApfloatContext.TOOM3_CUTOFF_POINT, CUTOFF_POINT);
+    }
+
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        this.cutoffPoint = getCutoffPoint();
+    }
+
+    private static final long serialVersionUID = ${org.apfloat.internal.RawtypeToom3ConvolutionStrategy.serialVersionUID};
+
+    private transient int cutoffPoint;
+}
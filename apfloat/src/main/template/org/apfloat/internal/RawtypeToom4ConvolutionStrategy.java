@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.apfloat.ApfloatContext;
+import org.apfloat.ApfloatRuntimeException;
+import org.apfloat.spi.DataStorage;
+
+/**
+ * Convolution strategy using the Toom-Cook 4-way algorithm.
+ * The complexity of the algorithm is O(n<sup>log(7)/log(4)</sup>) as
+ * the operands are split to four and multiplied using seven multiplications
+ * of one fourth of the size, at the points 0, 1, 2, 3, 4, 5 and infinity.
+ * The evaluation and interpolation take more work than in the Toom-Cook 3-way
+ * algorithm, so this is faster only for larger numbers. Below some cut-off point,
+ * or if the numbers can't be split to four, the Toom-Cook 3-way algorithm is applied.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeToom4ConvolutionStrategy
+    extends RawtypeToom3ConvolutionStrategy
+{
+    /**
+     * Cut-off point for Toom-4 / Toom-3 convolution.<p>
+     *
+     * Convolutions where the shorter number is at most this long
+     * are calculated using the Toom-Cook 3-way algorithm
+     * i.e. <code>super.convolute()</code>. Can be overridden with the
+     * {@link ApfloatContext#TOOM4_CUTOFF_POINT} property.
+     */
+
+    public static final int CUTOFF_POINT = 900;
+
+    /**
+     * Creates a convolution strategy using the specified radix.
+     * The cut-off point is read from the {@link ApfloatContext} at this time.
+     *
+     * @param radix The radix that will be used.
+     */
+
+    public RawtypeToom4ConvolutionStrategy(int radix)
+    {
+        super(radix);
+        this.cutoffPoint = getCutoffPoint();
+    }
+
+    @Override
+    public DataStorage convolute(DataStorage x, DataStorage y, long resultSize)
+        throws ApfloatRuntimeException
+    {
+        if (!isToomCook(x, y, resultSize, 4, this.cutoffPoint))
+        {
+            return super.convolute(x, y, resultSize);
+        }
+
+        return toomCook(x, y, 4);
+    }
+
+    private static int getCutoffPoint()
+    {
+        return PropertyHelper.getInt(ApfloatContext.TOOM4_CUTOFF_POINT, CUTOFF_POINT);
+    }
+
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        this.cutoffPoint = getCutoffPoint();
+    }
+
+    private static final long serialVersionUID = ${org.apfloat.internal.RawtypeToom4ConvolutionStrategy.serialVersionUID};
+
+    private transient int cutoffPoint;
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+/**
+ * Vectorized implementations of the innermost loops of the Number Theoretic
+ * Transforms for the <code>rawtype</code> type.<p>
+ *
+ * The implementations use the vector API of the JDK, which is an incubator
+ * module. They are available only for some element types, only with Java 17
+ * or later, and only if the <code>jdk.incubator.vector</code> module is added
+ * to the runtime, e.g. with the command line option
+ * <code>--add-modules jdk.incubator.vector</code>. Otherwise
+ * {@link #INSTANCE} is <code>null</code> and the scalar loops are used.<p>
+ *
+ * All values must be less than the modulus. Implementations must be thread-safe.
+ *
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+interface RawtypeVectorMath
+{
+    /**
+     * Forward (Sande-Tukey) fast Number Theoretic Transform, without permutation.
+     * Data length must be a power of two.
+     *
+     * @param data The data array to transform.
+     * @param offset The offset of the data in the array.
+     * @param length The transform length.
+     * @param wTable Table of powers of n:th root of unity <code>w</code> modulo the modulus.
+     * @param modulus The modulus.
+     */
+
+    public void tableFNT(rawtype[] data, int offset, int length, rawtype[] wTable, rawtype modulus);
+
+    /**
+     * Inverse (Cooley-Tukey) fast Number Theoretic Transform, without permutation.
+     * Data length must be a power of two.
+     *
+     * @param data The data array to transform.
+     * @param offset The offset of the data in the array.
+     * @param length The transform length.
+     * @param wTable Table of powers of n:th root of unity <code>w</code> modulo the modulus.
+     * @param modulus The modulus.
+     */
+
+    public void inverseTableFNT(rawtype[] data, int offset, int length, rawtype[] wTable, rawtype modulus);
+
+    /**
+     * Multiply the elements by a geometric sequence,
+     * <code>data[offset + i] = data[offset + i] * factor * ratio<sup>i</sup> % modulus</code>.
+     *
+     * @param data The data array.
+     * @param offset The offset of the data in the array.
+     * @param length The number of elements to multiply.
+     * @param factor The first factor.
+     * @param ratio The ratio of consecutive factors.
+     * @param modulus The modulus.
+     */
+
+    public void multiplyGeometric(rawtype[] data, int offset, int length, rawtype factor, rawtype ratio, rawtype modulus);
+
+    /**
+     * Multiply elements in place, <code>x[xOffset + i] = x[xOffset + i] * y[yOffset + i] % modulus</code>.
+     *
+     * @param x The array of the first multiplicands, and the result.
+     * @param xOffset The offset of the data in the first array.
+     * @param y The array of the second multiplicands.
+     * @param yOffset The offset of the data in the second array.
+     * @param length The number of elements to multiply.
+     * @param modulus The modulus.
+     */
+
+    public void multiply(rawtype[] x, int xOffset, rawtype[] y, int yOffset, int length, rawtype modulus);
+
+    /**
+     * The vectorized implementation, or <code>null</code> if it is not available.
+     */
+
+    public static final RawtypeVectorMath INSTANCE = VectorHelper.getInstance(RawtypeVectorMath.class);
+}
@@ -26,7 +26,7 @@ package org.apfloat;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -59,6 +59,7 @@ public class ApcomplexMathTest
         suite.addTest(new ApcomplexMathTest("testLog"));
         suite.addTest(new ApcomplexMathTest("testLogBase"));
         suite.addTest(new ApcomplexMathTest("testExp"));
+        suite.addTest(new ApcomplexMathTest("testExpLogBitBurst"));
         suite.addTest(new ApcomplexMathTest("testPow"));
         suite.addTest(new ApcomplexMathTest("testArg"));
         suite.addTest(new ApcomplexMathTest("testAcosh"));
@@ -1068,6 +1069,71 @@ public class ApcomplexMathTest
         }
     }
 
+    public static void testExpLogBitBurst()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        String bitBurstPrecision = ctx.getProperty(ApfloatContext.BIT_BURST_PRECISION);
+        try
+        {
+            for (int radix : new int[] { 10, 7 })
+            {
+                for (long precision : new long[] { 100, 2000 })
+                {
+                    Apcomplex z = new Apcomplex(new Apfloat(7, precision, radix).divide(new Apfloat(30, precision, radix)), ApfloatMath.pi(precision, radix).divide(new Apfloat(5, precision, radix))),
+                              w = new Apcomplex(new Apfloat(-30, precision, radix), new Apfloat(1, precision, radix).divide(new Apfloat(7, precision, radix)));
+
+                    ctx.setProperty(ApfloatContext.BIT_BURST_PRECISION, String.valueOf(precision));
+                    Apcomplex expZ = ApcomplexMath.exp(z),
+                              expW = ApcomplexMath.exp(w),
+                              logZ = ApcomplexMath.log(z);
+                    Apfloat expX = ApfloatMath.exp(z.real()),
+                            logX = ApfloatMath.log(z.real());
+
+                    ctx.setProperty(ApfloatContext.BIT_BURST_PRECISION, "0");
+                    assertEquals("exp z " + precision + " radix " + radix, ApcomplexMath.exp(z), expZ, ApcomplexMath.abs(expZ).multiply(ApfloatMath.scale(new Apfloat(5, 1, radix), -precision + 1)));
+                    assertEquals("exp w " + precision + " radix " + radix, ApcomplexMath.exp(w), expW, ApcomplexMath.abs(expW).multiply(ApfloatMath.scale(new Apfloat(5, 1, radix), -precision + 1)));
+                    assertEquals("log z " + precision + " radix " + radix, ApcomplexMath.log(z), logZ, ApfloatMath.scale(new Apfloat(5, 1, radix), -precision + 1));
+                    assertEquals("exp x " + precision + " radix " + radix, ApfloatMath.exp(z.real()), expX, expX.multiply(ApfloatMath.scale(new Apfloat(5, 1, radix), -precision + 1)));
+                    assertEquals("log x " + precision + " radix " + radix, ApfloatMath.log(z.real()), logX, ApfloatMath.scale(new Apfloat(5, 1, radix), -precision + 1));
+                    assertPrecision("exp z " + precision + " radix " + radix, ApcomplexMath.exp(z), expZ);
+                    assertPrecision("exp w " + precision + " radix " + radix, ApcomplexMath.exp(w), expW);
+                }
+            }
+
+            // The small part of the result is only as accurate as the argument
+            for (String value : new String[] { "7e-30", "1.234e-7", "1.5", "0.5" })
+            {
+                for (Apcomplex z : new Apcomplex[] { new Apcomplex(Apfloat.ZERO, new Apfloat(value, 60)),
+                                                     new Apcomplex(new Apfloat(value, 60), new Apfloat(2, 60)),
+                                                     new Apcomplex(new Apfloat(100, 80), new Apfloat(value, 60)) })
+                {
+                    ctx.setProperty(ApfloatContext.BIT_BURST_PRECISION, "0");
+                    Apcomplex expected = ApcomplexMath.exp(z);
+                    ctx.setProperty(ApfloatContext.BIT_BURST_PRECISION, "1000");
+                    Apcomplex actual = ApcomplexMath.exp(z);
+                    assertPrecision("exp " + z, expected, actual);
+                    assertEquals("exp " + z + " value", expected, actual, ApcomplexMath.abs(expected).multiply(ApfloatMath.scale(new Apfloat(5, 1), -58)));
+                }
+            }
+            ctx.setProperty(ApfloatContext.BIT_BURST_PRECISION, "1000");
+            assertEquals("sin 7e-30 precision", 61, ApfloatMath.sin(new Apfloat("7e-30", 60)).precision());
+            assertEquals("sin 1.234e-7 precision", 61, ApfloatMath.sin(new Apfloat("1.234e-7", 60)).precision());
+        }
+        finally
+        {
+            ctx.setProperty(ApfloatContext.BIT_BURST_PRECISION, bitBurstPrecision);
+        }
+    }
+
+    // The precision of the bit-burst result should not be more than the precision calculated with Newton's iteration, and not much less
+    private static void assertPrecision(String message, Apcomplex expected, Apcomplex actual)
+    {
+        assertTrue(message + " real precision " + actual.real().precision() + " <= " + expected.real().precision(), actual.real().signum() == 0 || actual.real().precision() <= expected.real().precision() + 1);
+        assertTrue(message + " real precision " + actual.real().precision() + " >= " + expected.real().precision(), actual.real().signum() == 0 || actual.real().precision() >= expected.real().precision() - 2);
+        assertTrue(message + " imag precision " + actual.imag().precision() + " <= " + expected.imag().precision(), actual.imag().signum() == 0 || actual.imag().precision() <= expected.imag().precision() + 1);
+        assertTrue(message + " imag precision " + actual.imag().precision() + " >= " + expected.imag().precision(), actual.imag().signum() == 0 || actual.imag().precision() >= expected.imag().precision() - 2);
+    }
+
     public static void testPow()
     {
         Apcomplex a = ApcomplexMath.pow(new Apcomplex(new Apfloat(2, 100)), new Apcomplex(new Apfloat("0.5", 100)));
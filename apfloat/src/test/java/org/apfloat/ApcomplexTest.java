@@ -40,7 +40,7 @@ import junit.framework.TestSuite;
 import static org.apfloat.ApfloatTest.readAllAsString;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -502,6 +502,43 @@ public class ApcomplexTest
         assertEquals("b precision", 70, b.precision());
         assertEquals("(2, 3e10) * (3e20, 5) precision", 60, a.multiply(b).precision());
         assertEquals("(2, 3e10) * (3e20, 5) value", new Apcomplex("(599999999850000000000, 9000000000000000000000000000010)"), a.multiply(b));
+
+        Apfloat x = ApfloatMath.random(2000).add(new Apfloat(1)),
+                y = ApfloatMath.random(2000).negate(),
+                z = ApfloatMath.random(2000).multiply(new Apfloat(3)),
+                w = ApfloatMath.scale(ApfloatMath.random(2000), -5);
+        a = new Apcomplex(x, y);
+        b = new Apcomplex(z, w);
+        Apcomplex expected = new Apcomplex(ApfloatMath.multiplySubtract(x, z, y, w), ApfloatMath.multiplyAdd(x, w, y, z));
+        assertEquals("large real precision", expected.real().precision(), a.multiply(b).real().precision());
+        assertEquals("large imag precision", expected.imag().precision(), a.multiply(b).imag().precision());
+        assertEquals("large value", expected, a.multiply(b), ApfloatMath.scale(new Apfloat(1), -1996));
+        expected = new Apcomplex(ApfloatMath.multiplySubtract(x, x, y, y), ApfloatMath.multiplyAdd(x, y, y, x));
+        assertEquals("large square precision", expected.precision(), a.multiply(a).precision());
+        assertEquals("large square value", expected, a.multiply(a), ApfloatMath.scale(new Apfloat(1), -1996));
+
+        Apint i = ApintMath.pow(new Apint(3), 3000),
+              j = ApintMath.pow(new Apint(7), 2000),
+              k = ApintMath.pow(new Apint(11), 1500).negate();
+        a = new Apcomplex(i, j);
+        b = new Apcomplex(k, i);
+        assertEquals("large exact", new Apcomplex(i.multiply(k).subtract(j.multiply(i)), i.multiply(i).add(j.multiply(k))), a.multiply(b));
+        assertEquals("large exact square", new Apcomplex(i.multiply(i).subtract(j.multiply(j)), i.multiply(j).multiply(new Apint(2))), a.multiply(a));
+
+        ApfloatContext ctx = ApfloatContext.getContext();
+        String gaussMultiplyThreshold = ctx.getProperty(ApfloatContext.GAUSS_MULTIPLY_THRESHOLD);
+        try
+        {
+            ctx.setProperty(ApfloatContext.GAUSS_MULTIPLY_THRESHOLD, "1");
+            a = new Apcomplex(new Apint(2), new Apint(3));
+            b = new Apcomplex(new Apint(4), new Apint(5));
+            assertEquals("small Gauss", new Apcomplex(new Apint(-7), new Apint(22)), a.multiply(b));
+            assertEquals("small Gauss square", new Apcomplex(new Apint(-5), new Apint(12)), a.multiply(a));
+        }
+        finally
+        {
+            ctx.setProperty(ApfloatContext.GAUSS_MULTIPLY_THRESHOLD, gaussMultiplyThreshold);
+        }
     }
 
     public static void testDivide()
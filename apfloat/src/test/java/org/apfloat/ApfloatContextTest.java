@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -43,7 +43,7 @@ import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -95,16 +95,21 @@ public class ApfloatContextTest
         properties.setProperty(ApfloatContext.MEMORY_THRESHOLD, "131072");
         properties.setProperty(ApfloatContext.SHARED_MEMORY_TRESHOLD, "262144");
         properties.setProperty(ApfloatContext.BLOCK_SIZE, "131072");
+        properties.setProperty(ApfloatContext.IO_BUFFER_COUNT, "3");
         properties.setProperty(ApfloatContext.NUMBER_OF_PROCESSORS, "8");
         properties.setProperty(ApfloatContext.FILE_PATH, "./");
         properties.setProperty(ApfloatContext.FILE_INITIAL_VALUE, "42");
         properties.setProperty(ApfloatContext.FILE_SUFFIX, ".dat");
+        properties.setProperty(ApfloatContext.FILE_MEMORY_MAPPED, "true");
+        properties.setProperty(ApfloatContext.CONSTANT_CACHE_PATH, "./constants");
+        properties.setProperty(ApfloatContext.BIT_BURST_PRECISION, "12345");
+        properties.setProperty(ApfloatContext.GAUSS_MULTIPLY_THRESHOLD, "500");
         properties.setProperty(ApfloatContext.CLEANUP_AT_EXIT, "false");
 
         ctx.setProperties(properties);
         properties = ctx.getProperties();
 
-        assertEquals("size", 15, properties.size());
+        assertEquals("size", 20, properties.size());
         assertEquals("ApfloatContext.BUILDER_FACTORY", "org.apfloat.internal.DoubleBuilderFactory", ctx.getProperty(ApfloatContext.BUILDER_FACTORY));
         assertEquals("ApfloatContext.DEFAULT_RADIX", "11", ctx.getProperty(ApfloatContext.DEFAULT_RADIX));
         assertEquals("ApfloatContext.MAX_MEMORY_BLOCK_SIZE", "1048576", ctx.getProperty(ApfloatContext.MAX_MEMORY_BLOCK_SIZE));
@@ -115,10 +120,15 @@ public class ApfloatContextTest
         assertEquals("ApfloatContext.MEMORY_THRESHOLD", "131072", ctx.getProperty(ApfloatContext.MEMORY_THRESHOLD));
         assertEquals("ApfloatContext.SHARED_MEMORY_TRESHOLD", "262144", ctx.getProperty(ApfloatContext.SHARED_MEMORY_TRESHOLD));
         assertEquals("ApfloatContext.BLOCK_SIZE", "131072", ctx.getProperty(ApfloatContext.BLOCK_SIZE));
+        assertEquals("ApfloatContext.IO_BUFFER_COUNT", "3", ctx.getProperty(ApfloatContext.IO_BUFFER_COUNT));
         assertEquals("ApfloatContext.NUMBER_OF_PROCESSORS", "8", ctx.getProperty(ApfloatContext.NUMBER_OF_PROCESSORS));
         assertEquals("ApfloatContext.FILE_PATH", "./", ctx.getProperty(ApfloatContext.FILE_PATH));
         assertEquals("ApfloatContext.FILE_INITIAL_VALUE", "42", ctx.getProperty(ApfloatContext.FILE_INITIAL_VALUE));
         assertEquals("ApfloatContext.FILE_SUFFIX", ".dat", ctx.getProperty(ApfloatContext.FILE_SUFFIX));
+        assertEquals("ApfloatContext.FILE_MEMORY_MAPPED", "true", ctx.getProperty(ApfloatContext.FILE_MEMORY_MAPPED));
+        assertEquals("ApfloatContext.CONSTANT_CACHE_PATH", "./constants", ctx.getProperty(ApfloatContext.CONSTANT_CACHE_PATH));
+        assertEquals("ApfloatContext.BIT_BURST_PRECISION", "12345", ctx.getProperty(ApfloatContext.BIT_BURST_PRECISION));
+        assertEquals("ApfloatContext.GAUSS_MULTIPLY_THRESHOLD", "500", ctx.getProperty(ApfloatContext.GAUSS_MULTIPLY_THRESHOLD));
         assertEquals("ApfloatContext.CLEANUP_AT_EXIT", "false", ctx.getProperty(ApfloatContext.CLEANUP_AT_EXIT));
 
         assertEquals("ApfloatContext.BUILDER_FACTORY", "org.apfloat.internal.DoubleBuilderFactory", ctx.getBuilderFactory().getClass().getName());
@@ -131,6 +141,7 @@ public class ApfloatContextTest
         assertEquals("ApfloatContext.MEMORY_THRESHOLD", 131072, ctx.getMemoryThreshold());
         assertEquals("ApfloatContext.SHARED_MEMORY_TRESHOLD", 262144, ctx.getSharedMemoryTreshold());
         assertEquals("ApfloatContext.BLOCK_SIZE", 131072, ctx.getBlockSize());
+        assertEquals("ApfloatContext.IO_BUFFER_COUNT", 3, ctx.getIoBufferCount());
         assertEquals("ApfloatContext.NUMBER_OF_PROCESSORS", 8, ctx.getNumberOfProcessors());
         assertEquals("ApfloatContext.CLEANUP_AT_EXIT", false, ctx.getCleanupAtExit());
         assertEquals("Filename", "./42.dat", ctx.getFilenameGenerator().generateFilename());
@@ -224,6 +235,34 @@ public class ApfloatContextTest
         {
             // OK
         }
+
+        String[][] invalidProperties = { { ApfloatContext.KARATSUBA_CUTOFF_POINT, "bogus" },
+                                         { ApfloatContext.KARATSUBA_CUTOFF_POINT, "0" },
+                                         { ApfloatContext.KARATSUBA_COST_FACTOR, "-1" },
+                                         { ApfloatContext.KARATSUBA_COST_FACTOR, "NaN" },
+                                         { ApfloatContext.TOOM3_CUTOFF_POINT, "-1" },
+                                         { ApfloatContext.TOOM4_CUTOFF_POINT, "bogus" },
+                                         { ApfloatContext.TOOM3_COST_FACTOR, "0" },
+                                         { ApfloatContext.TOOM4_COST_FACTOR, "Infinity" },
+                                         { ApfloatContext.NTT_COST_FACTOR, "bogus" },
+                                         { ApfloatContext.BIT_BURST_PRECISION, "bogus" },
+                                         { ApfloatContext.BIT_BURST_PRECISION, "-1" },
+                                         { ApfloatContext.GAUSS_MULTIPLY_THRESHOLD, "bogus" },
+                                         { ApfloatContext.GAUSS_MULTIPLY_THRESHOLD, "-1" } };
+        for (String[] property : invalidProperties)
+        {
+            String value = ctx.getProperty(property[0]);
+            try
+            {
+                ctx.setProperty(property[0], property[1]);
+                fail(property[0] + " " + property[1] + " accepted");
+            }
+            catch (ApfloatConfigurationException ace)
+            {
+                // OK
+            }
+            assertEquals(property[0] + " not changed", value, ctx.getProperty(property[0]));
+        }
     }
 
     public static void testThreadContexts()
@@ -25,12 +25,14 @@ package org.apfloat;
 
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import junit.framework.TestSuite;
 import static java.math.RoundingMode.*;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -97,6 +99,7 @@ public class ApfloatMathTest
         suite.addTest(new ApfloatMathTest("testToRadians"));
         suite.addTest(new ApfloatMathTest("testToDegrees"));
         suite.addTest(new ApfloatMathTest("testProduct"));
+        suite.addTest(new ApfloatMathTest("testPrepareMultiplicand"));
         suite.addTest(new ApfloatMathTest("testSum"));
         suite.addTest(new ApfloatMathTest("testE"));
         suite.addTest(new ApfloatMathTest("testEuler"));
@@ -2232,6 +2235,21 @@ public class ApfloatMathTest
         assertEquals("Factorial squared", factorial.multiply(factorial), ApfloatMath.product(numbers));
     }
 
+    public static void testPrepareMultiplicand()
+    {
+        Apfloat x = ApfloatMath.random(20000).add(new Apfloat(1)),
+                y = ApfloatMath.prepareMultiplicand(x);
+        assertEquals("value", x, y);
+        assertEquals("precision", x.precision(), y.precision());
+
+        for (int i = 0; i < 3; i++)
+        {
+            Apfloat z = ApfloatMath.random(20000).add(new Apfloat(i + 1));
+            assertEquals("product " + i, x.multiply(z), y.multiply(z));
+            assertEquals("reverse product " + i, z.multiply(x), z.multiply(y));
+        }
+    }
+
     public static void testSum()
     {
         Apfloat a = ApfloatMath.sum(new Apfloat(12345000, 5), new Apfloat(12345, 5));
@@ -2460,6 +2478,34 @@ public class ApfloatMathTest
         assertEquals("20 precision", 20, a.precision());
         assertEquals("20 value", new Apfloat("0.ea7cb89f409ae8452158", 20, 16), a, new Apfloat("0.00000000000000000008", 1, 16));
 
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ExecutorService globalExecutorService = ctx.getExecutorService();
+        int globalNumberOfProcessors = ctx.getNumberOfProcessors();
+        ExecutorService executorService = new ForkJoinPool(3);
+        ctx.setExecutorService(executorService);
+        ctx.setNumberOfProcessors(4);
+        try
+        {
+            for (int radix : new int[] { 2, 3, 10, 16, 36 })
+            {
+                // Compare the binary splitting result in parallel against the Hurwitz zeta formula
+                Apfloat one = new Apfloat(1, 100, radix),
+                        two = new Apfloat(2, 100, radix),
+                        three = new Apfloat(3, 100, radix),
+                        four = new Apfloat(4, 100, radix),
+                        expected = ApfloatMath.zeta(two, one.divide(four)).subtract(ApfloatMath.zeta(two, three.divide(four))).divide(new Apint(16, radix));
+                a = ApfloatMath.catalan(80, radix);
+                assertEquals("radix " + radix + " precision", 80, a.precision());
+                assertEquals("radix " + radix + " value", expected, a, ApfloatMath.scale(new Apfloat(1, 1, radix), -78));
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+            ctx.setExecutorService(globalExecutorService);
+            ctx.setNumberOfProcessors(globalNumberOfProcessors);
+        }
+
         try
         {
             ApfloatMath.catalan(0);
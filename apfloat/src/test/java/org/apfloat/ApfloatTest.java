@@ -35,6 +35,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectInputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Collections;
 import java.util.Formatter;
 import java.util.Locale;
@@ -42,7 +44,7 @@ import java.util.Locale;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -102,6 +104,7 @@ public class ApfloatTest
         suite.addTest(new ApfloatTest("testWriteTo"));
         suite.addTest(new ApfloatTest("testFormatTo"));
         suite.addTest(new ApfloatTest("testSerialization"));
+        suite.addTest(new ApfloatTest("testBinaryFormat"));
 
         return suite;
     }
@@ -507,6 +510,21 @@ public class ApfloatTest
         assertEquals("1.23e7 radix", 10, a.radix());
         assertEquals("1.23e7 precision", 3, a.precision());
         assertEquals("1.23e7 String", "1.23e7", a.toString());
+        a = new Apfloat(new BigDecimal("-0.001500"));
+        assertEquals("-0.001500 precision", 4, a.precision());
+        assertEquals("-0.001500 String", "-0.0015", a.toString(true));
+        a = new Apfloat(new BigDecimal("123.456"), 4);
+        assertEquals("123.456 precision", 4, a.precision());
+        assertEquals("123.456 String", "123.4", a.toString(true));
+        a = new Apfloat(new BigDecimal("1.5"), 10);
+        assertEquals("1.5 precision", 10, a.precision());
+        assertEquals("1.5 String", "1.5", a.toString(true));
+        a = new Apfloat(new BigDecimal("0.000"));
+        assertEquals("0.000 precision", Apfloat.INFINITE, a.precision());
+        assertEquals("0.000 String", "0", a.toString(true));
+        a = new Apfloat(new BigDecimal("-1234567890123456789012345678901234567890e-1000"));
+        assertEquals("-1.234e-961 precision", 40, a.precision());
+        assertEquals("-1.234e-961 String", "-1.23456789012345678901234567890123456789e-961", a.toString());
 
         try
         {
@@ -583,6 +601,41 @@ public class ApfloatTest
             }
         }
 
+        // Large enough to be converted in parallel
+        ApfloatContext ctx = (ApfloatContext) ApfloatContext.getContext().clone();
+        ctx.setNumberOfProcessors(4);
+        ApfloatContext.setThreadContext(ctx);
+        try
+        {
+            Apfloat x = ApfloatMath.scale(ApfloatMath.random(100000, 10), 100000).truncate(),
+                    y = x.toRadix(16);
+            assertEquals("Parallel 10 -> 16 -> 10", x, y.toRadix(10));
+            assertEquals("Parallel 10 -> 16 -> 10 String", x.toString(), y.toRadix(10).toString());
+            assertEquals("Parallel 10 -> 16 precision", Apfloat.INFINITE, y.precision());
+            ctx.setNumberOfProcessors(1);
+            assertEquals("Parallel 10 -> 16 sequential", y, x.toRadix(16));
+
+            // Cached radix powers with higher precision
+            x = x.precision(50000);
+            y = x.toRadix(16);
+            assertEquals("Cached 10 -> 16 precision", 41524, y.precision());
+            assertEquals("Cached 10 -> 16", x, y.toRadix(10), ApfloatMath.scale(new Apfloat(1), 100000 - 49990));
+
+            // Cached radix powers are not shared between builder factories
+            ctx.setNumberOfProcessors(4);
+            ctx.setBuilderFactory(new org.apfloat.internal.IntBuilderFactory());
+            x = ApfloatMath.scale(ApfloatMath.random(60000, 16), 60000).truncate();
+            y = x.toRadix(10);
+            String s = x.toString(true);
+            ctx.setBuilderFactory(new org.apfloat.internal.LongBuilderFactory());
+            x = new Apfloat(s, Apfloat.INFINITE, 16);
+            assertEquals("Builder factory 16 -> 10", y.toString(true), x.toRadix(10).toString(true));
+        }
+        finally
+        {
+            ApfloatContext.removeThreadContext();
+        }
+
         try
         {
             a.toRadix(Character.MIN_RADIX - 1);
@@ -1466,4 +1519,29 @@ public class ApfloatTest
         assertEquals("Legacy 1 size", 1, a.size());
         assertTrue("Legacy 1 isOne", a.getImpl(a.precision()).isOne());
     }
+
+    public static void testBinaryFormat()
+        throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Apfloat a = new Apfloat("-1.23456789e-100", 20, 10),
+                b = new Apfloat("abcdef.123", Apfloat.INFINITE, 16),
+                c = new Apfloat(0);
+        a.writeTo(Channels.newChannel(buffer));
+        b.writeTo(Channels.newChannel(buffer));
+        c.writeTo(Channels.newChannel(buffer));
+        ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(buffer.toByteArray()));
+        Apfloat d = new Apfloat(in),
+                e = new Apfloat(in),
+                f = new Apfloat(in);
+        assertEquals("a equals", a, d);
+        assertEquals("a precision", 20, d.precision());
+        assertEquals("a radix", 10, d.radix());
+        assertEquals("b equals", b, e);
+        assertEquals("b precision", Apfloat.INFINITE, e.precision());
+        assertEquals("b radix", 16, e.radix());
+        assertEquals("c equals", c, f);
+        assertEquals("c signum", 0, f.signum());
+        assertTrue("Compact: " + buffer.size(), buffer.size() < 200);
+    }
 }
@@ -23,13 +23,15 @@
  */
 package org.apfloat;
 
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import junit.framework.TestSuite;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -61,9 +63,11 @@ public class ApintMathTest
         suite.addTest(new ApintMathTest("testLcm"));
         suite.addTest(new ApintMathTest("testModMultiply"));
         suite.addTest(new ApintMathTest("testModPow"));
+        suite.addTest(new ApintMathTest("testModPowArray"));
         suite.addTest(new ApintMathTest("testFactorial"));
         suite.addTest(new ApintMathTest("testDoubleFactorial"));
         suite.addTest(new ApintMathTest("testProduct"));
+        suite.addTest(new ApintMathTest("testPrepareMultiplicand"));
         suite.addTest(new ApintMathTest("testBinomial"));
         suite.addTest(new ApintMathTest("testStirlingS1"));
         suite.addTest(new ApintMathTest("testStirlingS2"));
@@ -468,6 +472,20 @@ public class ApintMathTest
             assertEquals("Localization key", "modInverse.notExists", aae.getLocalizationKey());
         }
 
+        Random random = new Random(12345);
+        for (int bits : new int[] { 100, 1000, 5000 })
+        {
+            BigInteger a = new BigInteger(bits, random),
+                       b = new BigInteger(bits, random),
+                       m = new BigInteger(bits, random).setBit(0);
+            assertEquals(bits + " bits", new Apint(a.modPow(b, m)), ApintMath.modPow(new Apint(a), new Apint(b), new Apint(m)));
+            assertEquals(bits + " bits radix 7", new Apint(a.modPow(b, m), 7), ApintMath.modPow(new Apint(a, 7), new Apint(b, 7), new Apint(m, 7)));
+        }
+        BigInteger a = new BigInteger(1000, random),
+                   b = BigInteger.ONE.shiftLeft(1000).subtract(BigInteger.ONE),
+                   m = new BigInteger(1000, random);
+        assertEquals("all bits set", new Apint(a.modPow(b, m)), ApintMath.modPow(new Apint(a), new Apint(b), new Apint(m)));
+
         try
         {
             ApintMath.modPow(new Apint(0), new Apint(0), new Apint(7));
@@ -480,6 +498,65 @@ public class ApintMathTest
         }
     }
 
+    public static void testModPowArray()
+    {
+        Apint[] a = { new Apint(2), new Apint(-2), new Apint(60), new Apint(12345), new Apint(0), new Apint(63) };
+        Apint[] results = ApintMath.modPow(a, new Apint(7), new Apint(63));
+        assertEquals("length", a.length, results.length);
+        for (int i = 0; i < a.length; i++)
+        {
+            assertEquals(a[i] + " ^ 7 % 63", ApintMath.modPow(a[i], new Apint(7), new Apint(63)), results[i]);
+        }
+
+        a = new Apint[] { new Apint(3), new Apint(-5), new Apint(12345) };
+        results = ApintMath.modPow(a, new Apint(-345), new Apint(-64));
+        for (int i = 0; i < a.length; i++)
+        {
+            assertEquals(a[i] + " ^ -345 % -64", ApintMath.modPow(a[i], new Apint(-345), new Apint(-64)), results[i]);
+        }
+
+        results = ApintMath.modPow(a, new Apint(0), new Apint(7));
+        for (int i = 0; i < a.length; i++)
+        {
+            assertEquals(a[i] + " ^ 0 % 7", new Apint(1), results[i]);
+        }
+
+        results = ApintMath.modPow(a, new Apint(5), new Apint(0));
+        for (int i = 0; i < a.length; i++)
+        {
+            assertEquals(a[i] + " ^ 5 % 0", new Apint(0), results[i]);
+        }
+
+        Random random = new Random(23456);
+        BigInteger b = new BigInteger(2000, random),
+                   m = new BigInteger(2000, random);
+        BigInteger[] x = new BigInteger[10];
+        a = new Apint[x.length];
+        for (int i = 0; i < x.length; i++)
+        {
+            x[i] = new BigInteger(2000, random);
+            a[i] = new Apint(x[i]);
+        }
+        results = ApintMath.modPow(a, new Apint(b), new Apint(m));
+        for (int i = 0; i < x.length; i++)
+        {
+            assertEquals("2000 bits " + i, new Apint(x[i].modPow(b, m)), results[i]);
+        }
+
+        assertEquals("empty", 0, ApintMath.modPow(new Apint[0], new Apint(7), new Apint(63)).length);
+
+        try
+        {
+            ApintMath.modPow(new Apint[] { new Apint(3), new Apint(14) }, new Apint(-1), new Apint(65536));
+            fail("Non-existent modular inverse allowed");
+        }
+        catch (ApfloatArithmeticException aae)
+        {
+            // OK: modular inverse does not exist
+            assertEquals("Localization key", "modInverse.notExists", aae.getLocalizationKey());
+        }
+    }
+
     public static void testFactorial()
     {
         assertEquals("0!", new Apint(1), ApintMath.factorial(0));
@@ -493,6 +570,14 @@ public class ApintMathTest
         assertEquals("20!", new Apint("2432902008176640000"), ApintMath.factorial(20));
         assertEquals("29!", new Apint("8841761993739701954543616000000"), ApintMath.factorial(29));
 
+        Apint product = new Apint(1);
+        for (int i = 2; i <= 3000; i++)
+        {
+            product = product.multiply(new Apint(i));
+        }
+        assertEquals("3000!", product, ApintMath.factorial(3000));
+        assertEquals("3000! radix 2", product.toRadix(2), ApintMath.factorial(3000, 2));
+
         try
         {
             ApintMath.factorial(-1);
@@ -518,6 +603,14 @@ public class ApintMathTest
         assertEquals("20!!", new Apint("3715891200"), ApintMath.doubleFactorial(20));
         assertEquals("29!!", new Apint("6190283353629375"), ApintMath.doubleFactorial(29));
 
+        Apint product = new Apint(1);
+        for (int i = 3; i <= 3001; i += 2)
+        {
+            product = product.multiply(new Apint(i));
+        }
+        assertEquals("3001!!", product, ApintMath.doubleFactorial(3001));
+        assertEquals("3002!!", ApintMath.pow(new Apint(2), 1501).multiply(ApintMath.factorial(1501)), ApintMath.doubleFactorial(3002));
+
         try
         {
             ApintMath.doubleFactorial(-1);
@@ -618,6 +711,15 @@ public class ApintMathTest
         a = ApintMath.binomial(9, 5, 11);
         assertEquals("9,5 radix 11 value", new Apint(126, 11), a);
 
+        // The primes up to n are sieved in more than one segment
+        BigInteger b = BigInteger.ONE;
+        for (int i = 0; i < 3100; i++)
+        {
+            b = b.multiply(BigInteger.valueOf(3000000 - i)).divide(BigInteger.valueOf(i + 1));
+        }
+        a = ApintMath.binomial(3000000, 3100);
+        assertEquals("3000000,3100 value", new Apint(b), a);
+
         a = ApintMath.binomial(new Apint(10), new Apint(2));
         assertEquals("10,2 apint value", new Apint(45), a);
 
@@ -691,6 +793,12 @@ public class ApintMathTest
             // OK: overflow
             assertEquals("Localization key", "overflow", oe.getLocalizationKey());
         }
+
+        a = ApintMath.binomial(3000, 1234);
+        assertEquals("3000,1234 value", ApintMath.factorial(3000).divide(ApintMath.factorial(1234).multiply(ApintMath.factorial(1766))), a);
+
+        a = ApintMath.binomial(-3000, 1234);
+        assertEquals("-3000,1234 value", ApintMath.binomial(4233, 1234), a);
     }
 
     public static void testStirlingS1()
@@ -743,6 +851,22 @@ public class ApintMathTest
         assertEquals("Empty product", new Apint("1"), ApintMath.product());
     }
 
+    public static void testPrepareMultiplicand()
+    {
+        Apint x = ApintMath.random(20000),
+              y = ApintMath.prepareMultiplicand(x);
+        assertEquals("value", x, y);
+
+        for (int i = 0; i < 3; i++)
+        {
+            Apint z = ApintMath.random(15000 + 1000 * i);
+            assertEquals("product " + i, x.multiply(z), y.multiply(z));
+            assertEquals("reverse product " + i, z.multiply(x), z.multiply(y));
+        }
+
+        assertEquals("zero", Apint.ZERO, ApintMath.prepareMultiplicand(Apint.ZERO));
+    }
+
     public static void testSum()
     {
         Apint a = ApintMath.sum(new Apint("2"), new Apint("3"));
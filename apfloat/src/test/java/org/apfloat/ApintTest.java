@@ -32,15 +32,17 @@ import java.io.ByteArrayInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectInputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.Locale;
 import java.util.IllegalFormatException;
+import java.util.Random;
 
 import junit.framework.TestSuite;
 
 import static org.apfloat.ApfloatTest.readAllAsString;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -96,6 +98,7 @@ public class ApintTest
         suite.addTest(new ApintTest("testWriteTo"));
         suite.addTest(new ApintTest("testFormatTo"));
         suite.addTest(new ApintTest("testSerialization"));
+        suite.addTest(new ApintTest("testBinaryFormat"));
 
         return suite;
     }
@@ -212,6 +215,19 @@ public class ApintTest
         a = new Apint(BigInteger.valueOf(6), 12);
         assertEquals("6 radix", 12, a.radix());
         assertEquals("6 String", "6", a.toString());
+
+        Random random = new Random(5006);
+        for (int radix : new int[] { 2, 8, 10, 16, 32, 36 })
+        {
+            for (int bits = 1; bits < 100000; bits *= 3)
+            {
+                BigInteger value = new BigInteger(bits, random).setBit(bits - 1);
+                a = new Apint(value, radix);
+                assertEquals("radix " + radix + " bits " + bits, value.toString(radix), a.toString());
+                a = new Apint(value.negate(), radix);
+                assertEquals("radix " + radix + " bits " + bits + " negative", value.negate().toString(radix), a.toString());
+            }
+        }
     }
 
     public static void testRationalMethods()
@@ -492,6 +508,19 @@ public class ApintTest
         assertEquals("-12345678901234567890", new BigInteger("-12345678901234567890"), b.toBigInteger());
         assertEquals("0", BigInteger.ZERO, Apint.ZERO.toBigInteger());
 
+        Random random = new Random(5005);
+        for (int radix : new int[] { 2, 8, 10, 16, 32, 36 })
+        {
+            for (int bits = 1; bits < 100000; bits *= 3)
+            {
+                BigInteger value = new BigInteger(bits, random).setBit(bits - 1);
+                a = new Apint(value.toString(radix), radix);
+                assertEquals("radix " + radix + " bits " + bits, value, a.toBigInteger());
+                a = new Apint(value.negate().toString(radix), radix);
+                assertEquals("radix " + radix + " bits " + bits + " negative", value.negate(), a.toBigInteger());
+            }
+        }
+
         try
         {
             a = new Apfloat("1", Apfloat.INFINITE, 16).scale(1000000000000000L).truncate();
@@ -740,4 +769,27 @@ public class ApintTest
         assertEquals("5 equals", a, b);
         assertNotSame("5 !=", a, b);
     }
+
+    public static void testBinaryFormat()
+        throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Apint a = new Apint("-123456789012345678901234567890");
+        a.writeTo(Channels.newChannel(buffer));
+        Apint b = new Apint(Channels.newChannel(new ByteArrayInputStream(buffer.toByteArray())));
+        assertEquals("a equals", a, b);
+        assertEquals("a String", "-123456789012345678901234567890", b.toString());
+
+        buffer.reset();
+        new Apfloat("1.5").writeTo(Channels.newChannel(buffer));
+        try
+        {
+            new Apint(Channels.newChannel(new ByteArrayInputStream(buffer.toByteArray())));
+            fail("Non-integer accepted");
+        }
+        catch (NumberFormatException nfe)
+        {
+            // OK: not an integer
+        }
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2025 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+import junit.framework.TestSuite;
+
+/**
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class AprationalAccumulatorTest
+    extends ApfloatTestCase
+{
+    public AprationalAccumulatorTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new AprationalAccumulatorTest("testConstructor"));
+        suite.addTest(new AprationalAccumulatorTest("testAdd"));
+        suite.addTest(new AprationalAccumulatorTest("testSubtract"));
+        suite.addTest(new AprationalAccumulatorTest("testMultiply"));
+        suite.addTest(new AprationalAccumulatorTest("testDivide"));
+        suite.addTest(new AprationalAccumulatorTest("testBig"));
+
+        return suite;
+    }
+
+    public static void testConstructor()
+    {
+        AprationalAccumulator a = new AprationalAccumulator(new Aprational("-2/3"));
+        assertEquals("-2/3", new Aprational("-2/3"), a.toAprational());
+
+        a = new AprationalAccumulator(new Apint(4), new Apint(-6));
+        assertEquals("4/-6", new Aprational("-2/3"), a.toAprational());
+        assertEquals("4/-6 denominator", new Apint(3), a.toAprational().denominator());
+
+        a = new AprationalAccumulator(new Apint(0), new Apint(-6));
+        assertEquals("0/-6", new Aprational("0"), a.toAprational());
+
+        a = new AprationalAccumulator(new Apint(600, 7), new Apint(1400, 7));
+        assertEquals("600/1400 radix 7", new Aprational(new Apint(3, 7), new Apint(7, 7)), a.toAprational());
+        assertEquals("600/1400 radix 7 radix", 7, a.toAprational().radix());
+
+        try
+        {
+            new AprationalAccumulator(new Apint(1), new Apint(0));
+            fail("Zero denominator accepted");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // OK: zero denominator
+        }
+    }
+
+    public static void testAdd()
+    {
+        AprationalAccumulator a = new AprationalAccumulator(new Aprational("1/2"));
+        a.add(new Aprational("2/3")).add(new Aprational("-1/6"));
+        assertEquals("1/2+2/3-1/6", new Aprational("1"), a.toAprational());
+
+        a = new AprationalAccumulator(new Aprational("1/10"));
+        a.add(new Aprational("9/10"));
+        assertEquals("1/10+9/10", new Aprational("1"), a.toAprational());
+        assertEquals("1/10+9/10 toString", "1/1", a.toString());
+
+        a = new AprationalAccumulator(new Aprational("1/3"));
+        a.add(new AprationalAccumulator(new Aprational("-1/3")));
+        assertEquals("1/3-1/3", new Aprational("0"), a.toAprational());
+        a.add(new Aprational("5/7"));
+        assertEquals("0+5/7", new Aprational("5/7"), a.toAprational());
+    }
+
+    public static void testSubtract()
+    {
+        AprationalAccumulator a = new AprationalAccumulator(new Aprational("3/4"));
+        a.subtract(new Aprational("1/4")).subtract(new Aprational("1/6"));
+        assertEquals("3/4-1/4-1/6", new Aprational("1/3"), a.toAprational());
+        a.subtract(new Aprational("1/3"));
+        assertEquals("1/3-1/3", new Aprational("0"), a.toAprational());
+    }
+
+    public static void testMultiply()
+    {
+        AprationalAccumulator a = new AprationalAccumulator(new Aprational("3/4"));
+        a.multiply(new Aprational("-2/9")).multiply(new Aprational("6"));
+        assertEquals("3/4*-2/9*6", new Aprational("-1"), a.toAprational());
+        a.multiply(new Aprational("0"));
+        assertEquals("*0", new Aprational("0"), a.toAprational());
+    }
+
+    public static void testDivide()
+    {
+        AprationalAccumulator a = new AprationalAccumulator(new Aprational("3/4"));
+        a.divide(new Aprational("-3/8"));
+        assertEquals("3/4/-3/8", new Aprational("-2"), a.toAprational());
+        a.divide(new Aprational("-6"));
+        assertEquals("-2/-6", new Aprational("1/3"), a.toAprational());
+
+        try
+        {
+            a.divide(new Aprational("0"));
+            fail("Division by zero accepted");
+        }
+        catch (ArithmeticException ae)
+        {
+            // OK: division by zero
+        }
+    }
+
+    public static void testBig()
+    {
+        for (int radix : new int[] { 10, 7 })
+        {
+            // Enough terms that the intermediate results are reduced
+            AprationalAccumulator a = new AprationalAccumulator(new Aprational(new Apint(0, radix)));
+            Aprational b = new Aprational(new Apint(0, radix));
+            for (int i = 1; i <= 1000; i++)
+            {
+                Aprational x = new Aprational(new Apint(i % 3 == 0 ? -1 : 1, radix), new Apint(i, radix));
+                a.add(x);
+                b = b.add(x);
+            }
+            assertEquals("Harmonic radix " + radix, b, a.toAprational());
+
+            a = new AprationalAccumulator(new Aprational(new Apint(1, radix)));
+            b = new Aprational(new Apint(1, radix));
+            for (int i = 1; i <= 1000; i++)
+            {
+                Aprational x = new Aprational(new Apint(i, radix), new Apint(i + 2, radix));
+                a.multiply(x);
+                b = b.multiply(x);
+            }
+            assertEquals("Product radix " + radix, b, a.toAprational());
+            assertEquals("Product value radix " + radix, new Aprational(new Apint(2, radix), new Apint(1001 * 1002, radix)), a.toAprational());
+        }
+    }
+}
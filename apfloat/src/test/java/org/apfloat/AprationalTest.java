@@ -32,6 +32,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectInputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
 import java.util.Locale;
 import java.util.IllegalFormatException;
 
@@ -96,6 +97,7 @@ public class AprationalTest
         suite.addTest(new AprationalTest("testWriteTo"));
         suite.addTest(new AprationalTest("testFormatTo"));
         suite.addTest(new AprationalTest("testSerialization"));
+        suite.addTest(new AprationalTest("testBinaryFormat"));
 
         return suite;
     }
@@ -986,4 +988,29 @@ public class AprationalTest
         assertEquals("Legacy scale", -1, a.scale());
         assertEquals("Legacy size", 1, a.size());
     }
+
+    public static void testBinaryFormat()
+        throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Aprational a = new Aprational("-123456789/1000000000000", 12);
+        a.writeTo(Channels.newChannel(buffer));
+        Aprational b = new Aprational(Channels.newChannel(new ByteArrayInputStream(buffer.toByteArray())));
+        assertEquals("a equals", a, b);
+        assertEquals("a radix", 12, b.radix());
+        assertEquals("a String", a.toString(), b.toString());
+
+        buffer.reset();
+        new Apint(1).writeTo(Channels.newChannel(buffer));
+        new Apint(0).writeTo(Channels.newChannel(buffer));
+        try
+        {
+            new Aprational(Channels.newChannel(new ByteArrayInputStream(buffer.toByteArray())));
+            fail("Zero denominator accepted");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // OK: zero denominator
+        }
+    }
 }
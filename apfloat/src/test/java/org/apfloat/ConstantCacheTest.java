@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import junit.framework.TestSuite;
+
+/**
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class ConstantCacheTest
+    extends ApfloatTestCase
+{
+    public ConstantCacheTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new ConstantCacheTest("testDisabled"));
+        suite.addTest(new ConstantCacheTest("testSaveAndLoad"));
+        suite.addTest(new ConstantCacheTest("testResume"));
+        suite.addTest(new ConstantCacheTest("testReadOnly"));
+
+        return suite;
+    }
+
+    private static Path setCachePath()
+        throws IOException
+    {
+        Path directory = Files.createTempDirectory("apfloat");
+        ApfloatContext ctx = (ApfloatContext) ApfloatContext.getContext().clone();
+        ctx.setProperty(ApfloatContext.CONSTANT_CACHE_PATH, directory.toString());
+        ApfloatContext.setThreadContext(ctx);
+        return directory;
+    }
+
+    private static void removeCachePath(Path directory)
+    {
+        directory.toFile().setWritable(true);
+        ApfloatContext.removeThreadContext();
+        for (File file : directory.toFile().listFiles())
+        {
+            file.delete();
+        }
+        directory.toFile().delete();
+    }
+
+    public static void testDisabled()
+    {
+        ConstantCache.save("test", 10, new Apfloat(5));
+        assertNull("Disabled", ConstantCache.load("test", 10, 1));
+    }
+
+    public static void testSaveAndLoad()
+        throws IOException
+    {
+        Path directory = setCachePath();
+        try
+        {
+            assertNull("Not found", ConstantCache.load("test", 12, 2));
+
+            Apfloat a = new Apfloat("1234567890.123456789", 30, 12),
+                    b = new Apint(-5, 12);
+            ConstantCache.save("test", 12, a, b);
+            Apfloat[] values = ConstantCache.load("test", 12, 2);
+            assertEquals("Values length", 2, values.length);
+            assertEquals("Value 1", a, values[0]);
+            assertEquals("Value 1 precision", 30, values[0].precision());
+            assertEquals("Value 2", b, values[1]);
+            assertEquals("Value 2 precision", Apfloat.INFINITE, values[1].precision());
+            assertNull("Wrong radix", ConstantCache.load("test", 11, 2));
+            assertNull("Too few values", ConstantCache.load("test", 12, 3));
+
+            ConstantCache.save("test", 12, b);
+            values = ConstantCache.load("test", 12, 1);
+            assertEquals("Replaced value", b, values[0]);
+
+            Files.write(directory.resolve("test-12.ap"), new byte[] { 1, 2, 3 });
+            assertNull("Invalid file", ConstantCache.load("test", 12, 1));
+
+            // Valid header but a size that can't be allocated
+            ConstantCache.save("test", 12, a);
+            byte[] data = Files.readAllBytes(directory.resolve("test-12.ap"));
+            data[24] = 0x7F;
+            Files.write(directory.resolve("test-12.ap"), data);
+            assertNull("Corrupt size", ConstantCache.load("test", 12, 1));
+            assertEquals("Temporary files", 1, directory.toFile().list().length);
+        }
+        finally
+        {
+            removeCachePath(directory);
+        }
+    }
+
+    public static void testResume()
+        throws IOException
+    {
+        Path directory = setCachePath();
+        try
+        {
+            // State of the binary splitting after only a few terms
+            ConstantCache.save("e", 35, new Apfloat(3, Apfloat.INFINITE, 35), new Apfloat(10, Apfloat.INFINITE, 35), new Apfloat(6, Apfloat.INFINITE, 35), new Apfloat("2.q", 2, 35));
+            Apfloat e = ApfloatMath.e(100, 35);
+            assertEquals("e precision", 100, e.precision());
+            assertEquals("e value", ApfloatMath.exp(new Apfloat(1, 120, 35)).precision(100), e, ApfloatMath.scale(new Apfloat(1, 1, 35), -97));
+            Apfloat[] values = ConstantCache.load("e", 35, 4);
+            assertTrue("e terms " + values[0], values[0].compareTo(new Apfloat(3, Apfloat.INFINITE, 35)) > 0);
+            assertEquals("e saved value", e, values[3]);
+
+            Apfloat inverseRoot = ApfloatMath.inverseRoot(new Apfloat(1823176476672000L, 5, 33), 2);
+            ConstantCache.save("pi", 33, new Apfloat(1, Apfloat.INFINITE, 33), new Apfloat(13591409, Apfloat.INFINITE, 33), new Apfloat(1, Apfloat.INFINITE, 33), new Apfloat(1, Apfloat.INFINITE, 33), inverseRoot, new Apfloat("3.4m", 3, 33));
+            Apfloat pi = ApfloatMath.pi(100, 33);
+            assertEquals("pi precision", 100, pi.precision());
+            assertEquals("pi value", ApfloatMath.pi(200).toRadix(33).precision(100), pi, ApfloatMath.scale(new Apfloat(1, 1, 33), -97));
+            values = ConstantCache.load("pi", 33, 6);
+            assertTrue("pi terms " + values[0], values[0].compareTo(new Apfloat(1, Apfloat.INFINITE, 33)) > 0);
+            assertEquals("pi saved value", pi, values[5]);
+
+            Apfloat euler = ApfloatMath.euler(30, 34);
+            assertEquals("euler saved value", euler, ConstantCache.load("euler", 34, 1)[0]);
+            Apfloat catalan = ApfloatMath.catalan(30, 34);
+            assertEquals("catalan saved value", catalan, ConstantCache.load("catalan", 34, 1)[0]);
+            Apfloat log = ApfloatMath.logRadix(30, 34);
+            assertEquals("log saved value", log, ConstantCache.load("logPi", 34, 1)[0].precision(30));
+        }
+        finally
+        {
+            removeCachePath(directory);
+        }
+    }
+
+    public static void testReadOnly()
+        throws IOException
+    {
+        Path directory = setCachePath();
+        try
+        {
+            // Writing to the cache fails, but the values are still calculated
+            directory.toFile().setWritable(false);
+            ConstantCache.save("test", 10, new Apfloat(5));
+            Apfloat e = ApfloatMath.e(50, 29);
+            assertEquals("e", ApfloatMath.exp(new Apfloat(1, 60, 29)).precision(50), e, ApfloatMath.scale(new Apfloat(1, 1, 29), -47));
+
+            // Also when running with privileges that ignore the permissions, the cache can't be a file
+            directory.toFile().setWritable(true);
+            Path file = Files.createFile(directory.resolve("file"));
+            ApfloatContext.getContext().setProperty(ApfloatContext.CONSTANT_CACHE_PATH, file.toString());
+            ConstantCache.save("test", 10, new Apfloat(5));
+            assertNull("Not saved", ConstantCache.load("test", 10, 1));
+            Apfloat pi = ApfloatMath.pi(50, 29);
+            assertEquals("pi", ApfloatMath.pi(100).toRadix(29).precision(50), pi, ApfloatMath.scale(new Apfloat(1, 1, 29), -47));
+        }
+        finally
+        {
+            removeCachePath(directory);
+        }
+    }
+}
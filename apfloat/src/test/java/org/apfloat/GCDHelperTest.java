@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,7 +30,7 @@ import junit.framework.TestSuite;
 
 /**
  * @since 1.6
- * @version 1.6
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -52,6 +52,7 @@ public class GCDHelperTest
         TestSuite suite = new TestSuite();
 
         suite.addTest(new GCDHelperTest("testGcd"));
+        suite.addTest(new GCDHelperTest("testExtendedGcd"));
 
         return suite;
     }
@@ -72,13 +73,48 @@ public class GCDHelperTest
         }
     }
 
+    public static void testExtendedGcd()
+    {
+        Random random = new Random();
+
+        for (int radix : new int[] { 10, 7 })
+        {
+            for (int length : new int[] { 1, 10, 30, 100, 1000, 10000, 30000 })
+            {
+                Apint g = new Apint(getString(random, length / 3 + 1, radix), radix).add(new Apint(1, radix)),
+                      a = new Apint(getString(random, length, radix), radix).add(new Apint(1, radix)).multiply(g),
+                      b = new Apint(getString(random, length, radix), radix).multiply(g);
+                a = (random.nextBoolean() ? a : a.negate());
+                b = (random.nextBoolean() ? b : b.negate());
+
+                Apint[] result = GCDHelper.extendedGcd(a, b);
+                Apint gcd = ApintMath.gcd(a, b);
+
+                assertEquals(length + " radix " + radix + " gcd", gcd, result[0]);
+                assertEquals(length + " radix " + radix + " cofactors", gcd, a.multiply(result[1]).add(b.multiply(result[2])));
+                assertEquals(length + " radix " + radix + " a / gcd", a.divide(gcd), result[3]);
+                assertEquals(length + " radix " + radix + " b / gcd", b.divide(gcd), result[4]);
+            }
+        }
+
+        Apint[] result = GCDHelper.extendedGcd(new Apint(0), new Apint(-5));
+        assertEquals("0, -5 gcd", new Apint(5), result[0]);
+        assertEquals("0, -5 cofactors", new Apint(5), new Apint(-5).multiply(result[2]));
+        assertEquals("0, -5 a / gcd", new Apint(0), result[3]);
+        assertEquals("0, -5 b / gcd", new Apint(-1), result[4]);
+    }
+
     private static String getString(Random random)
     {
-        int length = random.nextInt(65000) + 35000;
+        return getString(random, random.nextInt(65000) + 35000, 10);
+    }
+
+    private static String getString(Random random, int length, int radix)
+    {
         StringBuilder buffer = new StringBuilder(length);
         for (int i = 0; i < length; i++)
         {
-            buffer.append((char) (random.nextInt(10) + (int) '0'));
+            buffer.append(Character.forDigit(random.nextInt(radix), radix));
         }
 
         return buffer.toString();
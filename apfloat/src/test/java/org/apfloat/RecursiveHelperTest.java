@@ -23,6 +23,7 @@
  */
 package org.apfloat;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,7 +36,7 @@ import java.util.concurrent.TimeUnit;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -61,6 +62,7 @@ public class RecursiveHelperTest
         suite.addTest(new RecursiveHelperTest("testRecursiveComputeSingleThreadPool"));
         suite.addTest(new RecursiveHelperTest("testRecursiveComputeMoreIndexesThanProcessors"));
         suite.addTest(new RecursiveHelperTest("testRecursiveComputeMoreProcessorsThanIndexes"));
+        suite.addTest(new RecursiveHelperTest("testRecursiveComputeGrainSize"));
         suite.addTest(new RecursiveHelperTest("testInterrupt"));
         suite.addTest(new RecursiveHelperTest("testSequentialCompute"));
 
@@ -248,6 +250,41 @@ public class RecursiveHelperTest
         return null;
     }
 
+    public static void testRecursiveComputeGrainSize()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ExecutorService globalExecutorService = ctx.getExecutorService();
+        int globalNumberOfProcessors = ctx.getNumberOfProcessors();
+
+        ExecutorService executorService = new ForkJoinPool(7);
+        ctx.setExecutorService(executorService);
+        ctx.setNumberOfProcessors(8);
+
+        for (int n = 7; n <= 19; n++)
+        {
+            long expected = 1;
+            for (int i = 1; i <= n; i++)
+            {
+                expected *= i;
+            }
+            for (long grainSize = 1; grainSize <= 20; grainSize++)
+            {
+                Set<Thread> threads = ConcurrentHashMap.newKeySet();
+                long factorial = RecursiveHelper.recursiveCompute(1, n, i -> { threads.add(Thread.currentThread()); return i; }, (a, b) -> a * b, grainSize);
+                assertEquals(n + "! with grain size " + grainSize, expected, factorial);
+                if (grainSize >= n)
+                {
+                    assertEquals(n + "! with grain size " + grainSize + " threads", Collections.singleton(Thread.currentThread()), threads);
+                }
+            }
+        }
+
+        executorService.shutdown();
+
+        ctx.setExecutorService(globalExecutorService);
+        ctx.setNumberOfProcessors(globalNumberOfProcessors);
+    }
+
     public static void testInterrupt()
         throws Exception
     {
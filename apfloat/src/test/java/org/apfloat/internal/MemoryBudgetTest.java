@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class MemoryBudgetTest
+    extends TestCase
+{
+    public MemoryBudgetTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new MemoryBudgetTest("testConcurrent"));
+        suite.addTest(new MemoryBudgetTest("testOrder"));
+        suite.addTest(new MemoryBudgetTest("testReentrant"));
+        suite.addTest(new MemoryBudgetTest("testCancel"));
+
+        return suite;
+    }
+
+    public static void testConcurrent()
+        throws Exception
+    {
+        MemoryBudget memoryBudget = new MemoryBudget();
+        ExecutorService executorService = Executors.newSingleThreadExecutor(),
+                        executorService2 = Executors.newSingleThreadExecutor();
+        try
+        {
+            MemoryBudget.Acquisition acquisition1 = memoryBudget.acquire(40, 100);
+            assertTrue("first done", acquisition1.isDone());
+            MemoryBudget.Acquisition acquisition2 = executorService.submit(() -> memoryBudget.acquire(60, 100)).get();
+            assertTrue("second done", executorService.submit(() -> acquisition2.isDone()).get());
+            assertEquals("used", 100, memoryBudget.getUsed());
+            MemoryBudget.Acquisition acquisition3 = executorService2.submit(() -> memoryBudget.acquire(1, 100)).get();
+            assertFalse("third not done", executorService2.submit(() -> acquisition3.isDone()).get());
+            assertFalse("third not done in other thread", acquisition3.isDone());
+
+            acquisition2.release();
+            assertTrue("third done in other thread", acquisition3.isDone());
+            assertTrue("third done", executorService2.submit(() -> acquisition3.isDone()).get());
+            assertEquals("used after", 41, memoryBudget.getUsed());
+            acquisition2.release();
+            assertEquals("used after second release", 41, memoryBudget.getUsed());
+            acquisition3.release();
+            acquisition1.release();
+
+            MemoryBudget.Acquisition acquisition4 = memoryBudget.acquire(1000, 100);
+            assertTrue("oversized done when alone", acquisition4.isDone());
+            acquisition4.release();
+            assertEquals("used at end", 0, memoryBudget.getUsed());
+        }
+        finally
+        {
+            executorService.shutdown();
+            executorService2.shutdown();
+        }
+    }
+
+    public static void testOrder()
+        throws Exception
+    {
+        MemoryBudget memoryBudget = new MemoryBudget();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try
+        {
+            MemoryBudget.Acquisition acquisition1 = memoryBudget.acquire(50, 100);
+            assertTrue("first done", acquisition1.isDone());
+            MemoryBudget.Acquisition acquisition2 = executorService.submit(() -> memoryBudget.acquire(100, 100)).get();
+            assertFalse("large not done", executorService.submit(() -> acquisition2.isDone()).get());
+
+            // Would fit in the budget but the large request is first in line
+            Future<MemoryBudget.Acquisition> future3 = executorService.submit(() -> memoryBudget.acquire(10, 100));
+            MemoryBudget.Acquisition acquisition3 = future3.get();
+            assertFalse("small not done", executorService.submit(() -> acquisition3.isDone()).get());
+
+            acquisition1.release();
+            assertFalse("small still not done", executorService.submit(() -> acquisition3.isDone()).get());
+            assertTrue("large done", executorService.submit(() -> acquisition2.isDone()).get());
+            assertFalse("small still not done after large", executorService.submit(() -> acquisition3.isDone()).get());
+            acquisition2.release();
+            assertTrue("small done", executorService.submit(() -> acquisition3.isDone()).get());
+            acquisition3.release();
+            assertEquals("used at end", 0, memoryBudget.getUsed());
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+    public static void testReentrant()
+    {
+        MemoryBudget memoryBudget = new MemoryBudget();
+        MemoryBudget.Acquisition acquisition1 = memoryBudget.acquire(100, 100),
+                                 acquisition2;
+        assertTrue("first done", acquisition1.isDone());
+        acquisition2 = memoryBudget.acquire(100, 100);
+        assertTrue("second done", acquisition2.isDone());
+        acquisition2.release();
+        acquisition1.release();
+        assertEquals("used at end", 0, memoryBudget.getUsed());
+    }
+
+    public static void testCancel()
+        throws Exception
+    {
+        MemoryBudget memoryBudget = new MemoryBudget();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try
+        {
+            MemoryBudget.Acquisition acquisition1 = memoryBudget.acquire(100, 100);
+            assertTrue("first done", acquisition1.isDone());
+            MemoryBudget.Acquisition acquisition2 = executorService.submit(() -> memoryBudget.acquire(100, 100)).get(),
+                                     acquisition3 = executorService.submit(() -> memoryBudget.acquire(100, 100)).get();
+
+            // The other thread holds no memory yet, so its requests are queued
+            assertFalse("second not done", executorService.submit(() -> acquisition2.isDone()).get());
+            assertTrue("withdrawn", acquisition2.cancel(false));
+            acquisition1.release();
+            assertTrue("cancelled", acquisition2.isCancelled());
+            assertTrue("third done", executorService.submit(() -> acquisition3.isDone()).get());
+            assertEquals("cancelled not granted", 100, memoryBudget.getUsed());
+            acquisition3.release();
+            assertEquals("used at end", 0, memoryBudget.getUsed());
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+}
@@ -25,10 +25,12 @@ package org.apfloat.internal;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -41,7 +43,7 @@ import junit.framework.TestSuite;
 
 /**
  * @since 1.1
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -96,6 +98,8 @@ public class ParallelRunnerTest
         suite.addTest(new ParallelRunnerTest("testRunNoUnnecessaryTasks"));
         suite.addTest(new ParallelRunnerTest("testWait"));
         suite.addTest(new ParallelRunnerTest("testWaitIdle"));
+        suite.addTest(new ParallelRunnerTest("testWaitPark"));
+        suite.addTest(new ParallelRunnerTest("testWaitCompletion"));
         suite.addTest(new ParallelRunnerTest("testInterrupt"));
 
         return suite;
@@ -383,6 +387,128 @@ public class ParallelRunnerTest
         }
     }
 
+    public static void testWaitPark()
+        throws Exception
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ctx.setNumberOfProcessors(4);
+        ctx.setExecutorService(ApfloatContext.getDefaultExecutorService());
+
+        // No work to steal, so the thread should be parked for most of the time
+        FutureTask<Void> future = new FutureTask<>(() -> null);
+        long parkTime = ParallelRunner.getParkTime();
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                Thread.sleep(200);
+            }
+            catch (InterruptedException ie)
+            {
+                // Ignore
+            }
+            future.run();
+        });
+        thread.start();
+        ctx.wait(future);
+        assertTrue("done", future.isDone());
+        assertTrue("park time", ParallelRunner.getParkTime() - parkTime >= 100000000L);
+        thread.join();
+
+        // Work that becomes available while parked is stolen
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean stolen = new AtomicBoolean();
+        Thread waiter = Thread.currentThread();
+        Future<?> dummyFuture = new DummyFuture()
+        {
+            @Override
+            public boolean isDone()
+            {
+                return stolen.get();
+            }
+        };
+        ParallelRunnable parallelRunnable = new ParallelRunnable(1000)
+        {
+            @Override
+            public Runnable getRunnable(int start, int length)
+            {
+                return () ->
+                {
+                    if (Thread.currentThread() != waiter)
+                    {
+                        // Block the thread running the task, until some work was stolen
+                        awaitUninterrupted(latch);
+                    }
+                    else
+                    {
+                        stolen.set(true);
+                        latch.countDown();
+                    }
+                };
+            }
+
+            @Override
+            protected long getPreferredBatchSize()
+            {
+                return 1;
+            }
+        };
+        ApfloatContext singleCtx = (ApfloatContext) ctx.clone();
+        singleCtx.setNumberOfProcessors(1);
+        thread = new Thread(() ->
+        {
+            ApfloatContext.setThreadContext(singleCtx);
+            try
+            {
+                Thread.sleep(100);
+            }
+            catch (InterruptedException ie)
+            {
+                // Ignore
+            }
+            ParallelRunner.runParallel(parallelRunnable);
+        });
+        long stealTime = ParallelRunner.getStealTime();
+        thread.start();
+        ctx.wait(dummyFuture);
+        assertTrue("stolen", stolen.get());
+        assertTrue("steal time", ParallelRunner.getStealTime() > stealTime);
+        thread.join();
+    }
+
+    public static void testWaitCompletion()
+        throws Exception
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        ctx.setNumberOfProcessors(4);
+        ctx.setExecutorService(ApfloatContext.getDefaultExecutorService());
+
+        // An ordinary executor future doesn't notify, it is waited for with a timeout
+        Future<?> future = ctx.getExecutorService().submit(() -> sleepUninterrupted(100));
+        ctx.wait(future);
+        assertTrue("executor future done", future.isDone());
+
+        // A completable future wakes up the waiting thread
+        CompletableFuture<Void> completableFuture = new CompletableFuture<>();
+        Thread thread = new Thread(() ->
+        {
+            sleepUninterrupted(100);
+            completableFuture.complete(null);
+        });
+        thread.start();
+        ctx.wait(completableFuture);
+        assertTrue("completable future done", completableFuture.isDone());
+        thread.join();
+
+        // A notifying future task wakes up the waiting thread
+        FutureTask<Void> futureTask = new ParallelRunner.NotifyingFutureTask<>(() -> sleepUninterrupted(100), null);
+        thread = new Thread(futureTask);
+        thread.start();
+        ctx.wait(futureTask);
+        assertTrue("notifying future task done", futureTask.isDone());
+        thread.join();
+    }
+
     public static void testInterrupt()
     {
         for (int threads = 1; threads <= 32; threads++)
@@ -443,6 +569,18 @@ public class ParallelRunnerTest
         }
     }
 
+    private static void sleepUninterrupted(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException ie)
+        {
+            // Ignore
+        }
+    }
+
     private static void awaitUninterrupted(CountDownLatch latch)
     {
         try
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.spi;
+
+import java.io.PushbackReader;
+import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apfloat.Apfloat;
+import org.apfloat.ApfloatContext;
+import org.apfloat.internal.BinaryFormat;
+import org.apfloat.internal.IntBuilderFactory;
+import org.apfloat.internal.LongApfloatBuilder;
+import org.apfloat.internal.LongBuilderFactory;
+
+/**
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class ApfloatBuilderTest
+    extends TestCase
+{
+    public ApfloatBuilderTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new ApfloatBuilderTest("testCreateApfloatByteArray"));
+        suite.addTest(new ApfloatBuilderTest("testCreateApfloatChannel"));
+
+        return suite;
+    }
+
+    // Only implements the abstract methods, so the default methods are used for the rest
+    private static class DefaultApfloatBuilder
+        implements ApfloatBuilder
+    {
+        public DefaultApfloatBuilder(ApfloatBuilder builder)
+        {
+            this.builder = builder;
+        }
+
+        @Override
+        public ApfloatImpl createApfloat(String value, long precision, int radix, boolean isInteger)
+        {
+            return this.builder.createApfloat(value, precision, radix, isInteger);
+        }
+
+        @Override
+        public ApfloatImpl createApfloat(long value, long precision, int radix)
+        {
+            return this.builder.createApfloat(value, precision, radix);
+        }
+
+        @Override
+        public ApfloatImpl createApfloat(double value, long precision, int radix)
+        {
+            return this.builder.createApfloat(value, precision, radix);
+        }
+
+        @Override
+        public ApfloatImpl createApfloat(PushbackReader in, long precision, int radix, boolean isInteger)
+            throws IOException
+        {
+            return this.builder.createApfloat(in, precision, radix, isInteger);
+        }
+
+        @Override
+        public ApfloatImpl createApfloat(PushbackReader in, long precision, int radix, boolean isInteger, long initialSize)
+            throws IOException
+        {
+            return this.builder.createApfloat(in, precision, radix, isInteger, initialSize);
+        }
+
+        private ApfloatBuilder builder;
+    }
+
+    public static void testCreateApfloatByteArray()
+    {
+        ApfloatBuilder builder = new DefaultApfloatBuilder(new LongApfloatBuilder());
+
+        BigInteger value = new BigInteger("123456789012345678901234567890");
+        ApfloatImpl impl = builder.createApfloat(1, value.toByteArray(), Apfloat.INFINITE, 16);
+        assertEquals("Positive", value.toString(16), impl.toString(true));
+        assertEquals("Positive radix", 16, impl.radix());
+
+        impl = builder.createApfloat(-1, value.toByteArray(), Apfloat.INFINITE, 2);
+        assertEquals("Negative", "-" + value.toString(2), impl.toString(true));
+
+        impl = builder.createApfloat(1, value.toByteArray(), 5, 2);
+        assertEquals("Precision", 5, impl.precision());
+
+        impl = builder.createApfloat(0, new byte[0], 5, 16);
+        assertEquals("Zero signum", 0, impl.signum());
+
+        impl = builder.createApfloat(1, new byte[] { 0, 0 }, 5, 16);
+        assertEquals("Zero magnitude", 0, impl.signum());
+
+        try
+        {
+            builder.createApfloat(1, value.toByteArray(), Apfloat.INFINITE, 10);
+            fail("Radix 10 allowed");
+        }
+        catch (NumberFormatException nfe)
+        {
+            // OK: radix must be a power of two
+        }
+    }
+
+    public static void testCreateApfloatChannel()
+        throws IOException
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        BuilderFactory originalBuilderFactory = ctx.getBuilderFactory();
+
+        // Only digits that are valid in all radixes, and no exponent as "e" is a digit in high radixes
+        String zeros = String.join("", Collections.nCopies(100, "0"));
+        String[] values = { "0", "1", "-1", "101100111000111100001111000001111110", "0.000101101", "-10110.1101", "1" + zeros, "-0." + zeros + "11" };
+        for (BuilderFactory builderFactory : new BuilderFactory[] { new LongBuilderFactory(), new IntBuilderFactory() })
+        {
+            ApfloatBuilder writeBuilder = builderFactory.getApfloatBuilder(),
+                           builder = new DefaultApfloatBuilder(writeBuilder);
+            ctx.setBuilderFactory(builderFactory);
+            for (int radix : new int[] { 2, 10, 16, 36 })
+            {
+                for (String value : values)
+                {
+                    ApfloatImpl x = writeBuilder.createApfloat(value, 30, radix, false);
+                    String expected = x.toString(false);
+
+                    // Implementation-specific writer, default reader
+                    ApfloatImpl y = builder.createApfloat(Channels.newChannel(new ByteArrayInputStream(write(x, false))));
+                    assertEquals(value + " radix " + radix + " default read", expected, y.toString(false));
+                    assertEquals(value + " radix " + radix + " default read precision", x.precision(), y.precision());
+
+                    // Default writer, implementation-specific reader
+                    y = writeBuilder.createApfloat(Channels.newChannel(new ByteArrayInputStream(write(x, true))));
+                    assertEquals(value + " radix " + radix + " default write", expected, y.toString(false));
+                    assertEquals(value + " radix " + radix + " default write precision", x.precision(), y.precision());
+                }
+            }
+        }
+        ctx.setBuilderFactory(originalBuilderFactory);
+
+        try
+        {
+            new DefaultApfloatBuilder(new LongApfloatBuilder()).createApfloat(Channels.newChannel(new ByteArrayInputStream(new byte[32])));
+            fail("Invalid data accepted");
+        }
+        catch (NumberFormatException nfe)
+        {
+            // OK: not a number
+        }
+    }
+
+    private static byte[] write(ApfloatImpl x, boolean isDefault)
+        throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (WritableByteChannel out = Channels.newChannel(buffer))
+        {
+            if (isDefault)
+            {
+                BinaryFormat.writeTo(x, out);
+            }
+            else
+            {
+                x.writeTo(out);
+            }
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -33,7 +33,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -58,6 +58,7 @@ public class RawtypeApfloatBuilderTest
         suite.addTest(new RawtypeApfloatBuilderTest("testDoubleCreate"));
         suite.addTest(new RawtypeApfloatBuilderTest("testStringCreate"));
         suite.addTest(new RawtypeApfloatBuilderTest("testStreamCreate"));
+        suite.addTest(new RawtypeApfloatBuilderTest("testBinaryCreate"));
 
         return suite;
     }
@@ -181,4 +182,30 @@ public class RawtypeApfloatBuilderTest
             // OK: should not be allowed
         }
     }
+
+    public static void testBinaryCreate()
+    {
+        ApfloatImpl impl;
+        ApfloatBuilder apfloatBuilder = new RawtypeApfloatBuilder();
+
+        impl = apfloatBuilder.createApfloat(1, new byte[] { 0x12, 0x34 }, Apfloat.INFINITE, 16);
+        assertEquals("normal radix", 16, impl.radix());
+        assertEquals("normal precision", Apfloat.INFINITE, impl.precision());
+        assertEquals("normal String", "1234", impl.toString(true));
+
+        impl = apfloatBuilder.createApfloat(-1, new byte[] { 0x12, 0x34 }, 7, 8);
+        assertEquals("prec radix", 8, impl.radix());
+        assertEquals("prec precision", 7, impl.precision());
+        assertEquals("prec String", "-11064", impl.toString(true));
+
+        try
+        {
+            impl = apfloatBuilder.createApfloat(1, new byte[] { 0x12, 0x34 }, 8, 10);
+            fail("Invalid radix accepted");
+        }
+        catch (RuntimeException re)
+        {
+            // OK: should not be allowed
+        }
+    }
 }
@@ -31,7 +31,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectInputStream;
+import java.io.File;
+import java.io.EOFException;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Random;
 
@@ -41,7 +48,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.16.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -66,10 +73,12 @@ public class RawtypeApfloatImplTest
         suite.addTest(new RawtypeApfloatImplTest("testDoubleConstructor"));
         suite.addTest(new RawtypeApfloatImplTest("testStringConstructor"));
         suite.addTest(new RawtypeApfloatImplTest("testStreamConstructor"));
+        suite.addTest(new RawtypeApfloatImplTest("testBinaryConstructor"));
         suite.addTest(new RawtypeApfloatImplTest("testAdd"));
         suite.addTest(new RawtypeApfloatImplTest("testSubtract"));
         suite.addTest(new RawtypeApfloatImplTest("testAddAll"));
         suite.addTest(new RawtypeApfloatImplTest("testMultiply"));
+        suite.addTest(new RawtypeApfloatImplTest("testOneMinusMultiply"));
         suite.addTest(new RawtypeApfloatImplTest("testIsShort"));
         suite.addTest(new RawtypeApfloatImplTest("testDivideShort"));
         suite.addTest(new RawtypeApfloatImplTest("testModShort"));
@@ -80,6 +89,7 @@ public class RawtypeApfloatImplTest
         suite.addTest(new RawtypeApfloatImplTest("testNegate"));
         suite.addTest(new RawtypeApfloatImplTest("testDoubleValue"));
         suite.addTest(new RawtypeApfloatImplTest("testLongValue"));
+        suite.addTest(new RawtypeApfloatImplTest("testToByteArray"));
         suite.addTest(new RawtypeApfloatImplTest("testEqualDigits"));
         suite.addTest(new RawtypeApfloatImplTest("testCompareTo"));
         suite.addTest(new RawtypeApfloatImplTest("testEquals"));
@@ -88,6 +98,8 @@ public class RawtypeApfloatImplTest
         suite.addTest(new RawtypeApfloatImplTest("testToReader"));
         suite.addTest(new RawtypeApfloatImplTest("testWriteTo"));
         suite.addTest(new RawtypeApfloatImplTest("testSerialization"));
+        suite.addTest(new RawtypeApfloatImplTest("testBinaryFormat"));
+        suite.addTest(new RawtypeApfloatImplTest("testBinaryFormatFile"));
 
         return suite;
     }
@@ -1062,6 +1074,63 @@ public class RawtypeApfloatImplTest
         return buffer.toString();
     }
 
+    public static void testBinaryConstructor()
+    {
+        ApfloatImpl impl;
+        Random random = new Random(5005);
+
+        for (int radix = 2; radix <= Character.MAX_RADIX; radix *= 2)
+        {
+            for (int bits = 0; bits < 2000; bits += 1 + random.nextInt(100))
+            {
+                BigInteger value = new BigInteger(bits, random);
+                impl = new RawtypeApfloatImpl(value.signum(), value.toByteArray(), Apfloat.INFINITE, radix);
+                assertEquals("radix " + radix + " bits " + bits, value.toString(radix), impl.toString(true));
+
+                impl = new RawtypeApfloatImpl(-value.signum(), value.toByteArray(), Apfloat.INFINITE, radix);
+                assertEquals("radix " + radix + " bits " + bits + " negative", value.negate().toString(radix), impl.toString(true));
+            }
+
+            impl = new RawtypeApfloatImpl(1, BigInteger.ONE.shiftLeft(1000).toByteArray(), Apfloat.INFINITE, radix);
+            assertEquals("radix " + radix + " 2^1000", BigInteger.ONE.shiftLeft(1000).toString(radix), impl.toString(true));
+            assertEquals("radix " + radix + " 2^1000 size", 1, impl.size());
+        }
+
+        impl = new RawtypeApfloatImpl(1, new byte[] { 0, 0, 1 }, Apfloat.INFINITE, 16);
+        assertEquals("leading zeros", "1", impl.toString(true));
+        assertTrue("leading zeros isOne", impl.isOne());
+
+        impl = new RawtypeApfloatImpl(0, new byte[0], Apfloat.INFINITE, 16);
+        assertEquals("zero signum", 0, impl.signum());
+        assertEquals("zero precision", Apfloat.INFINITE, impl.precision());
+
+        impl = new RawtypeApfloatImpl(1, new byte[] { 0 }, 5, 16);
+        assertEquals("zero magnitude signum", 0, impl.signum());
+
+        BigInteger value = new BigInteger("123456789abcdef0123456789abcdef", 16);
+        impl = new RawtypeApfloatImpl(1, value.toByteArray(), 5, 16);
+        ApfloatImpl expected = new RawtypeApfloatImpl("123456789abcdef0123456789abcdef", 5, 16, true);
+        assertEquals("precision", 5, impl.precision());
+        assertEquals("precision String", expected.toString(true), impl.toString(true));
+        assertEquals("precision size", expected.size(), impl.size());
+
+        value = BigInteger.ONE.shiftLeft(500).add(BigInteger.ONE);
+        impl = new RawtypeApfloatImpl(1, value.toByteArray(), 10, 2);
+        expected = new RawtypeApfloatImpl(value.toString(2), 10, 2, true);
+        assertEquals("precision zero words String", expected.toString(true), impl.toString(true));
+        assertEquals("precision zero words size", 1, impl.size());
+
+        try
+        {
+            new RawtypeApfloatImpl(1, value.toByteArray(), Apfloat.INFINITE, 10);
+            fail("Radix 10 allowed");
+        }
+        catch (NumberFormatException nfe)
+        {
+            // OK, radix is not a power of two
+        }
+    }
+
     public static void testAdd()
     {
         ApfloatImpl a, b, r;
@@ -1996,6 +2065,44 @@ public class RawtypeApfloatImplTest
         }
     }
 
+    public static void testOneMinusMultiply()
+    {
+        ApfloatImpl a, b, one = new RawtypeApfloatImpl(1, Apfloat.INFINITE, 10);
+
+        for (int digits : new int[] { 20, 100, 1000, 10000 })
+        {
+            String threes = new String(new char[digits]).replace('\0', '3');
+            a = new RawtypeApfloatImpl(3, digits, 10);
+            b = new RawtypeApfloatImpl("0." + threes, digits, 10, false);
+            ApfloatImpl result = a.oneMinusMultiply(b, digits / 2),
+                        expected = one.addOrSubtract(a.multiply(b), true);
+            assertEquals(digits + " less than one", "1e-" + digits, result.toString(false));
+            assertEquals(digits + " less than one precision", expected.precision(), result.precision());
+
+            b = new RawtypeApfloatImpl("0." + threes.substring(2) + '4', digits, 10, false);
+            result = a.oneMinusMultiply(b, digits / 2);
+            expected = one.addOrSubtract(a.multiply(b), true);
+            assertEquals(digits + " more than one", "-2e-" + (digits - 1), result.toString(false));
+            assertEquals(digits + " more than one precision", expected.precision(), result.precision());
+
+            b = new RawtypeApfloatImpl("0." + threes, Apfloat.INFINITE, 10, false);
+            result = new RawtypeApfloatImpl(3, Apfloat.INFINITE, 10).oneMinusMultiply(b, digits / 2);
+            assertEquals(digits + " infinite", "1e-" + digits, result.toString(false));
+        }
+
+        a = new RawtypeApfloatImpl(3, 100, 10);
+        b = new RawtypeApfloatImpl("0.5", 100, 10, false);
+        assertEquals("not matching", "-0.5", a.oneMinusMultiply(b, 50).toString(true));
+
+        a = new RawtypeApfloatImpl(-3, 100, 10);
+        b = new RawtypeApfloatImpl("-0.3333", 100, 10, false);
+        assertEquals("negative", "1e-4", a.oneMinusMultiply(b, 2).toString(false));
+
+        a = new RawtypeApfloatImpl(0, Apfloat.INFINITE, 10);
+        b = new RawtypeApfloatImpl(3, 100, 10);
+        assertEquals("zero", "1", a.oneMinusMultiply(b, 0).toString(true));
+    }
+
     public static void testIsShort()
     {
         ApfloatImpl impl = new RawtypeApfloatImpl(5, 2, 10);
@@ -2815,6 +2922,50 @@ public class RawtypeApfloatImplTest
         assertEquals("min-2", Long.MIN_VALUE, impl.longValue());
     }
 
+    public static void testToByteArray()
+    {
+        ApfloatImpl impl;
+        Random random = new Random(5006);
+
+        for (int radix = 2; radix <= Character.MAX_RADIX; radix *= 2)
+        {
+            for (int bits = 0; bits < 2000; bits += 1 + random.nextInt(100))
+            {
+                BigInteger value = new BigInteger(bits, random);
+                impl = new RawtypeApfloatImpl(value.toString(radix), Apfloat.INFINITE, radix, true);
+                assertEquals("radix " + radix + " bits " + bits, value, new BigInteger(1, impl.toByteArray()));
+
+                impl = new RawtypeApfloatImpl(value.negate().toString(radix), Apfloat.INFINITE, radix, true);
+                assertEquals("radix " + radix + " bits " + bits + " negative", value, new BigInteger(1, impl.toByteArray()));
+            }
+
+            impl = new RawtypeApfloatImpl(BigInteger.ONE.shiftLeft(1000).toString(radix), Apfloat.INFINITE, radix, true);
+            assertEquals("radix " + radix + " 2^1000", BigInteger.ONE.shiftLeft(1000), new BigInteger(1, impl.toByteArray()));
+        }
+
+        impl = new RawtypeApfloatImpl("12.34", Apfloat.INFINITE, 16, false);
+        assertEquals("fraction", BigInteger.valueOf(0x12), new BigInteger(1, impl.toByteArray()));
+
+        impl = new RawtypeApfloatImpl("0.1234", Apfloat.INFINITE, 16, false);
+        assertEquals("fraction only length", 0, impl.toByteArray().length);
+
+        impl = new RawtypeApfloatImpl(0, Apfloat.INFINITE, 16);
+        assertEquals("zero length", 0, impl.toByteArray().length);
+
+        impl = new RawtypeApfloatImpl("123456789abcdef", 3, 16, true);
+        assertEquals("precision", new BigInteger("123000000000000", 16), new BigInteger(1, impl.toByteArray()));
+
+        try
+        {
+            new RawtypeApfloatImpl(5, Apfloat.INFINITE, 10).toByteArray();
+            fail("Radix 10 allowed");
+        }
+        catch (UnsupportedOperationException uoe)
+        {
+            // OK, radix is not a power of two
+        }
+    }
+
     public static void testEqualDigits()
     {
         ApfloatImpl a, b;
@@ -3577,4 +3728,164 @@ public class RawtypeApfloatImplTest
         assertEquals("1000000 equals", a, b);
         assertTrue("1000000 !=", a != b);
     }
+
+    private static byte[] toBinary(ApfloatImpl impl)
+        throws IOException
+    {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        impl.writeTo(Channels.newChannel(buffer));
+        return buffer.toByteArray();
+    }
+
+    private static ApfloatImpl fromBinary(byte[] data)
+        throws IOException
+    {
+        return new RawtypeApfloatImpl(Channels.newChannel(new ByteArrayInputStream(data)));
+    }
+
+    public static void testBinaryFormat()
+        throws IOException
+    {
+        String[] values = { "0", "1", "-1", "101", "-0.0011", "1" + getString('0', 100) + "1", "-0." + getString('0', 50) + "1", "1" + getString('0', 100), getString('1', 1000) };
+        long[] precisions = { Apfloat.INFINITE, 3, 5 };
+        BuilderFactory[] builderFactories = { new RawtypeBuilderFactory(), new IntBuilderFactory(), new LongBuilderFactory(), new FloatBuilderFactory(), new DoubleBuilderFactory() };
+        for (BuilderFactory builderFactory : builderFactories)
+        {
+            ApfloatContext ctx = (ApfloatContext) ApfloatContext.getGlobalContext().clone();
+            ctx.setBuilderFactory(builderFactory);
+            for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+            {
+                for (String value : values)
+                {
+                    for (long precision : precisions)
+                    {
+                        ApfloatImpl a;
+                        byte[] data;
+                        ApfloatContext.setThreadContext(ctx);
+                        try
+                        {
+                            a = builderFactory.getApfloatBuilder().createApfloat(value, precision, radix, false);
+                            data = toBinary(a);
+                        }
+                        finally
+                        {
+                            ApfloatContext.removeThreadContext();
+                        }
+
+                        String message = "radix " + radix + " value " + value + " " + a.getClass().getSimpleName() + " precision " + precision;
+                        ApfloatImpl b = fromBinary(data);
+                        assertTrue(message + " class", b instanceof RawtypeApfloatImpl);
+                        assertEquals(message + " signum", a.signum(), b.signum());
+                        assertEquals(message + " precision", a.precision(), b.precision());
+                        assertEquals(message + " radix", a.radix(), b.radix());
+                        assertEquals(message + " String", a.toString(true), b.toString(true));
+                        if (a.signum() != 0)
+                        {
+                            assertEquals(message + " scale", a.scale(), b.scale());
+                            assertEquals(message + " size", a.size(), b.size());
+                        }
+                    }
+                }
+            }
+        }
+
+        ApfloatImpl a = new RawtypeApfloatImpl("-12345.6789", 7, 10, false);
+        byte[] data = toBinary(a);
+        assertEquals("trailing zeros stripped", BinaryFormat.HEADER_SIZE + 2 * RawType.BYTES, data.length);
+        assertEquals("-12345.67", fromBinary(data).toString(true));
+
+        try
+        {
+            fromBinary(new byte[0]);
+            fail("Empty data accepted");
+        }
+        catch (EOFException eofe)
+        {
+            // OK: no data
+        }
+
+        try
+        {
+            fromBinary(Arrays.copyOf(data, data.length - 1));
+            fail("Truncated data accepted");
+        }
+        catch (EOFException eofe)
+        {
+            // OK: truncated
+        }
+
+        try
+        {
+            data[0] = 0;
+            fromBinary(data);
+            fail("Invalid magic number accepted");
+        }
+        catch (NumberFormatException nfe)
+        {
+            // OK: not a number
+        }
+    }
+
+    public static void testBinaryFormatFile()
+        throws IOException
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        long memoryThreshold = ctx.getMemoryThreshold();
+        int blockSize = ctx.getBlockSize();
+        File file = File.createTempFile("apfloat", ".ap");
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            int size = 1 << 7;
+            ctx.setMemoryThreshold(size);
+            ctx.setBlockSize(size);
+
+            // Disk-based numbers are written directly from their files
+            String text1 = "1" + getString('2', 4 * size) + "3",
+                   text2 = "-4" + getString('5', 8 * size) + "." + getString('6', size) + "7";
+            ApfloatImpl a = new RawtypeApfloatImpl(text1, Apfloat.INFINITE, 10, false),
+                        b = new RawtypeApfloatImpl(text2, Apfloat.INFINITE, 10, false),
+                        c = new RawtypeApfloatImpl("89", Apfloat.INFINITE, 10, false);
+            a.writeTo(fileChannel);
+            b.writeTo(fileChannel);
+            c.writeTo(fileChannel);
+            long length = fileChannel.position();
+
+            // Large numbers are read lazily from the file
+            fileChannel.position(0);
+            ApfloatImpl d = new RawtypeApfloatImpl(fileChannel),
+                        e = new RawtypeApfloatImpl(fileChannel),
+                        f = new RawtypeApfloatImpl(fileChannel);
+            assertEquals("position", length, fileChannel.position());
+            assertEquals("1 String", text1, d.toString(true));
+            assertEquals("2 String", text2, e.toString(true));
+            assertEquals("3 String", "89", f.toString(true));
+            assertEquals("1 * 3", a.multiply(c), d.multiply(f));
+
+            // Lazily read numbers can be written again
+            fileChannel.position(length);
+            e.writeTo(fileChannel);
+            fileChannel.position(length);
+            assertEquals("2 String rewritten", text2, new RawtypeApfloatImpl(fileChannel).toString(true));
+
+            try
+            {
+                fileChannel.truncate(length - 1);
+                fileChannel.position(0);
+                new RawtypeApfloatImpl(fileChannel);
+                new RawtypeApfloatImpl(fileChannel);
+                new RawtypeApfloatImpl(fileChannel);
+                fail("Truncated file accepted");
+            }
+            catch (EOFException eofe)
+            {
+                // OK: truncated
+            }
+        }
+        finally
+        {
+            ctx.setMemoryThreshold(memoryThreshold);
+            ctx.setBlockSize(blockSize);
+            file.delete();
+        }
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2025 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,7 +29,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.15.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -77,6 +77,43 @@ public class RawtypeDataStorageBuilderTest
         dataStorage = dataStorageBuilder.createDataStorage(ctx.getMemoryThreshold() + 1);
         assertFalse("Not cached", dataStorage.isCached());
 
+        long maxMemoryBlockSize = ctx.getMaxMemoryBlockSize();
+        ctx.setMaxMemoryBlockSize(Long.MAX_VALUE);
+        ctx.setMemoryThreshold(Long.MAX_VALUE);
+        long offHeapSize = (long) RawType.BYTES * Integer.MAX_VALUE + 1;
+        boolean fitsDirectMemory = (offHeapSize <= AbstractDataStorageBuilder.getMaxDirectMemorySize());
+        dataStorage = dataStorageBuilder.createCachedDataStorage(offHeapSize);
+        assertEquals("Off-heap", fitsDirectMemory, dataStorage instanceof RawtypeOffHeapDataStorage);
+        assertEquals("Off-heap cached", fitsDirectMemory, dataStorage.isCached());
+        dataStorage = dataStorageBuilder.createDataStorage(offHeapSize);
+        assertEquals("Off-heap not cached", fitsDirectMemory, dataStorage instanceof RawtypeOffHeapDataStorage);
+
+        DataStorageBuilder smallArrayDataStorageBuilder = new RawtypeDataStorageBuilder()
+        {
+            @Override
+            protected long getMaxCachedSize()
+            {
+                return 65536;
+            }
+        };
+        dataStorage = smallArrayDataStorageBuilder.createCachedDataStorage(65537);
+        assertTrue("Off-heap small", dataStorage instanceof RawtypeOffHeapDataStorage);
+        assertTrue("Off-heap small cached", dataStorage.isCached());
+        ctx.setMaxMemoryBlockSize(65536);
+        dataStorage = smallArrayDataStorageBuilder.createCachedDataStorage(65537);
+        assertFalse("Off-heap small max memory block size", dataStorage.isCached());
+        ctx.setMaxMemoryBlockSize(maxMemoryBlockSize);
+        ctx.setMemoryThreshold(65536);
+        dataStorage = dataStorageBuilder.createCachedDataStorage((long) RawType.BYTES * Integer.MAX_VALUE + 1);
+        assertFalse("Off-heap does not fit", dataStorage.isCached());
+
+        ctx.setProperty(ApfloatContext.FILE_MEMORY_MAPPED, "true");
+        dataStorage = dataStorageBuilder.createDataStorage(ctx.getMemoryThreshold() + 1);
+        assertTrue("Memory mapped", dataStorage instanceof RawtypeMappedDiskDataStorage);
+        ctx.setProperty(ApfloatContext.FILE_MEMORY_MAPPED, "false");
+        dataStorage = dataStorageBuilder.createDataStorage(ctx.getMemoryThreshold() + 1);
+        assertFalse("Not memory mapped", dataStorage instanceof RawtypeMappedDiskDataStorage);
+
         boolean cleanupAtExit = ctx.getCleanupAtExit();
         try
         {
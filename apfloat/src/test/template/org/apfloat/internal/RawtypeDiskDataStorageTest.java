@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,7 +30,7 @@ import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -83,42 +83,42 @@ public class RawtypeDiskDataStorageTest
 
     public static void testGetPartialArray()
     {
-        runGetPartialArray(64, 128, 8);
+        runGetPartialArray(new RawtypeDiskDataStorage(), 64, 128, 8);
     }
 
     public static void testGetPartialArrayBig()
     {
-        runGetPartialArray(1024, 2048, 32);
+        runGetPartialArray(new RawtypeDiskDataStorage(), 1024, 2048, 32);
     }
 
     public static void testGetPartialArrayWide()
     {
-        runGetPartialArray(8, 64, 16);
+        runGetPartialArray(new RawtypeDiskDataStorage(), 8, 64, 16);
     }
 
     public static void testGetPartialArrayWideBig()
     {
-        runGetPartialArray(32, 2048, 128);
+        runGetPartialArray(new RawtypeDiskDataStorage(), 32, 2048, 128);
     }
 
     public static void testGetTransposedArray()
     {
-        runGetTransposedArray(64, 128, 8);
+        runGetTransposedArray(new RawtypeDiskDataStorage(), 64, 128, 8);
     }
 
     public static void testGetTransposedArrayBig()
     {
-        runGetTransposedArray(1024, 2048, 32);
+        runGetTransposedArray(new RawtypeDiskDataStorage(), 1024, 2048, 32);
     }
 
     public static void testGetTransposedArrayWide()
     {
-        runGetTransposedArray(8, 64, 16);
+        runGetTransposedArray(new RawtypeDiskDataStorage(), 8, 64, 16);
     }
 
     public static void testGetTransposedArrayWideBig()
     {
-        runGetTransposedArray(32, 2048, 128);
+        runGetTransposedArray(new RawtypeDiskDataStorage(), 32, 2048, 128);
     }
 
     public static void testIsCached()
@@ -126,10 +126,9 @@ public class RawtypeDiskDataStorageTest
         assertFalse(new RawtypeDiskDataStorage().isCached());
     }
 
-    private static void runGetPartialArray(int n1, int n2, int b)
+    static void runGetPartialArray(DataStorage dataStorage, int n1, int n2, int b)
     {
         int size = n1 * n2;
-        DataStorage dataStorage = new RawtypeDiskDataStorage();
         dataStorage.setSize(size + 5);
         dataStorage = dataStorage.subsequence(5, size);
 
@@ -173,10 +172,9 @@ public class RawtypeDiskDataStorageTest
         arrayAccess.close();
     }
 
-    private static void runGetTransposedArray(int n1, int n2, int b)
+    static void runGetTransposedArray(DataStorage dataStorage, int n1, int n2, int b)
     {
         int size = n1 * n2;
-        DataStorage dataStorage = new RawtypeDiskDataStorage();
         dataStorage.setSize(size + 5);
         dataStorage = dataStorage.subsequence(5, size);
 
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,12 +23,13 @@
  */
 package org.apfloat.internal;
 
+import org.apfloat.*;
 import org.apfloat.spi.*;
 
 import junit.framework.TestSuite;
 
 /**
- * @version 1.4
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -51,6 +52,8 @@ public class RawtypeKaratsubaConvolutionStrategyTest
         TestSuite suite = new TestSuite();
 
         suite.addTest(new RawtypeKaratsubaConvolutionStrategyTest("testFull"));
+        suite.addTest(new RawtypeKaratsubaConvolutionStrategyTest("testShort"));
+        suite.addTest(new RawtypeKaratsubaConvolutionStrategyTest("testCutoffPoint"));
 
         return suite;
     }
@@ -78,4 +81,44 @@ public class RawtypeKaratsubaConvolutionStrategyTest
             check("max", radix, new rawtype[] { b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1 - (rawtype) 1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (rawtype) 1 }, result);
         }
     }
+
+    public static void testShort()
+    {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            rawtype b1 = BASE[radix] - (rawtype) 1;
+            DataStorage src1 = createDataStorage(new rawtype[] { (rawtype) 1, (rawtype) 2, (rawtype) 3, (rawtype) 4, (rawtype) 5, (rawtype) 6, (rawtype) 7, (rawtype) 8 }),
+                        src2 = createDataStorage(new rawtype[] { (rawtype) 1, (rawtype) 2, (rawtype) 3, (rawtype) 4, (rawtype) 5, (rawtype) 6 }),
+                        src9 = createDataStorage(new rawtype[] { b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1 }),
+                        src99 = createDataStorage(new rawtype[] { b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1 });
+
+            ConvolutionStrategy convolutionStrategy = new RawtypeKaratsubaConvolutionStrategy(radix);
+
+            // Only the most significant words are calculated
+            DataStorage result = convolutionStrategy.convolute(src1, src2, 6);
+
+            check("normal", radix, new rawtype[] { 0, (rawtype) 1, (rawtype) 4, (rawtype) 10, (rawtype) 20, (rawtype) 35 }, result);
+
+            result = convolutionStrategy.convolute(src9, src99, 20);
+
+            check("max", radix, new rawtype[] { b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1, b1 - (rawtype) 1, b1, b1 }, result);
+        }
+    }
+
+    public static void testCutoffPoint()
+    {
+        ApfloatContext ctx = (ApfloatContext) ApfloatContext.getContext().clone();
+        ctx.setProperty(ApfloatContext.KARATSUBA_CUTOFF_POINT, "2");
+        ApfloatContext.setThreadContext(ctx);
+        try
+        {
+            // Now the Karatsuba algorithm is actually used
+            testFull();
+            testShort();
+        }
+        finally
+        {
+            ApfloatContext.removeThreadContext();
+        }
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.io.File;
+
+import org.apfloat.*;
+import org.apfloat.spi.*;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeMappedDiskDataStorageTest
+    extends RawtypeDataStorageTestCase
+{
+    private RawtypeMappedDiskDataStorageTest()
+    {
+    }
+
+    public RawtypeMappedDiskDataStorageTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new RawtypeMappedDiskDataStorageTest().realSuite();
+
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testGetPartialArray"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testGetPartialArrayBig"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testGetTransposedArray"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testGetTransposedArrayBig"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testCopyFromDiskDataStorage"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testConcurrentAccess"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testIsCached"));
+        suite.addTest(new RawtypeMappedDiskDataStorageTest("testDispose"));
+
+        return suite;
+    }
+
+    @Override
+    public TestCase createTestCase(String methodName)
+    {
+        return new RawtypeMappedDiskDataStorageTest(methodName);
+    }
+
+    @Override
+    public DataStorage createDataStorage()
+        throws ApfloatRuntimeException
+    {
+        return new RawtypeMappedDiskDataStorage();
+    }
+
+    public static void testGetPartialArray()
+    {
+        RawtypeDiskDataStorageTest.runGetPartialArray(new RawtypeMappedDiskDataStorage(), 64, 128, 8);
+    }
+
+    public static void testGetPartialArrayBig()
+    {
+        RawtypeDiskDataStorageTest.runGetPartialArray(new RawtypeMappedDiskDataStorage(), 1024, 2048, 32);
+    }
+
+    public static void testGetTransposedArray()
+    {
+        RawtypeDiskDataStorageTest.runGetTransposedArray(new RawtypeMappedDiskDataStorage(), 64, 128, 8);
+    }
+
+    public static void testGetTransposedArrayBig()
+    {
+        RawtypeDiskDataStorageTest.runGetTransposedArray(new RawtypeMappedDiskDataStorage(), 1024, 2048, 32);
+    }
+
+    public static void testCopyFromDiskDataStorage()
+    {
+        int size = 1000;
+        DataStorage dataStorage = new RawtypeDiskDataStorage();
+        dataStorage.setSize(size);
+        ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.WRITE, 0, size);
+        for (int i = 0; i < size; i++)
+        {
+            arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i] = (rawtype) (i + 1);
+        }
+        arrayAccess.close();
+
+        DataStorage mappedDataStorage = new RawtypeMappedDiskDataStorage();
+        mappedDataStorage.copyFrom(dataStorage);
+        assertEquals("size", size, mappedDataStorage.getSize());
+        DataStorage.Iterator iterator = mappedDataStorage.iterator(DataStorage.READ, size, 0);
+        for (int i = size; i > 0; i--)
+        {
+            assertEquals("element " + i, i, (int) iterator.getRawtype());
+            iterator.next();
+        }
+
+        dataStorage = new RawtypeDiskDataStorage();
+        dataStorage.copyFrom(mappedDataStorage);
+        arrayAccess = dataStorage.getArray(DataStorage.READ, 0, size);
+        for (int i = 0; i < size; i++)
+        {
+            assertEquals("element " + i, i + 1, (int) arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i]);
+        }
+        arrayAccess.close();
+    }
+
+    public static void testConcurrentAccess()
+        throws InterruptedException
+    {
+        final int threads = 4,
+                  length = 10000;
+        final DataStorage dataStorage = new RawtypeMappedDiskDataStorage();
+        dataStorage.setSize(threads * length);
+
+        final Throwable[] errors = new Throwable[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++)
+        {
+            final int thread = t;
+            workers[t] = new Thread(() ->
+            {
+                try
+                {
+                    long start = (long) thread * length;
+                    DataStorage.Iterator iterator = dataStorage.iterator(DataStorage.WRITE, start, start + length);
+                    for (int i = 0; i < length; i++)
+                    {
+                        iterator.setRawtype((rawtype) (thread + i));
+                        iterator.next();
+                    }
+                    ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.READ, start, length);
+                    for (int i = 0; i < length; i++)
+                    {
+                        assertEquals("thread " + thread + " element " + i, thread + i, (int) arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i]);
+                    }
+                    arrayAccess.close();
+                }
+                catch (Throwable t2)
+                {
+                    errors[thread] = t2;
+                }
+            });
+            workers[t].start();
+        }
+        for (int t = 0; t < threads; t++)
+        {
+            workers[t].join();
+            if (errors[t] != null)
+            {
+                throw new AssertionError("Thread " + t + " failed", errors[t]);
+            }
+        }
+    }
+
+    public static void testIsCached()
+    {
+        assertFalse(new RawtypeMappedDiskDataStorage().isCached());
+    }
+
+    public static void testDispose()
+        throws InterruptedException
+    {
+        int size = 1000;
+        RawtypeMappedDiskDataStorage dataStorage = new RawtypeMappedDiskDataStorage();
+        dataStorage.setSize(size);
+        DataStorage.Iterator iterator = dataStorage.iterator(DataStorage.WRITE, 0, size);
+        for (int i = 0; i < size; i++)
+        {
+            iterator.setRawtype((rawtype) (i + 1));
+            iterator.next();
+        }
+        File file = new File(dataStorage.getFilename());
+        assertTrue("file exists", file.exists());
+
+        // The mapped segments are released and the file deleted after garbage collection
+        dataStorage = null;
+        iterator = null;
+        for (int i = 0; i < 10 && file.exists(); i++)
+        {
+            System.gc();
+            DiskDataStorage.gc();
+        }
+        assertFalse("file deleted", file.exists());
+
+        // New mappings still work
+        testCopyFromDiskDataStorage();
+    }
+}
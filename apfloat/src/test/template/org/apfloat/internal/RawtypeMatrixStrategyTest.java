@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -30,7 +30,7 @@ import junit.framework.TestSuite;
 
 /**
  * @since 1.7.0
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -57,6 +57,7 @@ public class RawtypeMatrixStrategyTest
         suite.addTest(new RawtypeMatrixStrategyTest("testTransposeTall"));
         suite.addTest(new RawtypeMatrixStrategyTest("testPermuteToDoubleWidth"));
         suite.addTest(new RawtypeMatrixStrategyTest("testPermuteToHalfWidth"));
+        suite.addTest(new RawtypeMatrixStrategyTest("testTransposeMultithread"));
 
         return suite;
     }
@@ -268,4 +269,23 @@ public class RawtypeMatrixStrategyTest
             }
         }
     }
+
+    public static void testTransposeMultithread()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+        int numberOfProcessors = ctx.getNumberOfProcessors();
+
+        ctx.setNumberOfProcessors(3);
+        ctx.setExecutorService(ApfloatContext.getDefaultExecutorService());
+        try
+        {
+            testTransposeSquare();
+            testTransposeWide();
+            testTransposeTall();
+        }
+        finally
+        {
+            ctx.setNumberOfProcessors(numberOfProcessors);
+        }
+    }
 }
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -28,7 +28,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -51,6 +51,7 @@ public class RawtypeMediumConvolutionStrategyTest
         TestSuite suite = new TestSuite();
 
         suite.addTest(new RawtypeMediumConvolutionStrategyTest("testFull"));
+        suite.addTest(new RawtypeMediumConvolutionStrategyTest("testShort"));
 
         return suite;
     }
@@ -76,4 +77,27 @@ public class RawtypeMediumConvolutionStrategyTest
             check("max", radix, new rawtype[] { b1, b1, b1 - (rawtype) 1, b1, b1, b1, 0, 0, (rawtype) 1 }, result);
         }
     }
+
+    public static void testShort()
+    {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            rawtype b1 = BASE[radix] - (rawtype) 1;
+            DataStorage src1 = createDataStorage(new rawtype[] { (rawtype) 1, (rawtype) 2, (rawtype) 3, (rawtype) 4, (rawtype) 5, (rawtype) 6, (rawtype) 7, (rawtype) 8 }),
+                        src2 = createDataStorage(new rawtype[] { (rawtype) 1, (rawtype) 2, (rawtype) 3, (rawtype) 4, (rawtype) 5, (rawtype) 6 }),
+                        src9 = createDataStorage(new rawtype[] { b1, b1, b1 }),
+                        src99 = createDataStorage(new rawtype[] { b1, b1, b1, b1, b1, b1 });
+
+            ConvolutionStrategy convolutionStrategy = new RawtypeMediumConvolutionStrategy(radix);
+
+            // Only the most significant words are calculated
+            DataStorage result = convolutionStrategy.convolute(src1, src2, 6);
+
+            check("normal", radix, new rawtype[] { 0, (rawtype) 1, (rawtype) 4, (rawtype) 10, (rawtype) 20, (rawtype) 35 }, result);
+
+            result = convolutionStrategy.convolute(src9, src99, 4);
+
+            check("max", radix, new rawtype[] { b1, b1, b1 - (rawtype) 1, b1 }, result);
+        }
+    }
 }
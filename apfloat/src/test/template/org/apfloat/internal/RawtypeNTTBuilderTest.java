@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,7 +29,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.10.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -51,6 +51,7 @@ public class RawtypeNTTBuilderTest
         TestSuite suite = new TestSuite();
 
         suite.addTest(new RawtypeNTTBuilderTest("testCreate"));
+        suite.addTest(new RawtypeNTTBuilderTest("testSimpleFNTThreshold"));
 
         return suite;
     }
@@ -75,4 +76,24 @@ public class RawtypeNTTBuilderTest
         assertTrue("Does not fit in array", nttBuilder.createNTT(0x80000000L) instanceof TwoPassFNTStrategy);
         ctx.setMaxMemoryBlockSize(maxMemoryBlockSize * RawType.BYTES);
     }
+
+    public static void testSimpleFNTThreshold()
+    {
+        NTTBuilder nttBuilder = new RawtypeNTTBuilder();
+        ApfloatContext ctx = (ApfloatContext) ApfloatContext.getContext().clone();
+        ctx.setProperty(ApfloatContext.SIMPLE_FNT_THRESHOLD, String.valueOf(1024 * RawType.BYTES));
+        ApfloatContext.setThreadContext(ctx);
+        try
+        {
+            assertTrue("Below threshold", nttBuilder.createNTT(1024) instanceof RawtypeTableFNTStrategy);
+            assertTrue("Above threshold", nttBuilder.createNTT(2048) instanceof SixStepFNTStrategy);
+
+            ctx.setProperty(ApfloatContext.SIMPLE_FNT_THRESHOLD, "invalid");
+            assertTrue("Invalid uses default", nttBuilder.createNTT(ctx.getCacheL1Size() / RawType.BYTES / 2) instanceof RawtypeTableFNTStrategy);
+        }
+        finally
+        {
+            ApfloatContext.removeThreadContext();
+        }
+    }
 }
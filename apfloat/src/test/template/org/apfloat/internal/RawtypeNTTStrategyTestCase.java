@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -27,7 +27,7 @@ import org.apfloat.*;
 import org.apfloat.spi.*;
 
 /**
- * @version 1.9.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -124,7 +124,12 @@ public abstract class RawtypeNTTStrategyTestCase
 
     protected static void runRoundTrip(NTTStrategy nttStrategy, int size)
     {
-        DataStorage dataStorage = createDataStorage(size + 5).subsequence(5, size);
+        runRoundTrip(nttStrategy, createDataStorage(size + 5).subsequence(5, size));
+    }
+
+    protected static void runRoundTrip(NTTStrategy nttStrategy, DataStorage dataStorage)
+    {
+        int size = (int) dataStorage.getSize();
 
         for (int modulus = 0; modulus < 3; modulus++)
         {
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apfloat.*;
+import org.apfloat.spi.*;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeOffHeapDataStorageTest
+    extends RawtypeDataStorageTestCase
+{
+    private RawtypeOffHeapDataStorageTest()
+    {
+    }
+
+    public RawtypeOffHeapDataStorageTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new RawtypeOffHeapDataStorageTest().realSuite();
+
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testGetPartialArray"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testGetPartialArrayBig"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testGetPartialArrayWide"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testGetTransposedArray"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testGetTransposedArrayBig"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testGetTransposedArrayWide"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testSetSize"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testSerialization"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testDefaultSegments"));
+        suite.addTest(new RawtypeOffHeapDataStorageTest("testIsCached"));
+
+        return suite;
+    }
+
+    @Override
+    public TestCase createTestCase(String methodName)
+    {
+        return new RawtypeOffHeapDataStorageTest(methodName);
+    }
+
+    @Override
+    public DataStorage createDataStorage()
+        throws ApfloatRuntimeException
+    {
+        // Small segments so that the segment boundaries are crossed
+        return new RawtypeOffHeapDataStorage(SEGMENT_BITS);
+    }
+
+    public static void testGetPartialArray()
+    {
+        RawtypeDiskDataStorageTest.runGetPartialArray(new RawtypeOffHeapDataStorage(SEGMENT_BITS), 64, 128, 8);
+    }
+
+    public static void testGetPartialArrayBig()
+    {
+        RawtypeDiskDataStorageTest.runGetPartialArray(new RawtypeOffHeapDataStorage(SEGMENT_BITS), 1024, 2048, 32);
+    }
+
+    public static void testGetPartialArrayWide()
+    {
+        RawtypeDiskDataStorageTest.runGetPartialArray(new RawtypeOffHeapDataStorage(SEGMENT_BITS), 8, 64, 16);
+    }
+
+    public static void testGetTransposedArray()
+    {
+        RawtypeDiskDataStorageTest.runGetTransposedArray(new RawtypeOffHeapDataStorage(SEGMENT_BITS), 64, 128, 8);
+    }
+
+    public static void testGetTransposedArrayBig()
+    {
+        RawtypeDiskDataStorageTest.runGetTransposedArray(new RawtypeOffHeapDataStorage(SEGMENT_BITS), 1024, 2048, 32);
+    }
+
+    public static void testGetTransposedArrayWide()
+    {
+        RawtypeDiskDataStorageTest.runGetTransposedArray(new RawtypeOffHeapDataStorage(SEGMENT_BITS), 8, 64, 16);
+    }
+
+    public static void testSetSize()
+    {
+        DataStorage dataStorage = new RawtypeOffHeapDataStorage(SEGMENT_BITS);
+        dataStorage.setSize(100);
+        fill(dataStorage, 100);
+
+        dataStorage.setSize(300);
+        assertEquals("size grown", 300, dataStorage.getSize());
+        DataStorage.Iterator iterator = dataStorage.iterator(DataStorage.READ, 0, 300);
+        for (int i = 0; i < 300; i++)
+        {
+            assertEquals("grown element " + i, (i < 100 ? i + 1 : 0), (int) iterator.getRawtype());
+            iterator.next();
+        }
+
+        dataStorage.setSize(50);
+        assertEquals("size shrunk", 50, dataStorage.getSize());
+        iterator = dataStorage.iterator(DataStorage.READ, 50, 0);
+        for (int i = 50; i > 0; i--)
+        {
+            assertEquals("shrunk element " + i, i, (int) iterator.getRawtype());
+            iterator.next();
+        }
+    }
+
+    public static void testSerialization()
+        throws IOException, ClassNotFoundException
+    {
+        DataStorage dataStorage = new RawtypeOffHeapDataStorage(SEGMENT_BITS);
+        dataStorage.setSize(1000);
+        fill(dataStorage, 1000);
+        dataStorage = dataStorage.subsequence(10, 900);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer))
+        {
+            out.writeObject(dataStorage);
+        }
+        DataStorage deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray())))
+        {
+            deserialized = (DataStorage) in.readObject();
+        }
+
+        assertEquals("size", 900, deserialized.getSize());
+        try (ArrayAccess arrayAccess = deserialized.getArray(DataStorage.READ, 0, 900))
+        {
+            for (int i = 0; i < 900; i++)
+            {
+                assertEquals("element " + i, i + 11, (int) arrayAccess.getRawtypeData()[arrayAccess.getOffset() + i]);
+            }
+        }
+    }
+
+    public static void testDefaultSegments()
+    {
+        DataStorage dataStorage = new RawtypeOffHeapDataStorage();
+        dataStorage.setSize(1000);
+        fill(dataStorage, 1000);
+        DataStorage.Iterator iterator = dataStorage.iterator(DataStorage.READ, 1000, 0);
+        for (int i = 1000; i > 0; i--)
+        {
+            assertEquals("element " + i, i, (int) iterator.getRawtype());
+            iterator.next();
+        }
+    }
+
+    public static void testIsCached()
+    {
+        assertTrue(new RawtypeOffHeapDataStorage().isCached());
+    }
+
+    private static void fill(DataStorage dataStorage, int size)
+    {
+        DataStorage.Iterator iterator = dataStorage.iterator(DataStorage.WRITE, 0, size);
+        for (int i = 0; i < size; i++)
+        {
+            iterator.setRawtype((rawtype) (i + 1));
+            iterator.next();
+        }
+    }
+
+    private static final int SEGMENT_BITS = 5;
+}
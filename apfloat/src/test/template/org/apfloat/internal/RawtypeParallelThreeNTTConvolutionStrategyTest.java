@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -32,7 +32,7 @@ import junit.framework.TestSuite;
 
 /**
  * @since 1.7.0
- * @version 1.9.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -59,9 +59,12 @@ public class RawtypeParallelThreeNTTConvolutionStrategyTest
         suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testFullBig"));
         suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testFullBigParallel"));
         suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testTruncatedBig"));
+        suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testMiddle"));
+        suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testWrapped"));
         suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testAutoBig"));
         suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testAutoBigParallel"));
         suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testSharedMemoryLock"));
+        suite.addTest(new RawtypeParallelThreeNTTConvolutionStrategyTest("testConcurrentThreadContext"));
 
         return suite;
     }
@@ -84,4 +87,21 @@ public class RawtypeParallelThreeNTTConvolutionStrategyTest
 
         ctx.setSharedMemoryTreshold(sharedMemoryTreshold);
     }
+
+    public void testConcurrentThreadContext()
+    {
+        ApfloatContext ctx = (ApfloatContext) ApfloatContext.getContext().clone();
+        ctx.setMaxMemoryBlockSize(1 << 24);
+        ApfloatContext.setThreadContext(ctx);
+
+        try
+        {
+            testFullBigParallel();
+            testAutoBigParallel();
+        }
+        finally
+        {
+            ApfloatContext.removeThreadContext();
+        }
+    }
 }
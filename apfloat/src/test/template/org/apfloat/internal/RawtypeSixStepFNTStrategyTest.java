@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -31,7 +31,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.8.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -58,6 +58,7 @@ public class RawtypeSixStepFNTStrategyTest
         suite.addTest(new RawtypeSixStepFNTStrategyTest("testRoundTripBig"));
         suite.addTest(new RawtypeSixStepFNTStrategyTest("testRoundTripMultithread"));
         suite.addTest(new RawtypeSixStepFNTStrategyTest("testRoundTripMultithreadBig"));
+        suite.addTest(new RawtypeSixStepFNTStrategyTest("testRoundTripOffHeap"));
 
         return suite;
     }
@@ -139,6 +140,17 @@ public class RawtypeSixStepFNTStrategyTest
         runRoundTrip(size);
     }
 
+    public static void testRoundTripOffHeap()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+
+        ctx.setNumberOfProcessors(1);
+        int size = 65536;
+        DataStorage dataStorage = new RawtypeOffHeapDataStorage(12);
+        dataStorage.copyFrom(createDataStorage(size + 5));
+        runRoundTrip(new SixStepFNTStrategy(), dataStorage.subsequence(5, size));
+    }
+
     private static void runRoundTrip(int size)
     {
         runRoundTrip(new SixStepFNTStrategy(), size);
@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -23,13 +23,16 @@
  */
 package org.apfloat.internal;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import org.apfloat.*;
 import org.apfloat.spi.*;
 
 import junit.framework.TestSuite;
 
 /**
- * @version 1.7.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -58,9 +61,13 @@ public class RawtypeThreeNTTConvolutionStrategyTest
         suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testFullBigParallel"));
         suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testFullHugeParallel"));
         suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testTruncatedBig"));
+        suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testMiddle"));
+        suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testWrapped"));
+        suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testWrappedDefaultSubtract"));
         suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testAutoBig"));
         suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testAutoBigParallel"));
         suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testAutoHugeParallel"));
+        suite.addTest(new RawtypeThreeNTTConvolutionStrategyTest("testTransformCache"));
 
         return suite;
     }
@@ -225,6 +232,112 @@ public class RawtypeThreeNTTConvolutionStrategyTest
         }
     }
 
+    public void testMiddle()
+    {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            rawtype b1 = BASE[radix] - (rawtype) 1;
+            int size = 300,
+                offset = 100;
+            rawtype[] array1 = new rawtype[size],
+                      array2 = new rawtype[size];
+            for (int i = 0; i < size; i++)
+            {
+                array1[i] = b1;
+                int j = offset + i;
+                array2[i] = b1 - (rawtype) (j == size - 1 ? 2 : 0);            // The carry from below the result is not included
+            }
+            DataStorage src9 = createDataStorage(array1);
+
+            ConvolutionStrategy convolutionStrategy = createConvolutionStrategy(radix, new RawtypeTableFNTStrategy());
+
+            // Uses a transform length of 512 instead of 1024
+            DataStorage result = convolutionStrategy.convoluteMiddle(src9, src9, offset, size);
+
+            check("max", radix, array2, result);
+        }
+    }
+
+    public void testWrapped()
+    {
+        // The results are just longer than a transform length, so a shorter transform length is used
+        runWrapped(775, 775, new RawtypeTableFNTStrategy());                            // 1536 instead of 2048
+        runWrapped(1000, 560, new RawtypeTableFNTStrategy());
+        runWrapped(520, 530, new Factor3NTTStrategy(new RawtypeTableFNTStrategy()));   // 1024 instead of 1536
+    }
+
+    public void testWrappedDefaultSubtract()
+    {
+        // A step strategy that does not implement the subtraction
+        runWrapped(775, 775, new RawtypeTableFNTStrategy(), true);
+        runWrapped(520, 530, new Factor3NTTStrategy(new RawtypeTableFNTStrategy()), true);
+    }
+
+    private void runWrapped(int size1, int size2, NTTStrategy nttStrategy)
+    {
+        runWrapped(size1, size2, nttStrategy, false);
+    }
+
+    private void runWrapped(int size1, int size2, NTTStrategy nttStrategy, boolean defaultSubtract)
+    {
+        Random random = new Random(size1 + size2);
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            rawtype[] array1 = new rawtype[size1],
+                      array2 = new rawtype[size2];
+            for (int i = 0; i < size1; i++)
+            {
+                array1[i] = (rawtype) Math.floorMod(random.nextLong(), (long) BASE[radix]);
+            }
+            for (int i = 0; i < size2; i++)
+            {
+                array2[i] = (rawtype) Math.floorMod(random.nextLong(), (long) BASE[radix]);
+            }
+            DataStorage src1 = createDataStorage(array1),
+                        src2 = createDataStorage(array2);
+
+            ConvolutionStrategy convolutionStrategy = createConvolutionStrategy(radix, nttStrategy),
+                                mediumConvolutionStrategy = new RawtypeMediumConvolutionStrategy(radix);
+            if (defaultSubtract)
+            {
+                NTTConvolutionStepStrategy stepStrategy = new RawtypeNTTConvolutionStepStrategy();
+                ((ThreeNTTConvolutionStrategy) convolutionStrategy).stepStrategy = new NTTConvolutionStepStrategy()
+                {
+                    @Override
+                    public void multiplyInPlace(DataStorage sourceAndDestination, DataStorage source, int modulus)
+                    {
+                        stepStrategy.multiplyInPlace(sourceAndDestination, source, modulus);
+                    }
+
+                    @Override
+                    public void squareInPlace(DataStorage sourceAndDestination, int modulus)
+                    {
+                        stepStrategy.squareInPlace(sourceAndDestination, modulus);
+                    }
+                };
+            }
+
+            DataStorage result = convolutionStrategy.convolute(src1, src2, size1 + size2);
+
+            check("wrapped", radix, getData(mediumConvolutionStrategy.convolute(src1, src2, size1 + size2)), result);
+
+            result = convolutionStrategy.convolute(src1, src1, 2 * size1);
+
+            check("wrapped auto", radix, getData(mediumConvolutionStrategy.convolute(src1, src1, 2 * size1)), result);
+        }
+    }
+
+    private static rawtype[] getData(DataStorage dataStorage)
+    {
+        int size = (int) dataStorage.getSize();
+        rawtype[] data = new rawtype[size];
+        try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.READ, 0, size))
+        {
+            System.arraycopy(arrayAccess.getData(), arrayAccess.getOffset(), data, 0, size);
+        }
+        return data;
+    }
+
     public void testAutoBig()
     {
         ApfloatContext ctx = ApfloatContext.getContext();
@@ -289,6 +402,48 @@ public class RawtypeThreeNTTConvolutionStrategyTest
         }
     }
 
+    public void testTransformCache()
+    {
+        int radix = 10,
+            size1 = 500,
+            size2 = 300;
+        rawtype b1 = BASE[radix] - (rawtype) 1;
+        rawtype[] array1 = new rawtype[size1],
+                  array2 = new rawtype[size2],
+                  array3 = new rawtype[size1 + size2];
+        for (int i = 0; i < size1; i++)
+        {
+            array1[i] = b1;
+            array3[i] = b1 - (rawtype) (i == size2 - 1 ? 1 : 0);
+        }
+        for (int i = 0; i < size2; i++)
+        {
+            array2[i] = b1;
+            array3[i + size1] = (rawtype) (i == size2 - 1 ? 1 : 0);
+        }
+        DataStorage src9 = createDataStorage(array1),
+                    src99 = createDataStorage(array2);
+        src9.setReadOnly();
+        TransformCache.register(src9);
+
+        // The result is just longer than 768 so that transform length is used with a factor of three
+        Object transformType = Arrays.asList(Factor3NTTStrategy.class, RawtypeTableFNTStrategy.class);
+
+        for (int i = 0; i < 3; i++)
+        {
+            ConvolutionStrategy convolutionStrategy = createConvolutionStrategy(radix, new RawtypeTableFNTStrategy());
+
+            DataStorage result = (i == 1 ? convolutionStrategy.convolute(src99, src9, size1 + size2) : convolutionStrategy.convolute(src9, src99, size1 + size2));
+
+            check("max " + i, radix, array3, result);
+            assertNotNull("cached " + i, TransformCache.get(src9, transformType, 768, 0));
+            assertNull("not cached " + i, TransformCache.get(src99, transformType, 768, 0));
+        }
+
+        TransformCache.clear();
+        assertNull("cleared", TransformCache.get(src9, transformType, 768, 0));
+    }
+
     protected ConvolutionStrategy createConvolutionStrategy(int radix, NTTStrategy transform)
     {
         return new ThreeNTTConvolutionStrategy(radix, transform);
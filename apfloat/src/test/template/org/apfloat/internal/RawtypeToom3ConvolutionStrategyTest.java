@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.util.Random;
+
+import org.apfloat.*;
+import org.apfloat.spi.*;
+
+import junit.framework.TestSuite;
+
+/**
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeToom3ConvolutionStrategyTest
+    extends RawtypeConvolutionStrategyTestCase
+    implements RawtypeRadixConstants
+{
+    public RawtypeToom3ConvolutionStrategyTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new RawtypeToom3ConvolutionStrategyTest("testFull"));
+        suite.addTest(new RawtypeToom3ConvolutionStrategyTest("testRandom"));
+        suite.addTest(new RawtypeToom3ConvolutionStrategyTest("testCutoffPoint"));
+
+        return suite;
+    }
+
+    protected ConvolutionStrategy createConvolutionStrategy(int radix)
+    {
+        return new RawtypeToom3ConvolutionStrategy(radix);
+    }
+
+    public void testFull()
+    {
+        // Will only test Toom-3 actually if CUTOFF_POINT is set to less than the shorter size
+        runFull(30, 40);
+        runFull(200, 250);
+    }
+
+    public void testRandom()
+    {
+        runRandom(9, 9);
+        runRandom(10, 14);
+        runRandom(61, 90);
+        runRandom(200, 200);
+        runRandom(210, 300);
+        runRandom(300, 700);
+    }
+
+    public void testCutoffPoint()
+    {
+        ApfloatContext ctx = (ApfloatContext) ApfloatContext.getContext().clone();
+        setCutoffPoints(ctx);
+        ApfloatContext.setThreadContext(ctx);
+        try
+        {
+            // Now the Toom-Cook algorithm is actually used also for the smaller sizes
+            testFull();
+            testRandom();
+        }
+        finally
+        {
+            ApfloatContext.removeThreadContext();
+        }
+    }
+
+    protected void setCutoffPoints(ApfloatContext ctx)
+    {
+        ctx.setProperty(ApfloatContext.TOOM3_CUTOFF_POINT, "2");
+    }
+
+    // Multiply the largest numbers of the sizes, (base^size1 - 1) * (base^size2 - 1)
+    private void runFull(int size1, int size2)
+    {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            rawtype b1 = BASE[radix] - (rawtype) 1;
+            rawtype[] array1 = new rawtype[size1],
+                      array2 = new rawtype[size2],
+                      expected = new rawtype[size1 + size2];
+            for (int i = 0; i < size1; i++)
+            {
+                array1[i] = b1;
+            }
+            for (int i = 0; i < size2; i++)
+            {
+                array2[i] = b1;
+            }
+            for (int i = 0; i < size2; i++)
+            {
+                expected[i] = b1;
+            }
+            expected[size1 - 1] = b1 - (rawtype) 1;
+            expected[size1 + size2 - 1] = (rawtype) 1;
+
+            ConvolutionStrategy convolutionStrategy = createConvolutionStrategy(radix);
+
+            DataStorage result = convolutionStrategy.convolute(createDataStorage(array1), createDataStorage(array2), size1 + size2);
+
+            check("max", radix, expected, result);
+        }
+    }
+
+    // Compare to the basic O(n^2) algorithm with random data
+    private void runRandom(int size1, int size2)
+    {
+        Random random = new Random(size1 + size2);
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++)
+        {
+            rawtype[] array1 = new rawtype[size1],
+                      array2 = new rawtype[size2];
+            for (int i = 0; i < size1; i++)
+            {
+                array1[i] = (rawtype) Math.floorMod(random.nextLong(), (long) BASE[radix]);
+            }
+            for (int i = 0; i < size2; i++)
+            {
+                array2[i] = (rawtype) Math.floorMod(random.nextLong(), (long) BASE[radix]);
+            }
+            DataStorage src1 = createDataStorage(array1),
+                        src2 = createDataStorage(array2);
+
+            ConvolutionStrategy convolutionStrategy = createConvolutionStrategy(radix),
+                                mediumConvolutionStrategy = new RawtypeMediumConvolutionStrategy(radix);
+
+            DataStorage result = convolutionStrategy.convolute(src1, src2, size1 + size2);
+
+            check("random", radix, getData(mediumConvolutionStrategy.convolute(src1, src2, size1 + size2)), result);
+
+            result = convolutionStrategy.convolute(src1, src1, 2 * size1);
+
+            check("random auto", radix, getData(mediumConvolutionStrategy.convolute(src1, src1, 2 * size1)), result);
+        }
+    }
+
+    private static rawtype[] getData(DataStorage dataStorage)
+    {
+        int size = (int) dataStorage.getSize();
+        rawtype[] data = new rawtype[size];
+        try (ArrayAccess arrayAccess = dataStorage.getArray(DataStorage.READ, 0, size))
+        {
+            System.arraycopy(arrayAccess.getData(), arrayAccess.getOffset(), data, 0, size);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import org.apfloat.*;
+import org.apfloat.spi.*;
+
+import junit.framework.TestSuite;
+
+/**
+ * @since 1.17.0
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeToom4ConvolutionStrategyTest
+    extends RawtypeToom3ConvolutionStrategyTest
+{
+    public RawtypeToom4ConvolutionStrategyTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new RawtypeToom4ConvolutionStrategyTest("testFull"));
+        suite.addTest(new RawtypeToom4ConvolutionStrategyTest("testRandom"));
+        suite.addTest(new RawtypeToom4ConvolutionStrategyTest("testCutoffPoint"));
+
+        return suite;
+    }
+
+    @Override
+    protected ConvolutionStrategy createConvolutionStrategy(int radix)
+    {
+        return new RawtypeToom4ConvolutionStrategy(radix);
+    }
+
+    @Override
+    protected void setCutoffPoints(ApfloatContext ctx)
+    {
+        // Toom-4 down to the smallest sizes and Toom-3 for the sizes that can't be split to four
+        ctx.setProperty(ApfloatContext.TOOM3_CUTOFF_POINT, "2");
+        ctx.setProperty(ApfloatContext.TOOM4_CUTOFF_POINT, "3");
+    }
+}
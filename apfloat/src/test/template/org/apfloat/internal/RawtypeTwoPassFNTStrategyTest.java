@@ -1,7 +1,7 @@
 /*
  * MIT License
  *
- * Copyright (c) 2002-2023 Mikko Tommila
+ * Copyright (c) 2002-2026 Mikko Tommila
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy
  * of this software and associated documentation files (the "Software"), to deal
@@ -29,7 +29,7 @@ import org.apfloat.spi.*;
 import junit.framework.TestSuite;
 
 /**
- * @version 1.8.0
+ * @version 1.17.0
  * @author Mikko Tommila
  */
 
@@ -54,6 +54,8 @@ public class RawtypeTwoPassFNTStrategyTest
         suite.addTest(new RawtypeTwoPassFNTStrategyTest("testRoundTripBig"));
         suite.addTest(new RawtypeTwoPassFNTStrategyTest("testRoundTripMultithread"));
         suite.addTest(new RawtypeTwoPassFNTStrategyTest("testRoundTripMultithreadBig"));
+        suite.addTest(new RawtypeTwoPassFNTStrategyTest("testRoundTripIoBufferCount"));
+        suite.addTest(new RawtypeTwoPassFNTStrategyTest("testRoundTripOffHeap"));
 
         return suite;
     }
@@ -104,6 +106,43 @@ public class RawtypeTwoPassFNTStrategyTest
         runRoundTrip((int) Math.min(1 << 21, Util.round2down(RawtypeModConstants.MAX_TRANSFORM_LENGTH)));
     }
 
+    public static void testRoundTripIoBufferCount()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+
+        ctx.setMaxMemoryBlockSize(65536);
+        ctx.setMemoryThreshold(1024);
+        ctx.setBlockSize(256);
+        ctx.setNumberOfProcessors(3);
+        ctx.setExecutorService(ApfloatContext.getDefaultExecutorService());
+        try
+        {
+            for (int ioBufferCount = 1; ioBufferCount <= 5; ioBufferCount++)
+            {
+                ctx.setIoBufferCount(ioBufferCount);
+                runRoundTrip(131072);
+            }
+        }
+        finally
+        {
+            ctx.setIoBufferCount(2);
+        }
+    }
+
+    public static void testRoundTripOffHeap()
+    {
+        ApfloatContext ctx = ApfloatContext.getContext();
+
+        ctx.setMaxMemoryBlockSize(65536);
+        ctx.setMemoryThreshold(1024);
+        ctx.setBlockSize(256);
+        ctx.setNumberOfProcessors(1);
+        int size = 131072;
+        DataStorage dataStorage = new RawtypeOffHeapDataStorage(12);
+        dataStorage.copyFrom(createDataStorage(size + 5));
+        runRoundTrip(new TwoPassFNTStrategy(), dataStorage.subsequence(5, size));
+    }
+
     private static void runRoundTrip(int size)
     {
         runRoundTrip(new TwoPassFNTStrategy(), size);
@@ -0,0 +1,237 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2002-2026 Mikko Tommila
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.apfloat.internal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestSuite;
+
+/**
+ * Compares the vectorized transform loops to the scalar ones.
+ * The vectorized implementation is only available when the tests are
+ * run with the <code>java17-test</code> profile, otherwise the tests
+ * do nothing.
+ *
+ * @version 1.17.0
+ * @author Mikko Tommila
+ */
+
+public class RawtypeVectorMathTest
+    extends RawtypeTestCase
+    implements RawtypeModConstants
+{
+    public RawtypeVectorMathTest(String methodName)
+    {
+        super(methodName);
+    }
+
+    public static void main(String[] args)
+    {
+        junit.textui.TestRunner.run(suite());
+    }
+
+    public static TestSuite suite()
+    {
+        TestSuite suite = new TestSuite();
+
+        suite.addTest(new RawtypeVectorMathTest("testInstance"));
+        suite.addTest(new RawtypeVectorMathTest("testTableFNT"));
+        suite.addTest(new RawtypeVectorMathTest("testInverseTableFNT"));
+        suite.addTest(new RawtypeVectorMathTest("testMultiplyGeometric"));
+        suite.addTest(new RawtypeVectorMathTest("testMultiply"));
+
+        return suite;
+    }
+
+    public static void testInstance()
+    {
+        // The implementation must be loaded if the vector module is present, for the types that have it
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && RawtypeVectorMath.class.getResource("RawtypeVectorMathImpl.class") != null)
+        {
+            assertNotNull("Vector math", VECTOR_MATH);
+        }
+    }
+
+    public static void testTableFNT()
+    {
+        if (VECTOR_MATH == null)
+        {
+            return;
+        }
+
+        Random random = new Random(1);
+        for (int modulus = 0; modulus < 3; modulus++)
+        {
+            RawtypeModMath math = createModMath(modulus);
+            for (int length = 1; length <= 4096; length <<= 1)
+            {
+                rawtype[] wTable = RawtypeWTables.getWTable(modulus, length),
+                          expected = createData(random, OFFSET + length, MODULUS[modulus]),
+                          actual = expected.clone();
+                scalarTableFNT(math, expected, OFFSET, length, wTable);
+                VECTOR_MATH.tableFNT(actual, OFFSET, length, wTable, MODULUS[modulus]);
+                assertTrue("Modulus " + modulus + " length " + length, Arrays.equals(expected, actual));
+            }
+        }
+    }
+
+    public static void testInverseTableFNT()
+    {
+        if (VECTOR_MATH == null)
+        {
+            return;
+        }
+
+        Random random = new Random(2);
+        for (int modulus = 0; modulus < 3; modulus++)
+        {
+            RawtypeModMath math = createModMath(modulus);
+            for (int length = 1; length <= 4096; length <<= 1)
+            {
+                rawtype[] wTable = RawtypeWTables.getInverseWTable(modulus, length),
+                          expected = createData(random, OFFSET + length, MODULUS[modulus]),
+                          actual = expected.clone();
+                scalarInverseTableFNT(math, expected, OFFSET, length, wTable);
+                VECTOR_MATH.inverseTableFNT(actual, OFFSET, length, wTable, MODULUS[modulus]);
+                assertTrue("Modulus " + modulus + " length " + length, Arrays.equals(expected, actual));
+            }
+        }
+    }
+
+    public static void testMultiplyGeometric()
+    {
+        if (VECTOR_MATH == null)
+        {
+            return;
+        }
+
+        Random random = new Random(3);
+        for (int modulus = 0; modulus < 3; modulus++)
+        {
+            RawtypeModMath math = createModMath(modulus);
+            for (int length : LENGTHS)
+            {
+                rawtype[] expected = createData(random, OFFSET + length, MODULUS[modulus]),
+                          actual = expected.clone(),
+                          factors = createData(random, 2, MODULUS[modulus]);
+                rawtype factor = factors[0],
+                        ratio = factors[1];
+                for (int i = 0; i < length; i++)
+                {
+                    expected[OFFSET + i] = math.modMultiply(expected[OFFSET + i], factor);
+                    factor = math.modMultiply(factor, ratio);
+                }
+                VECTOR_MATH.multiplyGeometric(actual, OFFSET, length, factors[0], ratio, MODULUS[modulus]);
+                assertTrue("Modulus " + modulus + " length " + length, Arrays.equals(expected, actual));
+            }
+        }
+    }
+
+    public static void testMultiply()
+    {
+        if (VECTOR_MATH == null)
+        {
+            return;
+        }
+
+        Random random = new Random(4);
+        for (int modulus = 0; modulus < 3; modulus++)
+        {
+            RawtypeModMath math = createModMath(modulus);
+            for (int length : LENGTHS)
+            {
+                rawtype[] expected = createData(random, OFFSET + length, MODULUS[modulus]),
+                          actual = expected.clone(),
+                          y = createData(random, length, MODULUS[modulus]);
+                for (int i = 0; i < length; i++)
+                {
+                    expected[OFFSET + i] = math.modMultiply(expected[OFFSET + i], y[i]);
+                }
+                VECTOR_MATH.multiply(actual, OFFSET, y, 0, length, MODULUS[modulus]);
+                assertTrue("Modulus " + modulus + " length " + length, Arrays.equals(expected, actual));
+            }
+        }
+    }
+
+    // Same loops as in RawtypeTableFNT when the vectorized implementation is not available
+    private static void scalarTableFNT(RawtypeModMath math, rawtype[] data, int offset, int length, rawtype[] wTable)
+    {
+        for (int mmax = length >> 1, r = 1; mmax > 0; mmax >>= 1, r <<= 1)
+        {
+            for (int m = 0, t = 0; m < mmax; m++, t += r)
+            {
+                for (int i = offset + m; i < offset + length; i += mmax << 1)
+                {
+                    int j = i + mmax;
+                    rawtype a = data[i],
+                            b = data[j];
+                    data[i] = math.modAdd(a, b);
+                    data[j] = math.modMultiply(wTable[t], math.modSubtract(a, b));
+                }
+            }
+        }
+    }
+
+    private static void scalarInverseTableFNT(RawtypeModMath math, rawtype[] data, int offset, int length, rawtype[] wTable)
+    {
+        for (int mmax = 1, r = length >> 1; mmax < length; mmax <<= 1, r >>= 1)
+        {
+            for (int m = 0, t = 0; m < mmax; m++, t += r)
+            {
+                for (int i = offset + m; i < offset + length; i += mmax << 1)
+                {
+                    int j = i + mmax;
+                    rawtype a = data[i],
+                            b = math.modMultiply(wTable[t], data[j]);
+                    data[j] = math.modSubtract(a, b);
+                    data[i] = math.modAdd(a, b);
+                }
+            }
+        }
+    }
+
+    private static RawtypeModMath createModMath(int modulus)
+    {
+        RawtypeModMath math = new RawtypeModMath();
+        math.setModulus(MODULUS[modulus]);
+        return math;
+    }
+
+    private static rawtype[] createData(Random random, int length, rawtype modulus)
+    {
+        rawtype[] data = new rawtype[length];
+        for (int i = 0; i < length; i++)
+        {
+            data[i] = (rawtype) Math.floorMod(random.nextLong(), (long) modulus);
+        }
+        return data;
+    }
+
+    private static final RawtypeVectorMath VECTOR_MATH = RawtypeVectorMath.INSTANCE;
+    // The data starts at an offset that is not aligned to the vector length
+    private static final int OFFSET = 3;
+    // Lengths that are not multiples of the number of lanes have a scalar tail, and the geometric factors are generated in chunks of 1024
+    private static final int[] LENGTHS = { 0, 1, 2, 3, 5, 7, 8, 9, 15, 16, 17, 31, 33, 63, 65, 100, 1023, 1024, 1025, 2500 };
+}